@@ -5,6 +5,8 @@ import com.ecommerce.E_commerce.dto.product.ProductSearchDTO;
 import com.ecommerce.E_commerce.dto.search.ProductDetailsRequest;
 import com.ecommerce.E_commerce.dto.search.ProductDetailsResponse;
 import com.ecommerce.E_commerce.dto.search.ProductSearchRequest;
+import com.ecommerce.E_commerce.dto.search.SearchBatchResultDTO;
+import com.ecommerce.E_commerce.dto.search.SearchCandidate;
 import com.ecommerce.E_commerce.service.ProductService;
 import com.ecommerce.E_commerce.service.SearchService;
 import org.slf4j.Logger;
@@ -15,13 +17,12 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Description;
 import org.springframework.context.annotation.Profile;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -41,100 +42,69 @@ public class AiConfig {
     public Function<ProductSearchRequest, ProductSearchResponse> searchProductsTool(SearchService searchService) {
         return request -> {
             logger.info("TOOL: SearchProducts called via Gemini. Query: '{}', CategoryId: {}, Attributes: {}",
-                    request.query(), request.categoryId(), request.attributes());  Pageable pageable = PageRequest.of(0,5);
+                    request.query(), request.categoryId(), request.attributes());
             try {
-                Page<ProductSearchDTO> results = searchService.search(
-                        request.query(),
-                        request.categoryId(),
-                        request.minPrice(),
-                        request.maxPrice(),
-                        true,
-                        request.attributes(),
-                        pageable
-                );
-                if (results.hasContent()) {
-                    logger.info("TOOL: Strict search success. Found {} products.", results.getTotalElements());
-                    return new ProductSearchResponse(results.getContent(), null);
-                }
-                logger.info("TOOL: Strict search returned 0 results. Starting relaxation strategies...");
-                String suggestion;
+                // strict search first, then relaxations in priority order; all sent at once,
+                // the first candidate with hits decides the answer
+                List<SearchCandidate> candidates = new ArrayList<>();
+                List<Function<List<ProductSearchDTO>, ProductSearchResponse>> outcomes = new ArrayList<>();
+
+                candidates.add(new SearchCandidate(request.query(), request.categoryId(), request.minPrice(),
+                        request.maxPrice(), true, request.attributes(), 5));
+                outcomes.add(hits -> {
+                    logger.info("TOOL: Strict search success. Found {} products.", hits.size());
+                    return new ProductSearchResponse(hits, null);
+                });
 
                 if (request.maxPrice() != null || request.minPrice() != null) {
-                    logger.debug("TOOL: Attempting Price Relaxation...");
-                    Page<ProductSearchDTO> priceCheck = searchService.search(
-                            request.query(),
-                            request.categoryId(),
-                            null,
-                            null,
-                            true,
-                            request.attributes(),
-                            PageRequest.of(0, 1));
-                    if (priceCheck.hasContent()) {
+                    candidates.add(new SearchCandidate(request.query(), request.categoryId(), null, null,
+                            true, request.attributes(), 1));
+                    outcomes.add(hits -> {
                         logger.info("TOOL: Price Relaxation HIT. Suggesting different price range.");
-                        suggestion = "Znaleziono produkty spełniające kryteria, ale są poza podanym zakresem cenowym";
-                        return new ProductSearchResponse(priceCheck.getContent(), suggestion);
-                    }
+                        return new ProductSearchResponse(hits,
+                                "Znaleziono produkty spełniające kryteria, ale są poza podanym zakresem cenowym");
+                    });
                 }
                 if (request.attributes() != null && !request.attributes().isEmpty()) {
                     if (request.attributes().size() > 1) {
-                        logger.debug("TOOL: Attempting Iterative Attribute Relaxation ({} attributes)...", request.attributes().size());
                         for (String keyToRemove : request.attributes().keySet()) {
-                            logger.trace("TOOL: Checking without attribute: {}", keyToRemove);
                             Map<String, String> relaxedAttributes = new HashMap<>(request.attributes());
                             relaxedAttributes.remove(keyToRemove);
-
-                            Page<ProductSearchDTO> partialCheck = searchService.search(
-                                    request.query(),
-                                    request.categoryId(),
-                                    request.minPrice(),
-                                    request.maxPrice(),
-                                    true,
-                                    relaxedAttributes,
-                                    PageRequest.of(0, 1)
-                            );
-                            if (partialCheck.hasContent()) {
+                            candidates.add(new SearchCandidate(request.query(), request.categoryId(),
+                                    request.minPrice(), request.maxPrice(), true, relaxedAttributes, 1));
+                            outcomes.add(hits -> {
                                 logger.info("TOOL: Attribute Relaxation HIT. Removed key: {}", keyToRemove);
                                 String ignoredValue = request.attributes().get(keyToRemove);
-                                suggestion = String.format(
+                                return new ProductSearchResponse(List.of(), String.format(
                                         "Znalazłem produkty spełniające większość kryteriów, ale niestety nie mamy wariantu: %s=%s. " +
                                                 "Znalazłem jednak pozostałe pasujące cechy.",
                                         keyToRemove, ignoredValue
-                                );
-                                return new ProductSearchResponse(List.of(), suggestion);
-                            }
+                                ));
+                            });
                         }
                     }
-                    logger.debug("TOOL: Attempting Full Attribute Removal...");
-                    Page<ProductSearchDTO> allAttrsRemovedCheck = searchService.search(
-                            request.query(),
-                            request.categoryId(),
-                            request.minPrice(),
-                            request.maxPrice(),
-                            true,
-                            null,
-                            PageRequest.of(0, 1)
-                    );
-                    if (allAttrsRemovedCheck.hasContent()) {
+                    candidates.add(new SearchCandidate(request.query(), request.categoryId(), request.minPrice(),
+                            request.maxPrice(), true, null, 1));
+                    outcomes.add(hits -> {
                         logger.info("TOOL: Full Attribute Removal HIT.");
-                        suggestion = "Znaleziono produkty tego typu (kategoria/nazwa), ale niestety nie posiadamy ich w wybranych wariantach (kolor/rozmiar itp.).";
-                        return new ProductSearchResponse(allAttrsRemovedCheck.getContent(), suggestion);
-                    }
+                        return new ProductSearchResponse(hits,
+                                "Znaleziono produkty tego typu (kategoria/nazwa), ale niestety nie posiadamy ich w wybranych wariantach (kolor/rozmiar itp.).");
+                    });
                 }
                 if (request.query() != null && !request.query().isBlank() && request.categoryId() != null) {
-                    logger.debug("TOOL: Attempting Category Fallback (ignoring query name)...");
-                    Page<ProductSearchDTO> catCheck = searchService.search(
-                            null,
-                            request.categoryId(),
-                            null, null, true, null,
-                            PageRequest.of(0, 1)
-                    );
-                    if (catCheck.hasContent()) {
+                    candidates.add(new SearchCandidate(null, request.categoryId(), null, null, true, null, 1));
+                    outcomes.add(hits -> {
                         logger.info("TOOL: Category Fallback HIT.");
-                        suggestion = "Nie znaleziono dokładnie tego modelu, ale mamy inne produkty w tej kategorii.";
-                        return new ProductSearchResponse(List.of(), suggestion);
-                    }
+                        return new ProductSearchResponse(List.of(),
+                                "Nie znaleziono dokładnie tego modelu, ale mamy inne produkty w tej kategorii.");
+                    });
                 }
 
+                logger.debug("TOOL: Running strict search with {} relaxation candidates", candidates.size() - 1);
+                Optional<SearchBatchResultDTO> match = searchService.searchFirstMatch(candidates);
+                if (match.isPresent()) {
+                    return outcomes.get(match.get().candidateIndex()).apply(match.get().hits());
+                }
 
                 logger.warn("TOOL: All relaxation strategies failed. Returning empty result.");
                 return new ProductSearchResponse(List.of(), "Brak produktów spełniających jakiekolwiek zbliżone kryteria.");
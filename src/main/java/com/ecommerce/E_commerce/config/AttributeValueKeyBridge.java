@@ -0,0 +1,23 @@
+package com.ecommerce.E_commerce.config;
+
+import com.ecommerce.E_commerce.service.AttributeKeyNormalizer;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.search.mapper.pojo.bridge.ValueBridge;
+import org.hibernate.search.mapper.pojo.bridge.runtime.ValueBridgeToIndexedValueContext;
+import org.springframework.stereotype.Component;
+
+/**
+ * Indexes attribute values in their canonical form (see {@link AttributeKeyNormalizer}); also
+ * applied to predicate input, so searches resolve synonyms the same way.
+ */
+@Component
+@RequiredArgsConstructor
+public class AttributeValueKeyBridge implements ValueBridge<String, String> {
+
+    private final AttributeKeyNormalizer normalizer;
+
+    @Override
+    public String toIndexedValue(String value, ValueBridgeToIndexedValueContext context) {
+        return normalizer.normalizeValue(value);
+    }
+}
@@ -0,0 +1,148 @@
+package com.ecommerce.E_commerce.config;
+
+import org.springframework.cache.Cache;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Node-local (L1) cache that announces its evictions on the {@link CacheInvalidationBus}, so a
+ * {@code @CacheEvict} on one node drops the entry on every node. Puts stay local; other nodes
+ * load their own copy on their next miss.
+ * <p>
+ * Keys travel as text: {@code Long}, {@code Integer} and {@code String} keys are evicted
+ * individually, any other key makes the other nodes clear the whole cache.
+ */
+public class BroadcastingCache implements Cache {
+
+    private final Cache local;
+    private final CacheInvalidationBus bus;
+
+    public BroadcastingCache(Cache local, CacheInvalidationBus bus) {
+        this.local = local;
+        this.bus = bus;
+    }
+
+    @Override
+    public String getName() {
+        return local.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return local.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        return local.get(key);
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        return local.get(key, type);
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        return local.get(key, valueLoader);
+    }
+
+    @Override
+    public CompletableFuture<?> retrieve(Object key) {
+        return local.retrieve(key);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+        return local.retrieve(key, valueLoader);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        local.put(key, value);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        return local.putIfAbsent(key, value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        local.evict(key);
+        broadcastEvict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean evicted = local.evictIfPresent(key);
+        broadcastEvict(key);
+        return evicted;
+    }
+
+    @Override
+    public void clear() {
+        local.clear();
+        bus.publish(CacheInvalidation.clear(getName()));
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean invalidated = local.invalidate();
+        bus.publish(CacheInvalidation.clear(getName()));
+        return invalidated;
+    }
+
+    /** Applies an invalidation received from another node to this node only. */
+    public void applyRemote(CacheInvalidation invalidation) {
+        if (invalidation.clears(getName())) {
+            local.clear();
+        } else if (invalidation.kind() == CacheInvalidation.Kind.EVICT && getName().equals(invalidation.cacheName())) {
+            Object key = decodeKey(invalidation.key());
+            if (key != null) {
+                local.evict(key);
+            } else {
+                local.clear();
+            }
+        }
+    }
+
+    private void broadcastEvict(Object key) {
+        String encoded = encodeKey(key);
+        bus.publish(encoded != null
+                ? CacheInvalidation.evict(getName(), encoded)
+                : CacheInvalidation.clear(getName()));
+    }
+
+    static String encodeKey(Object key) {
+        if (key instanceof Long value) {
+            return "L" + value;
+        }
+        if (key instanceof Integer value) {
+            return "I" + value;
+        }
+        if (key instanceof String value) {
+            return "S" + value;
+        }
+        return null;
+    }
+
+    static Object decodeKey(String encoded) {
+        if (encoded == null || encoded.isEmpty()) {
+            return null;
+        }
+        String value = encoded.substring(1);
+        try {
+            return switch (encoded.charAt(0)) {
+                case 'L' -> Long.valueOf(value);
+                case 'I' -> Integer.valueOf(value);
+                case 'S' -> value;
+                default -> null;
+            };
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
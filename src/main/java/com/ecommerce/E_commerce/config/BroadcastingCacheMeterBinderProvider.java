@@ -0,0 +1,24 @@
+package com.ecommerce.E_commerce.config;
+
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * Lets the actuator bind the Caffeine cache behind every {@link BroadcastingCache} to Micrometer:
+ * {@code cache.gets} (hit/miss), {@code cache.evictions}, {@code cache.size} and load counts and
+ * times, tagged with the cache name. Boot only recognizes bare {@code CaffeineCache}s on its own.
+ */
+@Component
+public class BroadcastingCacheMeterBinderProvider implements CacheMeterBinderProvider<BroadcastingCache> {
+
+    @Override
+    public MeterBinder getMeterBinder(BroadcastingCache cache, Iterable<Tag> tags) {
+        if (cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> caffeine) {
+            return new CaffeineCacheMetrics<>(caffeine, cache.getName(), tags);
+        }
+        return null;
+    }
+}
@@ -1,60 +1,113 @@
 package com.ecommerce.E_commerce.config;
 
 import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.caffeine.CaffeineCache;
 import org.springframework.cache.support.SimpleCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 
 import java.time.Duration;
-import java.util.Arrays;
-
+import java.util.List;
+
+/**
+ * Node-local Caffeine caches (L1). Every cache is wrapped in a {@link BroadcastingCache}, so
+ * evictions reach the other nodes through the {@link CacheInvalidationBus} and the TTLs below only
+ * bound memory and staleness of data changed outside the application.
+ * <p>
+ * The sizes and intervals below are defaults; each can be overridden per cache with
+ * {@code app.cache.specs.<name>.ttl}, {@code .max-size} and {@code .refresh-after-write}, with
+ * the cache name in kebab case ({@code product-lists}); a refresh interval of {@code 0} turns
+ * refreshing off.
+ */
 @Configuration
 @EnableCaching
 public class CacheConfig {
+    /**
+     * Product caches are read through {@link com.ecommerce.E_commerce.service.TaggedCache}, which
+     * also honours {@code refreshAfterWrite}: hot listings are reloaded in the background while
+     * the previous value keeps being served, instead of all expiring at once.
+     */
     @Bean
-    public CacheManager cacheManager(){
-        SimpleCacheManager manager = new SimpleCacheManager();
+    public CacheSpecs cacheSpecs(Environment environment) {
+        Binder binder = Binder.get(environment);
+        return new CacheSpecs(List.of(
+                spec("categories", Duration.ofHours(24), 100),
+
+                spec("attributes", Duration.ofHours(24), 500),
 
-        manager.setCaches(Arrays.asList(
-                buildCache("categories", Duration.ofHours(24), 100),
+                spec("products", Duration.ofMinutes(30), 2000, Duration.ofMinutes(5)),
 
-                buildCache("attributes", Duration.ofHours(24), 500),
+                spec("product_lists", Duration.ofMinutes(30), 3000, Duration.ofMinutes(2)),
 
-                buildCache("products", Duration.ofMinutes(30), 2000),
+                spec("product_images", Duration.ofHours(24), 2000),
 
-                buildCache("product_lists", Duration.ofMinutes(30), 3000),
+                spec("product_counts", Duration.ofHours(24), 3000, Duration.ofMinutes(10)),
 
-                buildCache("product_images", Duration.ofHours(24), 2000),
+                spec("category_attributes", Duration.ofHours(24), 500),
 
-                buildCache("product_counts", Duration.ofHours(24), 3000),
+                spec("product_attributes", Duration.ofHours(24), 3000, Duration.ofHours(1)),
 
-                buildCache("category_attributes", Duration.ofHours(24), 500),
+                spec("ai_context_attributes", Duration.ofHours(24), 500),
 
-                buildCache("product_attributes",Duration.ofHours(24) , 3000),
+                spec("pages", Duration.ofHours(24), 500),
 
-                buildCache("ai_context_attributes", Duration.ofHours(24), 500),
+                spec("shop_settings", Duration.ofHours(24), 500),
 
-                buildCache("pages", Duration.ofHours(24), 500),
+                spec("faq_items", Duration.ofHours(24), 500),
 
-                buildCache("shop_settings", Duration.ofHours(24), 500),
+                spec("footer_data", Duration.ofHours(24), 500),
 
-                buildCache("faq_items", Duration.ofHours(24), 500),
+                spec("social_links", Duration.ofHours(24), 500),
 
-                buildCache("footer_data", Duration.ofHours(24), 500),
+                spec("search_suggestions", Duration.ofMinutes(5), 10000)
+        ).stream().map(spec -> configured(binder, spec)).toList());
+    }
+
+    @Bean
+    public CacheManager cacheManager(CacheSpecs cacheSpecs, CacheInvalidationBus invalidationBus){
+        SimpleCacheManager manager = new SimpleCacheManager();
 
-                buildCache("social_links", Duration.ofHours(24), 500)
-                ));
+        manager.setCaches(cacheSpecs.all().stream()
+                .map(spec -> (Cache) new BroadcastingCache(buildCache(spec), invalidationBus))
+                .toList());
+
+        invalidationBus.subscribe(invalidation -> {
+            for (String name : manager.getCacheNames()) {
+                if (manager.getCache(name) instanceof BroadcastingCache cache) {
+                    cache.applyRemote(invalidation);
+                }
+            }
+        });
         return manager;
     }
 
+    private static CacheSpecs.Spec spec(String name, Duration ttl, long maxSize) {
+        return new CacheSpecs.Spec(name, ttl, maxSize, null);
+    }
+
+    private static CacheSpecs.Spec spec(String name, Duration ttl, long maxSize, Duration refreshAfterWrite) {
+        return new CacheSpecs.Spec(name, ttl, maxSize, refreshAfterWrite);
+    }
+
+    private static CacheSpecs.Spec configured(Binder binder, CacheSpecs.Spec spec) {
+        String prefix = "app.cache.specs." + spec.name().replace('_', '-') + ".";
+        Duration refreshAfterWrite = binder.bind(prefix + "refresh-after-write", Duration.class)
+                .orElse(spec.refreshAfterWrite());
+        return new CacheSpecs.Spec(spec.name(),
+                binder.bind(prefix + "ttl", Duration.class).orElse(spec.ttl()),
+                binder.bind(prefix + "max-size", Long.class).orElse(spec.maxSize()),
+                refreshAfterWrite == null || refreshAfterWrite.isZero() ? null : refreshAfterWrite);
+    }
 
-    private CaffeineCache buildCache(String name, Duration ttl, long maxSize) {
-        return new CaffeineCache(name, Caffeine.newBuilder()
-                .expireAfterWrite(ttl)
-                .maximumSize(maxSize)
+    private CaffeineCache buildCache(CacheSpecs.Spec spec) {
+        return new CaffeineCache(spec.name(), Caffeine.newBuilder()
+                .expireAfterWrite(spec.ttl())
+                .maximumSize(spec.maxSize())
                 .recordStats()
                 .build());
     }
@@ -0,0 +1,45 @@
+package com.ecommerce.E_commerce.config;
+
+import java.util.Set;
+
+/**
+ * One invalidation sent over the {@link CacheInvalidationBus}.
+ *
+ * @param cacheName target cache for {@code EVICT} and {@code CLEAR}
+ * @param key       encoded key for {@code EVICT}, see {@link BroadcastingCache}
+ * @param tags      invalidated dependency tags for {@code TAGS}
+ */
+public record CacheInvalidation(Kind kind, String cacheName, String key, Set<String> tags) {
+
+    public enum Kind {
+        /** Drop one key from one cache. */
+        EVICT,
+        /** Drop all entries of one cache. */
+        CLEAR,
+        /** Make tagged entries depending on any of the tags stale. */
+        TAGS,
+        /** Messages may have been lost (e.g. bus reconnect): drop everything held locally. */
+        RESYNC
+    }
+
+    public static CacheInvalidation evict(String cacheName, String key) {
+        return new CacheInvalidation(Kind.EVICT, cacheName, key, null);
+    }
+
+    public static CacheInvalidation clear(String cacheName) {
+        return new CacheInvalidation(Kind.CLEAR, cacheName, null, null);
+    }
+
+    public static CacheInvalidation tags(Set<String> tags) {
+        return new CacheInvalidation(Kind.TAGS, null, null, tags);
+    }
+
+    public static CacheInvalidation resync() {
+        return new CacheInvalidation(Kind.RESYNC, null, null, null);
+    }
+
+    /** Whether this message requires dropping local entries of {@code cacheName}. */
+    public boolean clears(String name) {
+        return kind == Kind.RESYNC || (kind == Kind.CLEAR && name.equals(cacheName));
+    }
+}
@@ -0,0 +1,40 @@
+package com.ecommerce.E_commerce.config;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.Consumer;
+
+/**
+ * Carries cache invalidations between application nodes. Caches stay in node-local memory; the
+ * bus tells every other node what one node invalidated, so scaling out does not leave other
+ * nodes serving stale entries until their TTL runs out. A node never receives its own messages.
+ * <p>
+ * Selected with {@code app.cache.invalidation.bus}: {@code local} (default, single node or tests)
+ * or {@code postgres} ({@code LISTEN/NOTIFY}).
+ */
+public interface CacheInvalidationBus {
+
+    /**
+     * Sends the invalidation to the other nodes; inside a transaction it is sent only once the
+     * transaction commits, so no node can reload the data before the write is visible.
+     */
+    void publish(CacheInvalidation invalidation);
+
+    /** Registers a listener for invalidations published by other nodes. */
+    void subscribe(Consumer<CacheInvalidation> listener);
+
+    /** Runs {@code action} after the current transaction commits, or right away outside one. */
+    static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
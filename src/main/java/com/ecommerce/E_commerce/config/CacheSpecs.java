@@ -0,0 +1,39 @@
+package com.ecommerce.E_commerce.config;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Size, expiry and refresh interval of every application cache, as declared in {@link CacheConfig}.
+ */
+public class CacheSpecs {
+
+    /**
+     * @param refreshAfterWrite once an entry is this old, the next read still gets it but triggers
+     *                          one background reload; {@code null} to only expire after {@code ttl}
+     */
+    public record Spec(String name, Duration ttl, long maxSize, Duration refreshAfterWrite) {
+    }
+
+    private final Map<String, Spec> specsByName = new LinkedHashMap<>();
+
+    public CacheSpecs(List<Spec> specs) {
+        specs.forEach(spec -> specsByName.put(spec.name(), spec));
+    }
+
+    public Collection<Spec> all() {
+        return specsByName.values();
+    }
+
+    public Optional<Spec> get(String cacheName) {
+        return Optional.ofNullable(specsByName.get(cacheName));
+    }
+
+    public Optional<Duration> refreshAfterWrite(String cacheName) {
+        return get(cacheName).map(Spec::refreshAfterWrite);
+    }
+}
@@ -0,0 +1,63 @@
+package com.ecommerce.E_commerce.config;
+
+import com.ecommerce.E_commerce.dto.category.CategoryDTO;
+import com.ecommerce.E_commerce.service.AttributeService;
+import com.ecommerce.E_commerce.service.CacheWarmer;
+import com.ecommerce.E_commerce.service.CategoryService;
+import com.ecommerce.E_commerce.service.ProductService;
+import com.ecommerce.E_commerce.service.ShopSettingService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.Set;
+
+/**
+ * The storefront's hottest read paths as {@link CacheWarmer}s, run on startup by
+ * {@link com.ecommerce.E_commerce.service.CacheWarmup} and on demand by the cache admin endpoint.
+ * Listings are warmed with the page the product endpoints serve by default.
+ */
+@Configuration
+public class CacheWarmupConfig {
+
+    static final Pageable STOREFRONT_FIRST_PAGE = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "name"));
+
+    @Bean
+    public CacheWarmer categoryTreeWarmer(CategoryService categoryService) {
+        return CacheWarmer.of("category-tree", Set.of("categories"), categoryService::listActive);
+    }
+
+    @Bean
+    public CacheWarmer shopSettingsWarmer(ShopSettingService shopSettingService) {
+        return CacheWarmer.of("shop-settings", Set.of("shop_settings", "footer_data"), () -> {
+            shopSettingService.getAllAsMap();
+            shopSettingService.getFooterData();
+        });
+    }
+
+    @Bean
+    public CacheWarmer attributeValuesWarmer(AttributeService attributeService) {
+        return CacheWarmer.of("attribute-values", Set.of("ai_context_attributes"),
+                attributeService::getAllAttributesWithValues);
+    }
+
+    @Bean
+    public CacheWarmer featuredProductsWarmer(ProductService productService) {
+        return CacheWarmer.of("featured-products", Set.of("product_lists"),
+                () -> productService.findByFeatured(true, STOREFRONT_FIRST_PAGE));
+    }
+
+    @Bean
+    public CacheWarmer topCategoryListingsWarmer(ProductService productService,
+                                                 CategoryService categoryService,
+                                                 @Value("${app.cache.warmup.top-categories:8}") int topCategories) {
+        return CacheWarmer.of("top-category-listings", Set.of("product_lists"), () ->
+                categoryService.listActive().stream()
+                        .limit(topCategories)
+                        .map(CategoryDTO::id)
+                        .forEach(categoryId -> productService.findByCategory(categoryId, STOREFRONT_FIRST_PAGE)));
+    }
+}
@@ -0,0 +1,64 @@
+package com.ecommerce.E_commerce.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * In-JVM stand-in for the invalidation bus. On a single node there is nobody to notify; tests
+ * that simulate several nodes give each one its own endpoint via {@link #joinNode()}.
+ */
+@Component
+@ConditionalOnProperty(name = "app.cache.invalidation.bus", havingValue = "local", matchIfMissing = true)
+public class InMemoryCacheInvalidationBus implements CacheInvalidationBus {
+
+    private static final Logger logger = LoggerFactory.getLogger(InMemoryCacheInvalidationBus.class);
+
+    private final List<InMemoryCacheInvalidationBus> network;
+    private final List<Consumer<CacheInvalidation>> listeners = new CopyOnWriteArrayList<>();
+
+    public InMemoryCacheInvalidationBus() {
+        this(new CopyOnWriteArrayList<>());
+    }
+
+    private InMemoryCacheInvalidationBus(List<InMemoryCacheInvalidationBus> network) {
+        this.network = network;
+        network.add(this);
+    }
+
+    /** Returns the endpoint of another node on the same in-JVM network. */
+    public InMemoryCacheInvalidationBus joinNode() {
+        return new InMemoryCacheInvalidationBus(network);
+    }
+
+    @Override
+    public void publish(CacheInvalidation invalidation) {
+        CacheInvalidationBus.afterCommit(() -> {
+            for (InMemoryCacheInvalidationBus node : network) {
+                if (node != this) {
+                    node.deliver(invalidation);
+                }
+            }
+        });
+    }
+
+    @Override
+    public void subscribe(Consumer<CacheInvalidation> listener) {
+        listeners.add(listener);
+    }
+
+    private void deliver(CacheInvalidation invalidation) {
+        for (Consumer<CacheInvalidation> listener : listeners) {
+            try {
+                listener.accept(invalidation);
+            } catch (RuntimeException e) {
+                logger.warn("Cache invalidation listener failed for {}: {}", invalidation, e.getMessage(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package com.ecommerce.E_commerce.config;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Invalidation bus over Postgres {@code LISTEN/NOTIFY}, so several app nodes sharing one database
+ * keep their local caches coherent without extra infrastructure.
+ * <p>
+ * Messages are sent with {@code pg_notify} in their own short transaction after the writing
+ * transaction commits. Every node listens on a dedicated connection outside the pool; when that
+ * connection drops, notifications sent in the meantime are lost, so after reconnecting the node
+ * clears everything it has cached ({@link CacheInvalidation.Kind#RESYNC}).
+ */
+@Component
+@ConditionalOnProperty(name = "app.cache.invalidation.bus", havingValue = "postgres")
+public class PostgresCacheInvalidationBus implements CacheInvalidationBus {
+
+    private static final Logger logger = LoggerFactory.getLogger(PostgresCacheInvalidationBus.class);
+
+    /** NOTIFY payloads must stay below 8000 bytes. */
+    private static final int MAX_PAYLOAD_BYTES = 7500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate notifyTransaction;
+    private final ObjectMapper objectMapper;
+    private final DataSourceProperties dataSourceProperties;
+    private final String channel;
+    private final Duration pollTimeout;
+    private final Duration reconnectDelay;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final List<Consumer<CacheInvalidation>> listeners = new CopyOnWriteArrayList<>();
+    private volatile boolean running;
+    private Thread listenerThread;
+
+    record Envelope(String origin, CacheInvalidation invalidation) {
+    }
+
+    public PostgresCacheInvalidationBus(JdbcTemplate jdbcTemplate,
+                                        PlatformTransactionManager transactionManager,
+                                        ObjectMapper objectMapper,
+                                        DataSourceProperties dataSourceProperties,
+                                        @Value("${app.cache.invalidation.channel:cache_invalidation}") String channel,
+                                        @Value("${app.cache.invalidation.poll-timeout:500ms}") Duration pollTimeout,
+                                        @Value("${app.cache.invalidation.reconnect-delay:5s}") Duration reconnectDelay) {
+        if (!channel.matches("[a-z_][a-z0-9_]*")) {
+            throw new IllegalStateException("Invalid cache invalidation channel name: " + channel);
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.notifyTransaction = new TransactionTemplate(transactionManager);
+        this.notifyTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.objectMapper = objectMapper;
+        this.dataSourceProperties = dataSourceProperties;
+        this.channel = channel;
+        this.pollTimeout = pollTimeout;
+        this.reconnectDelay = reconnectDelay;
+    }
+
+    @PostConstruct
+    void start() {
+        running = true;
+        listenerThread = new Thread(this::listen, "cache-invalidation-listener");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        listenerThread.interrupt();
+        listenerThread.join(pollTimeout.multipliedBy(4).toMillis());
+    }
+
+    @Override
+    public void publish(CacheInvalidation invalidation) {
+        CacheInvalidationBus.afterCommit(() -> {
+            for (String payload : payloads(invalidation)) {
+                try {
+                    notifyTransaction.executeWithoutResult(status ->
+                            jdbcTemplate.query("SELECT pg_notify(?, ?)", rs -> null, channel, payload));
+                } catch (DataAccessException e) {
+                    logger.warn("Could not broadcast cache invalidation {}, other nodes keep it until TTL: {}",
+                            invalidation, e.getMessage());
+                }
+            }
+        });
+    }
+
+    @Override
+    public void subscribe(Consumer<CacheInvalidation> listener) {
+        listeners.add(listener);
+    }
+
+    /** Serializes the message, splitting tag invalidations that would exceed the NOTIFY limit. */
+    List<String> payloads(CacheInvalidation invalidation) {
+        String payload = serialize(invalidation);
+        if (payload.getBytes(StandardCharsets.UTF_8).length <= MAX_PAYLOAD_BYTES) {
+            return List.of(payload);
+        }
+        if (invalidation.kind() == CacheInvalidation.Kind.TAGS && invalidation.tags().size() > 1) {
+            List<String> tags = new ArrayList<>(invalidation.tags());
+            int half = tags.size() / 2;
+            List<String> payloads = new ArrayList<>(payloads(CacheInvalidation.tags(new LinkedHashSet<>(tags.subList(0, half)))));
+            payloads.addAll(payloads(CacheInvalidation.tags(new LinkedHashSet<>(tags.subList(half, tags.size())))));
+            return payloads;
+        }
+        // a single oversized key or tag: degrade to clearing the cache everywhere
+        return List.of(serialize(invalidation.cacheName() != null
+                ? CacheInvalidation.clear(invalidation.cacheName())
+                : CacheInvalidation.resync()));
+    }
+
+    private String serialize(CacheInvalidation invalidation) {
+        try {
+            return objectMapper.writeValueAsString(new Envelope(nodeId, invalidation));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize cache invalidation " + invalidation, e);
+        }
+    }
+
+    private void listen() {
+        boolean connectedBefore = false;
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                if (connectedBefore) {
+                    logger.warn("Cache invalidation listener reconnected, clearing local caches");
+                    deliver(CacheInvalidation.resync());
+                } else {
+                    logger.info("Listening for cache invalidations on channel '{}' as node {}", channel, nodeId);
+                }
+                connectedBefore = true;
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications((int) pollTimeout.toMillis());
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            receive(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (running) {
+                    logger.warn("Cache invalidation listener lost its connection, retrying in {}: {}",
+                            reconnectDelay, e.getMessage());
+                    sleep(reconnectDelay);
+                }
+            }
+        }
+    }
+
+    void receive(String payload) {
+        Envelope envelope;
+        try {
+            envelope = objectMapper.readValue(payload, Envelope.class);
+        } catch (JsonProcessingException e) {
+            logger.warn("Ignoring malformed cache invalidation payload: {}", payload);
+            return;
+        }
+        if (!nodeId.equals(envelope.origin())) {
+            deliver(envelope.invalidation());
+        }
+    }
+
+    private void deliver(CacheInvalidation invalidation) {
+        for (Consumer<CacheInvalidation> listener : listeners) {
+            try {
+                listener.accept(invalidation);
+            } catch (RuntimeException e) {
+                logger.warn("Cache invalidation listener failed for {}: {}", invalidation, e.getMessage(), e);
+            }
+        }
+    }
+
+    private void sleep(Duration delay) {
+        try {
+            Thread.sleep(delay.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
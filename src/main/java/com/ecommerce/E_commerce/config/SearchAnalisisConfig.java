@@ -11,5 +11,17 @@ public class SearchAnalisisConfig implements ElasticsearchAnalysisConfigurer {
         elasticsearchAnalysisConfigurationContext.analyzer("english").type("english");
         elasticsearchAnalysisConfigurationContext.normalizer("lowercase").custom()
                 .tokenFilters("lowercase", "asciifolding");
+
+        // type-ahead: index every prefix (edge n-grams) of each word, search with the plain words
+        elasticsearchAnalysisConfigurationContext.tokenFilter("autocomplete_edge_ngram")
+                .type("edge_ngram")
+                .param("min_gram", 1)
+                .param("max_gram", 20);
+        elasticsearchAnalysisConfigurationContext.analyzer("autocomplete_indexing").custom()
+                .tokenizer("standard")
+                .tokenFilters("lowercase", "asciifolding", "autocomplete_edge_ngram");
+        elasticsearchAnalysisConfigurationContext.analyzer("autocomplete_search").custom()
+                .tokenizer("standard")
+                .tokenFilters("lowercase", "asciifolding");
     }
 }
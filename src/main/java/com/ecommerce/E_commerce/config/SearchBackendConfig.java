@@ -0,0 +1,33 @@
+package com.ecommerce.E_commerce.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Selects the Hibernate Search backend with {@code app.search.backend}: {@code elasticsearch}
+ * (default) or {@code lucene}, an embedded index on local disk that needs no external cluster.
+ */
+@Configuration
+public class SearchBackendConfig {
+
+    public static final String BACKEND_LUCENE = "lucene";
+
+    @Bean
+    public HibernatePropertiesCustomizer searchBackendCustomizer(
+            @Value("${app.search.backend:elasticsearch}") String backend,
+            @Value("${app.search.lucene.directory-type:local-filesystem}") String directoryType,
+            @Value("${app.search.lucene.directory:./data/search-index}") String directoryRoot) {
+        return properties -> {
+            if (BACKEND_LUCENE.equalsIgnoreCase(backend)) {
+                properties.put("hibernate.search.backend.type", "lucene");
+                properties.put("hibernate.search.backend.directory.type", directoryType);
+                properties.put("hibernate.search.backend.directory.root", directoryRoot);
+                properties.put("hibernate.search.backend.analysis.configurer", "bean:luceneAnalysisConfigurer");
+            } else {
+                properties.put("hibernate.search.backend.type", "elasticsearch");
+            }
+        };
+    }
+}
@@ -0,0 +1,55 @@
+package com.ecommerce.E_commerce.config;
+
+import com.ecommerce.E_commerce.event.CategoryRenameListener;
+import com.ecommerce.E_commerce.service.SearchIndexQueue;
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.jpa.boot.internal.EntityManagerFactoryBuilderImpl;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * In {@code outbox} indexing mode Hibernate Search's automatic (in-transaction) indexing is
+ * switched off; {@link com.ecommerce.E_commerce.service.SearchIndexQueueWorker} indexes instead.
+ * {@link CategoryRenameListener} feeds the outbox from Hibernate's post-update event, which is
+ * registered through an {@link Integrator}.
+ */
+@Configuration
+public class SearchIndexingConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer searchIndexingListenersCustomizer(
+            @Value("${app.search.indexing.mode:outbox}") String mode) {
+        boolean outbox = SearchIndexQueue.MODE_OUTBOX.equalsIgnoreCase(mode);
+        return properties -> properties.put("hibernate.search.indexing.listeners.enabled", String.valueOf(!outbox));
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer categoryRenameListenerCustomizer(CategoryRenameListener listener) {
+        Integrator integrator = new Integrator() {
+            @Override
+            public void integrate(Metadata metadata, BootstrapContext bootstrapContext,
+                                  SessionFactoryImplementor sessionFactory) {
+                sessionFactory.getServiceRegistry().requireService(EventListenerRegistry.class)
+                        .appendListeners(EventType.POST_UPDATE, listener);
+            }
+
+            @Override
+            public void disintegrate(SessionFactoryImplementor sessionFactory,
+                                     SessionFactoryServiceRegistry serviceRegistry) {
+            }
+        };
+        return properties -> properties.put(EntityManagerFactoryBuilderImpl.INTEGRATOR_PROVIDER,
+                (IntegratorProvider) () -> List.of(integrator));
+    }
+}
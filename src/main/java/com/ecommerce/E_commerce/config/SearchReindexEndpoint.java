@@ -0,0 +1,23 @@
+package com.ecommerce.E_commerce.config;
+
+import com.ecommerce.E_commerce.service.SearchReindexProgress;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Exposes search reindex progress, throughput and ETA under {@code /actuator/searchreindex}.
+ */
+@Component
+@Endpoint(id = "searchreindex")
+@RequiredArgsConstructor
+public class SearchReindexEndpoint {
+
+    private final SearchReindexProgress progress;
+
+    @ReadOperation
+    public SearchReindexProgress.Snapshot progress() {
+        return progress.snapshot();
+    }
+}
@@ -56,6 +56,8 @@ public class SecurityConfig {
                             .requestMatchers(
                                     HttpMethod.POST,
                                     "/api/search",
+                                    "/api/search/facets",
+                                    "/api/search/cursor",
                                     "/api/ai/chat",
                                     "/api/auth/activate",
                                     "/api/auth/resend-activation",
@@ -70,6 +72,7 @@ public class SecurityConfig {
                                     "/api/payments/guest/*/simulate").permitAll()
                             .requestMatchers(
                                     HttpMethod.GET,
+                                    "/api/search/suggest",
                                     "/api/categories",
                                     "/api/categories/**",
                                     "/api/products",
@@ -107,6 +110,7 @@ public class SecurityConfig {
                                     "/api/inventory/product/{productId}",
                                     "/api/inventory/summary",
                                     "/api/inventory/product/{productId}/available",
+                                    "/api/inventory/product/{productId}/stock",
                                     "/api/pages",
                                     "/api/pages/*",
                                     "/api/pages/slug/*",
@@ -145,7 +149,8 @@ public class SecurityConfig {
         CorsConfiguration configuration = new CorsConfiguration();
         configuration.setAllowedOrigins(List.of("http://localhost:5173"));
         configuration.setAllowedMethods(Arrays.asList("GET", "POST","PATCH", "PUT", "DELETE", "OPTIONS"));
-        configuration.setAllowedHeaders(Arrays.asList("Authorization", "Content-Type"));
+        configuration.setAllowedHeaders(Arrays.asList("Authorization", "Content-Type", "Idempotency-Key"));
+        configuration.setExposedHeaders(List.of("Idempotent-Replayed"));
         configuration.setAllowCredentials(true);
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
         source.registerCorsConfiguration("/**", configuration);
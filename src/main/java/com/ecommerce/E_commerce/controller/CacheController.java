@@ -0,0 +1,64 @@
+package com.ecommerce.E_commerce.controller;
+
+import com.ecommerce.E_commerce.dto.cache.CacheStatsDTO;
+import com.ecommerce.E_commerce.dto.cache.CacheWarmResultDTO;
+import com.ecommerce.E_commerce.service.CacheAdminService;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/caches")
+@RequiredArgsConstructor
+@Validated
+public class CacheController {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheController.class);
+    private final CacheAdminService cacheAdminService;
+
+    @GetMapping
+    @PreAuthorize("hasRole('OWNER')")
+    public ResponseEntity<List<CacheStatsDTO>> getAllStats() {
+        return ResponseEntity.ok(cacheAdminService.getAllStats());
+    }
+
+    @GetMapping("/{name}")
+    @PreAuthorize("hasRole('OWNER')")
+    public ResponseEntity<CacheStatsDTO> getStats(@PathVariable String name) {
+        return ResponseEntity.ok(cacheAdminService.getStats(name));
+    }
+
+    /**
+     * Most frequently read keys of the cache on this node, hottest first.
+     */
+    @GetMapping("/{name}/top-keys")
+    @PreAuthorize("hasRole('OWNER')")
+    public ResponseEntity<List<String>> getTopKeys(
+            @PathVariable String name,
+            @RequestParam(defaultValue = "20") @Min(value = 1, message = "Limit must be at least 1") @Max(value = 500, message = "Limit cannot exceed 500") int limit) {
+        return ResponseEntity.ok(cacheAdminService.getTopKeys(name, limit));
+    }
+
+    @PostMapping("/{name}/warm")
+    @PreAuthorize("hasRole('OWNER')")
+    public ResponseEntity<CacheWarmResultDTO> warm(@PathVariable String name) {
+        logger.info("POST /api/caches/{}/warm - Warming cache", name);
+        return ResponseEntity.ok(cacheAdminService.warm(name));
+    }
+
+    @DeleteMapping("/{name}")
+    @PreAuthorize("hasRole('OWNER')")
+    public ResponseEntity<Void> clear(@PathVariable String name) {
+        logger.info("DELETE /api/caches/{} - Clearing cache on all nodes", name);
+        cacheAdminService.clear(name);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -1,9 +1,11 @@
 package com.ecommerce.E_commerce.controller;
 
+import com.ecommerce.E_commerce.dto.common.KeysetPageDTO;
 import com.ecommerce.E_commerce.dto.inventory.InventoryCreateDTO;
 import com.ecommerce.E_commerce.dto.inventory.InventoryDTO;
 import com.ecommerce.E_commerce.dto.inventory.InventorySummaryDTO;
 import com.ecommerce.E_commerce.dto.inventory.InventoryUpdateDTO;
+import com.ecommerce.E_commerce.dto.inventory.StockLevelDTO;
 import com.ecommerce.E_commerce.service.InventoryService;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
@@ -92,7 +94,31 @@ public class InventoryController {
         Page<InventorySummaryDTO> inventories = inventoryService.findAllSummary(pageable);
         return ResponseEntity.ok(inventories);
     }
+
+    @GetMapping("/scroll")
+    @PreAuthorize("hasRole('OWNER')")
+    public ResponseEntity<KeysetPageDTO<InventoryDTO>> scrollInventory(
+            @RequestParam(required = false) Long productId,
+            @RequestParam(required = false) String productName,
+            @RequestParam(required = false) Integer minAvailableQuantity,
+            @RequestParam(required = false) Integer maxAvailableQuantity,
+            @RequestParam(required = false) Integer minReservedQuantity,
+            @RequestParam(required = false) Integer maxReservedQuantity,
+            @RequestParam(required = false) Boolean belowMinimum,
+            @RequestParam(required = false) Boolean isActive,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        return ResponseEntity.ok(inventoryService.scrollByMultipleCriteria(productId, productName,
+                minAvailableQuantity, maxAvailableQuantity, minReservedQuantity, maxReservedQuantity,
+                belowMinimum, isActive, cursor, size, includeTotal));
+    }
     
+    @GetMapping("/product/{productId}/stock")
+    public ResponseEntity<StockLevelDTO> getStockLevel(@PathVariable Long productId) {
+        return ResponseEntity.ok(inventoryService.getStockLevel(productId));
+    }
+
     @GetMapping("/product/{productId}/available")
     public ResponseEntity<Boolean> checkStockAvailability(
             @PathVariable Long productId,
@@ -1,12 +1,20 @@
 package com.ecommerce.E_commerce.controller;
 
+import com.ecommerce.E_commerce.config.WebConfig;
+import com.ecommerce.E_commerce.dto.common.KeysetPageDTO;
+import com.ecommerce.E_commerce.dto.order.BulkOrderResultDTO;
 import com.ecommerce.E_commerce.dto.order.GuestOrderCreateDTO;
 import com.ecommerce.E_commerce.dto.order.OrderCreateDTO;
 import com.ecommerce.E_commerce.dto.order.OrderDTO;
+import com.ecommerce.E_commerce.dto.order.OrderSummaryDTO;
 import com.ecommerce.E_commerce.dto.order.OrderUpdateDTO;
 import com.ecommerce.E_commerce.model.OrderStatus;
 import com.ecommerce.E_commerce.model.User;
+import com.ecommerce.E_commerce.service.BulkOrderIngestionService;
+import com.ecommerce.E_commerce.service.OrderIdempotencyStore;
 import com.ecommerce.E_commerce.service.OrderService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -17,12 +25,21 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
+import java.util.Locale;
 
 @RestController
 @RequestMapping("/api/orders")
@@ -30,19 +47,36 @@ import java.time.Instant;
 public class OrderController {
     
     private static final Logger logger = LoggerFactory.getLogger(OrderController.class);
+    static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final String NDJSON = "application/x-ndjson";
     private final OrderService orderService;
+    private final OrderIdempotencyStore idempotencyStore;
+    private final BulkOrderIngestionService bulkOrderIngestionService;
+    private final ObjectMapper objectMapper;
     
     @Autowired
-    public OrderController(OrderService orderService) {
+    public OrderController(OrderService orderService,
+                           OrderIdempotencyStore idempotencyStore,
+                           BulkOrderIngestionService bulkOrderIngestionService,
+                           ObjectMapper objectMapper) {
         this.orderService = orderService;
+        this.idempotencyStore = idempotencyStore;
+        this.bulkOrderIngestionService = bulkOrderIngestionService;
+        this.objectMapper = objectMapper;
     }
     
     @PostMapping
     @PreAuthorize("hasRole('USER') or hasRole('OWNER')")
     public ResponseEntity<OrderDTO> createOrder(
             @Valid @RequestBody OrderCreateDTO dto,
-            @AuthenticationPrincipal User user) {
+            @AuthenticationPrincipal User user,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
         logger.info("POST /api/orders - Creating order for userId={}, itemsCount={}", user.getId(), dto.items() != null ? dto.items().size() : 0);
+        if (idempotencyKey != null) {
+            return idempotentCreated(idempotencyStore.execute("user:" + user.getId(), idempotencyKey, dto,
+                    () -> orderService.create(user.getId(), dto)));
+        }
         OrderDTO order = orderService.create(user.getId(), dto);
         logger.info("POST /api/orders - Order created successfully: orderId={}, userId={}, total={}", order.id(), user.getId(), order.totalAmount());
         return ResponseEntity.status(HttpStatus.CREATED).body(order);
@@ -50,12 +84,53 @@ public class OrderController {
 
     @PostMapping("/guest")
     public ResponseEntity<OrderDTO> createGuestOrder(
-            @Valid @RequestBody GuestOrderCreateDTO dto) {
+            @Valid @RequestBody GuestOrderCreateDTO dto,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
         logger.info("POST /api/orders/guest - Creating guest order for email={}, itemsCount={}", dto.email(), dto.items() != null ? dto.items().size() : 0);
+        if (idempotencyKey != null) {
+            return idempotentCreated(idempotencyStore.execute("guest:" + dto.email().toLowerCase(Locale.ROOT),
+                    idempotencyKey, dto, () -> orderService.createGuestOrder(dto)));
+        }
         OrderDTO order = orderService.createGuestOrder(dto);
         logger.info("POST /api/orders/guest - Guest order created successfully: orderId={}, email={}, total={}", order.id(), dto.email(), order.totalAmount());
         return ResponseEntity.status(HttpStatus.CREATED).body(order);
     }
+
+    /**
+     * Streams one result per input line as each chunk commits. The request gets its own async
+     * timeout ({@link BulkOrderIngestionService#requestTimeout()}) instead of the container default.
+     */
+    @PostMapping(value = "/bulk", consumes = NDJSON, produces = NDJSON)
+    @PreAuthorize("hasRole('OWNER')")
+    public ResponseEntity<StreamingResponseBody> importOrders(InputStream body, HttpServletRequest request) {
+        logger.info("POST /api/orders/bulk - Importing orders");
+        request.setAttribute(WebConfig.ASYNC_TIMEOUT_ATTRIBUTE, bulkOrderIngestionService.requestTimeout());
+        StreamingResponseBody response = out -> {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+            bulkOrderIngestionService.ingest(reader, chunk -> {
+                try {
+                    for (BulkOrderResultDTO result : chunk) {
+                        out.write(objectMapper.writeValueAsBytes(result));
+                        out.write('\n');
+                    }
+                    out.flush();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON))
+                .body(response);
+    }
+
+    private ResponseEntity<OrderDTO> idempotentCreated(OrderIdempotencyStore.Result<OrderDTO> result) {
+        logger.info("Order {} for Idempotency-Key: orderId={}", result.replayed() ? "replayed" : "created",
+                result.value().id());
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .header(IDEMPOTENT_REPLAYED_HEADER, String.valueOf(result.replayed()))
+                .body(result.value());
+    }
     
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('OWNER')")
@@ -97,20 +172,20 @@ public class OrderController {
     
     @GetMapping
     @PreAuthorize("hasRole('OWNER')")
-    public ResponseEntity<Page<OrderDTO>> getAllOrders(
+    public ResponseEntity<Page<OrderSummaryDTO>> getAllOrders(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "createdAt") String sortBy,
             @RequestParam(defaultValue = "desc") String sortDir) {
         Sort sort = sortDir.equalsIgnoreCase("desc") ? Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
         Pageable pageable = PageRequest.of(page, size, sort);
-        Page<OrderDTO> orders = orderService.findAll(pageable);
+        Page<OrderSummaryDTO> orders = orderService.findAll(pageable);
         return ResponseEntity.ok(orders);
     }
     
     @GetMapping("/me")
     @PreAuthorize("hasRole('USER') or hasRole('OWNER')")
-    public ResponseEntity<Page<OrderDTO>> getMyOrders(
+    public ResponseEntity<Page<OrderSummaryDTO>> getMyOrders(
             @AuthenticationPrincipal User user,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
@@ -118,13 +193,13 @@ public class OrderController {
             @RequestParam(defaultValue = "desc") String sortDir) {
         Sort sort = sortDir.equalsIgnoreCase("desc") ? Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
         Pageable pageable = PageRequest.of(page, size, sort);
-        Page<OrderDTO> orders = orderService.findByUserId(user.getId(), pageable);
+        Page<OrderSummaryDTO> orders = orderService.findByUserId(user.getId(), pageable);
         return ResponseEntity.ok(orders);
     }
     
     @GetMapping("/user/{userId}")
     @PreAuthorize("hasRole('OWNER') or (hasRole('USER') and #userId == authentication.principal.id)")
-    public ResponseEntity<Page<OrderDTO>> getOrdersByUserId(
+    public ResponseEntity<Page<OrderSummaryDTO>> getOrdersByUserId(
             @PathVariable Long userId,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
@@ -132,13 +207,13 @@ public class OrderController {
             @RequestParam(defaultValue = "desc") String sortDir) {
         Sort sort = sortDir.equalsIgnoreCase("desc") ? Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
         Pageable pageable = PageRequest.of(page, size, sort);
-        Page<OrderDTO> orders = orderService.findByUserId(userId, pageable);
+        Page<OrderSummaryDTO> orders = orderService.findByUserId(userId, pageable);
         return ResponseEntity.ok(orders);
     }
     
     @GetMapping("/status/{status}")
     @PreAuthorize("hasRole('OWNER')")
-    public ResponseEntity<Page<OrderDTO>> getOrdersByStatus(
+    public ResponseEntity<Page<OrderSummaryDTO>> getOrdersByStatus(
             @PathVariable OrderStatus status,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
@@ -146,13 +221,13 @@ public class OrderController {
             @RequestParam(defaultValue = "desc") String sortDir) {
         Sort sort = sortDir.equalsIgnoreCase("desc") ? Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
         Pageable pageable = PageRequest.of(page, size, sort);
-        Page<OrderDTO> orders = orderService.findByStatus(status, pageable);
+        Page<OrderSummaryDTO> orders = orderService.findByStatus(status, pageable);
         return ResponseEntity.ok(orders);
     }
     
     @GetMapping("/user/{userId}/status/{status}")
     @PreAuthorize("hasRole('OWNER') or (hasRole('USER') and #userId == authentication.principal.id)")
-    public ResponseEntity<Page<OrderDTO>> getOrdersByUserIdAndStatus(
+    public ResponseEntity<Page<OrderSummaryDTO>> getOrdersByUserIdAndStatus(
             @PathVariable Long userId,
             @PathVariable OrderStatus status,
             @RequestParam(defaultValue = "0") int page,
@@ -161,13 +236,13 @@ public class OrderController {
             @RequestParam(defaultValue = "desc") String sortDir) {
         Sort sort = sortDir.equalsIgnoreCase("desc") ? Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
         Pageable pageable = PageRequest.of(page, size, sort);
-        Page<OrderDTO> orders = orderService.findByUserIdAndStatus(userId, status, pageable);
+        Page<OrderSummaryDTO> orders = orderService.findByUserIdAndStatus(userId, status, pageable);
         return ResponseEntity.ok(orders);
     }
     
     @GetMapping("/filter")
     @PreAuthorize("hasRole('OWNER')")
-    public ResponseEntity<Page<OrderDTO>> filterOrders(
+    public ResponseEntity<Page<OrderSummaryDTO>> filterOrders(
             @RequestParam(required = false) Long userId,
             @RequestParam(required = false) OrderStatus status,
             @RequestParam(required = false) Boolean isActive,
@@ -179,9 +254,24 @@ public class OrderController {
             @RequestParam(defaultValue = "desc") String sortDir) {
         Sort sort = sortDir.equalsIgnoreCase("desc") ? Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
         Pageable pageable = PageRequest.of(page, size, sort);
-        Page<OrderDTO> orders = orderService.findByMultipleCriteria(userId, status, isActive, startDate, endDate, pageable);
+        Page<OrderSummaryDTO> orders = orderService.findByMultipleCriteria(userId, status, isActive, startDate, endDate, pageable);
         return ResponseEntity.ok(orders);
     }
+
+    @GetMapping("/scroll")
+    @PreAuthorize("hasRole('OWNER')")
+    public ResponseEntity<KeysetPageDTO<OrderSummaryDTO>> scrollOrders(
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false) Boolean isActive,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant endDate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        return ResponseEntity.ok(orderService.scrollByMultipleCriteria(
+                userId, status, isActive, startDate, endDate, cursor, size, includeTotal));
+    }
     
     @GetMapping("/stats/count")
     @PreAuthorize("hasRole('OWNER') or (hasRole('USER') and #userId == authentication.principal.id)")
@@ -1,5 +1,6 @@
 package com.ecommerce.E_commerce.controller;
 
+import com.ecommerce.E_commerce.dto.common.KeysetPageDTO;
 import com.ecommerce.E_commerce.dto.payment.GuestPaymentCreateDTO;
 import com.ecommerce.E_commerce.dto.payment.PaymentCreateDTO;
 import com.ecommerce.E_commerce.dto.payment.PaymentDTO;
@@ -184,6 +185,22 @@ public class PaymentController {
         Page<PaymentDTO> payments = paymentService.findByMultipleCriteria(orderId, status, method, isActive, startDate, endDate, pageable);
         return ResponseEntity.ok(payments);
     }
+
+    @GetMapping("/scroll")
+    @PreAuthorize("hasRole('OWNER')")
+    public ResponseEntity<KeysetPageDTO<PaymentDTO>> scrollPayments(
+            @RequestParam(required = false) Long orderId,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String method,
+            @RequestParam(required = false) Boolean isActive,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant endDate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        return ResponseEntity.ok(paymentService.scrollByMultipleCriteria(
+                orderId, status, method, isActive, startDate, endDate, cursor, size, includeTotal));
+    }
     
     @GetMapping("/stats/count")
     @PreAuthorize("hasRole('OWNER') or (hasRole('USER') and #orderId != null and @orderServiceImpl.isOrderOwner(#orderId, authentication.name))")
@@ -1,17 +1,29 @@
 package com.ecommerce.E_commerce.controller;
 
+import com.ecommerce.E_commerce.config.WebConfig;
 import com.ecommerce.E_commerce.dto.product.ProductSearchDTO;
+import com.ecommerce.E_commerce.dto.search.ProductCursorPageDTO;
+import com.ecommerce.E_commerce.dto.search.ProductFacetedSearchDTO;
+import com.ecommerce.E_commerce.dto.search.SearchSuggestionsDTO;
 import com.ecommerce.E_commerce.model.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.data.domain.Page;
 import com.ecommerce.E_commerce.service.SearchService;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
 import java.util.Map;
 
@@ -21,7 +33,9 @@ import java.util.Map;
 public class SearchController {
     
     private static final Logger logger = LoggerFactory.getLogger(SearchController.class);
+    private static final String NDJSON = "application/x-ndjson";
     private final SearchService searchService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     public Page<ProductSearchDTO> search(
@@ -39,4 +53,86 @@ public class SearchController {
         logger.debug("POST /api/search - Search completed: resultsCount={}", results.getTotalElements());
         return results;
     }
+
+    @PostMapping("/facets")
+    public ProductFacetedSearchDTO searchWithFacets(
+            @RequestParam(required = false) String query,
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(required = false) Boolean isActive,
+            @RequestBody(required = false) Map<String, String> attributes,
+            @PageableDefault(size = 20) Pageable pageable)
+    {
+        logger.debug("POST /api/search/facets - Faceted search: query={}, categoryId={}, attributesCount={}",
+                    query, categoryId, attributes != null ? attributes.size() : 0);
+        ProductFacetedSearchDTO results = searchService.searchWithFacets(query, categoryId, minPrice, maxPrice, isActive, attributes, pageable);
+        logger.debug("POST /api/search/facets - Search completed: resultsCount={}, attributeFacets={}",
+                    results.totalElements(), results.facets().attributes().size());
+        return results;
+    }
+
+    @GetMapping("/suggest")
+    public SearchSuggestionsDTO suggest(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "5") int limit)
+    {
+        return searchService.suggest(prefix, limit);
+    }
+
+    @PostMapping("/cursor")
+    public ProductCursorPageDTO searchWithCursor(
+            @RequestParam(required = false) String query,
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(required = false) Boolean isActive,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean exactTotal,
+            @RequestBody(required = false) Map<String, String> attributes,
+            @PageableDefault(size = 20) Pageable pageable)
+    {
+        logger.debug("POST /api/search/cursor - Searching products: query={}, categoryId={}, hasCursor={}",
+                    query, categoryId, cursor != null);
+        ProductCursorPageDTO results = searchService.searchWithCursor(query, categoryId, minPrice, maxPrice, isActive,
+                attributes, pageable.getSort(), pageable.getPageSize(), cursor, exactTotal);
+        logger.debug("POST /api/search/cursor - Search completed: resultsCount={}, hasNext={}",
+                    results.content().size(), results.nextCursor() != null);
+        return results;
+    }
+
+    /**
+     * Streams every match as NDJSON. The request gets its own async timeout
+     * ({@link SearchService#exportTimeout()}) instead of the container default.
+     */
+    @PostMapping(value = "/export", produces = NDJSON)
+    @PreAuthorize("hasRole('OWNER')")
+    public ResponseEntity<StreamingResponseBody> exportSearch(
+            @RequestParam(required = false) String query,
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(required = false) Boolean isActive,
+            @RequestBody(required = false) Map<String, String> attributes,
+            HttpServletRequest request)
+    {
+        logger.debug("POST /api/search/export - Exporting products: query={}, categoryId={}", query, categoryId);
+        request.setAttribute(WebConfig.ASYNC_TIMEOUT_ATTRIBUTE, searchService.exportTimeout());
+        StreamingResponseBody body = out -> {
+            searchService.exportSearch(query, categoryId, minPrice, maxPrice, isActive, attributes, chunk -> {
+                try {
+                    for (ProductSearchDTO product : chunk) {
+                        out.write(objectMapper.writeValueAsBytes(product));
+                        out.write('\n');
+                    }
+                    out.flush();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON))
+                .body(body);
+    }
 }
@@ -0,0 +1,20 @@
+package com.ecommerce.E_commerce.dto.cache;
+
+import java.time.Duration;
+
+/**
+ * Configuration and Caffeine statistics of one cache on the node that answered. Counters are
+ * cumulative since startup; {@code refreshAfterWrite} is {@code null} when the cache only expires.
+ */
+public record CacheStatsDTO(
+        String name,
+        long estimatedSize,
+        long maximumSize,
+        Duration ttl,
+        Duration refreshAfterWrite,
+        long hitCount,
+        long missCount,
+        double hitRate,
+        long evictionCount
+) {
+}
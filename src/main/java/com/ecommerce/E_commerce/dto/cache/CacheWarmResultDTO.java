@@ -0,0 +1,15 @@
+package com.ecommerce.E_commerce.dto.cache;
+
+import java.util.List;
+
+/**
+ * Outcome of warming one cache: the warmers that ran and the cache size before and after.
+ */
+public record CacheWarmResultDTO(
+        String name,
+        List<String> warmers,
+        long sizeBefore,
+        long sizeAfter,
+        long durationMs
+) {
+}
@@ -0,0 +1,15 @@
+package com.ecommerce.E_commerce.dto.common;
+
+import java.util.List;
+
+/**
+ * One page of a keyset (seek) traversal, newest first. {@code nextCursor} is {@code null} on the
+ * last page; {@code totalElements} is only computed when the caller asks for it.
+ */
+public record KeysetPageDTO<T>(
+        List<T> content,
+        int size,
+        String nextCursor,
+        Long totalElements
+) {
+}
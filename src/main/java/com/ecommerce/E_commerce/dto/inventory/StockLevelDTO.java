@@ -0,0 +1,9 @@
+package com.ecommerce.E_commerce.dto.inventory;
+
+public record StockLevelDTO(
+        Long productId,
+        Integer availableQuantity,
+        Integer reservedQuantity,
+        Boolean inStock
+) {
+}
@@ -0,0 +1,20 @@
+package com.ecommerce.E_commerce.dto.order;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+/**
+ * One line of a bulk order import: a marketplace or B2B order with the caller's own reference.
+ */
+public record BulkOrderLineDTO(
+        @NotBlank(message = "External ID is required")
+        @Size(max = 100, message = "External ID must not exceed 100 characters")
+        String externalId,
+
+        @NotNull(message = "Order is required")
+        @Valid
+        GuestOrderCreateDTO order
+) {
+}
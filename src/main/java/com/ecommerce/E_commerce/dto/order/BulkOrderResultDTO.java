@@ -0,0 +1,33 @@
+package com.ecommerce.E_commerce.dto.order;
+
+import java.math.BigDecimal;
+
+/**
+ * Outcome of one bulk import line, in input order; {@code line} is 1-based. An import stopped by
+ * its time limit ends with one {@link #ABORTED} entry whose {@code line} is the first line that
+ * was not imported.
+ */
+public record BulkOrderResultDTO(
+        long line,
+        String externalId,
+        String status,
+        Long orderId,
+        BigDecimal totalAmount,
+        String error
+) {
+    public static final String CREATED = "CREATED";
+    public static final String REJECTED = "REJECTED";
+    public static final String ABORTED = "ABORTED";
+
+    public static BulkOrderResultDTO created(long line, String externalId, Long orderId, BigDecimal totalAmount) {
+        return new BulkOrderResultDTO(line, externalId, CREATED, orderId, totalAmount, null);
+    }
+
+    public static BulkOrderResultDTO rejected(long line, String externalId, String error) {
+        return new BulkOrderResultDTO(line, externalId, REJECTED, null, null, error);
+    }
+
+    public static BulkOrderResultDTO aborted(long line, String error) {
+        return new BulkOrderResultDTO(line, null, ABORTED, null, null, error);
+    }
+}
@@ -0,0 +1,22 @@
+package com.ecommerce.E_commerce.dto.order;
+
+import com.ecommerce.E_commerce.model.OrderStatus;
+import com.ecommerce.E_commerce.model.PaymentStatus;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+public record OrderSummaryDTO(
+        Long id,
+        Long userId,
+        String customerEmail,
+        OrderStatus status,
+        BigDecimal totalAmount,
+        Integer itemCount,
+        String firstProductName,
+        String thumbnailUrl,
+        PaymentStatus paymentStatus,
+        Boolean isActive,
+        Instant createdAt
+) {
+}
@@ -0,0 +1,14 @@
+package com.ecommerce.E_commerce.dto.product;
+
+import java.math.BigDecimal;
+
+/**
+ * The product columns checkout needs to price an order, read without loading the entity.
+ */
+public record ProductPriceDTO(
+        Long id,
+        BigDecimal price,
+        Boolean isActive,
+        BigDecimal shippingCost
+) {
+}
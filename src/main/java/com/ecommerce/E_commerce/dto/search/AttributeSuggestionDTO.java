@@ -0,0 +1,8 @@
+package com.ecommerce.E_commerce.dto.search;
+
+public record AttributeSuggestionDTO(
+        String name,
+        String value,
+        long count
+) {
+}
@@ -0,0 +1,9 @@
+package com.ecommerce.E_commerce.dto.search;
+
+public record CategorySuggestionDTO(
+        Long id,
+        String name,
+        String seoSlug,
+        long count
+) {
+}
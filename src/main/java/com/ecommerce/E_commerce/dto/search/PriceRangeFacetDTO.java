@@ -0,0 +1,10 @@
+package com.ecommerce.E_commerce.dto.search;
+
+import java.math.BigDecimal;
+
+public record PriceRangeFacetDTO(
+        BigDecimal from,
+        BigDecimal to,
+        long count
+) {
+}
@@ -0,0 +1,18 @@
+package com.ecommerce.E_commerce.dto.search;
+
+import com.ecommerce.E_commerce.dto.product.ProductSearchDTO;
+
+import java.util.List;
+
+/**
+ * One page of a search-after traversal. {@code nextCursor} is {@code null} on the last page;
+ * {@code totalExact} is {@code false} when {@code totalElements} is only a lower bound.
+ */
+public record ProductCursorPageDTO(
+        List<ProductSearchDTO> content,
+        int size,
+        String nextCursor,
+        long totalElements,
+        boolean totalExact
+) {
+}
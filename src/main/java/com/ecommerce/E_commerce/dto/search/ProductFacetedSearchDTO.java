@@ -0,0 +1,15 @@
+package com.ecommerce.E_commerce.dto.search;
+
+import com.ecommerce.E_commerce.dto.product.ProductSearchDTO;
+
+import java.util.List;
+
+public record ProductFacetedSearchDTO(
+        List<ProductSearchDTO> content,
+        int page,
+        int size,
+        long totalElements,
+        int totalPages,
+        SearchFacetsDTO facets
+) {
+}
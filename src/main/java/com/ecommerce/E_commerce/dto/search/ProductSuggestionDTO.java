@@ -0,0 +1,8 @@
+package com.ecommerce.E_commerce.dto.search;
+
+public record ProductSuggestionDTO(
+        Long id,
+        String name,
+        String seoSlug
+) {
+}
@@ -0,0 +1,14 @@
+package com.ecommerce.E_commerce.dto.search;
+
+import com.ecommerce.E_commerce.dto.product.ProductSearchDTO;
+
+import java.util.List;
+
+/**
+ * Hits of the first candidate (by position in the batch) that matched anything.
+ */
+public record SearchBatchResultDTO(
+        int candidateIndex,
+        List<ProductSearchDTO> hits
+) {
+}
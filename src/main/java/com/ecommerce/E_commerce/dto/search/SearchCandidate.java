@@ -0,0 +1,19 @@
+package com.ecommerce.E_commerce.dto.search;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * One variant of a search in a batch (e.g. the strict query and its relaxations), fetching at
+ * most {@code size} hits.
+ */
+public record SearchCandidate(
+        String query,
+        Long categoryId,
+        BigDecimal minPrice,
+        BigDecimal maxPrice,
+        Boolean isActive,
+        Map<String, String> attributes,
+        int size
+) {
+}
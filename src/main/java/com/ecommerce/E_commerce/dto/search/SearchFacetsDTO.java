@@ -0,0 +1,11 @@
+package com.ecommerce.E_commerce.dto.search;
+
+import java.util.List;
+import java.util.Map;
+
+public record SearchFacetsDTO(
+        Map<String, Map<String, Long>> attributes,
+        Map<Long, Long> categories,
+        List<PriceRangeFacetDTO> priceRanges
+) {
+}
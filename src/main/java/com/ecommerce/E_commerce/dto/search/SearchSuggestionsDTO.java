@@ -0,0 +1,13 @@
+package com.ecommerce.E_commerce.dto.search;
+
+import java.util.List;
+
+public record SearchSuggestionsDTO(
+        List<ProductSuggestionDTO> products,
+        List<CategorySuggestionDTO> categories,
+        List<AttributeSuggestionDTO> attributes
+) {
+    public static SearchSuggestionsDTO empty() {
+        return new SearchSuggestionsDTO(List.of(), List.of(), List.of());
+    }
+}
@@ -0,0 +1,42 @@
+package com.ecommerce.E_commerce.event;
+
+import com.ecommerce.E_commerce.config.CacheInvalidationBus;
+import com.ecommerce.E_commerce.service.CategoryTreeCache;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CategoryEventListener {
+    private final CategoryTreeCache categoryTreeCache;
+    private final CacheInvalidationBus invalidationBus;
+
+    /**
+     * Category writes clear the {@code categories} cache; when another node does that, its tree
+     * changed too, so drop the local snapshot and rebuild it on next use.
+     */
+    @PostConstruct
+    void subscribeToRemoteCategoryChanges() {
+        invalidationBus.subscribe(invalidation -> {
+            if (invalidation.clears("categories")) {
+                categoryTreeCache.invalidate();
+            }
+        });
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void handleCategoryTreeChanged(CategoryTreeChangedEvent event) {
+        log.debug("Category {} changed, rebuilding category tree snapshot", event.categoryId());
+        try {
+            categoryTreeCache.rebuild();
+        } catch (Exception e) {
+            log.error("Failed to rebuild category tree snapshot, invalidating it instead", e);
+            categoryTreeCache.invalidate();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.ecommerce.E_commerce.event;
+
+import com.ecommerce.E_commerce.model.Category;
+import com.ecommerce.E_commerce.service.SearchIndexQueue;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+/**
+ * Enqueues a category's products for reindexing when a field their search documents embed
+ * changes. Product documents only carry the category's id and name, so a description, slug or
+ * parent change must not reindex the whole category. Registered as a Hibernate event listener
+ * (not a JPA callback) because only Hibernate's event knows which properties were dirty.
+ */
+@Component
+@RequiredArgsConstructor
+public class CategoryRenameListener implements PostUpdateEventListener {
+    /** The embedded paths of {@code Product.category} other than the identifier, which never changes. */
+    private static final Set<String> INDEXED_PROPERTIES = Set.of("name");
+
+    private final SearchIndexQueue searchIndexQueue;
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (event.getEntity() instanceof Category category && changesIndexedProperty(event)) {
+            searchIndexQueue.enqueueProductsInCategory(category.getId());
+        }
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    private static boolean changesIndexedProperty(PostUpdateEvent event) {
+        int[] dirty = event.getDirtyProperties();
+        if (dirty == null) {
+            // dirtiness unknown (e.g. a forced update): reindex to be safe
+            return true;
+        }
+        String[] names = event.getPersister().getPropertyNames();
+        for (int property : dirty) {
+            if (INDEXED_PROPERTIES.contains(names[property])) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,4 @@
+package com.ecommerce.E_commerce.event;
+
+public record CategoryTreeChangedEvent(Long categoryId) {
+}
@@ -0,0 +1,53 @@
+package com.ecommerce.E_commerce.event;
+
+import com.ecommerce.E_commerce.service.OrderSummaryProjector;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Refreshes an order's list row once the change that touched it has committed. Each refresh
+ * runs in its own transaction; a failure is logged and leaves the previous row in place until
+ * {@link com.ecommerce.E_commerce.service.OrderSummaryReconciler} repairs it.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OrderSummaryEventListener {
+
+    private final OrderSummaryProjector projector;
+    private final PlatformTransactionManager transactionManager;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void handleOrderCreated(OrderCreatedEvent event) {
+        refresh(event.orderId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void handleOrderUpdated(OrderUpdatedEvent event) {
+        refresh(event.orderId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void handlePaymentStatusChanged(PaymentStatusChangedEvent event) {
+        refresh(event.orderId());
+    }
+
+    private void refresh(Long orderId) {
+        log.debug("Refreshing order summary for orderId={}", orderId);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        try {
+            transactionTemplate.executeWithoutResult(status -> projector.refresh(List.of(orderId)));
+        } catch (Exception e) {
+            log.error("Failed to refresh order summary for orderId={}", orderId, e);
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.ecommerce.E_commerce.event;
+
+/**
+ * An existing order changed in a way visible in order lists: status, active flag or deletion.
+ */
+public record OrderUpdatedEvent(Long orderId) {
+}
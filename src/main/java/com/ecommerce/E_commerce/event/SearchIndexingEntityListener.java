@@ -0,0 +1,44 @@
+package com.ecommerce.E_commerce.event;
+
+import com.ecommerce.E_commerce.model.Attribute;
+import com.ecommerce.E_commerce.model.Category;
+import com.ecommerce.E_commerce.model.Product;
+import com.ecommerce.E_commerce.model.ProductAttributeValue;
+import com.ecommerce.E_commerce.service.SearchIndexQueue;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Feeds the search indexing outbox from JPA lifecycle callbacks on every entity that contributes
+ * to a product's search document. Instantiated through Spring's Hibernate bean container.
+ */
+@Component
+@RequiredArgsConstructor
+public class SearchIndexingEntityListener {
+    private final SearchIndexQueue searchIndexQueue;
+
+    @PostPersist
+    @PostRemove
+    public void onChange(Object entity) {
+        if (entity instanceof Product product) {
+            searchIndexQueue.enqueueProduct(product.getId());
+        } else if (entity instanceof ProductAttributeValue value && value.getProduct() != null) {
+            searchIndexQueue.enqueueProduct(value.getProduct().getId());
+        } else if (entity instanceof Attribute attribute) {
+            searchIndexQueue.enqueueProductsWithAttribute(attribute.getId());
+        } else if (entity instanceof Category category) {
+            searchIndexQueue.enqueueProductsInCategory(category.getId());
+        }
+    }
+
+    /** Category updates are left to {@link CategoryRenameListener}, which skips non-indexed changes. */
+    @PostUpdate
+    public void onUpdate(Object entity) {
+        if (!(entity instanceof Category)) {
+            onChange(entity);
+        }
+    }
+}
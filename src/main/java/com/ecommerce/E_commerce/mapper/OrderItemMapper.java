@@ -25,6 +25,7 @@ public interface OrderItemMapper {
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
     @Mapping(target = "deletedAt", ignore = true)
+    @Mapping(target = "reservationExpiresAt", ignore = true)
     @Mapping(target = "isActive", constant = "true")
     OrderItem toOrderItem(OrderItemCreateDTO dto);
     
@@ -35,6 +36,7 @@ public interface OrderItemMapper {
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
     @Mapping(target = "deletedAt", ignore = true)
+    @Mapping(target = "reservationExpiresAt", ignore = true)
     @Mapping(target = "isActive", ignore = true)
     void updateOrderItemFromDTO(OrderItemUpdateDTO dto, @MappingTarget OrderItem orderItem);
 }
@@ -2,15 +2,17 @@ package com.ecommerce.E_commerce.mapper;
 
 import com.ecommerce.E_commerce.dto.order.OrderCreateDTO;
 import com.ecommerce.E_commerce.dto.order.OrderDTO;
+import com.ecommerce.E_commerce.dto.order.OrderSummaryDTO;
 import com.ecommerce.E_commerce.dto.order.OrderUpdateDTO;
 import com.ecommerce.E_commerce.model.Order;
+import com.ecommerce.E_commerce.model.OrderSummary;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
 import org.mapstruct.NullValuePropertyMappingStrategy;
 
 @Mapper(componentModel = "spring",
-        uses = {AddressMapper.class, OrderItemMapper.class, PaymentMapper.class},
+        uses = {AddressMapper.class, OrderItemMapper.class, PaymentMapper.class, ProductMapper.class},
         nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
 public interface OrderMapper {
 
@@ -23,6 +25,10 @@ public interface OrderMapper {
     @Mapping(target = "status", source = "status")
     OrderDTO toOrderDTO(Order order);
 
+    @Mapping(target = "id", source = "orderId")
+    @Mapping(target = "thumbnailUrl", source = "thumbnailUrl", qualifiedByName = "buildFullUrl")
+    OrderSummaryDTO toOrderSummaryDTO(OrderSummary summary);
+
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "user", ignore = true)
     @Mapping(target = "address", ignore = true)
@@ -32,6 +38,7 @@ public interface OrderMapper {
     @Mapping(target = "updatedAt", ignore = true)
     @Mapping(target = "deletedAt", ignore = true)
     @Mapping(target = "payments", ignore = true)
+    @Mapping(target = "reservationReleaseFailures", ignore = true)
     @Mapping(target = "isActive", constant = "true")
     Order toOrder(OrderCreateDTO dto);
 
@@ -44,5 +51,6 @@ public interface OrderMapper {
     @Mapping(target = "updatedAt", ignore = true)
     @Mapping(target = "deletedAt", ignore = true)
     @Mapping(target = "payments", ignore = true)
+    @Mapping(target = "reservationReleaseFailures", ignore = true)
     void updateOrderFromDTO(OrderUpdateDTO dto, @MappingTarget Order order);
 }
\ No newline at end of file
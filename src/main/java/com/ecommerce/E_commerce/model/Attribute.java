@@ -1,5 +1,7 @@
 package com.ecommerce.E_commerce.model;
 
+import com.ecommerce.E_commerce.config.AttributeNameKeyBridge;
+import com.ecommerce.E_commerce.event.SearchIndexingEntityListener;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -8,7 +10,9 @@ import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 import org.hibernate.annotations.SQLDelete;
 import org.hibernate.annotations.SQLRestriction;
+import org.hibernate.search.engine.backend.types.Projectable;
 import org.hibernate.search.mapper.pojo.mapping.definition.annotation.FullTextField;
+import org.hibernate.search.mapper.pojo.bridge.mapping.annotation.ValueBridgeRef;
 import org.hibernate.search.mapper.pojo.mapping.definition.annotation.KeywordField;
 
 import java.time.Instant;
@@ -18,6 +22,7 @@ import java.util.Set;
 
 
 @Entity
+@EntityListeners(SearchIndexingEntityListener.class)
 @Table(name = "attributes",
         uniqueConstraints = @UniqueConstraint(columnNames = {"name", "type"}))
 @SQLDelete(sql = "UPDATE attributes SET deleted_at = NOW(), is_active = false WHERE id = ?")
@@ -32,7 +37,9 @@ public class Attribute {
     private Long id;
 
     @Column(nullable = false, length = 100)
-    @KeywordField
+    @KeywordField(projectable = Projectable.YES)
+    @KeywordField(name = "nameKey", normalizer = "lowercase",
+            valueBridge = @ValueBridgeRef(type = AttributeNameKeyBridge.class))
     private String name;
 
     @Enumerated(EnumType.STRING)
@@ -1,27 +1,37 @@
 package com.ecommerce.E_commerce.model;
 
+import com.ecommerce.E_commerce.event.SearchIndexingEntityListener;
 import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.Data;
+import lombok.ToString;
 import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.OnDelete;
 import org.hibernate.annotations.OnDeleteAction;
 import org.hibernate.annotations.SQLDelete;
 import org.hibernate.annotations.SQLRestriction;
+import org.hibernate.search.engine.backend.types.Aggregable;
+import org.hibernate.search.engine.backend.types.Projectable;
+import org.hibernate.search.mapper.pojo.mapping.definition.annotation.FullTextField;
 import org.hibernate.search.mapper.pojo.mapping.definition.annotation.GenericField;
+import org.hibernate.search.mapper.pojo.mapping.definition.annotation.KeywordField;
 
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 @Data
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 @Entity
 @Table(name = "categories")
+@EntityListeners(SearchIndexingEntityListener.class)
 @SQLDelete(sql = "UPDATE categories SET deleted_at = NOW(), is_active = false WHERE id = ?")
 @SQLRestriction("deleted_at IS NULL")
 public class Category {
@@ -29,12 +39,14 @@ public class Category {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @ColumnDefault("nextval('categories_id_seq'::regclass)")
     @Column(name = "id", nullable = false)
-    @GenericField
+    @GenericField(aggregable = Aggregable.YES)
     private Long id;
 
     @Size(max = 100)
     @NotNull
     @Column(name = "name", nullable = false, length = 100)
+    @KeywordField(projectable = Projectable.YES)
+    @FullTextField(name = "name_suggest", analyzer = "autocomplete_indexing", searchAnalyzer = "autocomplete_search")
     private String name;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -52,6 +64,15 @@ public class Category {
     @JsonManagedReference
     private Set<Category> children = new HashSet<>();
 
+    /**
+     * Inverse side of {@link Product#getCategory()}, which lets Hibernate Search reindex a
+     * category's products when its name changes. Never loaded otherwise.
+     */
+    @OneToMany(mappedBy = "category")
+    @ToString.Exclude
+    @JsonIgnore
+    private List<Product> products = new ArrayList<>();
+
     @Column(name = "description", columnDefinition = "TEXT")
     private String description;
 
@@ -22,11 +22,16 @@ import java.util.List;
 @SQLDelete(sql = "UPDATE orders SET deleted_at = NOW(), is_active = false WHERE id = ?")
 @SQLRestriction("deleted_at IS NULL")
 public class Order {
+    /**
+     * Ids handed out per sequence call for orders, order items and payments; matches the
+     * {@code INCREMENT BY} of their sequences so inserts can be batched.
+     */
+    public static final int ID_ALLOCATION_SIZE = 50;
     private static final BigDecimal SHIPPING_COST = new BigDecimal("20.00");
     private static final BigDecimal FREE_SHIPPING_THRESHOLD = new BigDecimal("300.00");
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    @ColumnDefault("nextval('orders_id_seq'::regclass)")
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_id_seq")
+    @SequenceGenerator(name = "orders_id_seq", sequenceName = "orders_id_seq", allocationSize = ID_ALLOCATION_SIZE)
     @Column(name = "id", nullable = false)
     private Long id;
 
@@ -88,6 +93,12 @@ public class Order {
     @Column(name = "guest_phone", length = 20)
     private String guestPhone;
 
+    /** Failed attempts of the reservation expiry sweeper to cancel this order. */
+    @NotNull
+    @ColumnDefault("0")
+    @Column(name = "reservation_release_failures", nullable = false)
+    private Integer reservationReleaseFailures = 0;
+
     @PrePersist
     public void prePersist() {
         this.createdAt = Instant.now();
@@ -101,6 +112,9 @@ public class Order {
         if (this.isActive == null) {
             this.isActive = true;
         }
+        if (this.reservationReleaseFailures == null) {
+            this.reservationReleaseFailures = 0;
+        }
     }
 
     @PreUpdate
@@ -119,6 +133,22 @@ public class Order {
      * @return The created OrderItem
      */
     public OrderItem addItem(Product product, Integer quantity) {
+        if (product == null) {
+            throw new IllegalArgumentException("Product cannot be null");
+        }
+        return addItem(product, product.getPrice(), quantity);
+    }
+
+    /**
+     * Adds an item priced at {@code unitPrice} without reading the product, so {@code product}
+     * may be an uninitialized reference.
+     *
+     * @param product The product to add
+     * @param unitPrice The price charged per unit
+     * @param quantity The quantity of the product
+     * @return The created OrderItem
+     */
+    public OrderItem addItem(Product product, BigDecimal unitPrice, Integer quantity) {
         if (product == null) {
             throw new IllegalArgumentException("Product cannot be null");
         }
@@ -131,7 +161,7 @@ public class Order {
 
         orderItem.setProduct(product);
         orderItem.setQuantity(quantity);
-        orderItem.setPrice(product.getPrice());
+        orderItem.setPrice(unitPrice);
         
         this.items.add(orderItem);
         recalculateTotalAmount();
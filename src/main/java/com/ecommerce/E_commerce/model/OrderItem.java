@@ -21,8 +21,8 @@ import java.time.Instant;
 @SQLRestriction("deleted_at IS NULL")
 public class OrderItem {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    @ColumnDefault("nextval('order_items_id_seq'::regclass)")
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_items_id_seq")
+    @SequenceGenerator(name = "order_items_id_seq", sequenceName = "order_items_id_seq", allocationSize = Order.ID_ALLOCATION_SIZE)
     @Column(name = "id", nullable = false)
     private Long id;
 
@@ -59,6 +59,10 @@ public class OrderItem {
     @Column(name = "deleted_at")
     private Instant deletedAt;
 
+    /** When the stock reserved for this line is released if the order is still NEW; null once settled. */
+    @Column(name = "reservation_expires_at")
+    private Instant reservationExpiresAt;
+
     @NotNull
     @ColumnDefault("true")
     @Column(name = "is_active", nullable = false)
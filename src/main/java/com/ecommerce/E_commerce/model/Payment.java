@@ -22,8 +22,8 @@ import java.time.Instant;
 @SQLRestriction("deleted_at IS NULL")
 public class Payment {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    @ColumnDefault("nextval('payments_id_seq'::regclass)")
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "payments_id_seq")
+    @SequenceGenerator(name = "payments_id_seq", sequenceName = "payments_id_seq", allocationSize = Order.ID_ALLOCATION_SIZE)
     @Column(name = "id", nullable = false)
     private Long id;
 
@@ -1,5 +1,6 @@
 package com.ecommerce.E_commerce.model;
 
+import com.ecommerce.E_commerce.event.SearchIndexingEntityListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
@@ -8,9 +9,11 @@ import lombok.Setter;
 import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.SQLDelete;
 import org.hibernate.annotations.SQLRestriction;
+import org.hibernate.search.engine.backend.types.Aggregable;
 import org.hibernate.search.engine.backend.types.ObjectStructure;
+import org.hibernate.search.engine.backend.types.Projectable;
+import org.hibernate.search.engine.backend.types.Searchable;
 import org.hibernate.search.engine.backend.types.Sortable;
-import org.hibernate.search.mapper.pojo.automaticindexing.ReindexOnUpdate;
 import org.hibernate.search.mapper.pojo.mapping.definition.annotation.*;
 
 import java.math.BigDecimal;
@@ -21,6 +24,7 @@ import java.util.List;
 @Getter
 @Setter
 @Entity
+@EntityListeners(SearchIndexingEntityListener.class)
 @Table(name = "products", uniqueConstraints = {
         @UniqueConstraint(columnNames = "sku")
 })
@@ -62,8 +66,9 @@ public class Product {
     @Size(max = 255)
     @NotNull
     @Column(name = "name", nullable = false)
-    @FullTextField(analyzer = "standard")
+    @FullTextField(analyzer = "standard", projectable = Projectable.YES)
     @KeywordField(name = "name_sort", sortable = Sortable.YES, normalizer = "lowercase")
+    @FullTextField(name = "name_suggest", analyzer = "autocomplete_indexing", searchAnalyzer = "autocomplete_search")
     private String name;
 
     @NotNull
@@ -73,11 +78,12 @@ public class Product {
 
     @Size(max = 255)
     @Column(name = "short_description")
+    @GenericField(projectable = Projectable.YES, searchable = Searchable.NO)
     private String shortDescription;
 
     @NotNull
     @Column(name = "price", nullable = false, precision = 10, scale = 2)
-    @GenericField(sortable = Sortable.YES)
+    @GenericField(sortable = Sortable.YES, projectable = Projectable.YES, aggregable = Aggregable.YES)
     private BigDecimal price;
 
     @Size(max = 64)
@@ -105,18 +111,19 @@ public class Product {
     private String estimatedDeliveryTime;
 
     @Column(name = "thumbnail_url", length = Integer.MAX_VALUE)
+    @GenericField(projectable = Projectable.YES, searchable = Searchable.NO)
     private String thumbnailUrl;
 
     @Size(max = 255)
     @NotNull
     @Column(name = "seo_slug", nullable = false)
+    @GenericField(projectable = Projectable.YES, searchable = Searchable.NO)
     private String seoSlug;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "category_id", nullable = false)
     @NotNull
-    @IndexedEmbedded(includePaths = {"id"})
-    @IndexingDependency(reindexOnUpdate = ReindexOnUpdate.SHALLOW)
+    @IndexedEmbedded(includePaths = {"id", "name", "name_suggest"})
     private Category category;
 
     @OneToMany(mappedBy = "product", cascade = CascadeType.ALL, orphanRemoval = true)
@@ -143,7 +150,7 @@ public class Product {
     @NotNull
     @ColumnDefault("true")
     @Column(name = "is_active", nullable = false)
-    @GenericField
+    @GenericField(projectable = Projectable.YES)
     private Boolean isActive = true;
 
     @PrePersist
@@ -1,5 +1,7 @@
 package com.ecommerce.E_commerce.model;
 
+import com.ecommerce.E_commerce.config.AttributeValueKeyBridge;
+import com.ecommerce.E_commerce.event.SearchIndexingEntityListener;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -8,14 +10,23 @@ import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 import org.hibernate.annotations.SQLDelete;
 import org.hibernate.annotations.SQLRestriction;
+import org.hibernate.search.engine.backend.types.Aggregable;
+import org.hibernate.search.engine.backend.types.Projectable;
+import org.hibernate.search.engine.backend.types.Searchable;
+import org.hibernate.search.mapper.pojo.bridge.mapping.annotation.ValueBridgeRef;
 import org.hibernate.search.mapper.pojo.mapping.definition.annotation.FullTextField;
 import org.hibernate.search.mapper.pojo.mapping.definition.annotation.IndexedEmbedded;
+import org.hibernate.search.mapper.pojo.mapping.definition.annotation.IndexingDependency;
+import org.hibernate.search.mapper.pojo.mapping.definition.annotation.KeywordField;
+import org.hibernate.search.mapper.pojo.mapping.definition.annotation.ObjectPath;
+import org.hibernate.search.mapper.pojo.mapping.definition.annotation.PropertyValue;
 
 import java.time.Instant;
 import java.util.Objects;
 
 
 @Entity
+@EntityListeners(SearchIndexingEntityListener.class)
 @Table(name = "product_attribute_values",
         uniqueConstraints = @UniqueConstraint(columnNames = {"product_id", "attribute_id"}))
 @SQLDelete(sql = "UPDATE product_attribute_values SET deleted_at = NOW(), is_active = false WHERE id = ?")
@@ -24,12 +35,18 @@ import java.util.Objects;
 @Setter
 @NoArgsConstructor
 public class ProductAttributeValue {
+    /** Separates attribute name and value in the {@code facet} index field. */
+    public static final char FACET_SEPARATOR = '\u001F';
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
     @Column(name = "attribute_value", columnDefinition = "TEXT")
-    @FullTextField(name = "attributeValue", analyzer = "standard")
+    @FullTextField(name = "attributeValue", analyzer = "standard", projectable = Projectable.YES)
+    @KeywordField(name = "valueKey", normalizer = "lowercase",
+            valueBridge = @ValueBridgeRef(type = AttributeValueKeyBridge.class))
+    @FullTextField(name = "value_suggest", analyzer = "autocomplete_indexing", searchAnalyzer = "autocomplete_search")
     private String attributeValue;
 
     @CreationTimestamp
@@ -52,9 +69,26 @@ public class ProductAttributeValue {
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "attribute_id", nullable = false)
-    @IndexedEmbedded(includePaths = {"name"})
+    @IndexedEmbedded(includePaths = {"name", "nameKey"})
     private Attribute attribute;
 
+    /**
+     * Attribute name and value joined with {@link #FACET_SEPARATOR}, indexed as a keyword so a
+     * single terms aggregation yields per-attribute value counts.
+     */
+    @Transient
+    @KeywordField(name = "facet", aggregable = Aggregable.YES, searchable = Searchable.NO)
+    @IndexingDependency(derivedFrom = {
+            @ObjectPath(@PropertyValue(propertyName = "attributeValue")),
+            @ObjectPath({@PropertyValue(propertyName = "attribute"), @PropertyValue(propertyName = "name")})
+    })
+    public String getFacetKey() {
+        if (attribute == null || attribute.getName() == null || attributeValue == null) {
+            return null;
+        }
+        return attribute.getName() + FACET_SEPARATOR + attributeValue;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -0,0 +1,65 @@
+package com.ecommerce.E_commerce.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * Position of the incremental reindexer for one index. Products are walked in
+ * {@code (updated_at, id)} order, so the pair below is enough to resume after a crash.
+ * {@code mappingVersion} records which search mapping the walk is (re)building the index for.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "search_index_checkpoints")
+public class SearchIndexCheckpoint {
+    @Id
+    @Column(name = "index_name", nullable = false, length = 100)
+    private String indexName;
+
+    @NotNull
+    @Column(name = "high_water_mark", nullable = false)
+    private Instant highWaterMark;
+
+    @NotNull
+    @Column(name = "last_entity_id", nullable = false)
+    private Long lastEntityId = 0L;
+
+    @NotNull
+    @Column(name = "indexed_count", nullable = false)
+    private Long indexedCount = 0L;
+
+    @NotNull
+    @Column(name = "mapping_version", nullable = false)
+    private Integer mappingVersion = 0;
+
+    @NotNull
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    public SearchIndexCheckpoint(String indexName) {
+        this.indexName = indexName;
+        this.highWaterMark = Instant.EPOCH;
+        this.updatedAt = Instant.now();
+    }
+
+    public void advance(Instant highWaterMark, Long lastEntityId, int batchSize) {
+        this.highWaterMark = highWaterMark;
+        this.lastEntityId = lastEntityId;
+        this.indexedCount = this.indexedCount + batchSize;
+        this.updatedAt = Instant.now();
+    }
+
+    public void reset() {
+        this.highWaterMark = Instant.EPOCH;
+        this.lastEntityId = 0L;
+        this.indexedCount = 0L;
+        this.updatedAt = Instant.now();
+    }
+}
@@ -0,0 +1,50 @@
+package com.ecommerce.E_commerce.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * Pending search reindex of one product. Writers upsert the row and bump {@code revision}, so
+ * any number of writes to a product before the worker runs collapse into a single entry; the
+ * worker only deletes the entry if the revision it indexed is still the current one.
+ * <p>
+ * An entry that fails to index is not retried before {@code nextAttemptAt}; after too many
+ * failures it is dead-lettered ({@code deadLetteredAt} set) until the product is written again.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "search_index_queue")
+public class SearchIndexQueueEntry {
+    @Id
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @NotNull
+    @Column(name = "enqueued_at", nullable = false)
+    private Instant enqueuedAt;
+
+    @NotNull
+    @Column(name = "revision", nullable = false)
+    private Long revision = 0L;
+
+    @NotNull
+    @Column(name = "attempts", nullable = false)
+    private Integer attempts = 0;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    /** {@code null} when due right away. */
+    @Column(name = "next_attempt_at")
+    private Instant nextAttemptAt;
+
+    @Column(name = "dead_lettered_at")
+    private Instant deadLetteredAt;
+}
@@ -4,7 +4,6 @@ import com.ecommerce.E_commerce.model.Category;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -20,17 +19,8 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
 
     Optional<Category> findBySeoSlug(String seoSlug);
 
-    @Query(value = """
-    WITH RECURSIVE category_tree AS (
-        SELECT id FROM categories WHERE id = :categoryId
-        UNION ALL
-        SELECT c.id FROM categories c
-        INNER JOIN category_tree ct ON c.parent_id = ct.id
-        )
-        SELECT id FROM category_tree
-    """, nativeQuery = true)
-    List<Long> findAllSubcategoryIds(@Param("categoryId") Long categoryId);
-
+    @Query("SELECT c.id, p.id, c.seoSlug, c.name FROM Category c LEFT JOIN c.parent p")
+    List<Object[]> findTreeRows();
 
     List<Category> findAllByIsActiveTrue();
 
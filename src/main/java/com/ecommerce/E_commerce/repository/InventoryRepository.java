@@ -5,6 +5,7 @@ import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -15,10 +16,12 @@ import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface InventoryRepository extends JpaRepository<Inventory, Long> {
+public interface InventoryRepository extends JpaRepository<Inventory, Long>, JpaSpecificationExecutor<Inventory> {
 
+    /** Locks in ascending product id order so concurrent multi-item orders cannot deadlock. */
     @Lock(LockModeType.PESSIMISTIC_WRITE)
-    List<Inventory> findByProductIdIn(Collection<Long> productIds);
+    @Query("SELECT i FROM Inventory i WHERE i.product.id IN :productIds ORDER BY i.product.id")
+    List<Inventory> findByProductIdInWithLockOrdered(@Param("productIds") Collection<Long> productIds);
 
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("SELECT i FROM Inventory i WHERE i.product.id = :productId")
@@ -55,29 +58,6 @@ public interface InventoryRepository extends JpaRepository<Inventory, Long> {
     long countByIsActive(Boolean isActive);
     long countByAvailableQuantityLessThan(Integer quantity);
     
-    // Advanced search with multiple criteria
-    @Query("SELECT i FROM Inventory i WHERE " +
-           "(:productId IS NULL OR i.product.id = :productId) AND " +
-           "(:productName IS NULL OR LOWER(i.product.name) LIKE LOWER(CONCAT('%', :productName, '%'))) AND " +
-           "(:minAvailableQuantity IS NULL OR i.availableQuantity >= :minAvailableQuantity) AND " +
-           "(:maxAvailableQuantity IS NULL OR i.availableQuantity <= :maxAvailableQuantity) AND " +
-           "(:minReservedQuantity IS NULL OR i.reservedQuantity >= :minReservedQuantity) AND " +
-           "(:maxReservedQuantity IS NULL OR i.reservedQuantity <= :maxReservedQuantity) AND " +
-           "(:belowMinimum IS NULL OR " +
-           "  (:belowMinimum = true AND i.availableQuantity < i.minimumStockLevel) OR " +
-           "  (:belowMinimum = false AND i.availableQuantity >= i.minimumStockLevel)) AND " +
-           "(:isActive IS NULL OR i.isActive = :isActive)")
-    Page<Inventory> findByMultipleCriteria(
-            @Param("productId") Long productId,
-            @Param("productName") String productName,
-            @Param("minAvailableQuantity") Integer minAvailableQuantity,
-            @Param("maxAvailableQuantity") Integer maxAvailableQuantity,
-            @Param("minReservedQuantity") Integer minReservedQuantity,
-            @Param("maxReservedQuantity") Integer maxReservedQuantity,
-            @Param("belowMinimum") Boolean belowMinimum,
-            @Param("isActive") Boolean isActive,
-            Pageable pageable
-    );
     
     // Find by product SKU
     @Query("SELECT i FROM Inventory i WHERE i.product.sku = :sku AND (:isActive IS NULL OR i.isActive = :isActive)")
@@ -0,0 +1,70 @@
+package com.ecommerce.E_commerce.repository;
+
+import com.ecommerce.E_commerce.model.Inventory;
+import com.ecommerce.E_commerce.model.Product;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Admin inventory list filters; absent filters add no SQL. Row queries fetch the product with
+ * the inventory, since every listed row shows its name, SKU and thumbnail.
+ */
+public final class InventorySpecifications {
+
+    private InventorySpecifications() {
+    }
+
+    @SuppressWarnings("unchecked")
+    public static Specification<Inventory> matching(Long productId,
+                                                    String productName,
+                                                    Integer minAvailableQuantity,
+                                                    Integer maxAvailableQuantity,
+                                                    Integer minReservedQuantity,
+                                                    Integer maxReservedQuantity,
+                                                    Boolean belowMinimum,
+                                                    Boolean isActive) {
+        return (root, query, cb) -> {
+            boolean countQuery = query.getResultType() == Long.class || query.getResultType() == long.class;
+            Join<Inventory, Product> product = countQuery
+                    ? null
+                    : (Join<Inventory, Product>) root.<Inventory, Product>fetch("product", JoinType.INNER);
+
+            List<Predicate> predicates = new ArrayList<>();
+            if (productId != null) {
+                predicates.add(cb.equal(root.get("product").get("id"), productId));
+            }
+            if (productName != null && !productName.isBlank()) {
+                Join<Inventory, Product> named = product != null ? product : root.join("product");
+                predicates.add(cb.like(cb.lower(named.get("name")),
+                        "%" + productName.toLowerCase(Locale.ROOT) + "%"));
+            }
+            if (minAvailableQuantity != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("availableQuantity"), minAvailableQuantity));
+            }
+            if (maxAvailableQuantity != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("availableQuantity"), maxAvailableQuantity));
+            }
+            if (minReservedQuantity != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("reservedQuantity"), minReservedQuantity));
+            }
+            if (maxReservedQuantity != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("reservedQuantity"), maxReservedQuantity));
+            }
+            if (belowMinimum != null) {
+                predicates.add(belowMinimum
+                        ? cb.lessThan(root.get("availableQuantity"), root.get("minimumStockLevel"))
+                        : cb.greaterThanOrEqualTo(root.get("availableQuantity"), root.get("minimumStockLevel")));
+            }
+            if (isActive != null) {
+                predicates.add(cb.equal(root.get("isActive"), isActive));
+            }
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+}
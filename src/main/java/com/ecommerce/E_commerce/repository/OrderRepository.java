@@ -2,18 +2,26 @@ package com.ecommerce.E_commerce.repository;
 
 import com.ecommerce.E_commerce.model.Order;
 import com.ecommerce.E_commerce.model.OrderStatus;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface OrderRepository extends JpaRepository<Order, Long> {
+
+    /** Native predicate on {@code orders o}: no pending, processing or completed payment exists. */
+    String NO_LIVE_PAYMENT = "NOT EXISTS (SELECT 1 FROM payments p WHERE p.order_id = o.id " +
+           "AND p.status IN ('PENDING', 'PROCESSING', 'COMPLETED') AND p.deleted_at IS NULL) ";
     
     // Find by user
     Page<Order> findByUserId(Long userId, Pageable pageable);
@@ -30,6 +38,14 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     // Find active orders
     @Query("SELECT o FROM Order o LEFT JOIN FETCH o.user WHERE o.id = :id")
     Optional<Order> findByIdWithUser(@Param("id") Long id);
+
+    /**
+     * Loads an order with its row locked, so status changes (payment callbacks, admin updates and
+     * the reservation expiry sweeper) apply one after another and each sees the previous result.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o FROM Order o WHERE o.id = :id")
+    Optional<Order> findByIdForUpdate(@Param("id") Long id);
     
     @Query("SELECT DISTINCT o FROM Order o " +
            "LEFT JOIN FETCH o.user " +
@@ -38,6 +54,42 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
            "LEFT JOIN FETCH i.product " +
            "WHERE o.id = :id")
     Optional<Order> findByIdWithDetails(@Param("id") Long id);
+
+    @Query("SELECT DISTINCT o FROM Order o LEFT JOIN FETCH o.items WHERE o.id IN :ids")
+    List<Order> findWithItemsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Locks a batch of NEW orders holding an expired reservation. Rows locked by another sweeper
+     * or by an order update in flight are skipped rather than waited for, and so are orders the
+     * sweeper already failed to cancel {@code maxFailures} times. Orders with a live payment
+     * (e.g. a bank transfer or cash on delivery still pending) are not abandoned checkouts and
+     * keep their reservation.
+     */
+    @Query(value = "SELECT o.id FROM orders o " +
+           "WHERE o.status = 'NEW' AND o.deleted_at IS NULL AND o.reservation_release_failures < :maxFailures " +
+           "AND o.id IN (" +
+           "  SELECT oi.order_id FROM order_items oi " +
+           "  WHERE oi.reservation_expires_at < :now AND oi.deleted_at IS NULL) " +
+           "AND " + NO_LIVE_PAYMENT +
+           "ORDER BY o.id LIMIT :limit FOR UPDATE OF o SKIP LOCKED", nativeQuery = true)
+    List<Long> lockExpiredReservationOrderIds(@Param("now") Instant now,
+                                              @Param("maxFailures") int maxFailures,
+                                              @Param("limit") int limit);
+
+    /** Locks one order for a retry on its own; empty when it is gone, no longer NEW or locked elsewhere. */
+    @Query(value = "SELECT o.id FROM orders o WHERE o.id = :id AND o.status = 'NEW' AND o.deleted_at IS NULL " +
+           "AND " + NO_LIVE_PAYMENT + "FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Long> lockNewOrderId(@Param("id") Long id);
+
+    @Modifying
+    @Query(value = "UPDATE orders SET reservation_release_failures = reservation_release_failures + 1 " +
+           "WHERE id = :id", nativeQuery = true)
+    int recordReservationReleaseFailure(@Param("id") Long id);
+
+    @Query(value = "SELECT COUNT(DISTINCT oi.order_id) FROM order_items oi JOIN orders o ON o.id = oi.order_id " +
+           "WHERE oi.reservation_expires_at < :now AND oi.deleted_at IS NULL " +
+           "AND o.status = 'NEW' AND o.deleted_at IS NULL AND " + NO_LIVE_PAYMENT, nativeQuery = true)
+    long countExpiredReservationOrders(@Param("now") Instant now);
     Page<Order> findByIsActive(Boolean isActive, Pageable pageable);
     Page<Order> findByUserIdAndIsActive(Long userId, Boolean isActive, Pageable pageable);
 
@@ -46,20 +98,6 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     long countByUserIdAndStatus(Long userId, OrderStatus status);
     
 
-    @Query("SELECT o FROM Order o WHERE " +
-           "(:userId IS NULL OR o.user.id = :userId) AND " +
-           "(:status IS NULL OR o.status = :status) AND " +
-           "(:isActive IS NULL OR o.isActive = :isActive) AND " +
-           "(:startDate IS NULL OR o.createdAt >= :startDate) AND " +
-           "(:endDate IS NULL OR o.createdAt <= :endDate)")
-    Page<Order> findByMultipleCriteria(
-            @Param("userId") Long userId,
-            @Param("status") OrderStatus status,
-            @Param("isActive") Boolean isActive,
-            @Param("startDate") Instant startDate,
-            @Param("endDate") Instant endDate,
-            Pageable pageable
-    );
     
 
     @Query("SELECT SUM(o.totalAmount) " +
@@ -0,0 +1,105 @@
+package com.ecommerce.E_commerce.repository;
+
+import com.ecommerce.E_commerce.model.OrderStatus;
+import com.ecommerce.E_commerce.model.OrderSummary;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+public interface OrderSummaryRepository extends JpaRepository<OrderSummary, Long>, JpaSpecificationExecutor<OrderSummary> {
+
+    Page<OrderSummary> findByUserId(Long userId, Pageable pageable);
+
+    Page<OrderSummary> findByStatus(OrderStatus status, Pageable pageable);
+
+    Page<OrderSummary> findByUserIdAndStatus(Long userId, OrderStatus status, Pageable pageable);
+
+    /**
+     * Recomputes the summary rows of the given live orders from the order, item, payment and
+     * product tables in one statement. Written as a standard {@code MERGE} (PostgreSQL 15+, H2)
+     * rather than {@code INSERT ... ON CONFLICT}, so it also runs against the test database.
+     */
+    @Modifying
+    @Query(value = """
+            MERGE INTO order_summaries AS s
+            USING (SELECT o.id AS order_id,
+                          o.user_id AS user_id,
+                          COALESCE(u.email, o.guest_email) AS customer_email,
+                          o.status AS status,
+                          o.total_amount AS total_amount,
+                          COALESCE((SELECT SUM(oi.quantity) FROM order_items oi
+                                    WHERE oi.order_id = o.id AND oi.deleted_at IS NULL), 0) AS item_count,
+                          p.name AS first_product_name,
+                          p.thumbnail_url AS thumbnail_url,
+                          (SELECT pay.status FROM payments pay
+                           WHERE pay.order_id = o.id AND pay.deleted_at IS NULL
+                           ORDER BY pay.created_at DESC, pay.id DESC LIMIT 1) AS payment_status,
+                          o.is_active AS is_active,
+                          o.created_at AS created_at
+                   FROM orders o
+                   LEFT JOIN users u ON u.id = o.user_id
+                   LEFT JOIN products p ON p.id = (SELECT oi.product_id FROM order_items oi
+                                                   WHERE oi.order_id = o.id AND oi.deleted_at IS NULL
+                                                   ORDER BY oi.id LIMIT 1)
+                   WHERE o.id IN (:orderIds) AND o.deleted_at IS NULL) AS src
+            ON s.order_id = src.order_id
+            WHEN MATCHED THEN UPDATE SET
+                user_id = src.user_id,
+                customer_email = src.customer_email,
+                status = src.status,
+                total_amount = src.total_amount,
+                item_count = src.item_count,
+                first_product_name = src.first_product_name,
+                thumbnail_url = src.thumbnail_url,
+                payment_status = src.payment_status,
+                is_active = src.is_active,
+                refreshed_at = :refreshedAt
+            WHEN NOT MATCHED THEN INSERT (order_id, user_id, customer_email, status, total_amount, item_count,
+                                          first_product_name, thumbnail_url, payment_status, is_active,
+                                          created_at, refreshed_at)
+                VALUES (src.order_id, src.user_id, src.customer_email, src.status, src.total_amount, src.item_count,
+                        src.first_product_name, src.thumbnail_url, src.payment_status, src.is_active,
+                        src.created_at, :refreshedAt)
+            """, nativeQuery = true)
+    int refresh(@Param("orderIds") Collection<Long> orderIds, @Param("refreshedAt") Instant refreshedAt);
+
+    /** Drops the rows of orders that have since been (soft-)deleted. */
+    @Modifying
+    @Query(value = "DELETE FROM order_summaries s WHERE s.order_id IN (:orderIds) " +
+           "AND NOT EXISTS (SELECT 1 FROM orders o WHERE o.id = s.order_id AND o.deleted_at IS NULL)",
+           nativeQuery = true)
+    int deleteRemoved(@Param("orderIds") Collection<Long> orderIds);
+
+    /**
+     * Live orders changed since {@code since} whose row is missing or older than the last change
+     * to the order or one of its payments, i.e. whose event-driven refresh was lost.
+     */
+    @Query(value = """
+            SELECT o.id FROM orders o
+            LEFT JOIN order_summaries s ON s.order_id = o.id
+            WHERE o.deleted_at IS NULL
+              AND (o.updated_at >= :since
+                   OR EXISTS (SELECT 1 FROM payments pay WHERE pay.order_id = o.id AND pay.updated_at >= :since))
+              AND (s.order_id IS NULL
+                   OR s.refreshed_at < o.updated_at
+                   OR EXISTS (SELECT 1 FROM payments pay
+                              WHERE pay.order_id = o.id AND pay.updated_at > s.refreshed_at))
+            ORDER BY o.id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<Long> findStaleOrderIds(@Param("since") Instant since, @Param("limit") int limit);
+
+    /** Rows whose order has been soft-deleted. */
+    @Query(value = "SELECT s.order_id FROM order_summaries s WHERE NOT EXISTS " +
+           "(SELECT 1 FROM orders o WHERE o.id = s.order_id AND o.deleted_at IS NULL) " +
+           "ORDER BY s.order_id LIMIT :limit", nativeQuery = true)
+    List<Long> findRemovedOrderIds(@Param("limit") int limit);
+}
@@ -0,0 +1,46 @@
+package com.ecommerce.E_commerce.repository;
+
+import com.ecommerce.E_commerce.model.OrderStatus;
+import com.ecommerce.E_commerce.model.OrderSummary;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Admin order list filters. Only the filters actually given become predicates, so Postgres
+ * plans each combination against the matching index instead of a generic {@code IS NULL OR} scan.
+ */
+public final class OrderSummarySpecifications {
+
+    private OrderSummarySpecifications() {
+    }
+
+    public static Specification<OrderSummary> matching(Long userId,
+                                                       OrderStatus status,
+                                                       Boolean isActive,
+                                                       Instant startDate,
+                                                       Instant endDate) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (userId != null) {
+                predicates.add(cb.equal(root.get("userId"), userId));
+            }
+            if (status != null) {
+                predicates.add(cb.equal(root.get("status"), status));
+            }
+            if (isActive != null) {
+                predicates.add(cb.equal(root.get("isActive"), isActive));
+            }
+            if (startDate != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("createdAt"), startDate));
+            }
+            if (endDate != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("createdAt"), endDate));
+            }
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+}
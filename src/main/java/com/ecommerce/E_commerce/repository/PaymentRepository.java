@@ -5,6 +5,7 @@ import com.ecommerce.E_commerce.model.PaymentStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -12,7 +13,7 @@ import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 
-public interface PaymentRepository extends JpaRepository<Payment, Long> {
+public interface PaymentRepository extends JpaRepository<Payment, Long>, JpaSpecificationExecutor<Payment> {
     
     // Find by order
     List<Payment> findByOrderId(Long orderId);
@@ -45,22 +46,5 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
     long countByStatus(PaymentStatus status);
     long countByOrderIdAndStatus(Long orderId, PaymentStatus status);
     
-    // Advanced queries
-    @Query("SELECT p FROM Payment p WHERE " +
-           "(:orderId IS NULL OR p.order.id = :orderId) AND " +
-           "(:status IS NULL OR p.status = :status) AND " +
-           "(:method IS NULL OR p.method = :method) AND " +
-           "(:isActive IS NULL OR p.isActive = :isActive) AND " +
-           "(:startDate IS NULL OR p.transactionDate >= :startDate) AND " +
-           "(:endDate IS NULL OR p.transactionDate <= :endDate)")
-    Page<Payment> findByMultipleCriteria(
-            @Param("orderId") Long orderId,
-            @Param("status") PaymentStatus status,
-            @Param("method") com.ecommerce.E_commerce.model.PaymentMethod method,
-            @Param("isActive") Boolean isActive,
-            @Param("startDate") Instant startDate,
-            @Param("endDate") Instant endDate,
-            Pageable pageable
-    );
 }
 
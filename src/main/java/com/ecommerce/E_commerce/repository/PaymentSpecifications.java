@@ -0,0 +1,50 @@
+package com.ecommerce.E_commerce.repository;
+
+import com.ecommerce.E_commerce.model.Payment;
+import com.ecommerce.E_commerce.model.PaymentMethod;
+import com.ecommerce.E_commerce.model.PaymentStatus;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Admin payment list filters; absent filters add no SQL. Dates bound the transaction date.
+ */
+public final class PaymentSpecifications {
+
+    private PaymentSpecifications() {
+    }
+
+    public static Specification<Payment> matching(Long orderId,
+                                                  PaymentStatus status,
+                                                  PaymentMethod method,
+                                                  Boolean isActive,
+                                                  Instant startDate,
+                                                  Instant endDate) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (orderId != null) {
+                predicates.add(cb.equal(root.get("order").get("id"), orderId));
+            }
+            if (status != null) {
+                predicates.add(cb.equal(root.get("status"), status));
+            }
+            if (method != null) {
+                predicates.add(cb.equal(root.get("method"), method));
+            }
+            if (isActive != null) {
+                predicates.add(cb.equal(root.get("isActive"), isActive));
+            }
+            if (startDate != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("transactionDate"), startDate));
+            }
+            if (endDate != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("transactionDate"), endDate));
+            }
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+}
@@ -1,11 +1,16 @@
 package com.ecommerce.E_commerce.repository;
 
+import com.ecommerce.E_commerce.dto.product.ProductPriceDTO;
 import com.ecommerce.E_commerce.model.Product;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -41,4 +46,28 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
     long countByCategoryId(Long categoryId);
     long countByIsFeatured(Boolean isFeatured);
     long countByIsActive(Boolean isActive);
+
+    // Incremental search reindexing, walked in (updated_at, id) order
+    @Query("SELECT p.id, p.updatedAt FROM Product p " +
+           "WHERE p.updatedAt > :since OR (p.updatedAt = :since AND p.id > :lastId) " +
+           "ORDER BY p.updatedAt ASC, p.id ASC")
+    List<Object[]> findIndexCursorAfter(@Param("since") Instant since, @Param("lastId") Long lastId, Pageable pageable);
+
+    @Query("SELECT COUNT(p) FROM Product p " +
+           "WHERE p.updatedAt > :since OR (p.updatedAt = :since AND p.id > :lastId)")
+    long countUpdatedAfter(@Param("since") Instant since, @Param("lastId") Long lastId);
+
+    @EntityGraph(value = "Product.withDetails")
+    List<Product> findWithDetailsByIdIn(Collection<Long> ids);
+
+    // Checkout pricing: plain columns, nothing enters the persistence context
+    @Query("SELECT new com.ecommerce.E_commerce.dto.product.ProductPriceDTO(p.id, p.price, p.isActive, p.shippingCost) " +
+           "FROM Product p WHERE p.id IN :ids")
+    List<ProductPriceDTO> findPricesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @EntityGraph(value = "Product.summary")
+    List<Product> findSummaryByIdIn(Collection<Long> ids);
+
+    @Query(value = "SELECT id FROM products WHERE deleted_at IS NOT NULL AND deleted_at > :since", nativeQuery = true)
+    List<Long> findIdsDeletedAfter(@Param("since") Instant since);
 }
@@ -0,0 +1,9 @@
+package com.ecommerce.E_commerce.repository;
+
+import com.ecommerce.E_commerce.model.SearchIndexCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface SearchIndexCheckpointRepository extends JpaRepository<SearchIndexCheckpoint, String> {
+}
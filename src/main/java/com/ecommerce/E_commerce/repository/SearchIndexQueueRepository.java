@@ -0,0 +1,43 @@
+package com.ecommerce.E_commerce.repository;
+
+import com.ecommerce.E_commerce.model.SearchIndexQueueEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface SearchIndexQueueRepository extends JpaRepository<SearchIndexQueueEntry, Long> {
+
+    /** Oldest entries that are neither dead-lettered nor waiting out a retry backoff. */
+    @Query("SELECT e FROM SearchIndexQueueEntry e WHERE e.deadLetteredAt IS NULL " +
+            "AND (e.nextAttemptAt IS NULL OR e.nextAttemptAt <= :now) ORDER BY e.enqueuedAt, e.productId")
+    List<SearchIndexQueueEntry> findDue(@Param("now") Instant now, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM SearchIndexQueueEntry e WHERE e.productId = :productId AND e.revision = :revision")
+    int deleteIfUnchanged(@Param("productId") Long productId, @Param("revision") Long revision);
+
+    /** Records a failed attempt unless the product was re-enqueued meanwhile (which resets the retry state). */
+    @Modifying
+    @Query("UPDATE SearchIndexQueueEntry e SET e.attempts = e.attempts + 1, e.lastError = :error, " +
+            "e.nextAttemptAt = :nextAttemptAt, e.deadLetteredAt = :deadLetteredAt " +
+            "WHERE e.productId = :productId AND e.revision = :revision")
+    int markFailed(@Param("productId") Long productId,
+                   @Param("revision") Long revision,
+                   @Param("error") String error,
+                   @Param("nextAttemptAt") Instant nextAttemptAt,
+                   @Param("deadLetteredAt") Instant deadLetteredAt);
+
+    long countByDeadLetteredAtIsNull();
+
+    long countByDeadLetteredAtIsNotNull();
+
+    @Query("SELECT MIN(e.enqueuedAt) FROM SearchIndexQueueEntry e WHERE e.deadLetteredAt IS NULL")
+    Instant findOldestEnqueuedAt();
+}
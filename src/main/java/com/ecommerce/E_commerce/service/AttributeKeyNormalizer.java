@@ -0,0 +1,85 @@
+package com.ecommerce.E_commerce.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Canonical form of attribute names and values used for exact attribute filtering.
+ * <p>
+ * Both the index ({@code nameKey}/{@code valueKey} fields) and search input go through the same
+ * normalization, so "Colour", " colour " and the configured synonym "kolor" all resolve to the
+ * same term and can be matched with a single term query.
+ */
+@Component
+public class AttributeKeyNormalizer {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+
+    private final Map<String, String> nameSynonyms;
+    private final Map<String, String> valueSynonyms;
+
+    public AttributeKeyNormalizer(
+            @Value("${app.search.attributes.name-synonyms:}") String nameSynonyms,
+            @Value("${app.search.attributes.value-synonyms:}") String valueSynonyms
+    ) {
+        this.nameSynonyms = parseSynonyms(nameSynonyms);
+        this.valueSynonyms = parseSynonyms(valueSynonyms);
+    }
+
+    public String normalizeName(String name) {
+        return resolve(name, nameSynonyms);
+    }
+
+    public String normalizeValue(String value) {
+        return resolve(value, valueSynonyms);
+    }
+
+    private String resolve(String raw, Map<String, String> synonyms) {
+        String normalized = normalize(raw);
+        if (normalized == null) {
+            return null;
+        }
+        return synonyms.getOrDefault(normalized, normalized);
+    }
+
+    static String normalize(String raw) {
+        if (raw == null) {
+            return null;
+        }
+        // NFKD has no decomposition for the Polish "ł", so it is folded explicitly
+        String decomposed = Normalizer.normalize(raw.replace('ł', 'l').replace('Ł', 'L'), Normalizer.Form.NFKD);
+        String folded = DIACRITICS.matcher(decomposed).replaceAll("");
+        String collapsed = WHITESPACE.matcher(folded.trim()).replaceAll(" ");
+        return collapsed.isEmpty() ? null : collapsed.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Parses {@code alias=canonical} pairs separated by commas, e.g. {@code colour=color,kolor=color}.
+     */
+    private static Map<String, String> parseSynonyms(String spec) {
+        if (spec == null || spec.isBlank()) {
+            return Collections.emptyMap();
+        }
+        Map<String, String> synonyms = new HashMap<>();
+        for (String entry : spec.split(",")) {
+            int separator = entry.indexOf('=');
+            if (separator <= 0) {
+                continue;
+            }
+            String alias = normalize(entry.substring(0, separator));
+            String canonical = normalize(entry.substring(separator + 1));
+            if (alias != null && canonical != null) {
+                synonyms.put(alias, canonical);
+            }
+        }
+        return Collections.unmodifiableMap(synonyms);
+    }
+}
@@ -0,0 +1,341 @@
+package com.ecommerce.E_commerce.service;
+
+import com.ecommerce.E_commerce.dto.order.BulkOrderLineDTO;
+import com.ecommerce.E_commerce.dto.order.BulkOrderResultDTO;
+import com.ecommerce.E_commerce.dto.order.GuestOrderCreateDTO;
+import com.ecommerce.E_commerce.dto.orderitem.OrderItemCreateDTO;
+import com.ecommerce.E_commerce.dto.product.ProductPriceDTO;
+import com.ecommerce.E_commerce.model.Order;
+import com.ecommerce.E_commerce.model.OrderItem;
+import com.ecommerce.E_commerce.model.OrderStatus;
+import com.ecommerce.E_commerce.repository.ProductRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Imports orders in bulk from newline-delimited JSON ({@link BulkOrderLineDTO} per line).
+ * <p>
+ * Lines are processed in chunks of {@code app.orders.bulk.chunk-size}, each in its own
+ * transaction: the chunk's products are loaded with one query, its stock is reserved with one
+ * ordered lock acquisition ({@link InventoryService#reserveStockForOrders}), and addresses, orders
+ * and items are written with JDBC batch inserts using ids pre-allocated from their sequences.
+ * Every line gets a result: malformed, invalid or out-of-stock orders are rejected individually
+ * without failing the rest of the chunk. Imported orders start as NEW with a stock reservation
+ * like checkout orders and their list rows are written in the same transaction, but no
+ * confirmation e-mails are sent.
+ * <p>
+ * A chunk's results are only handed out after it committed, so the results a client received are
+ * exactly the committed ones. Once {@code app.orders.bulk.timeout} has passed no further chunk is
+ * started and the results end with an {@link BulkOrderResultDTO#ABORTED} entry naming the first
+ * line that was not imported.
+ */
+@Service
+@RequiredArgsConstructor
+public class BulkOrderIngestionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkOrderIngestionService.class);
+
+    private static final Duration REQUEST_TIMEOUT_MARGIN = Duration.ofMinutes(2);
+
+    private static final String INSERT_ADDRESS = """
+            INSERT INTO addresses (id, user_id, line1, line2, city, region, postal_code, country,
+                                   created_at, updated_at, is_active)
+            VALUES (?, NULL, ?, ?, ?, ?, ?, ?, ?, ?, true)
+            """;
+
+    private static final String INSERT_ORDER = """
+            INSERT INTO orders (id, user_id, address_id, status, total_amount, created_at, updated_at, is_active,
+                                guest_email, guest_first_name, guest_last_name, guest_phone)
+            VALUES (?, NULL, ?, ?, ?, ?, ?, true, ?, ?, ?, ?)
+            """;
+
+    private static final String INSERT_ORDER_ITEM = """
+            INSERT INTO order_items (id, order_id, product_id, quantity, price, created_at, updated_at, is_active,
+                                     reservation_expires_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, true, ?)
+            """;
+
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final ProductRepository productRepository;
+    private final InventoryService inventoryService;
+    private final OrderSummaryProjector orderSummaryProjector;
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.orders.bulk.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${app.orders.bulk.timeout:15m}")
+    private Duration timeout;
+
+    @Value("${app.inventory.reservation.ttl:30m}")
+    private Duration reservationTtl;
+
+    /**
+     * Reads orders until the end of {@code reader}, handing each chunk's results to {@code sink}
+     * once the chunk has committed.
+     */
+    public void ingest(BufferedReader reader, Consumer<List<BulkOrderResultDTO>> sink) throws IOException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        List<ParsedLine> chunk = new ArrayList<>(chunkSize);
+        long lineNumber = 0;
+        long created = 0;
+        long total = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            chunk.add(parse(lineNumber, line));
+            if (chunk.size() >= chunkSize) {
+                if (outOfTime(deadline, total)) {
+                    abort(chunk.get(0).line(), created, total, sink);
+                    return;
+                }
+                created += emit(processChunk(chunk), sink);
+                total += chunk.size();
+                chunk = new ArrayList<>(chunkSize);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            if (outOfTime(deadline, total)) {
+                abort(chunk.get(0).line(), created, total, sink);
+                return;
+            }
+            created += emit(processChunk(chunk), sink);
+            total += chunk.size();
+        }
+        logger.info("Bulk order import finished: {} of {} orders created", created, total);
+    }
+
+    /**
+     * Servlet async timeout for an import request: the time limit plus a margin for the chunk in
+     * flight to commit and for its results to be written.
+     */
+    public Duration requestTimeout() {
+        return timeout.plus(REQUEST_TIMEOUT_MARGIN);
+    }
+
+    /** The first chunk always runs, so every import makes progress. */
+    private static boolean outOfTime(long deadline, long processed) {
+        return processed > 0 && System.nanoTime() - deadline >= 0;
+    }
+
+    private void abort(long fromLine, long created, long total, Consumer<List<BulkOrderResultDTO>> sink) {
+        logger.warn("Bulk order import stopped after {}: {} of {} orders created, lines from {} on not imported",
+                timeout, created, total, fromLine);
+        sink.accept(List.of(BulkOrderResultDTO.aborted(fromLine,
+                "Import time limit of " + timeout.toSeconds() + "s reached; lines from " + fromLine + " on were not imported")));
+    }
+
+    private long emit(List<BulkOrderResultDTO> results, Consumer<List<BulkOrderResultDTO>> sink) {
+        sink.accept(results);
+        return results.stream().filter(result -> BulkOrderResultDTO.CREATED.equals(result.status())).count();
+    }
+
+    private ParsedLine parse(long lineNumber, String line) {
+        BulkOrderLineDTO dto;
+        try {
+            dto = objectMapper.readValue(line, BulkOrderLineDTO.class);
+        } catch (JsonProcessingException e) {
+            return new ParsedLine(lineNumber, null, "Malformed order: " + e.getOriginalMessage());
+        }
+        if (dto == null) {
+            return new ParsedLine(lineNumber, null, "Malformed order: empty line");
+        }
+        String violations = validator.validate(dto).stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+        return new ParsedLine(lineNumber, dto, violations.isEmpty() ? null : violations);
+    }
+
+    private List<BulkOrderResultDTO> processChunk(List<ParsedLine> chunk) {
+        BulkOrderResultDTO[] results = new BulkOrderResultDTO[chunk.size()];
+        List<Integer> valid = new ArrayList<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            ParsedLine parsed = chunk.get(i);
+            if (parsed.error() != null) {
+                results[i] = BulkOrderResultDTO.rejected(parsed.line(), parsed.externalId(), parsed.error());
+            } else {
+                valid.add(i);
+            }
+        }
+
+        if (!valid.isEmpty()) {
+            try {
+                new TransactionTemplate(transactionManager).executeWithoutResult(status -> importOrders(chunk, valid, results));
+            } catch (RuntimeException e) {
+                logger.error("Bulk order chunk starting at line {} failed: {}", chunk.get(0).line(), e.getMessage(), e);
+                for (int i : valid) {
+                    ParsedLine parsed = chunk.get(i);
+                    results[i] = BulkOrderResultDTO.rejected(parsed.line(), parsed.externalId(),
+                            "Import of this chunk failed: " + e.getMessage());
+                }
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    private void importOrders(List<ParsedLine> chunk, List<Integer> valid, BulkOrderResultDTO[] results) {
+        Map<Long, ProductPriceDTO> products = productRepository.findPricesByIdIn(valid.stream()
+                        .flatMap(i -> chunk.get(i).dto().order().items().stream())
+                        .map(OrderItemCreateDTO::productId)
+                        .collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(ProductPriceDTO::id, Function.identity()));
+
+        List<Integer> candidates = new ArrayList<>();
+        List<Map<Long, Integer>> quantities = new ArrayList<>();
+        for (int i : valid) {
+            ParsedLine parsed = chunk.get(i);
+            String problem = productProblem(parsed.dto().order(), products);
+            if (problem != null) {
+                results[i] = BulkOrderResultDTO.rejected(parsed.line(), parsed.externalId(), problem);
+                continue;
+            }
+            candidates.add(i);
+            quantities.add(parsed.dto().order().items().stream()
+                    .collect(Collectors.toMap(OrderItemCreateDTO::productId, OrderItemCreateDTO::quantity, Integer::sum)));
+        }
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        List<String> shortages = inventoryService.reserveStockForOrders(quantities);
+        List<Integer> accepted = new ArrayList<>();
+        for (int c = 0; c < candidates.size(); c++) {
+            int i = candidates.get(c);
+            if (shortages.get(c) != null) {
+                results[i] = BulkOrderResultDTO.rejected(chunk.get(i).line(), chunk.get(i).externalId(), shortages.get(c));
+            } else {
+                accepted.add(i);
+            }
+        }
+        if (accepted.isEmpty()) {
+            return;
+        }
+
+        insertOrders(chunk, accepted, products, results);
+    }
+
+    private String productProblem(GuestOrderCreateDTO order, Map<Long, ProductPriceDTO> products) {
+        for (OrderItemCreateDTO item : order.items()) {
+            ProductPriceDTO product = products.get(item.productId());
+            if (product == null) {
+                return "Product not found with id: " + item.productId();
+            }
+            if (Boolean.FALSE.equals(product.isActive())) {
+                return "Product " + item.productId() + " is inactive";
+            }
+        }
+        return null;
+    }
+
+    private void insertOrders(List<ParsedLine> chunk, List<Integer> accepted, Map<Long, ProductPriceDTO> products,
+                              BulkOrderResultDTO[] results) {
+        Timestamp now = Timestamp.from(Instant.now());
+        Timestamp expiresAt = reservationTtl == null || reservationTtl.isZero() || reservationTtl.isNegative()
+                ? null
+                : Timestamp.from(now.toInstant().plus(reservationTtl));
+
+        // totals and item prices follow the same rules as checkout orders
+        List<Order> orders = new ArrayList<>(accepted.size());
+        int itemCount = 0;
+        for (int i : accepted) {
+            Order order = new Order();
+            order.setStatus(OrderStatus.NEW);
+            for (OrderItemCreateDTO item : chunk.get(i).dto().order().items()) {
+                order.addItem(productRepository.getReferenceById(item.productId()),
+                        products.get(item.productId()).price(), item.quantity());
+            }
+            orders.add(order);
+            itemCount += order.getItems().size();
+        }
+
+        List<Long> addressIds = nextIds("addresses_id_seq", 1, accepted.size());
+        List<Long> orderIds = nextIds("orders_id_seq", Order.ID_ALLOCATION_SIZE, accepted.size());
+        List<Long> itemIds = nextIds("order_items_id_seq", Order.ID_ALLOCATION_SIZE, itemCount);
+
+        List<Object[]> addressRows = new ArrayList<>(accepted.size());
+        List<Object[]> orderRows = new ArrayList<>(accepted.size());
+        List<Object[]> itemRows = new ArrayList<>(itemCount);
+        int itemIndex = 0;
+        for (int n = 0; n < accepted.size(); n++) {
+            GuestOrderCreateDTO dto = chunk.get(accepted.get(n)).dto().order();
+            Order order = orders.get(n);
+            addressRows.add(new Object[]{addressIds.get(n), dto.addressLine1(), dto.addressLine2(), dto.city(),
+                    dto.region(), dto.postalCode(), dto.country(), now, now});
+            orderRows.add(new Object[]{orderIds.get(n), addressIds.get(n), OrderStatus.NEW.name(),
+                    order.getTotalAmount(), now, now, dto.email(), dto.firstName(), dto.lastName(), dto.phone()});
+            for (OrderItem item : order.getItems()) {
+                itemRows.add(new Object[]{itemIds.get(itemIndex++), orderIds.get(n), item.getProduct().getId(),
+                        item.getQuantity(), item.getPrice(), now, now, expiresAt});
+            }
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_ADDRESS, addressRows);
+        jdbcTemplate.batchUpdate(INSERT_ORDER, orderRows);
+        jdbcTemplate.batchUpdate(INSERT_ORDER_ITEM, itemRows);
+        orderSummaryProjector.refresh(orderIds);
+
+        for (int n = 0; n < accepted.size(); n++) {
+            ParsedLine parsed = chunk.get(accepted.get(n));
+            results[accepted.get(n)] = BulkOrderResultDTO.created(parsed.line(), parsed.externalId(),
+                    orderIds.get(n), orders.get(n).getTotalAmount());
+        }
+    }
+
+    /**
+     * Allocates {@code count} ids from a sequence in one round-trip. Sequences stepping by
+     * {@code increment} are shared with Hibernate's pooled optimizer, so each value stands for the
+     * block {@code value - increment + 1 .. value}.
+     */
+    private List<Long> nextIds(String sequence, int increment, int count) {
+        if (count == 0) {
+            return List.of();
+        }
+        int calls = (count + increment - 1) / increment;
+        List<Long> blocks = jdbcTemplate.queryForList(
+                "SELECT nextval('" + sequence + "') FROM generate_series(1, ?)", Long.class, calls);
+        List<Long> ids = new ArrayList<>(count);
+        for (Long upper : blocks) {
+            for (long id = upper - increment + 1; id <= upper && ids.size() < count; id++) {
+                ids.add(id);
+            }
+        }
+        return ids;
+    }
+
+    private record ParsedLine(long line, BulkOrderLineDTO dto, String error) {
+
+        String externalId() {
+            return dto != null ? dto.externalId() : null;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.ecommerce.E_commerce.service;
+
+import com.ecommerce.E_commerce.dto.cache.CacheStatsDTO;
+import com.ecommerce.E_commerce.dto.cache.CacheWarmResultDTO;
+
+import java.util.List;
+
+public interface CacheAdminService {
+    List<CacheStatsDTO> getAllStats();
+
+    CacheStatsDTO getStats(String name);
+
+    List<String> getTopKeys(String name, int limit);
+
+    CacheWarmResultDTO warm(String name);
+
+    void clear(String name);
+}
@@ -0,0 +1,113 @@
+package com.ecommerce.E_commerce.service;
+
+import com.ecommerce.E_commerce.config.CacheSpecs;
+import com.ecommerce.E_commerce.dto.cache.CacheStatsDTO;
+import com.ecommerce.E_commerce.dto.cache.CacheWarmResultDTO;
+import com.ecommerce.E_commerce.exception.InvalidOperationException;
+import com.ecommerce.E_commerce.exception.ResourceNotFoundException;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Inspects and manages the Caffeine caches of {@link CacheManager}. Stats and top keys describe
+ * the node that serves the request; clearing goes through the cache, so it reaches every node.
+ */
+@Service
+@RequiredArgsConstructor
+public class CacheAdminServiceImpl implements CacheAdminService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheAdminServiceImpl.class);
+
+    private final CacheManager cacheManager;
+    private final CacheSpecs cacheSpecs;
+    private final List<CacheWarmer> cacheWarmers;
+
+    @Override
+    public List<CacheStatsDTO> getAllStats() {
+        return cacheManager.getCacheNames().stream()
+                .sorted()
+                .map(this::getStats)
+                .toList();
+    }
+
+    @Override
+    public CacheStatsDTO getStats(String name) {
+        com.github.benmanes.caffeine.cache.Cache<Object, Object> caffeine = caffeine(name);
+        CacheStats stats = caffeine.stats();
+        CacheSpecs.Spec spec = cacheSpecs.get(name).orElse(null);
+        long maximumSize = caffeine.policy().eviction()
+                .map(eviction -> eviction.getMaximum())
+                .orElse(-1L);
+        return new CacheStatsDTO(
+                name,
+                caffeine.estimatedSize(),
+                maximumSize,
+                spec != null ? spec.ttl() : null,
+                spec != null ? spec.refreshAfterWrite() : null,
+                stats.hitCount(),
+                stats.missCount(),
+                stats.hitRate(),
+                stats.evictionCount());
+    }
+
+    /**
+     * Keys in the order Caffeine would keep them under size pressure. Caffeine starts counting
+     * access frequency once a cache is half full; below that the order is mostly by recency.
+     */
+    @Override
+    public List<String> getTopKeys(String name, int limit) {
+        return caffeine(name).policy().eviction()
+                .map(eviction -> eviction.hottest(limit).keySet().stream().map(String::valueOf).toList())
+                .orElseGet(List::of);
+    }
+
+    @Override
+    public CacheWarmResultDTO warm(String name) {
+        com.github.benmanes.caffeine.cache.Cache<Object, Object> caffeine = caffeine(name);
+        List<CacheWarmer> warmers = cacheWarmers.stream()
+                .filter(warmer -> warmer.caches().contains(name))
+                .toList();
+        if (warmers.isEmpty()) {
+            throw new InvalidOperationException("No warm-up registered for cache: " + name);
+        }
+
+        long sizeBefore = caffeine.estimatedSize();
+        long startedAt = System.nanoTime();
+        warmers.forEach(CacheWarmer::warm);
+        long durationMs = (System.nanoTime() - startedAt) / 1_000_000;
+
+        logger.info("Warmed cache {} with {} in {} ms", name,
+                warmers.stream().map(CacheWarmer::name).toList(), durationMs);
+        return new CacheWarmResultDTO(name, warmers.stream().map(CacheWarmer::name).toList(),
+                sizeBefore, caffeine.estimatedSize(), durationMs);
+    }
+
+    @Override
+    public void clear(String name) {
+        cache(name).clear();
+        logger.info("Cleared cache {}", name);
+    }
+
+    @SuppressWarnings("unchecked")
+    private com.github.benmanes.caffeine.cache.Cache<Object, Object> caffeine(String name) {
+        if (cache(name).getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> caffeine) {
+            return (com.github.benmanes.caffeine.cache.Cache<Object, Object>) caffeine;
+        }
+        throw new InvalidOperationException("Cache is not backed by Caffeine: " + name);
+    }
+
+    private Cache cache(String name) {
+        Cache cache = cacheManager.getCache(name);
+        if (cache == null) {
+            throw new ResourceNotFoundException("Cache not found with name: " + name);
+        }
+        return cache;
+    }
+}
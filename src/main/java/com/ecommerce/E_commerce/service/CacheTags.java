@@ -0,0 +1,47 @@
+package com.ecommerce.E_commerce.service;
+
+/**
+ * Dependency tags attached to {@link TaggedCache} entries. A tag names a fact an entry was
+ * computed from; a write invalidates the tags of the facts it changed and every entry carrying
+ * one of them goes stale. Count entries use {@link #count} tags so that editing a product's
+ * content does not throw away counts its edit cannot have moved.
+ */
+public final class CacheTags {
+
+    /** Carried by listings over the whole catalog, which any product write can change. */
+    public static final String CATALOG = "catalog";
+
+    private CacheTags() {
+    }
+
+    public static String product(Long productId) {
+        return "product:" + productId;
+    }
+
+    public static String category(Long categoryId) {
+        return "category:" + categoryId;
+    }
+
+    public static String featured(Boolean featured) {
+        return "featured:" + featured;
+    }
+
+    public static String active(Boolean active) {
+        return "active:" + active;
+    }
+
+    public static String attribute(Long attributeId) {
+        return "attribute:" + attributeId;
+    }
+
+    /** Tag of a count over the entities carrying {@code tag}; only changes of membership touch it. */
+    public static String count(String tag) {
+        return "count:" + tag;
+    }
+
+    /** The tag without its id, e.g. {@code category} for {@code category:7}; used as metric dimension. */
+    static String family(String tag) {
+        int separator = tag.lastIndexOf(':');
+        return separator < 0 ? tag : tag.substring(0, separator);
+    }
+}
@@ -0,0 +1,37 @@
+package com.ecommerce.E_commerce.service;
+
+import java.util.Set;
+
+/**
+ * Fills caches with the entries storefront traffic asks for first, by calling the cached service
+ * methods themselves so the entries land under the same keys real requests use.
+ */
+public interface CacheWarmer {
+
+    /** Short label for logs and reports. */
+    String name();
+
+    /** Caches this warmer fills. */
+    Set<String> caches();
+
+    void warm();
+
+    static CacheWarmer of(String name, Set<String> caches, Runnable warm) {
+        return new CacheWarmer() {
+            @Override
+            public String name() {
+                return name;
+            }
+
+            @Override
+            public Set<String> caches() {
+                return caches;
+            }
+
+            @Override
+            public void warm() {
+                warm.run();
+            }
+        };
+    }
+}
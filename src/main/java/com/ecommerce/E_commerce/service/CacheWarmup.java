@@ -0,0 +1,154 @@
+package com.ecommerce.E_commerce.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs every {@link CacheWarmer} in parallel once the application is ready, so the first visitors
+ * after a deploy do not pay for cold caches.
+ * <p>
+ * Spring Boot only switches readiness to {@code ACCEPTING_TRAFFIC} after all
+ * {@link ApplicationReadyEvent} listeners return, so {@code /actuator/health/readiness} reports
+ * the node as not ready until warm-up finishes or {@code app.cache.warmup.timeout} passes.
+ * Warmers still running at the timeout finish in the background. Each warmer's time is recorded in
+ * {@code cache.warmup} and the whole phase in {@code cache.warmup.total}.
+ */
+@Component
+@Profile("!test")
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class CacheWarmup implements ApplicationListener<ApplicationReadyEvent> {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheWarmup.class);
+
+    private final List<CacheWarmer> warmers;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final Duration timeout;
+    private final int threads;
+    private final Set<String> skipped;
+
+    record Report(List<String> completed, List<String> failed, List<String> pending, long durationMs) {
+    }
+
+    public CacheWarmup(List<CacheWarmer> warmers,
+                       MeterRegistry meterRegistry,
+                       @Value("${app.cache.warmup.enabled:true}") boolean enabled,
+                       @Value("${app.cache.warmup.timeout:30s}") Duration timeout,
+                       @Value("${app.cache.warmup.threads:4}") int threads,
+                       @Value("${app.cache.warmup.skip:}") Set<String> skipped) {
+        this.warmers = warmers;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.timeout = timeout;
+        this.threads = threads;
+        this.skipped = skipped;
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        if (!enabled) {
+            logger.info("Cache warm-up on startup disabled");
+            return;
+        }
+        warmUp();
+    }
+
+    Report warmUp() {
+        List<CacheWarmer> selected = warmers.stream()
+                .filter(warmer -> !skipped.contains(warmer.name()))
+                .toList();
+        logger.info("Starting cache warm-up: {}", selected.stream().map(CacheWarmer::name).toList());
+
+        long startedAt = System.nanoTime();
+        ExecutorService executor = warmupPool(Math.max(1, Math.min(threads, selected.size())));
+        List<CompletableFuture<Boolean>> runs = selected.stream()
+                .map(warmer -> CompletableFuture.supplyAsync(() -> run(warmer), executor))
+                .toList();
+        executor.shutdown();
+
+        String outcome = "completed";
+        try {
+            CompletableFuture.allOf(runs.toArray(CompletableFuture[]::new))
+                    .get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            outcome = "timed-out";
+        } catch (InterruptedException e) {
+            outcome = "interrupted";
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            outcome = "failed";
+        }
+        long durationNanos = System.nanoTime() - startedAt;
+        meterRegistry.timer("cache.warmup.total", "result", outcome).record(durationNanos, TimeUnit.NANOSECONDS);
+
+        Report report = report(selected, runs, TimeUnit.NANOSECONDS.toMillis(durationNanos));
+        if (report.pending().isEmpty()) {
+            logger.info("Cache warm-up {} in {} ms, failed: {}", outcome, report.durationMs(), report.failed());
+        } else {
+            logger.warn("Cache warm-up {} after {} ms, still running: {}, failed: {}",
+                    outcome, report.durationMs(), report.pending(), report.failed());
+        }
+        return report;
+    }
+
+    private boolean run(CacheWarmer warmer) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            warmer.warm();
+            sample.stop(meterRegistry.timer("cache.warmup", "warmer", warmer.name(), "result", "success"));
+            return true;
+        } catch (RuntimeException e) {
+            sample.stop(meterRegistry.timer("cache.warmup", "warmer", warmer.name(), "result", "failure"));
+            logger.warn("Cache warmer {} failed: {}", warmer.name(), e.getMessage());
+            return false;
+        }
+    }
+
+    private static Report report(List<CacheWarmer> warmers, List<CompletableFuture<Boolean>> runs, long durationMs) {
+        List<String> completed = new ArrayList<>();
+        List<String> failed = new ArrayList<>();
+        List<String> pending = new ArrayList<>();
+        for (int i = 0; i < warmers.size(); i++) {
+            CompletableFuture<Boolean> run = runs.get(i);
+            String name = warmers.get(i).name();
+            if (!run.isDone()) {
+                pending.add(name);
+            } else if (Boolean.TRUE.equals(run.getNow(false))) {
+                completed.add(name);
+            } else {
+                failed.add(name);
+            }
+        }
+        return new Report(completed, failed, pending, durationMs);
+    }
+
+    private static ExecutorService warmupPool(int threads) {
+        AtomicInteger counter = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "cache-warmup-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
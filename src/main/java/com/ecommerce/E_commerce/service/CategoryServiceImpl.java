@@ -3,6 +3,7 @@ package com.ecommerce.E_commerce.service;
 import com.ecommerce.E_commerce.dto.category.CategoryCreateDTO;
 import com.ecommerce.E_commerce.dto.category.CategoryDTO;
 import com.ecommerce.E_commerce.dto.category.CategoryUpdateDTO;
+import com.ecommerce.E_commerce.event.CategoryTreeChangedEvent;
 import com.ecommerce.E_commerce.exception.InvalidOperationException;
 import com.ecommerce.E_commerce.exception.ResourceNotFoundException;
 import com.ecommerce.E_commerce.exception.SeoSlugAlreadyExistsException;
@@ -14,6 +15,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -28,11 +30,14 @@ public class CategoryServiceImpl implements CategoryService {
     private static final Logger logger = LoggerFactory.getLogger(CategoryServiceImpl.class);
     private final CategoryRepository categoryRepository;
     private final CategoryMapper categoryMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public CategoryServiceImpl(CategoryRepository categoryRepository, CategoryMapper categoryMapper) {
+    public CategoryServiceImpl(CategoryRepository categoryRepository, CategoryMapper categoryMapper,
+                               ApplicationEventPublisher eventPublisher) {
         this.categoryRepository = categoryRepository;
         this.categoryMapper = categoryMapper;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -50,6 +55,7 @@ public class CategoryServiceImpl implements CategoryService {
             category.setParent(parent);
         }
         Category saved = categoryRepository.save(category);
+        eventPublisher.publishEvent(new CategoryTreeChangedEvent(saved.getId()));
         return categoryMapper.toCategoryDTOFlat(saved);
     }
 
@@ -75,6 +81,7 @@ public class CategoryServiceImpl implements CategoryService {
             category.setParent(null);
         }
         Category saved = categoryRepository.save(category);
+        eventPublisher.publishEvent(new CategoryTreeChangedEvent(saved.getId()));
         return categoryMapper.toCategoryDTOFlat(saved);
     }
 
@@ -138,6 +145,7 @@ public class CategoryServiceImpl implements CategoryService {
                 .orElseThrow(() -> new ResourceNotFoundException("Category not found: " + id));
         
         categoryRepository.delete(category);
+        eventPublisher.publishEvent(new CategoryTreeChangedEvent(id));
     }
 
     private void ensureNoCycle(Category category, Category potentialParent) {
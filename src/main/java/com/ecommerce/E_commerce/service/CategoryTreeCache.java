@@ -0,0 +1,139 @@
+package com.ecommerce.E_commerce.service;
+
+import com.ecommerce.E_commerce.repository.CategoryRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Immutable in-memory snapshot of the category tree, so subtree lookups made by search and
+ * category listings never hit the database.
+ * <p>
+ * The snapshot is built lazily on first use and rebuilt after every committed category
+ * create/update/delete (see {@link com.ecommerce.E_commerce.event.CategoryEventListener}).
+ * Readers always see one consistent version; a rebuild swaps the reference atomically.
+ */
+@Component
+@RequiredArgsConstructor
+public class CategoryTreeCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(CategoryTreeCache.class);
+
+    private final CategoryRepository categoryRepository;
+
+    private volatile Snapshot snapshot;
+    private long nextVersion = 1;
+
+    /**
+     * @param version      increases with every rebuild
+     * @param subtreeIds   category id to the ids of the category and all of its descendants
+     * @param idsBySlug    category SEO slug to id
+     * @param labelsById   category id to its display name and slug
+     */
+    public record Snapshot(long version, Map<Long, List<Long>> subtreeIds, Map<String, Long> idsBySlug,
+                           Map<Long, CategoryLabel> labelsById) {
+    }
+
+    public record CategoryLabel(String name, String seoSlug) {
+    }
+
+    /**
+     * Returns the id of the category and of all its descendants, or an empty list when the
+     * category does not exist.
+     */
+    public List<Long> subtreeIds(Long categoryId) {
+        if (categoryId == null) {
+            return List.of();
+        }
+        return current().subtreeIds().getOrDefault(categoryId, List.of());
+    }
+
+    public Optional<Long> idForSlug(String seoSlug) {
+        return Optional.ofNullable(current().idsBySlug().get(seoSlug));
+    }
+
+    public Optional<CategoryLabel> label(Long categoryId) {
+        return Optional.ofNullable(current().labelsById().get(categoryId));
+    }
+
+    public Snapshot current() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            current = rebuild();
+        }
+        return current;
+    }
+
+    public synchronized Snapshot rebuild() {
+        long start = System.nanoTime();
+        Snapshot rebuilt = build(nextVersion++, categoryRepository.findTreeRows());
+        snapshot = rebuilt;
+        logger.info("Category tree snapshot v{} built: {} categories in {} ms",
+                rebuilt.version(), rebuilt.subtreeIds().size(), (System.nanoTime() - start) / 1_000_000);
+        return rebuilt;
+    }
+
+    /** Drops the snapshot so the next lookup rebuilds it from the database. */
+    public void invalidate() {
+        snapshot = null;
+    }
+
+    /**
+     * @param rows {@code [id, parentId, seoSlug, name]} for every category
+     */
+    static Snapshot build(long version, List<Object[]> rows) {
+        Map<Long, List<Long>> childrenById = new HashMap<>();
+        Map<String, Long> idsBySlug = new HashMap<>();
+        Map<Long, CategoryLabel> labelsById = new HashMap<>();
+        for (Object[] row : rows) {
+            Long id = (Long) row[0];
+            Long parentId = (Long) row[1];
+            childrenById.computeIfAbsent(id, k -> new ArrayList<>());
+            if (parentId != null) {
+                childrenById.computeIfAbsent(parentId, k -> new ArrayList<>()).add(id);
+            }
+            if (row[2] != null) {
+                idsBySlug.put((String) row[2], id);
+            }
+            labelsById.put(id, new CategoryLabel((String) row[3], (String) row[2]));
+        }
+
+        Map<Long, List<Long>> subtreeIds = new HashMap<>();
+        for (Object[] row : rows) {
+            collectSubtree((Long) row[0], childrenById, subtreeIds, new HashSet<>());
+        }
+        return new Snapshot(version, Collections.unmodifiableMap(subtreeIds), Collections.unmodifiableMap(idsBySlug),
+                Collections.unmodifiableMap(labelsById));
+    }
+
+    private static List<Long> collectSubtree(Long id, Map<Long, List<Long>> childrenById,
+                                             Map<Long, List<Long>> subtreeIds, Set<Long> path) {
+        List<Long> known = subtreeIds.get(id);
+        if (known != null) {
+            return known;
+        }
+        if (!path.add(id)) {
+            logger.warn("Cycle in category tree at id={}, ignoring back edge", id);
+            return List.of();
+        }
+        List<Long> ids = new ArrayList<>();
+        ids.add(id);
+        for (Long childId : childrenById.getOrDefault(id, List.of())) {
+            ids.addAll(collectSubtree(childId, childrenById, subtreeIds, path));
+        }
+        path.remove(id);
+        List<Long> result = List.copyOf(ids);
+        subtreeIds.put(id, result);
+        return result;
+    }
+}
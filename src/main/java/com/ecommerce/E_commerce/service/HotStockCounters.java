@@ -0,0 +1,212 @@
+package com.ecommerce.E_commerce.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory admission counters that sit in front of the conditional stock {@code UPDATE}.
+ * <p>
+ * Each product's available quantity is loaded once and spread over a few stripes, so concurrent
+ * checkouts of the same product mostly decrement different memory locations. The database row
+ * stays authoritative: a counter is dropped and reloaded whenever this node changes stock outside
+ * the reservation path or the database rejects a reservation the counter let through. Stock can
+ * also come back without this node noticing (another node's release, a restock in SQL), so a
+ * counter that runs short is reloaded from the database before the request is turned away, at
+ * most once per {@code app.inventory.reservation.striped-counter.recheck-interval}; in between,
+ * sold-out requests are rejected without touching the database. Tokens taken by a rolled-back
+ * transaction are handed back. Enabled with
+ * {@code app.inventory.reservation.striped-counter.enabled=true}.
+ */
+@Component
+@RequiredArgsConstructor
+public class HotStockCounters {
+
+    private final InventoryStockUpdater stockUpdater;
+    private final Map<Long, StripedCounter> counters = new ConcurrentHashMap<>();
+
+    @Value("${app.inventory.reservation.striped-counter.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.inventory.reservation.striped-counter.stripes:8}")
+    private int stripes;
+
+    @Value("${app.inventory.reservation.striped-counter.recheck-interval:1s}")
+    private Duration recheckInterval;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Takes the requested quantities from the counters, all or nothing. Inside a transaction the
+     * tokens are returned automatically if it rolls back.
+     *
+     * @return {@code false} if any product has too little stock left; products without an active
+     *         inventory row are not gated here
+     */
+    public boolean tryAcquire(Map<Long, Integer> productQuantities) {
+        Map<Long, Integer> sorted = new TreeMap<>(productQuantities);
+        loadMissing(sorted);
+
+        List<Map.Entry<Long, StripedCounter>> acquired = new ArrayList<>(sorted.size());
+        for (Map.Entry<Long, Integer> item : sorted.entrySet()) {
+            StripedCounter counter = counters.get(item.getKey());
+            if (counter == null) {
+                // no active inventory row: let the database reservation report why
+                continue;
+            }
+            if (!counter.tryAcquire(item.getValue())) {
+                counter = recheck(item.getKey(), counter);
+                if (counter == null) {
+                    continue;
+                }
+                if (!counter.tryAcquire(item.getValue())) {
+                    acquired.forEach(entry -> entry.getValue().release(sorted.get(entry.getKey())));
+                    return false;
+                }
+            }
+            acquired.add(Map.entry(item.getKey(), counter));
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        acquired.forEach(entry -> entry.getValue().release(sorted.get(entry.getKey())));
+                    }
+                }
+            });
+        }
+        return true;
+    }
+
+    /** Drops the counter so the next reservation reloads it from the database. */
+    public void invalidate(Long productId) {
+        counters.remove(productId);
+    }
+
+    /**
+     * Drops the counter once the current transaction commits, so the reload sees the new stock;
+     * immediately when no transaction is active.
+     */
+    public void invalidateAfterCommit(Long productId) {
+        if (!enabled) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate(productId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidate(productId);
+            }
+        });
+    }
+
+    /**
+     * Reloads a counter that ran short from the database, unless it was (re)checked less than
+     * {@code recheckInterval} ago or another caller is already doing it.
+     *
+     * @return the counter to retry with, the unchanged one if no reload happened, or {@code null}
+     *         if the product no longer has an active inventory row
+     */
+    private StripedCounter recheck(Long productId, StripedCounter drained) {
+        if (!drained.claimRecheck(System.nanoTime(), recheckInterval.toNanos())) {
+            return drained;
+        }
+        Integer available = stockUpdater.availableQuantities(List.of(productId)).get(productId);
+        if (available == null) {
+            counters.remove(productId, drained);
+            return null;
+        }
+        StripedCounter reloaded = new StripedCounter(Math.max(1, stripes), available);
+        return counters.replace(productId, drained, reloaded) ? reloaded : counters.getOrDefault(productId, reloaded);
+    }
+
+    private void loadMissing(Map<Long, Integer> productQuantities) {
+        List<Long> missing = productQuantities.keySet().stream()
+                .filter(productId -> !counters.containsKey(productId))
+                .toList();
+        if (missing.isEmpty()) {
+            return;
+        }
+        stockUpdater.availableQuantities(missing).forEach((productId, available) ->
+                counters.putIfAbsent(productId, new StripedCounter(Math.max(1, stripes), available)));
+    }
+
+    /**
+     * A non-negative counter split over several atomic slots. A caller starts at its home slot
+     * and moves on to the others until it has collected the full quantity.
+     */
+    static final class StripedCounter {
+
+        private final AtomicIntegerArray slots;
+        private final AtomicLong checkedAt = new AtomicLong(System.nanoTime());
+
+        StripedCounter(int stripes, int initial) {
+            slots = new AtomicIntegerArray(stripes);
+            for (int i = 0; i < stripes; i++) {
+                slots.set(i, initial / stripes + (i < initial % stripes ? 1 : 0));
+            }
+        }
+
+        boolean tryAcquire(int quantity) {
+            int home = (int) (Thread.currentThread().getId() % slots.length());
+            int remaining = quantity;
+            int[] taken = new int[slots.length()];
+            for (int n = 0; n < slots.length() && remaining > 0; n++) {
+                int slot = (home + n) % slots.length();
+                int current;
+                int take;
+                do {
+                    current = slots.get(slot);
+                    take = Math.min(current, remaining);
+                } while (take > 0 && !slots.compareAndSet(slot, current, current - take));
+                taken[slot] = take;
+                remaining -= take;
+            }
+            if (remaining > 0) {
+                for (int slot = 0; slot < taken.length; slot++) {
+                    if (taken[slot] > 0) {
+                        slots.addAndGet(slot, taken[slot]);
+                    }
+                }
+                return false;
+            }
+            return true;
+        }
+
+        /** @return {@code true} for the one caller allowed to reload this counter now */
+        boolean claimRecheck(long now, long intervalNanos) {
+            long last = checkedAt.get();
+            return now - last >= intervalNanos && checkedAt.compareAndSet(last, now);
+        }
+
+        void release(int quantity) {
+            slots.addAndGet((int) (Thread.currentThread().getId() % slots.length()), quantity);
+        }
+
+        int total() {
+            int total = 0;
+            for (int i = 0; i < slots.length(); i++) {
+                total += slots.get(i);
+            }
+            return total;
+        }
+    }
+}
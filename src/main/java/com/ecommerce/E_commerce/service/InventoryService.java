@@ -1,13 +1,17 @@
 package com.ecommerce.E_commerce.service;
 
+import com.ecommerce.E_commerce.dto.common.KeysetPageDTO;
 import com.ecommerce.E_commerce.dto.inventory.InventoryCreateDTO;
 import com.ecommerce.E_commerce.dto.inventory.InventoryDTO;
 import com.ecommerce.E_commerce.dto.inventory.InventorySummaryDTO;
 import com.ecommerce.E_commerce.dto.inventory.InventoryUpdateDTO;
+import com.ecommerce.E_commerce.dto.inventory.StockLevelDTO;
+import com.ecommerce.E_commerce.exception.InsufficientStockException;
 import com.ecommerce.E_commerce.exception.ResourceNotFoundException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.List;
 import java.util.Map;
 
 public interface InventoryService {
@@ -25,6 +29,16 @@ public interface InventoryService {
     Page<InventoryDTO> findAll(Pageable pageable);
     
     Page<InventorySummaryDTO> findAllSummary(Pageable pageable);
+
+    /**
+     * Walks matching inventory rows newest first without OFFSET; see
+     * {@link OrderService#scrollByMultipleCriteria}.
+     */
+    KeysetPageDTO<InventoryDTO> scrollByMultipleCriteria(Long productId, String productName,
+                                                         Integer minAvailableQuantity, Integer maxAvailableQuantity,
+                                                         Integer minReservedQuantity, Integer maxReservedQuantity,
+                                                         Boolean belowMinimum, Boolean isActive,
+                                                         String cursor, int size, boolean includeTotal);
     
     // Stock Management Operations
     /**
@@ -47,6 +61,26 @@ public interface InventoryService {
      * @throws IllegalArgumentException if inventory is not active or insufficient reserved quantity
      */
     void releaseStock(Long productId, Integer quantity);
+
+    /**
+     * Releases reserved stock of several products at once, locking the rows in product id order
+     * and writing them back in one JDBC batch.
+     *
+     * @param productQuantities quantity to release per product ID
+     * @throws ResourceNotFoundException if inventory not found for any product
+     * @throws InsufficientStockException if any inventory is inactive or has too little reserved
+     */
+    void releaseStockBatch(Map<Long, Integer> productQuantities);
+
+    /**
+     * Reserves stock for many orders at once, e.g. a bulk import chunk. All inventory rows are
+     * locked in one statement in product id order; orders are then served in list order, and an
+     * order whose items cannot all be covered is skipped without affecting the others.
+     *
+     * @param orderQuantities quantity per product ID, one map per order
+     * @return per order, {@code null} if its stock was reserved, otherwise the reason it was not
+     */
+    List<String> reserveStockForOrders(List<Map<Long, Integer>> orderQuantities);
     
     /**
      * Finalizes reserved stock (decreases reserved quantity only, stock is sold).
@@ -58,6 +92,16 @@ public interface InventoryService {
      * @throws IllegalArgumentException if inventory is not active or insufficient reserved quantity
      */
     void finalizeReservation(Long productId, Integer quantity);
+
+    /**
+     * Finalizes reserved stock of several products at once, locking the rows in product id order
+     * and writing them back in one JDBC batch.
+     *
+     * @param productQuantities quantity to finalize per product ID
+     * @throws ResourceNotFoundException if inventory not found for any product
+     * @throws InsufficientStockException if any inventory is inactive or has too little reserved
+     */
+    void finalizeReservationBatch(Map<Long, Integer> productQuantities);
     
     /**
      * Checks if enough stock is available for a product.
@@ -68,5 +112,14 @@ public interface InventoryService {
      * @throws ResourceNotFoundException if inventory not found for product
      */
     boolean isStockAvailable(Long productId, Integer quantity);
+
+    /**
+     * Current available and reserved quantity of a product, served from the in-memory
+     * availability map when enabled.
+     *
+     * @param productId The product ID
+     * @throws ResourceNotFoundException if no active inventory exists for the product
+     */
+    StockLevelDTO getStockLevel(Long productId);
 }
 
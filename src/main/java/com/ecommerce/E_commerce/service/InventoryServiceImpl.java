@@ -1,9 +1,11 @@
 package com.ecommerce.E_commerce.service;
 
+import com.ecommerce.E_commerce.dto.common.KeysetPageDTO;
 import com.ecommerce.E_commerce.dto.inventory.InventoryCreateDTO;
 import com.ecommerce.E_commerce.dto.inventory.InventoryDTO;
 import com.ecommerce.E_commerce.dto.inventory.InventorySummaryDTO;
 import com.ecommerce.E_commerce.dto.inventory.InventoryUpdateDTO;
+import com.ecommerce.E_commerce.dto.inventory.StockLevelDTO;
 import com.ecommerce.E_commerce.exception.DuplicateResourceException;
 import com.ecommerce.E_commerce.exception.InsufficientStockException;
 import com.ecommerce.E_commerce.exception.InvalidOperationException;
@@ -12,20 +14,31 @@ import com.ecommerce.E_commerce.mapper.InventoryMapper;
 import com.ecommerce.E_commerce.model.Inventory;
 import com.ecommerce.E_commerce.model.Product;
 import com.ecommerce.E_commerce.repository.InventoryRepository;
+import com.ecommerce.E_commerce.repository.InventorySpecifications;
 import com.ecommerce.E_commerce.repository.ProductRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -33,17 +46,35 @@ import java.util.stream.Collectors;
 public class InventoryServiceImpl implements InventoryService {
 
     private static final Logger logger = LoggerFactory.getLogger(InventoryServiceImpl.class);
+    private static final String RESERVATION_MODE_ATOMIC = "atomic";
+
     private final InventoryRepository inventoryRepository;
     private final ProductRepository productRepository;
     private final InventoryMapper inventoryMapper;
+    private final InventoryStockUpdater stockUpdater;
+    private final HotStockCounters hotStockCounters;
+    private final StockAvailabilityMap availabilityMap;
+
+    /**
+     * {@code locking} reads the inventory rows {@code FOR UPDATE} before reserving;
+     * {@code atomic} reserves with conditional updates and suits heavily contended products.
+     */
+    @Value("${app.inventory.reservation.mode:locking}")
+    private String reservationMode;
 
     @Autowired
     public InventoryServiceImpl(InventoryRepository inventoryRepository,
                                ProductRepository productRepository,
-                               InventoryMapper inventoryMapper) {
+                               InventoryMapper inventoryMapper,
+                               InventoryStockUpdater stockUpdater,
+                               HotStockCounters hotStockCounters,
+                               StockAvailabilityMap availabilityMap) {
         this.inventoryRepository = inventoryRepository;
         this.productRepository = productRepository;
         this.inventoryMapper = inventoryMapper;
+        this.stockUpdater = stockUpdater;
+        this.hotStockCounters = hotStockCounters;
+        this.availabilityMap = availabilityMap;
     }
 
     @Override
@@ -64,6 +95,7 @@ public class InventoryServiceImpl implements InventoryService {
         inventory.setUpdatedAt(Instant.now());
 
         Inventory savedInventory = inventoryRepository.save(inventory);
+        availabilityMap.invalidateAfterCommit(product.getId());
         return inventoryMapper.toInventoryDTO(savedInventory);
     }
 
@@ -101,6 +133,8 @@ public class InventoryServiceImpl implements InventoryService {
         }
 
         Inventory savedInventory = inventoryRepository.save(inventory);
+        hotStockCounters.invalidateAfterCommit(inventory.getProduct().getId());
+        availabilityMap.invalidateAfterCommit(inventory.getProduct().getId());
         return inventoryMapper.toInventoryDTO(savedInventory);
     }
 
@@ -113,6 +147,8 @@ public class InventoryServiceImpl implements InventoryService {
         inventory.setIsActive(false);
         inventory.setUpdatedAt(Instant.now());
         inventoryRepository.save(inventory);
+        hotStockCounters.invalidateAfterCommit(inventory.getProduct().getId());
+        availabilityMap.invalidateAfterCommit(inventory.getProduct().getId());
     }
 
     @Override
@@ -145,9 +181,32 @@ public class InventoryServiceImpl implements InventoryService {
         return inventories.map(inventoryMapper::toInventorySummaryDTO);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public KeysetPageDTO<InventoryDTO> scrollByMultipleCriteria(Long productId, String productName,
+                                                                Integer minAvailableQuantity, Integer maxAvailableQuantity,
+                                                                Integer minReservedQuantity, Integer maxReservedQuantity,
+                                                                Boolean belowMinimum, Boolean isActive,
+                                                                String cursor, int size, boolean includeTotal) {
+        Specification<Inventory> spec = InventorySpecifications.matching(productId, productName,
+                minAvailableQuantity, maxAvailableQuantity, minReservedQuantity, maxReservedQuantity,
+                belowMinimum, isActive);
+        KeysetScrollPosition position = KeysetCursors.position(cursor, "id");
+        Window<Inventory> window = inventoryRepository.findBy(spec.and(KeysetCursors.seekBound(position)), query -> query
+                .sortBy(KeysetCursors.newestFirst("id"))
+                .limit(KeysetCursors.pageSize(size))
+                .scroll(position));
+        Long total = includeTotal ? inventoryRepository.count(spec) : null;
+        return KeysetCursors.page(window, inventoryMapper::toInventoryDTO, Inventory::getCreatedAt, Inventory::getId, total);
+    }
+
     @Override
     public void reserveStock(Long productId, Integer quantity) {
         logger.info("Attempting to reserve stock: productId={}, quantity={}", productId, quantity);
+        if (RESERVATION_MODE_ATOMIC.equalsIgnoreCase(reservationMode)) {
+            reserveStockBatchAtomic(Map.of(productId, quantity));
+            return;
+        }
         Inventory inventory = getActiveInventory(productId);
 
         if (inventory.getAvailableQuantity() < quantity) {
@@ -161,26 +220,20 @@ public class InventoryServiceImpl implements InventoryService {
         inventory.setAvailableQuantity(inventory.getAvailableQuantity() - quantity);
         inventory.setReservedQuantity(inventory.getReservedQuantity() + quantity);
         inventoryRepository.save(inventory);
+        availabilityMap.recordReservedAfterCommit(Map.of(productId, quantity));
         logger.info("Stock reserved successfully: productId={}, quantity={}, newAvailable={}, newReserved={}", 
             productId, quantity, inventory.getAvailableQuantity(), inventory.getReservedQuantity());
     }
     @Override
     public void reserveStockBatch(Map<Long, Integer> productQuantities) {
         logger.info("Attempting batch stock reservation for {} items", productQuantities.size());
-
-        List<Long> productIds = productQuantities.keySet().stream().sorted().toList();
-        List<Inventory> inventories = inventoryRepository.findByProductIdIn(productIds);
-
-        if (inventories.size() != productIds.size()) {
-            Set<Long> foundIds = inventories.stream()
-                    .map(inv -> inv.getProduct().getId())
-                    .collect(Collectors.toSet());
-            List<Long> missingIds = productIds.stream()
-                    .filter(id -> !foundIds.contains(id))
-                    .toList();
-            throw new ResourceNotFoundException("Inventory not found for product ids: " + missingIds);
+        if (RESERVATION_MODE_ATOMIC.equalsIgnoreCase(reservationMode)) {
+            reserveStockBatchAtomic(productQuantities);
+            return;
         }
 
+        List<Inventory> inventories = lockInventories(productQuantities.keySet());
+
         for (Inventory inventory : inventories) {
             Long productId = inventory.getProduct().getId();
             Integer requestedQuantity = productQuantities.get(productId);
@@ -201,8 +254,159 @@ public class InventoryServiceImpl implements InventoryService {
         }
 
         inventoryRepository.saveAll(inventories);
+        availabilityMap.recordReservedAfterCommit(productQuantities);
+        logger.info("Batch stock reservation successful");
+    }
+
+    private void reserveStockBatchAtomic(Map<Long, Integer> productQuantities) {
+        if (hotStockCounters.isEnabled() && !hotStockCounters.tryAcquire(productQuantities)) {
+            throw new InsufficientStockException("Insufficient stock for products: " + productQuantities.keySet());
+        }
+
+        List<Long> rejected = stockUpdater.reserve(productQuantities);
+        if (!rejected.isEmpty()) {
+            rejected.forEach(hotStockCounters::invalidate);
+            throw reservationFailure(rejected.get(0), productQuantities.get(rejected.get(0)));
+        }
+        availabilityMap.recordReservedAfterCommit(productQuantities);
         logger.info("Batch stock reservation successful");
     }
+
+    @Override
+    public void releaseStockBatch(Map<Long, Integer> productQuantities) {
+        logger.info("Attempting batch stock release for {} items", productQuantities.size());
+        List<Inventory> inventories = lockInventories(productQuantities.keySet());
+
+        for (Inventory inventory : inventories) {
+            Long productId = inventory.getProduct().getId();
+            Integer quantity = productQuantities.get(productId);
+            requireReserved(inventory, quantity);
+
+            inventory.setAvailableQuantity(inventory.getAvailableQuantity() + quantity);
+            inventory.setReservedQuantity(inventory.getReservedQuantity() - quantity);
+            inventory.setUpdatedAt(Instant.now());
+            hotStockCounters.invalidateAfterCommit(productId);
+        }
+
+        inventoryRepository.saveAll(inventories);
+        availabilityMap.recordReleasedAfterCommit(productQuantities);
+        logger.info("Batch stock release successful");
+    }
+
+    @Override
+    public List<String> reserveStockForOrders(List<Map<Long, Integer>> orderQuantities) {
+        Set<Long> productIds = orderQuantities.stream()
+                .flatMap(quantities -> quantities.keySet().stream())
+                .collect(Collectors.toSet());
+        Map<Long, Inventory> inventories = inventoryRepository.findByProductIdInWithLockOrdered(productIds).stream()
+                .collect(Collectors.toMap(inventory -> inventory.getProduct().getId(), Function.identity()));
+
+        List<String> outcomes = new ArrayList<>(orderQuantities.size());
+        Map<Long, Integer> reserved = new HashMap<>();
+        for (Map<Long, Integer> quantities : orderQuantities) {
+            String shortage = findShortage(quantities, inventories);
+            outcomes.add(shortage);
+            if (shortage != null) {
+                continue;
+            }
+            quantities.forEach((productId, quantity) -> {
+                Inventory inventory = inventories.get(productId);
+                inventory.setAvailableQuantity(inventory.getAvailableQuantity() - quantity);
+                inventory.setReservedQuantity(inventory.getReservedQuantity() + quantity);
+                inventory.setUpdatedAt(Instant.now());
+                reserved.merge(productId, quantity, Integer::sum);
+            });
+        }
+
+        if (!reserved.isEmpty()) {
+            inventoryRepository.saveAll(reserved.keySet().stream().map(inventories::get).toList());
+            availabilityMap.recordReservedAfterCommit(reserved);
+            reserved.keySet().forEach(hotStockCounters::invalidateAfterCommit);
+        }
+        logger.info("Bulk stock reservation: {} of {} orders reserved",
+                outcomes.stream().filter(Objects::isNull).count(), orderQuantities.size());
+        return outcomes;
+    }
+
+    private String findShortage(Map<Long, Integer> quantities, Map<Long, Inventory> inventories) {
+        for (Map.Entry<Long, Integer> item : quantities.entrySet()) {
+            Inventory inventory = inventories.get(item.getKey());
+            if (inventory == null) {
+                return "Inventory not found for product id: " + item.getKey();
+            }
+            if (!inventory.getIsActive()) {
+                return "Product " + item.getKey() + " inventory is inactive";
+            }
+            if (inventory.getAvailableQuantity() < item.getValue()) {
+                return String.format("Insufficient stock for product %d. Available: %d, Requested: %d",
+                        item.getKey(), inventory.getAvailableQuantity(), item.getValue());
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void finalizeReservationBatch(Map<Long, Integer> productQuantities) {
+        logger.info("Finalizing batch stock reservation for {} items", productQuantities.size());
+        List<Inventory> inventories = lockInventories(productQuantities.keySet());
+
+        for (Inventory inventory : inventories) {
+            Integer quantity = productQuantities.get(inventory.getProduct().getId());
+            requireReserved(inventory, quantity);
+
+            inventory.setReservedQuantity(inventory.getReservedQuantity() - quantity);
+            inventory.setUpdatedAt(Instant.now());
+        }
+
+        inventoryRepository.saveAll(inventories);
+        availabilityMap.recordFinalizedAfterCommit(productQuantities);
+        logger.info("Batch stock reservation finalized");
+    }
+
+    /**
+     * Locks the inventory rows of all products in ascending product id order, failing if any is missing.
+     */
+    private List<Inventory> lockInventories(Collection<Long> productIds) {
+        List<Inventory> inventories = inventoryRepository.findByProductIdInWithLockOrdered(productIds);
+
+        if (inventories.size() != productIds.size()) {
+            Set<Long> foundIds = inventories.stream()
+                    .map(inv -> inv.getProduct().getId())
+                    .collect(Collectors.toSet());
+            List<Long> missingIds = productIds.stream()
+                    .filter(id -> !foundIds.contains(id))
+                    .sorted()
+                    .toList();
+            throw new ResourceNotFoundException("Inventory not found for product ids: " + missingIds);
+        }
+        return inventories;
+    }
+
+    private void requireReserved(Inventory inventory, Integer quantity) {
+        Long productId = inventory.getProduct().getId();
+        if (!inventory.getIsActive()) {
+            throw new InsufficientStockException("Inventory is not active for product id: " + productId);
+        }
+        if (inventory.getReservedQuantity() < quantity) {
+            throw new InsufficientStockException(
+                    String.format("Insufficient reserved stock for product id %d. Reserved: %d, Requested: %d",
+                            productId, inventory.getReservedQuantity(), quantity));
+        }
+    }
+
+    /** Explains why the conditional update left a row untouched, mirroring the locking path's errors. */
+    private RuntimeException reservationFailure(Long productId, Integer requestedQuantity) {
+        Optional<Inventory> inventory = inventoryRepository.findByProductId(productId);
+        if (inventory.isEmpty()) {
+            return new ResourceNotFoundException("Inventory not found for product ids: " + List.of(productId));
+        }
+        if (!inventory.get().getIsActive()) {
+            return new InvalidOperationException("Product " + productId + " inventory is inactive");
+        }
+        return new InsufficientStockException(
+                String.format("Insufficient stock for product %d. Available: %d, Requested: %d",
+                        productId, inventory.get().getAvailableQuantity(), requestedQuantity));
+    }
     @Override
     public void releaseStock(Long productId, Integer quantity) {
         logger.info("Attempting to release stock: productId={}, quantity={}", productId, quantity);
@@ -219,6 +423,8 @@ public class InventoryServiceImpl implements InventoryService {
         inventory.setAvailableQuantity(inventory.getAvailableQuantity() + quantity);
         inventory.setReservedQuantity(inventory.getReservedQuantity() - quantity);
         inventoryRepository.save(inventory);
+        hotStockCounters.invalidateAfterCommit(productId);
+        availabilityMap.recordReleasedAfterCommit(Map.of(productId, quantity));
         logger.info("Stock released successfully: productId={}, quantity={}, newAvailable={}, newReserved={}", 
             productId, quantity, inventory.getAvailableQuantity(), inventory.getReservedQuantity());
     }
@@ -238,13 +444,19 @@ public class InventoryServiceImpl implements InventoryService {
 
         inventory.setReservedQuantity(inventory.getReservedQuantity() - quantity);
         inventoryRepository.save(inventory);
+        availabilityMap.recordFinalizedAfterCommit(Map.of(productId, quantity));
         logger.info("Stock reservation finalized successfully: productId={}, quantity={}, newReserved={}", 
             productId, quantity, inventory.getReservedQuantity());
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public boolean isStockAvailable(Long productId, Integer quantity) {
+        if (availabilityMap.isEnabled()) {
+            long level = cachedStockLevel(productId);
+            return level != StockAvailabilityMap.ABSENT && StockAvailabilityMap.available(level) >= quantity;
+        }
+
         Optional<Inventory> inventoryOpt = inventoryRepository.findByProductId(productId);
 
         return inventoryOpt
@@ -253,6 +465,37 @@ public class InventoryServiceImpl implements InventoryService {
                 .orElse(false);
     }
 
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public StockLevelDTO getStockLevel(Long productId) {
+        int available;
+        int reserved;
+        if (availabilityMap.isEnabled()) {
+            long level = cachedStockLevel(productId);
+            if (level == StockAvailabilityMap.ABSENT) {
+                throw new ResourceNotFoundException("Inventory not found for product id: " + productId);
+            }
+            available = StockAvailabilityMap.available(level);
+            reserved = StockAvailabilityMap.reserved(level);
+        } else {
+            Inventory inventory = inventoryRepository.findByProductIdAndIsActive(productId, true)
+                    .orElseThrow(() -> new ResourceNotFoundException("Inventory not found for product id: " + productId));
+            available = inventory.getAvailableQuantity();
+            reserved = inventory.getReservedQuantity();
+        }
+        return new StockLevelDTO(productId, available, reserved, available > 0);
+    }
+
+    /**
+     * Packed stock level from the availability map, loading it from the database on a miss.
+     */
+    private long cachedStockLevel(Long productId) {
+        return availabilityMap.lookupOrLoad(productId, () -> inventoryRepository.findByProductId(productId)
+                .filter(Inventory::getIsActive)
+                .map(inventory -> StockAvailabilityMap.pack(inventory.getAvailableQuantity(), inventory.getReservedQuantity()))
+                .orElse(StockAvailabilityMap.ABSENT));
+    }
+
     private Inventory getActiveInventory(Long productId) {
         Inventory inventory = inventoryRepository.findByProductIdWithLock(productId)
                 .orElseThrow(() -> new ResourceNotFoundException("Inventory not found for product id: " + productId));
@@ -0,0 +1,80 @@
+package com.ecommerce.E_commerce.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Conditional stock updates issued as plain SQL on the transaction's connection.
+ * <p>
+ * Each statement only touches the row when enough stock is left, so no row is read and locked
+ * up front: the database checks and decrements in one step and the row lock is held from the
+ * {@code UPDATE} until commit instead of from the {@code SELECT ... FOR UPDATE}. Rows are always
+ * updated in ascending product id order, so concurrent multi-item orders cannot deadlock.
+ */
+@Component
+@RequiredArgsConstructor
+public class InventoryStockUpdater {
+
+    private static final String RESERVE = """
+            UPDATE inventory
+            SET available_quantity = available_quantity - ?,
+                reserved_quantity = reserved_quantity + ?,
+                updated_at = now()
+            WHERE product_id = ? AND available_quantity >= ? AND is_active = true AND deleted_at IS NULL
+            """;
+
+    private static final String AVAILABLE_QUANTITIES = """
+            SELECT product_id, available_quantity FROM inventory
+            WHERE product_id IN (:productIds) AND is_active = true AND deleted_at IS NULL
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Moves the requested quantities from available to reserved in one batched round-trip.
+     *
+     * @return product ids whose row was left untouched (missing, inactive or short of stock);
+     *         empty when every item was reserved
+     */
+    public List<Long> reserve(Map<Long, Integer> productQuantities) {
+        List<Object[]> args = new ArrayList<>(productQuantities.size());
+        List<Long> productIds = new ArrayList<>(productQuantities.size());
+        new TreeMap<>(productQuantities).forEach((productId, quantity) -> {
+            productIds.add(productId);
+            args.add(new Object[]{quantity, quantity, productId, quantity});
+        });
+
+        int[] updated = jdbcTemplate.batchUpdate(RESERVE, args);
+        List<Long> rejected = new ArrayList<>();
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                rejected.add(productIds.get(i));
+            }
+        }
+        return rejected;
+    }
+
+    /** Current available quantity of each active inventory row; inactive or missing rows are absent. */
+    public Map<Long, Integer> availableQuantities(Collection<Long> productIds) {
+        Map<Long, Integer> available = new HashMap<>();
+        if (productIds.isEmpty()) {
+            return available;
+        }
+        new NamedParameterJdbcTemplate(jdbcTemplate).query(AVAILABLE_QUANTITIES,
+                new MapSqlParameterSource("productIds", productIds),
+                rs -> {
+                    available.put(rs.getLong(1), rs.getInt(2));
+                });
+        return available;
+    }
+}
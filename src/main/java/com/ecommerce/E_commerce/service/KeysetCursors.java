@@ -0,0 +1,85 @@
+package com.ecommerce.E_commerce.service;
+
+import com.ecommerce.E_commerce.dto.common.KeysetPageDTO;
+import com.ecommerce.E_commerce.exception.InvalidOperationException;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Opaque cursors for admin listings walked newest first on {@code (createdAt, id)}. The cursor
+ * carries the last row's key pair, so each page is an index seek instead of an OFFSET scan.
+ */
+final class KeysetCursors {
+
+    static final int MAX_PAGE_SIZE = 100;
+    private static final String CREATED_AT = "createdAt";
+
+    private KeysetCursors() {
+    }
+
+    static Sort newestFirst(String idAttribute) {
+        return Sort.by(Sort.Direction.DESC, CREATED_AT, idAttribute);
+    }
+
+    static int pageSize(int requested) {
+        return Math.max(1, Math.min(requested, MAX_PAGE_SIZE));
+    }
+
+    static KeysetScrollPosition position(String cursor, String idAttribute) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            Map<String, Object> keys = new LinkedHashMap<>();
+            keys.put(CREATED_AT, Instant.parse(raw.substring(0, separator)));
+            keys.put(idAttribute, Long.valueOf(raw.substring(separator + 1)));
+            return ScrollPosition.forward(keys);
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+            throw new InvalidOperationException("Invalid page cursor");
+        }
+    }
+
+    /**
+     * Redundant leading {@code createdAt <= :cursorCreatedAt} bound for a cursor page. Spring Data
+     * renders the keyset as {@code createdAt < :c OR (createdAt = :c AND id < :i)}, which
+     * PostgreSQL cannot use as a range seek on the {@code (created_at DESC, id DESC)} indexes; with
+     * this bound the index scan starts at the cursor instead of filtering from the newest row.
+     */
+    static <T> Specification<T> seekBound(KeysetScrollPosition position) {
+        Instant createdAt = (Instant) position.getKeys().get(CREATED_AT);
+        return (root, query, cb) -> createdAt == null ? null : cb.lessThanOrEqualTo(root.get(CREATED_AT), createdAt);
+    }
+
+    static String encode(Instant createdAt, Long id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((createdAt + "|" + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    static <T, R> KeysetPageDTO<R> page(Window<T> window,
+                                        Function<T, R> mapper,
+                                        Function<T, Instant> createdAt,
+                                        Function<T, Long> id,
+                                        Long totalElements) {
+        List<T> content = window.getContent();
+        String nextCursor = null;
+        if (window.hasNext() && !content.isEmpty()) {
+            T last = content.get(content.size() - 1);
+            nextCursor = encode(createdAt.apply(last), id.apply(last));
+        }
+        return new KeysetPageDTO<>(content.stream().map(mapper).toList(), content.size(), nextCursor, totalElements);
+    }
+}
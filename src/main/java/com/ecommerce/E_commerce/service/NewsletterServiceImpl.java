@@ -77,7 +77,7 @@ public class NewsletterServiceImpl implements NewsletterService {
     private NewsletterSubscriptionDTO toDTO(NewsletterSubscription s) {
         Long userId = s.getUser() != null ? s.getUser().getId() : null;
         return new NewsletterSubscriptionDTO(
-                s.getId(),
+                s.getId() != null ? s.getId().longValue() : null,
                 s.getEmail(),
                 s.getSubscribedAt(),
                 userId
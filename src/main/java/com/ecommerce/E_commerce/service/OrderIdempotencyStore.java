@@ -0,0 +1,152 @@
+package com.ecommerce.E_commerce.service;
+
+import com.ecommerce.E_commerce.dto.order.OrderDTO;
+import com.ecommerce.E_commerce.exception.InvalidOperationException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Deduplicates order submissions carrying an {@code Idempotency-Key} header.
+ * <p>
+ * The key is claimed with an insert in the same transaction that creates the order, so a
+ * concurrent retry blocks on the key until the first attempt commits and then replays its stored
+ * response; if the first attempt fails, its claim rolls back with it and the retry runs normally.
+ * Each key remembers a fingerprint of the request body: reusing a key for a different order is
+ * rejected. Keys expire after {@code app.orders.idempotency.ttl} and are purged periodically.
+ */
+@Component
+@RequiredArgsConstructor
+public class OrderIdempotencyStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderIdempotencyStore.class);
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final int FINGERPRINT_BYTES = 16;
+
+    private static final String CLAIM = """
+            INSERT INTO order_idempotency_keys (scope, idempotency_key, fingerprint, created_at, expires_at)
+            VALUES (?, ?, ?, ?, ?)
+            ON CONFLICT (scope, idempotency_key) DO UPDATE
+            SET fingerprint = EXCLUDED.fingerprint,
+                created_at = EXCLUDED.created_at,
+                expires_at = EXCLUDED.expires_at,
+                order_id = NULL,
+                response = NULL
+            WHERE order_idempotency_keys.expires_at < EXCLUDED.created_at
+            """;
+
+    private static final String FIND = """
+            SELECT fingerprint, response FROM order_idempotency_keys WHERE scope = ? AND idempotency_key = ?
+            """;
+
+    private static final String COMPLETE = """
+            UPDATE order_idempotency_keys SET order_id = ?, response = ? WHERE scope = ? AND idempotency_key = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.orders.idempotency.ttl:24h}")
+    private Duration ttl;
+
+    /**
+     * Runs {@code createOrder} once per {@code scope} and {@code key}; later calls with the same
+     * request get the first call's order back without running it again.
+     *
+     * @param scope   who the key belongs to, e.g. the user id or guest e-mail
+     * @param request request body, fingerprinted to detect key reuse
+     * @throws InvalidOperationException if the key is malformed or was used for another request
+     */
+    @Transactional
+    public Result<OrderDTO> execute(String scope, String key, Object request, Supplier<OrderDTO> createOrder) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new InvalidOperationException("Idempotency-Key must be 1-" + MAX_KEY_LENGTH + " characters");
+        }
+        String fingerprint = fingerprint(request);
+        Instant now = Instant.now();
+
+        int claimed = jdbcTemplate.update(CLAIM, scope, key, fingerprint,
+                Timestamp.from(now), Timestamp.from(now.plus(ttl)));
+        if (claimed == 0) {
+            return replay(scope, key, fingerprint);
+        }
+
+        OrderDTO order = createOrder.get();
+        jdbcTemplate.update(COMPLETE, order.id(), toJson(order), scope, key);
+        return new Result<>(order, false);
+    }
+
+    @Scheduled(fixedDelayString = "${app.orders.idempotency.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        try {
+            int purged = jdbcTemplate.update("DELETE FROM order_idempotency_keys WHERE expires_at < ?",
+                    Timestamp.from(Instant.now()));
+            if (purged > 0) {
+                logger.info("Purged {} expired order idempotency keys", purged);
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Purging expired order idempotency keys failed: {}", e.getMessage());
+        }
+    }
+
+    private Result<OrderDTO> replay(String scope, String key, String fingerprint) {
+        List<StoredRequest> rows = jdbcTemplate.query(FIND,
+                (rs, rowNum) -> new StoredRequest(rs.getString(1), rs.getString(2)), scope, key);
+        if (rows.isEmpty() || rows.get(0).response() == null) {
+            // only possible if the row was purged or left incomplete in between
+            throw new InvalidOperationException("Request with this Idempotency-Key is still being processed");
+        }
+        if (!rows.get(0).fingerprint().equals(fingerprint)) {
+            throw new InvalidOperationException("Idempotency-Key was already used for a different request");
+        }
+        logger.info("Replaying order for Idempotency-Key in scope {}", scope);
+        try {
+            return new Result<>(objectMapper.readValue(rows.get(0).response(), OrderDTO.class), true);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Stored idempotent order response is unreadable", e);
+        }
+    }
+
+    private String fingerprint(Object request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, FINGERPRINT_BYTES));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Could not fingerprint order request", e);
+        }
+    }
+
+    private String toJson(OrderDTO order) {
+        try {
+            return objectMapper.writeValueAsString(order);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not store idempotent order response", e);
+        }
+    }
+
+    /**
+     * @param replayed {@code true} if the value was stored by an earlier request with the same key
+     */
+    public record Result<T>(T value, boolean replayed) {
+    }
+
+    record StoredRequest(String fingerprint, String response) {
+    }
+}
@@ -1,14 +1,17 @@
 package com.ecommerce.E_commerce.service;
 
+import com.ecommerce.E_commerce.dto.common.KeysetPageDTO;
 import com.ecommerce.E_commerce.dto.order.GuestOrderCreateDTO;
 import com.ecommerce.E_commerce.dto.order.OrderCreateDTO;
 import com.ecommerce.E_commerce.dto.order.OrderDTO;
+import com.ecommerce.E_commerce.dto.order.OrderSummaryDTO;
 import com.ecommerce.E_commerce.dto.order.OrderUpdateDTO;
 import com.ecommerce.E_commerce.model.OrderStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 import java.time.Instant;
+import java.util.Collection;
 
 public interface OrderService {
     
@@ -24,19 +27,26 @@ public interface OrderService {
     
     OrderDTO getById(Long id);
     
-    Page<OrderDTO> findByUserId(Long userId, Pageable pageable);
+    Page<OrderSummaryDTO> findByUserId(Long userId, Pageable pageable);
     
-    Page<OrderDTO> findByStatus(OrderStatus status, Pageable pageable);
+    Page<OrderSummaryDTO> findByStatus(OrderStatus status, Pageable pageable);
     
-    Page<OrderDTO> findAll(Pageable pageable);
+    Page<OrderSummaryDTO> findAll(Pageable pageable);
     
-    Page<OrderDTO> findByUserIdAndStatus(Long userId, OrderStatus status, Pageable pageable);
+    Page<OrderSummaryDTO> findByUserIdAndStatus(Long userId, OrderStatus status, Pageable pageable);
     
     Page<OrderDTO> findByCreatedAtBetween(Instant startDate, Instant endDate, Pageable pageable);
     
     Page<OrderDTO> findByUserIdAndCreatedAtBetween(Long userId, Instant startDate, Instant endDate, Pageable pageable);
     
-    Page<OrderDTO> findByMultipleCriteria(Long userId, OrderStatus status, Boolean isActive, Instant startDate, Instant endDate, Pageable pageable);
+    Page<OrderSummaryDTO> findByMultipleCriteria(Long userId, OrderStatus status, Boolean isActive, Instant startDate, Instant endDate, Pageable pageable);
+
+    /**
+     * Walks matching orders newest first without OFFSET: pass the previous page's
+     * {@code nextCursor} to continue. The total is only counted when {@code includeTotal} is set.
+     */
+    KeysetPageDTO<OrderSummaryDTO> scrollByMultipleCriteria(Long userId, OrderStatus status, Boolean isActive, Instant startDate, Instant endDate,
+                                                            String cursor, int size, boolean includeTotal);
     
     long countByUserId(Long userId);
     
@@ -49,5 +59,13 @@ public interface OrderService {
     void confirmOrderPayment(Long id);
 
     void handlePaymentFailure(Long id, String string);
+
+    /**
+     * Cancels NEW orders whose stock reservation expired and releases their stock in one batch.
+     * Orders no longer in NEW status are skipped.
+     *
+     * @return total quantity returned to available stock
+     */
+    int cancelExpiredReservations(Collection<Long> orderIds);
 }
 
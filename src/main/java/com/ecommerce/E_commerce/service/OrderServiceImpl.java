@@ -1,34 +1,49 @@
 package com.ecommerce.E_commerce.service;
 
+import com.ecommerce.E_commerce.dto.common.KeysetPageDTO;
 import com.ecommerce.E_commerce.dto.order.GuestOrderCreateDTO;
 import com.ecommerce.E_commerce.dto.order.OrderCreateDTO;
 import com.ecommerce.E_commerce.dto.order.OrderDTO;
+import com.ecommerce.E_commerce.dto.order.OrderSummaryDTO;
 import com.ecommerce.E_commerce.dto.order.OrderUpdateDTO;
 import com.ecommerce.E_commerce.dto.orderitem.OrderItemCreateDTO;
+import com.ecommerce.E_commerce.dto.product.ProductPriceDTO;
 import com.ecommerce.E_commerce.event.OrderConfirmedEvent;
 import com.ecommerce.E_commerce.event.OrderCreatedEvent;
 import com.ecommerce.E_commerce.event.OrderShippedEvent;
+import com.ecommerce.E_commerce.event.OrderUpdatedEvent;
 import com.ecommerce.E_commerce.exception.InvalidOperationException;
 import com.ecommerce.E_commerce.exception.ResourceNotFoundException;
 import com.ecommerce.E_commerce.mapper.OrderMapper;
 import com.ecommerce.E_commerce.model.*;
 import com.ecommerce.E_commerce.repository.AddressRepository;
 import com.ecommerce.E_commerce.repository.OrderRepository;
+import com.ecommerce.E_commerce.repository.OrderSummaryRepository;
+import com.ecommerce.E_commerce.repository.OrderSummarySpecifications;
 import com.ecommerce.E_commerce.repository.ProductRepository;
 import com.ecommerce.E_commerce.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -40,12 +55,17 @@ public class OrderServiceImpl implements OrderService {
     private static final Logger logger = LoggerFactory.getLogger(OrderServiceImpl.class);
     private final ApplicationEventPublisher eventPublisher;
     private final OrderRepository orderRepository;
+    private final OrderSummaryRepository orderSummaryRepository;
     private final UserRepository userRepository;
     private final AddressRepository addressRepository;
     private final ProductRepository productRepository;
     private final InventoryService inventoryService;
     private final OrderMapper orderMapper;
 
+    /** How long a NEW order holds its stock before the expiry sweeper cancels it; zero disables. */
+    @Value("${app.inventory.reservation.ttl:30m}")
+    private Duration reservationTtl;
+
     @Override
     public OrderDTO create(Long userId, OrderCreateDTO dto) {
         if (dto.items() == null || dto.items().isEmpty()) {
@@ -68,39 +88,24 @@ public class OrderServiceImpl implements OrderService {
                         Integer::sum
                 ));
 
-        inventoryService.reserveStockBatch(quantitiesMap);
-
-        List<Product> products = productRepository.findAllById(quantitiesMap.keySet());
-
-        if (products.size() != quantitiesMap.size()) {
-            throw new ResourceNotFoundException("Some products specified in the order were not found");
-        }
-
-        Map<Long, Product> productMap = products.stream()
-                .collect(Collectors.toMap(Product::getId, Function.identity()));
-
         Order order = orderMapper.toOrder(dto);
         order.setUser(user);
         order.setAddress(address);
 
         order.setStatus(OrderStatus.NEW);
 
-        for (OrderItemCreateDTO itemDto : dto.items()) {
-            Product product = productMap.get(itemDto.productId());
-
-            if (Boolean.FALSE.equals(product.getIsActive())) {
-                throw new InvalidOperationException("Product " + itemDto.productId() + " is inactive");
-            }
-            order.addItem(product, itemDto.quantity());
-        }
+        addPricedItems(order, dto.items(), quantitiesMap.keySet());
 
+        stampReservationExpiry(order);
+        // reserved last so a contended inventory row is held only until the order is written
+        inventoryService.reserveStockBatch(quantitiesMap);
         Order savedOrder = orderRepository.save(order);
 
         logger.info("Order created successfully: orderId={}, userId={}, total={}",
                 savedOrder.getId(), userId, savedOrder.getTotalAmount());
 
         eventPublisher.publishEvent(new OrderCreatedEvent(savedOrder.getId()));
-        return orderMapper.toOrderDTO(savedOrder);
+        return toCreatedOrderDTO(savedOrder, quantitiesMap.keySet());
     }
 
     @Override
@@ -131,17 +136,6 @@ public class OrderServiceImpl implements OrderService {
                         Integer::sum
                 ));
 
-        inventoryService.reserveStockBatch(quantitiesMap);
-
-        List<Product> products = productRepository.findAllById(quantitiesMap.keySet());
-
-        if (products.size() != quantitiesMap.size()) {
-            throw new ResourceNotFoundException("Some products specified in the order were not found");
-        }
-
-        Map<Long, Product> productMap = products.stream()
-                .collect(Collectors.toMap(Product::getId, Function.identity()));
-
         // Create order without user
         Order order = new Order();
         order.setUser(null); // Guest order - no user
@@ -153,15 +147,11 @@ public class OrderServiceImpl implements OrderService {
         order.setGuestLastName(dto.lastName());
         order.setGuestPhone(dto.phone());
 
-        for (OrderItemCreateDTO itemDto : dto.items()) {
-            Product product = productMap.get(itemDto.productId());
-
-            if (Boolean.FALSE.equals(product.getIsActive())) {
-                throw new InvalidOperationException("Product " + itemDto.productId() + " is inactive");
-            }
-            order.addItem(product, itemDto.quantity());
-        }
+        addPricedItems(order, dto.items(), quantitiesMap.keySet());
 
+        stampReservationExpiry(order);
+        // reserved last so a contended inventory row is held only until the order is written
+        inventoryService.reserveStockBatch(quantitiesMap);
         Order savedOrder = orderRepository.save(order);
 
         logger.info("Guest order created successfully: orderId={}, email={}, total={}",
@@ -171,14 +161,42 @@ public class OrderServiceImpl implements OrderService {
         eventPublisher.publishEvent(new OrderCreatedEvent(savedOrder.getId()));
         
         
-        return orderMapper.toOrderDTO(savedOrder);
+        return toCreatedOrderDTO(savedOrder, quantitiesMap.keySet());
+    }
+
+    /**
+     * Prices items from a column projection and attaches products as unloaded references, so
+     * placing an order never pulls product entities or their attribute graph into the session.
+     */
+    private void addPricedItems(Order order, List<OrderItemCreateDTO> items, Set<Long> productIds) {
+        Map<Long, ProductPriceDTO> prices = productRepository.findPricesByIdIn(productIds).stream()
+                .collect(Collectors.toMap(ProductPriceDTO::id, Function.identity()));
+
+        if (prices.size() != productIds.size()) {
+            throw new ResourceNotFoundException("Some products specified in the order were not found");
+        }
+
+        for (OrderItemCreateDTO itemDto : items) {
+            ProductPriceDTO product = prices.get(itemDto.productId());
+
+            if (Boolean.FALSE.equals(product.isActive())) {
+                throw new InvalidOperationException("Product " + itemDto.productId() + " is inactive");
+            }
+            order.addItem(productRepository.getReferenceById(product.id()), product.price(), itemDto.quantity());
+        }
+    }
+
+    private OrderDTO toCreatedOrderDTO(Order order, Set<Long> productIds) {
+        // one query fills the item product references for the response summaries
+        productRepository.findSummaryByIdIn(productIds);
+        return orderMapper.toOrderDTO(order);
     }
 
     @Override
     @Transactional
     public OrderDTO update(Long id, OrderUpdateDTO dto) {
         logger.info("Updating order: orderId={}, dto={}", id, dto);
-        Order order = getOrderOrThrow(id);
+        Order order = getOrderForUpdateOrThrow(id);
 
         if (dto.status() != null) {
             updateOrderStatusInternal(order, dto.status());
@@ -186,6 +204,7 @@ public class OrderServiceImpl implements OrderService {
 
         if (dto.isActive() != null) {
             order.setIsActive(dto.isActive());
+            eventPublisher.publishEvent(new OrderUpdatedEvent(order.getId()));
         }
 
         Order savedOrder = orderRepository.save(order);
@@ -196,7 +215,7 @@ public class OrderServiceImpl implements OrderService {
     @Override
     public OrderDTO cancelOrder(Long id) {
         logger.info("Cancelling order: orderId={}", id);
-        Order order = getOrderOrThrow(id);
+        Order order = getOrderForUpdateOrThrow(id);
 
         if (order.getStatus() == OrderStatus.CANCELLED) {
             logger.warn("Attempted to cancel already cancelled order: orderId={}", id);
@@ -215,15 +234,14 @@ public class OrderServiceImpl implements OrderService {
 
     @Override
     public void delete(Long id) {
-        Order order = getOrderOrThrow(id);
+        Order order = getOrderForUpdateOrThrow(id);
 
         if (isReservationActive(order.getStatus())) {
-            for (OrderItem item : order.getItems()) {
-                inventoryService.releaseStock(item.getProduct().getId(), item.getQuantity());
-            }
+            inventoryService.releaseStockBatch(itemQuantities(order));
         }
 
         orderRepository.delete(order);
+        eventPublisher.publishEvent(new OrderUpdatedEvent(id));
     }
 
 
@@ -231,27 +249,78 @@ public class OrderServiceImpl implements OrderService {
         logger.debug("Handling inventory status change for order: orderId={}, oldStatus={}, newStatus={}",
                 order.getId(), oldStatus, newStatus);
 
+        if (oldStatus == OrderStatus.NEW) {
+            clearReservationExpiry(order);
+        }
+
         if (newStatus == OrderStatus.CANCELLED) {
             if (isReservationActive(oldStatus)) {
                 logger.info("Releasing stock for cancelled order: orderId={}, itemsCount={}",
                         order.getId(), order.getItems().size());
-                for (OrderItem item : order.getItems()) {
-                    inventoryService.releaseStock(item.getProduct().getId(), item.getQuantity());
-                }
+                inventoryService.releaseStockBatch(itemQuantities(order));
             }
         } else if (isFinalizingStatus(newStatus) && !isFinalizingStatus(oldStatus)) {
             logger.info("Finalizing stock reservations for order: orderId={}, newStatus={}, itemsCount={}",
                     order.getId(), newStatus, order.getItems().size());
-            for (OrderItem item : order.getItems()) {
-                inventoryService.finalizeReservation(item.getProduct().getId(), item.getQuantity());
-            }
+            inventoryService.finalizeReservationBatch(itemQuantities(order));
+        }
+    }
+
+    @Override
+    public int cancelExpiredReservations(Collection<Long> orderIds) {
+        List<Order> orders = orderRepository.findWithItemsByIdIn(orderIds).stream()
+                .filter(order -> order.getStatus() == OrderStatus.NEW)
+                .toList();
+        if (orders.isEmpty()) {
+            return 0;
+        }
+
+        Map<Long, Integer> quantities = orders.stream()
+                .flatMap(order -> itemQuantities(order).entrySet().stream())
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, Integer::sum));
+        inventoryService.releaseStockBatch(quantities);
+
+        // Same steps as updateOrderStatusInternal, except that the stock of the whole batch was
+        // released above in one call instead of order by order.
+        for (Order order : orders) {
+            order.setStatus(OrderStatus.CANCELLED);
+            clearReservationExpiry(order);
+            handleNotificationTrigger(order, OrderStatus.NEW, OrderStatus.CANCELLED);
+            eventPublisher.publishEvent(new OrderUpdatedEvent(order.getId()));
         }
+        orderRepository.saveAll(orders);
+
+        int released = quantities.values().stream().mapToInt(Integer::intValue).sum();
+        logger.info("Cancelled {} orders with expired stock reservations, released {} units",
+                orders.size(), released);
+        return released;
+    }
+
+    private void stampReservationExpiry(Order order) {
+        if (reservationTtl == null || reservationTtl.isZero() || reservationTtl.isNegative()) {
+            return;
+        }
+        Instant expiresAt = Instant.now().plus(reservationTtl);
+        order.getItems().forEach(item -> item.setReservationExpiresAt(expiresAt));
+    }
+
+    private void clearReservationExpiry(Order order) {
+        order.getItems().forEach(item -> item.setReservationExpiresAt(null));
+    }
+
+    private Map<Long, Integer> itemQuantities(Order order) {
+        return order.getItems().stream()
+                .collect(Collectors.toMap(
+                        item -> item.getProduct().getId(),
+                        OrderItem::getQuantity,
+                        Integer::sum
+                ));
     }
 
 
     @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void handlePaymentFailure(Long orderId, String failureReason) {
-        Order order = getOrderOrThrow(orderId);
+        Order order = getOrderForUpdateOrThrow(orderId);
 
         if (order.getStatus() == OrderStatus.NEW) {
             logger.warn("Cancelling order due to payment failure: orderId={}, reason={}", orderId, failureReason);
@@ -265,11 +334,14 @@ public class OrderServiceImpl implements OrderService {
 
     @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void confirmOrderPayment(Long orderId) {
-        Order order = getOrderOrThrow(orderId);
+        Order order = getOrderForUpdateOrThrow(orderId);
 
         if (order.getStatus() == OrderStatus.NEW) {
             logger.info("Confirming order after successful payment: orderId={}", orderId);
             updateOrderStatusInternal(order, OrderStatus.CONFIRMED);
+        } else if (order.getStatus() == OrderStatus.CANCELLED) {
+            logger.error("Payment completed for cancelled order, needs a refund or manual reinstatement: orderId={}",
+                    orderId);
         }
     }
 
@@ -282,6 +354,7 @@ public class OrderServiceImpl implements OrderService {
 
             handleInventoryStatusChange(savedOrder, oldStatus, newStatus);
             handleNotificationTrigger(savedOrder, oldStatus, newStatus);
+            eventPublisher.publishEvent(new OrderUpdatedEvent(savedOrder.getId()));
 
             logger.info("Order status updated internally: orderId={}, oldStatus={}, newStatus={}",
                     order.getId(), oldStatus, newStatus);
@@ -303,6 +376,16 @@ public class OrderServiceImpl implements OrderService {
                 .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + id));
     }
 
+    /**
+     * For status changes: waits for the order's row lock, so a payment confirmation cannot
+     * overwrite a cancellation (or vice versa) made in the meantime, and the caller's status check
+     * sees the committed status.
+     */
+    private Order getOrderForUpdateOrThrow(Long id) {
+        return orderRepository.findByIdForUpdate(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + id));
+    }
+
     @Override
     @Transactional(readOnly = true)
     public OrderDTO getById(Long id) {
@@ -311,26 +394,26 @@ public class OrderServiceImpl implements OrderService {
 
     @Override
     @Transactional(readOnly = true)
-    public Page<OrderDTO> findByUserId(Long userId, Pageable pageable) {
-        return orderRepository.findByUserId(userId, pageable).map(orderMapper::toOrderDTO);
+    public Page<OrderSummaryDTO> findByUserId(Long userId, Pageable pageable) {
+        return orderSummaryRepository.findByUserId(userId, summaryPageable(pageable)).map(orderMapper::toOrderSummaryDTO);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public Page<OrderDTO> findByStatus(OrderStatus status, Pageable pageable) {
-        return orderRepository.findByStatus(status, pageable).map(orderMapper::toOrderDTO);
+    public Page<OrderSummaryDTO> findByStatus(OrderStatus status, Pageable pageable) {
+        return orderSummaryRepository.findByStatus(status, summaryPageable(pageable)).map(orderMapper::toOrderSummaryDTO);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public Page<OrderDTO> findAll(Pageable pageable) {
-        return orderRepository.findAll(pageable).map(orderMapper::toOrderDTO);
+    public Page<OrderSummaryDTO> findAll(Pageable pageable) {
+        return orderSummaryRepository.findAll(summaryPageable(pageable)).map(orderMapper::toOrderSummaryDTO);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public Page<OrderDTO> findByUserIdAndStatus(Long userId, OrderStatus orderStatus, Pageable pageable) {
-        return orderRepository.findByUserIdAndStatus(userId, orderStatus, pageable).map(orderMapper::toOrderDTO);
+    public Page<OrderSummaryDTO> findByUserIdAndStatus(Long userId, OrderStatus orderStatus, Pageable pageable) {
+        return orderSummaryRepository.findByUserIdAndStatus(userId, orderStatus, summaryPageable(pageable)).map(orderMapper::toOrderSummaryDTO);
     }
 
     @Override
@@ -347,20 +430,53 @@ public class OrderServiceImpl implements OrderService {
 
     @Override
     @Transactional(readOnly = true)
-    public Page<OrderDTO> findByMultipleCriteria(Long userId,
-                                                 OrderStatus status,
-                                                 Boolean isActive,
-                                                 Instant startDate,
-                                                 Instant endDate,
-                                                 Pageable pageable) {
-        return orderRepository.findByMultipleCriteria(
-                userId,
-                status,
-                isActive,
-                startDate,
-                endDate,
-                pageable
-        ).map(orderMapper::toOrderDTO);
+    public Page<OrderSummaryDTO> findByMultipleCriteria(Long userId,
+                                                        OrderStatus status,
+                                                        Boolean isActive,
+                                                        Instant startDate,
+                                                        Instant endDate,
+                                                        Pageable pageable) {
+        return orderSummaryRepository.findAll(
+                OrderSummarySpecifications.matching(userId, status, isActive, startDate, endDate),
+                summaryPageable(pageable)
+        ).map(orderMapper::toOrderSummaryDTO);
+    }
+
+    /**
+     * Order lists are served from {@code order_summaries}, whose key is {@code orderId}; maps the
+     * {@code id} sort that clients used against orders onto it.
+     */
+    private static Pageable summaryPageable(Pageable pageable) {
+        if (pageable.getSort().getOrderFor("id") == null) {
+            return pageable;
+        }
+        Sort sort = Sort.by(pageable.getSort().stream()
+                .map(order -> "id".equals(order.getProperty()) ? order.withProperty("orderId") : order)
+                .toList());
+        return pageable.isPaged()
+                ? PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), sort)
+                : Pageable.unpaged(sort);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public KeysetPageDTO<OrderSummaryDTO> scrollByMultipleCriteria(Long userId,
+                                                                   OrderStatus status,
+                                                                   Boolean isActive,
+                                                                   Instant startDate,
+                                                                   Instant endDate,
+                                                                   String cursor,
+                                                                   int size,
+                                                                   boolean includeTotal) {
+        Specification<OrderSummary> spec = OrderSummarySpecifications.matching(userId, status, isActive, startDate, endDate);
+        KeysetScrollPosition position = KeysetCursors.position(cursor, "orderId");
+        Window<OrderSummary> window = orderSummaryRepository.findBy(spec.and(KeysetCursors.seekBound(position)), query -> query
+                .sortBy(KeysetCursors.newestFirst("orderId"))
+                .limit(KeysetCursors.pageSize(size))
+                .scroll(position));
+        Long total = includeTotal ? orderSummaryRepository.count(spec) : null;
+        return KeysetCursors.page(window, orderMapper::toOrderSummaryDTO,
+                OrderSummary::getCreatedAt, OrderSummary::getOrderId, total);
     }
 
     @Override
@@ -0,0 +1,30 @@
+package com.ecommerce.E_commerce.service;
+
+import com.ecommerce.E_commerce.repository.OrderSummaryRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+
+/**
+ * Keeps {@code order_summaries} in step with the orders it describes. Rows are always
+ * recomputed from the source tables rather than patched, so a refresh is idempotent and
+ * redelivered or reordered events cannot leave a row half-updated.
+ */
+@Component
+@RequiredArgsConstructor
+public class OrderSummaryProjector {
+
+    private final OrderSummaryRepository summaryRepository;
+
+    @Transactional
+    public void refresh(Collection<Long> orderIds) {
+        if (orderIds.isEmpty()) {
+            return;
+        }
+        summaryRepository.deleteRemoved(orderIds);
+        summaryRepository.refresh(orderIds, Instant.now());
+    }
+}
@@ -0,0 +1,70 @@
+package com.ecommerce.E_commerce.service;
+
+import com.ecommerce.E_commerce.repository.OrderSummaryRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Repairs {@code order_summaries} rows whose event-driven refresh was lost (the listener only logs
+ * failures). Each run looks at orders changed within {@code app.orders.summary.reconcile.lookback}
+ * whose row is missing or older than the change, plus rows of deleted orders, and recomputes them.
+ * Repaired rows are counted in {@code orders.summary.reconciled}.
+ */
+@Component
+@Profile("!test")
+public class OrderSummaryReconciler {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderSummaryReconciler.class);
+
+    private final OrderSummaryRepository summaryRepository;
+    private final OrderSummaryProjector projector;
+    private final Counter reconciled;
+
+    @Value("${app.orders.summary.reconcile.lookback:2h}")
+    private Duration lookback;
+
+    @Value("${app.orders.summary.reconcile.batch-size:500}")
+    private int batchSize;
+
+    public OrderSummaryReconciler(OrderSummaryRepository summaryRepository,
+                                  OrderSummaryProjector projector,
+                                  MeterRegistry meterRegistry) {
+        this.summaryRepository = summaryRepository;
+        this.projector = projector;
+        this.reconciled = Counter.builder("orders.summary.reconciled")
+                .description("Order list rows repaired after their refresh was lost")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.orders.summary.reconcile.interval-ms:300000}",
+            initialDelayString = "${app.orders.summary.reconcile.interval-ms:300000}")
+    public void reconcile() {
+        try {
+            int repaired = reconcileBatch(Instant.now().minus(lookback));
+            if (repaired > 0) {
+                reconciled.increment(repaired);
+                logger.warn("Repaired {} stale order summary rows", repaired);
+            }
+        } catch (RuntimeException e) {
+            logger.error("Order summary reconciliation failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private int reconcileBatch(Instant since) {
+        Set<Long> orderIds = new LinkedHashSet<>(summaryRepository.findStaleOrderIds(since, batchSize));
+        orderIds.addAll(summaryRepository.findRemovedOrderIds(batchSize));
+        projector.refresh(orderIds);
+        return orderIds.size();
+    }
+}
@@ -1,5 +1,6 @@
 package com.ecommerce.E_commerce.service;
 
+import com.ecommerce.E_commerce.dto.common.KeysetPageDTO;
 import com.ecommerce.E_commerce.dto.payment.GuestPaymentCreateDTO;
 import com.ecommerce.E_commerce.dto.payment.PaymentCreateDTO;
 import com.ecommerce.E_commerce.dto.payment.PaymentDTO;
@@ -37,6 +38,13 @@ public interface PaymentService {
     Page<PaymentDTO> findByOrderIdAndStatus(Long orderId, String status, Pageable pageable);
     
     Page<PaymentDTO> findByMultipleCriteria(Long orderId, String status, String method, Boolean isActive, Instant startDate, Instant endDate, Pageable pageable);
+
+    /**
+     * Keyset variant of {@link #findByMultipleCriteria}, newest first; see
+     * {@link OrderService#scrollByMultipleCriteria}.
+     */
+    KeysetPageDTO<PaymentDTO> scrollByMultipleCriteria(Long orderId, String status, String method, Boolean isActive, Instant startDate, Instant endDate,
+                                                       String cursor, int size, boolean includeTotal);
     
     long countByOrderId(Long orderId);
     
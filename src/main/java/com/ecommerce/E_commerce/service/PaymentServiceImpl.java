@@ -1,5 +1,6 @@
 package com.ecommerce.E_commerce.service;
 
+import com.ecommerce.E_commerce.dto.common.KeysetPageDTO;
 import com.ecommerce.E_commerce.dto.payment.GuestPaymentCreateDTO;
 import com.ecommerce.E_commerce.dto.payment.PaymentCreateDTO;
 import com.ecommerce.E_commerce.dto.payment.PaymentDTO;
@@ -11,12 +12,16 @@ import com.ecommerce.E_commerce.mapper.PaymentMapper;
 import com.ecommerce.E_commerce.model.*;
 import com.ecommerce.E_commerce.repository.OrderRepository;
 import com.ecommerce.E_commerce.repository.PaymentRepository;
+import com.ecommerce.E_commerce.repository.PaymentSpecifications;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -37,7 +42,8 @@ public class PaymentServiceImpl implements PaymentService {
     @Override
     public PaymentDTO create(PaymentCreateDTO dto) {
         logger.info("Creating payment: orderId={}, amount={}, method={}", dto.orderId(), dto.amount(), dto.method());
-        Order order = orderRepository.findById(dto.orderId())
+        // Locked, so the reservation sweeper cannot cancel the order while its payment is created
+        Order order = orderRepository.findByIdForUpdate(dto.orderId())
                 .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + dto.orderId()));
 
         if (order.getStatus() != OrderStatus.NEW && order.getStatus() != OrderStatus.CONFIRMED) {
@@ -65,6 +71,7 @@ public class PaymentServiceImpl implements PaymentService {
         payment.setNotes(dto.notes());
 
         Payment savedPayment = paymentRepository.save(payment);
+        handlePaymentStatusChange(savedPayment, null, savedPayment.getStatus());
         logger.info("Payment created successfully: paymentId={}, orderId={}, status={}",
                 savedPayment.getId(), dto.orderId(), savedPayment.getStatus());
         return paymentMapper.toPaymentDTO(savedPayment);
@@ -75,7 +82,7 @@ public class PaymentServiceImpl implements PaymentService {
         logger.info("Creating guest payment: orderId={}, email={}, amount={}, method={}", 
                 dto.orderId(), dto.email(), dto.amount(), dto.method());
         
-        Order order = orderRepository.findById(dto.orderId())
+        Order order = orderRepository.findByIdForUpdate(dto.orderId())
                 .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + dto.orderId()));
 
         // Verify that this is a guest order
@@ -114,6 +121,7 @@ public class PaymentServiceImpl implements PaymentService {
         payment.setNotes(dto.notes());
 
         Payment savedPayment = paymentRepository.save(payment);
+        handlePaymentStatusChange(savedPayment, null, savedPayment.getStatus());
         logger.info("Guest payment created successfully: paymentId={}, orderId={}, status={}",
                 savedPayment.getId(), dto.orderId(), savedPayment.getStatus());
         return paymentMapper.toPaymentDTO(savedPayment);
@@ -228,15 +236,32 @@ public class PaymentServiceImpl implements PaymentService {
     @Override
     @Transactional(readOnly = true)
     public Page<PaymentDTO> findByMultipleCriteria(Long orderId, String status, String method, Boolean isActive, Instant startDate, Instant endDate, Pageable pageable) {
-        if (orderId != null) {
-            Order order = orderRepository.findById(orderId)
-                    .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + orderId));
+        Specification<Payment> spec = paymentCriteria(orderId, status, method, isActive, startDate, endDate);
+        return paymentRepository.findAll(spec, pageable).map(paymentMapper::toPaymentDTO);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public KeysetPageDTO<PaymentDTO> scrollByMultipleCriteria(Long orderId, String status, String method, Boolean isActive, Instant startDate, Instant endDate,
+                                                              String cursor, int size, boolean includeTotal) {
+        Specification<Payment> spec = paymentCriteria(orderId, status, method, isActive, startDate, endDate);
+        KeysetScrollPosition position = KeysetCursors.position(cursor, "id");
+        Window<Payment> window = paymentRepository.findBy(spec.and(KeysetCursors.seekBound(position)), query -> query
+                .sortBy(KeysetCursors.newestFirst("id"))
+                .limit(KeysetCursors.pageSize(size))
+                .scroll(position));
+        Long total = includeTotal ? paymentRepository.count(spec) : null;
+        return KeysetCursors.page(window, paymentMapper::toPaymentDTO, Payment::getCreatedAt, Payment::getId, total);
+    }
+
+    private Specification<Payment> paymentCriteria(Long orderId, String status, String method, Boolean isActive, Instant startDate, Instant endDate) {
+        if (orderId != null && !orderRepository.existsById(orderId)) {
+            throw new ResourceNotFoundException("Order not found with id: " + orderId);
         }
 
         PaymentStatus paymentStatus = status != null ? PaymentStatus.valueOf(status.toUpperCase()) : null;
         PaymentMethod paymentMethod = method != null ? PaymentMethod.valueOf(method.toUpperCase()) : null;
-        Page<Payment> payments = paymentRepository.findByMultipleCriteria(orderId, paymentStatus, paymentMethod, isActive, startDate, endDate, pageable);
-        return payments.map(paymentMapper::toPaymentDTO);
+        return PaymentSpecifications.matching(orderId, paymentStatus, paymentMethod, isActive, startDate, endDate);
     }
 
     @Override
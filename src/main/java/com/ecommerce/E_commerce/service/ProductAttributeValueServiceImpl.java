@@ -17,16 +17,17 @@ import com.ecommerce.E_commerce.repository.ProductRepository;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -38,11 +39,11 @@ public class ProductAttributeValueServiceImpl implements ProductAttributeValueSe
     private final ProductAttributeValueRepository productAttributeValueRepository;
     private final AttributeRepository attributeRepository;
     private final ProductAttributeValueMapper productAttributeValueMapper;
+    private final TaggedCache taggedCache;
 
     private static final Logger logger = LoggerFactory.getLogger(ProductAttributeValueServiceImpl.class);
 
     @Override
-    @CacheEvict(value = "product_attributes", allEntries = true)
     public ProductAttributeValueDTO create(ProductAttributeValueCreateDTO dto) {
         Product product = productRepository.findById(dto.productId())
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + dto.productId()));
@@ -62,11 +63,11 @@ public class ProductAttributeValueServiceImpl implements ProductAttributeValueSe
         productAttributeValue.setAttribute(attribute);
         
         ProductAttributeValue savedProductAttributeValue = productAttributeValueRepository.save(productAttributeValue);
+        invalidateAttributeCaches(List.of(savedProductAttributeValue));
         return productAttributeValueMapper.toProductAttributeValueDTO(savedProductAttributeValue);
     }
 
     @Override
-    @CacheEvict(value = "product_attributes", allEntries = true)
     public ProductAttributeValueDTO update(Long id, ProductAttributeValueUpdateDTO dto) {
         ProductAttributeValue productAttributeValue = productAttributeValueRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Product attribute value not found with id: " + id));
@@ -83,16 +84,17 @@ public class ProductAttributeValueServiceImpl implements ProductAttributeValueSe
         }
         
         ProductAttributeValue savedProductAttributeValue = productAttributeValueRepository.save(productAttributeValue);
+        invalidateAttributeCaches(List.of(savedProductAttributeValue));
         return productAttributeValueMapper.toProductAttributeValueDTO(savedProductAttributeValue);
     }
 
     @Override
-    @CacheEvict(value = "product_attributes", allEntries = true)
     public void delete(Long id) {
         ProductAttributeValue productAttributeValue = productAttributeValueRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Product attribute value not found with id: " + id));
         
         productAttributeValueRepository.delete(productAttributeValue);
+        invalidateAttributeCaches(List.of(productAttributeValue));
     }
 
     @Override
@@ -105,12 +107,13 @@ public class ProductAttributeValueServiceImpl implements ProductAttributeValueSe
 
     @Override
     @Transactional(readOnly = true)
-    @Cacheable(value = "product_attributes", key = "#productId")
     public List<ProductAttributeValueDTO> getByProductId(Long productId) {
-        List<ProductAttributeValue> productAttributeValues = productAttributeValueRepository.findByProductIdAndIsActive(productId, true);
-        return productAttributeValues.stream()
-                .map(productAttributeValueMapper::toProductAttributeValueDTO)
-                .collect(Collectors.toList());
+        return taggedCache.get("product_attributes", productId, List.of(CacheTags.product(productId)), () -> {
+            List<ProductAttributeValue> productAttributeValues = productAttributeValueRepository.findByProductIdAndIsActive(productId, true);
+            return productAttributeValues.stream()
+                    .map(productAttributeValueMapper::toProductAttributeValueDTO)
+                    .collect(Collectors.toList());
+        });
     }
 
     @Override
@@ -200,7 +203,6 @@ public class ProductAttributeValueServiceImpl implements ProductAttributeValueSe
     }
 
     @Override
-    @CacheEvict(value = "product_attributes", allEntries = true)
     public List<ProductAttributeValueDTO> createBulk(List<ProductAttributeValueCreateDTO> dtos) {
         for (ProductAttributeValueCreateDTO dto : dtos) {
             Product product = productRepository.findById(dto.productId())
@@ -236,6 +238,7 @@ public class ProductAttributeValueServiceImpl implements ProductAttributeValueSe
                 .collect(Collectors.toList());
         
         List<ProductAttributeValue> savedEntities = productAttributeValueRepository.saveAll(entities);
+        invalidateAttributeCaches(savedEntities);
         
         return savedEntities.stream()
                 .map(productAttributeValueMapper::toProductAttributeValueDTO)
@@ -243,7 +246,6 @@ public class ProductAttributeValueServiceImpl implements ProductAttributeValueSe
     }
 
     @Override
-    @CacheEvict(value = "product_attributes", allEntries = true)
     public List<ProductAttributeValueDTO> updateByProduct(Long productId, List<ProductAttributeValueUpdateDTO> dtos) {
         List<ProductAttributeValue> existingValues = productAttributeValueRepository.findByProductIdAndIsActive(productId, true);
         
@@ -322,6 +324,7 @@ public class ProductAttributeValueServiceImpl implements ProductAttributeValueSe
         if (!toCreate.isEmpty()) {
             savedValues.addAll(productAttributeValueRepository.saveAll(toCreate));
         }
+        invalidateAttributeCaches(savedValues);
         
         return savedValues.stream()
                 .map(productAttributeValueMapper::toProductAttributeValueDTO)
@@ -329,11 +332,11 @@ public class ProductAttributeValueServiceImpl implements ProductAttributeValueSe
     }
 
     @Override
-    @CacheEvict(value = "product_attributes", allEntries = true)
     public void deleteByProduct(Long productId) {
         List<ProductAttributeValue> productAttributeValues = productAttributeValueRepository.findByProductIdAndIsActive(productId, true);
         
         productAttributeValueRepository.deleteAll(productAttributeValues);
+        invalidateAttributeCaches(productAttributeValues);
     }
 
     @Override
@@ -356,19 +359,20 @@ public class ProductAttributeValueServiceImpl implements ProductAttributeValueSe
 
     @Override
     @Transactional(readOnly = true)
-    @Cacheable(value = "product_attributes", key = "'distinct_' + #attributeId")
     public List<String> getDistinctValuesByAttribute(Long attributeId) {
-        return productAttributeValueRepository.findDistinctValuesByAttribute(attributeId);
+        return taggedCache.get("product_attributes", "distinct_" + attributeId, List.of(CacheTags.attribute(attributeId)),
+                () -> productAttributeValueRepository.findDistinctValuesByAttribute(attributeId));
     }
 
     @Override
     @Transactional(readOnly = true)
-    @Cacheable(value = "product_attributes", key = "'key_' + #productId")
     public List<ProductAttributeValueDTO> getKeyAttributesByProduct(Long productId) {
-        List<ProductAttributeValue> productAttributeValues = productAttributeValueRepository.findKeyAttributesByProduct(productId);
-        return productAttributeValues.stream()
-                .map(productAttributeValueMapper::toProductAttributeValueDTO)
-                .collect(Collectors.toList());
+        return taggedCache.get("product_attributes", "key_" + productId, List.of(CacheTags.product(productId)), () -> {
+            List<ProductAttributeValue> productAttributeValues = productAttributeValueRepository.findKeyAttributesByProduct(productId);
+            return productAttributeValues.stream()
+                    .map(productAttributeValueMapper::toProductAttributeValueDTO)
+                    .collect(Collectors.toList());
+        });
     }
 
     @Override
@@ -380,6 +384,21 @@ public class ProductAttributeValueServiceImpl implements ProductAttributeValueSe
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Invalidates the entries of the products and attributes the given values belong to; product
+     * details embed their attribute values, so this also refreshes those.
+     */
+    private void invalidateAttributeCaches(Collection<ProductAttributeValue> values) {
+        Set<String> tags = new HashSet<>();
+        for (ProductAttributeValue value : values) {
+            tags.add(CacheTags.product(value.getProduct().getId()));
+            tags.add(CacheTags.attribute(value.getAttribute().getId()));
+        }
+        if (!tags.isEmpty()) {
+            taggedCache.invalidate(tags);
+        }
+    }
+
     /**
      * Validates that the provided value matches the expected attribute type.
      * 
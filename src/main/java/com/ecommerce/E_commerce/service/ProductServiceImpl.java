@@ -17,9 +17,6 @@ import com.ecommerce.E_commerce.repository.ProductRepository;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
-import org.springframework.cache.annotation.Caching;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -27,7 +24,11 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -41,14 +42,18 @@ public class ProductServiceImpl implements ProductService {
     private final ProductMapper productMapper;
     private final ProductAttributeValueService productAttributeValueService;
     private final InventoryService inventoryService;
+    private final CategoryTreeCache categoryTreeCache;
+    private final TaggedCache taggedCache;
+
+    /** What a product's listings and counts depend on besides its own content. */
+    private record Membership(Long categoryId, Boolean featured, Boolean active) {
+        static Membership of(Product product) {
+            return new Membership(product.getCategory().getId(), product.getIsFeatured(), product.getIsActive());
+        }
+    }
 
     @Override
     @Transactional
-    @Caching(evict = {
-            @CacheEvict(value = "products", allEntries = true),
-            @CacheEvict(value = "product_lists", allEntries = true),
-            @CacheEvict(value = "product_counts", allEntries = true)
-    })
     public ProductDTO create(ProductCreateDTO dto) {
         logger.info("Creating product: name={}, categoryId={}", dto.name(), dto.categoryId());
 
@@ -61,16 +66,12 @@ public class ProductServiceImpl implements ProductService {
 
         processAttributes(savedProduct, dto.attributeValues());
         initializeInventory(savedProduct);
+        invalidateProductCaches(savedProduct.getId(), null, Membership.of(savedProduct));
 
         return fetchAndMapToDTO(savedProduct.getId());
     }
 
     @Override
-    @Caching(evict = {
-            @CacheEvict(value = "products", allEntries = true),
-            @CacheEvict(value = "product_lists", allEntries = true),
-            @CacheEvict(value = "product_counts", allEntries = true)
-    })
     public ProductDTO update(Long id, ProductUpdateDTO dto) {
         logger.info("Updating product: productId={}", id);
         Product product = productRepository.findById(id)
@@ -78,6 +79,7 @@ public class ProductServiceImpl implements ProductService {
 
         String originalName = product.getName();
         Long originalCategoryId = product.getCategory().getId();
+        Membership before = Membership.of(product);
 
         productMapper.updateProductFromDTO(dto, product);
 
@@ -102,20 +104,17 @@ public class ProductServiceImpl implements ProductService {
             productAttributeValueService.updateByProduct(savedProduct.getId(), dto.attributeValues());
         }
 
+        invalidateProductCaches(id, before, Membership.of(savedProduct));
         return productMapper.toProductDTO(savedProduct);
     }
 
     @Override
-    @Caching(evict = {
-            @CacheEvict(value = "products", allEntries = true),
-            @CacheEvict(value = "product_lists", allEntries = true),
-            @CacheEvict(value = "product_counts", allEntries = true)
-    })
     public void delete(Long id) {
         logger.info("Deleting product: productId={}", id);
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + id));
-        
+        Membership before = Membership.of(product);
+
         product.setDeletedAt(Instant.now());
         product.setIsActive(false);
         product.setUpdatedAt(Instant.now());
@@ -130,49 +129,55 @@ public class ProductServiceImpl implements ProductService {
         }
         
         productRepository.save(product);
+        invalidateProductCaches(id, before, null);
         logger.info("Product deleted successfully (soft delete): productId={}", id);
     }
 
     @Override
     @Transactional(readOnly = true)
-    @Cacheable(value = "products", key = "#id")
     public ProductDTO getById(Long id) {
-        Product product = productRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + id));
-        return productMapper.toProductDTO(product);
+        return taggedCache.get("products", id, List.of(CacheTags.product(id)), () -> {
+            Product product = productRepository.findById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + id));
+            return productMapper.toProductDTO(product);
+        });
     }
 
     @Override
     @Transactional(readOnly = true)
-    @Cacheable(value = "products", key = "#seoSlug")
     public ProductDTO getBySeoSlug(String seoSlug) {
-        Product product = productRepository.findBySeoSlug(seoSlug)
-                .orElseThrow(() -> new ResourceNotFoundException("Product not found with seo slug: " + seoSlug));
-        return productMapper.toProductDTO(product);
+        return taggedCache.get("products", seoSlug, () -> {
+            Product product = productRepository.findBySeoSlug(seoSlug)
+                    .orElseThrow(() -> new ResourceNotFoundException("Product not found with seo slug: " + seoSlug));
+            return productMapper.toProductDTO(product);
+        }, product -> List.of(CacheTags.product(product.id())));
     }
 
     @Override
     @Transactional(readOnly = true)
-    @Cacheable(value = "products", key = "#sku")
     public ProductDTO getBySku(String sku) {
-        Product product = productRepository.findBySku(sku)
-                .orElseThrow(() -> new ResourceNotFoundException("Product not found with SKU: " + sku));
-        return productMapper.toProductDTO(product);
+        return taggedCache.get("products", sku, () -> {
+            Product product = productRepository.findBySku(sku)
+                    .orElseThrow(() -> new ResourceNotFoundException("Product not found with SKU: " + sku));
+            return productMapper.toProductDTO(product);
+        }, product -> List.of(CacheTags.product(product.id())));
     }
 
     @Override
     @Transactional(readOnly = true)
-    @Cacheable(value = "product_lists", key = "'all_' + #pageable.pageNumber + '_' + #pageable.sort.toString()")
     public Page<ProductSummaryDTO> findAll(Pageable pageable) {
-        return productRepository.findAll(pageable).map(productMapper::toProductSummaryDTO);
+        return taggedCache.get("product_lists", "all_" + pageable.getPageNumber() + "_" + pageable.getSort(),
+                List.of(CacheTags.CATALOG),
+                () -> productRepository.findAll(pageable).map(productMapper::toProductSummaryDTO));
     }
 
     @Override
     @Transactional(readOnly = true)
-    @Cacheable(value = "product_lists", key = "'cat_' + #categoryId + '_' + #pageable.pageNumber + '_' + #pageable.sort.toString()")
     public Page<ProductSummaryDTO> findByCategory(Long categoryId, Pageable pageable) {
-        List<Long> categoryIds = categoryRepository.findAllSubcategoryIds(categoryId);
-        return productRepository.findByCategoryIdIn(categoryIds, pageable).map(productMapper::toProductSummaryDTO);
+        List<Long> categoryIds = categoryTreeCache.subtreeIds(categoryId);
+        return taggedCache.get("product_lists", "cat_" + categoryId + "_" + pageable.getPageNumber() + "_" + pageable.getSort(),
+                categoryIds.stream().map(CacheTags::category).toList(),
+                () -> productRepository.findByCategoryIdIn(categoryIds, pageable).map(productMapper::toProductSummaryDTO));
     }
 
     @Override
@@ -184,9 +189,10 @@ public class ProductServiceImpl implements ProductService {
 
     @Override
     @Transactional(readOnly = true)
-    @Cacheable(value = "product_lists", key = "'featured_' + #isFeatured + '_' + #pageable.pageNumber + '_' + #pageable.sort.toString()")
     public Page<ProductSummaryDTO> findByFeatured(Boolean isFeatured, Pageable pageable) {
-        return productRepository.findByIsFeatured(isFeatured, pageable).map(productMapper::toProductSummaryDTO);
+        return taggedCache.get("product_lists", "featured_" + isFeatured + "_" + pageable.getPageNumber() + "_" + pageable.getSort(),
+                List.of(CacheTags.featured(isFeatured)),
+                () -> productRepository.findByIsFeatured(isFeatured, pageable).map(productMapper::toProductSummaryDTO));
     }
 
     @Override
@@ -197,26 +203,58 @@ public class ProductServiceImpl implements ProductService {
 
     @Override
     @Transactional(readOnly = true)
-    @Cacheable(value = "product_counts", key = "'count_cat_' + #categoryId")
     public long countByCategory(Long categoryId) {
-        return productRepository.countByCategoryId(categoryId);
+        return taggedCache.get("product_counts", "count_cat_" + categoryId,
+                List.of(CacheTags.count(CacheTags.category(categoryId))),
+                () -> productRepository.countByCategoryId(categoryId));
     }
 
     @Override
     @Transactional(readOnly = true)
-    @Cacheable(value = "product_counts", key = "'count_feat_' + #isFeatured")
     public long countByFeatured(Boolean isFeatured) {
-        return productRepository.countByIsFeatured(isFeatured);
+        return taggedCache.get("product_counts", "count_feat_" + isFeatured,
+                List.of(CacheTags.count(CacheTags.featured(isFeatured))),
+                () -> productRepository.countByIsFeatured(isFeatured));
     }
 
     @Override
     @Transactional(readOnly = true)
-    @Cacheable(value = "product_counts", key = "'count_active_' + #isActive")
     public long countByActive(Boolean isActive) {
-        return productRepository.countByIsActive(isActive);
+        return taggedCache.get("product_counts", "count_active_" + isActive,
+                List.of(CacheTags.count(CacheTags.active(isActive))),
+                () -> productRepository.countByIsActive(isActive));
     }
 
 
+    /**
+     * Invalidates what a product write can have changed: the product's own entries, listings of
+     * its old and new category and featured flag, whole-catalog listings, and the counts whose
+     * membership moved. {@code before} is {@code null} on create, {@code after} on delete.
+     */
+    private void invalidateProductCaches(Long productId, Membership before, Membership after) {
+        Set<String> tags = new HashSet<>();
+        tags.add(CacheTags.product(productId));
+        tags.add(CacheTags.CATALOG);
+        for (Membership membership : Arrays.asList(before, after)) {
+            if (membership == null) {
+                continue;
+            }
+            tags.add(CacheTags.category(membership.categoryId()));
+            tags.add(CacheTags.featured(membership.featured()));
+            boolean moved = before == null || after == null;
+            if (moved || !before.categoryId().equals(after.categoryId())) {
+                tags.add(CacheTags.count(CacheTags.category(membership.categoryId())));
+            }
+            if (moved || !Objects.equals(before.featured(), after.featured())) {
+                tags.add(CacheTags.count(CacheTags.featured(membership.featured())));
+            }
+            if (moved || !Objects.equals(before.active(), after.active())) {
+                tags.add(CacheTags.count(CacheTags.active(membership.active())));
+            }
+        }
+        taggedCache.invalidate(tags);
+    }
+
     private Category fetchCategory(Long categoryId) {
         return categoryRepository.findById(categoryId)
                 .orElseThrow(() -> new ResourceNotFoundException("Category not found with id: " + categoryId));
@@ -0,0 +1,201 @@
+package com.ecommerce.E_commerce.service;
+
+import com.ecommerce.E_commerce.repository.OrderRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Cancels NEW orders whose stock reservation expired and gives their stock back.
+ * <p>
+ * Each sweep runs a few workers in parallel; every worker repeatedly locks a batch of expired
+ * orders with {@code FOR UPDATE SKIP LOCKED}, so workers (and other instances) never wait on or
+ * double-process each other's orders, and cancels the batch with a single stock release.
+ * <p>
+ * When cancelling a batch fails (e.g. one order's inventory row was deactivated), its orders are
+ * retried one per transaction, so the others are still cancelled. Each order that fails on its own
+ * gets a failure recorded and is left out of later sweeps after
+ * {@code app.inventory.reservation.sweeper.max-release-attempts} of them.
+ * <p>
+ * Exposes {@code inventory.reservation.expired.orders},
+ * {@code inventory.reservation.recovered.units} and {@code inventory.reservation.release.failures}
+ * (counters) and {@code inventory.reservation.expired.backlog} (expired orders still waiting,
+ * including those given up on).
+ */
+@Component
+@Profile("!test")
+public class ReservationExpirySweeper {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReservationExpirySweeper.class);
+
+    private final OrderRepository orderRepository;
+    private final OrderService orderService;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter expiredOrders;
+    private final Counter recoveredUnits;
+    private final Counter releaseFailures;
+
+    @Value("${app.inventory.reservation.sweeper.batch-size:100}")
+    private int batchSize;
+
+    @Value("${app.inventory.reservation.sweeper.threads:2}")
+    private int threads;
+
+    @Value("${app.inventory.reservation.sweeper.max-batches-per-sweep:50}")
+    private int maxBatchesPerSweep;
+
+    @Value("${app.inventory.reservation.sweeper.max-release-attempts:5}")
+    private int maxReleaseAttempts;
+
+    private volatile long backlog;
+    private ExecutorService sweepExecutor;
+
+    public ReservationExpirySweeper(OrderRepository orderRepository,
+                                    OrderService orderService,
+                                    PlatformTransactionManager transactionManager,
+                                    MeterRegistry meterRegistry) {
+        this.orderRepository = orderRepository;
+        this.orderService = orderService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+
+        this.expiredOrders = Counter.builder("inventory.reservation.expired.orders")
+                .description("Orders cancelled because their stock reservation expired")
+                .register(meterRegistry);
+        this.recoveredUnits = Counter.builder("inventory.reservation.recovered.units")
+                .description("Stock units returned to availability by expired reservations")
+                .register(meterRegistry);
+        this.releaseFailures = Counter.builder("inventory.reservation.release.failures")
+                .description("Expired-reservation orders that could not be cancelled on their own")
+                .register(meterRegistry);
+        Gauge.builder("inventory.reservation.expired.backlog", this, sweeper -> sweeper.backlog)
+                .description("NEW orders with an expired reservation not yet swept")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void startSweepExecutor() {
+        sweepExecutor = Executors.newFixedThreadPool(Math.max(1, threads),
+                new CustomizableThreadFactory("reservation-sweep-"));
+    }
+
+    @PreDestroy
+    void stopSweepExecutor() {
+        sweepExecutor.shutdownNow();
+    }
+
+    @Scheduled(fixedDelayString = "${app.inventory.reservation.sweeper.interval-ms:60000}")
+    public void sweep() {
+        Instant now = Instant.now();
+        AtomicInteger batchesLeft = new AtomicInteger(maxBatchesPerSweep);
+        List<Future<?>> workers = new ArrayList<>();
+        try {
+            for (int i = 0; i < Math.max(1, threads); i++) {
+                workers.add(sweepExecutor.submit(() -> drain(now, batchesLeft)));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } catch (InterruptedException e) {
+            workers.forEach(worker -> worker.cancel(true));
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            logger.error("Reservation expiry sweep failed: {}", e.getCause().getMessage(), e.getCause());
+        } finally {
+            refreshBacklog(now);
+        }
+    }
+
+    private void drain(Instant now, AtomicInteger batchesLeft) {
+        while (batchesLeft.getAndDecrement() > 0 && !Thread.currentThread().isInterrupted()) {
+            SweptBatch swept = sweepBatch(now);
+            expiredOrders.increment(swept.cancelled());
+            recoveredUnits.increment(swept.releasedUnits());
+            if (swept.locked() < batchSize) {
+                return;
+            }
+        }
+    }
+
+    private SweptBatch sweepBatch(Instant now) {
+        List<Long> locked = new ArrayList<>();
+        try {
+            return transactionTemplate.execute(status -> {
+                locked.addAll(orderRepository.lockExpiredReservationOrderIds(now, maxReleaseAttempts, batchSize));
+                if (locked.isEmpty()) {
+                    return new SweptBatch(0, 0, 0);
+                }
+                return new SweptBatch(locked.size(), locked.size(), orderService.cancelExpiredReservations(locked));
+            });
+        } catch (RuntimeException e) {
+            if (locked.isEmpty()) {
+                throw e;
+            }
+            logger.warn("Cancelling {} expired reservations as one batch failed, retrying one order at a time: {}",
+                    locked.size(), e.getMessage());
+            return sweepOneByOne(locked);
+        }
+    }
+
+    private SweptBatch sweepOneByOne(List<Long> orderIds) {
+        int cancelled = 0;
+        int releasedUnits = 0;
+        for (Long orderId : orderIds) {
+            try {
+                Integer released = transactionTemplate.execute(status ->
+                        orderRepository.lockNewOrderId(orderId).isEmpty()
+                                ? null
+                                : orderService.cancelExpiredReservations(List.of(orderId)));
+                if (released != null) {
+                    cancelled++;
+                    releasedUnits += released;
+                }
+            } catch (RuntimeException e) {
+                recordReleaseFailure(orderId, e);
+            }
+        }
+        return new SweptBatch(orderIds.size(), cancelled, releasedUnits);
+    }
+
+    private void recordReleaseFailure(Long orderId, RuntimeException cause) {
+        releaseFailures.increment();
+        logger.error("Could not cancel order {} with an expired reservation (left out of sweeps after {} failures): {}",
+                orderId, maxReleaseAttempts, cause.getMessage());
+        try {
+            transactionTemplate.execute(status -> orderRepository.recordReservationReleaseFailure(orderId));
+        } catch (RuntimeException e) {
+            logger.warn("Could not record release failure of order {}: {}", orderId, e.getMessage());
+        }
+    }
+
+    private void refreshBacklog(Instant now) {
+        try {
+            backlog = orderRepository.countExpiredReservationOrders(now);
+        } catch (RuntimeException e) {
+            logger.debug("Could not refresh reservation backlog metric: {}", e.getMessage());
+        }
+    }
+
+    private record SweptBatch(int locked, int cancelled, int releasedUnits) {
+    }
+}
@@ -0,0 +1,126 @@
+package com.ecommerce.E_commerce.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Write side of the search indexing outbox ({@code search_index_queue}).
+ * <p>
+ * Entries are written with plain JDBC on the transaction's connection, so they commit or roll
+ * back together with the product change and can be issued while Hibernate is flushing. A product
+ * is enqueued at most once per transaction; later transactions bump the existing row's revision
+ * and reset its retry state, which also revives a dead-lettered entry.
+ * Active only when {@code app.search.indexing.mode=outbox}.
+ */
+@Component
+@RequiredArgsConstructor
+public class SearchIndexQueue {
+
+    public static final String MODE_OUTBOX = "outbox";
+
+    private static final String UPSERT_PRODUCT = """
+            INSERT INTO search_index_queue (product_id, enqueued_at, revision, attempts)
+            VALUES (?, ?, 0, 0)
+            ON CONFLICT (product_id) DO UPDATE
+            SET enqueued_at = EXCLUDED.enqueued_at,
+                revision = search_index_queue.revision + 1,
+                attempts = 0,
+                last_error = NULL,
+                next_attempt_at = NULL,
+                dead_lettered_at = NULL
+            """;
+
+    private static final String UPSERT_PRODUCTS_WITH_ATTRIBUTE = """
+            INSERT INTO search_index_queue (product_id, enqueued_at, revision, attempts)
+            SELECT DISTINCT pav.product_id, ?, 0, 0
+            FROM product_attribute_values pav
+            WHERE pav.attribute_id = ? AND pav.deleted_at IS NULL
+            ON CONFLICT (product_id) DO UPDATE
+            SET enqueued_at = EXCLUDED.enqueued_at,
+                revision = search_index_queue.revision + 1,
+                attempts = 0,
+                last_error = NULL,
+                next_attempt_at = NULL,
+                dead_lettered_at = NULL
+            """;
+
+    private static final String UPSERT_PRODUCTS_IN_CATEGORY = """
+            INSERT INTO search_index_queue (product_id, enqueued_at, revision, attempts)
+            SELECT p.id, ?, 0, 0
+            FROM products p
+            WHERE p.category_id = ? AND p.deleted_at IS NULL
+            ON CONFLICT (product_id) DO UPDATE
+            SET enqueued_at = EXCLUDED.enqueued_at,
+                revision = search_index_queue.revision + 1,
+                attempts = 0,
+                last_error = NULL,
+                next_attempt_at = NULL,
+                dead_lettered_at = NULL
+            """;
+
+    private static final Object ENQUEUED_IN_TX = new Object();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.search.indexing.mode:outbox}")
+    private String mode;
+
+    public boolean isEnabled() {
+        return MODE_OUTBOX.equalsIgnoreCase(mode);
+    }
+
+    public void enqueueProduct(Long productId) {
+        if (!isEnabled() || productId == null || !markEnqueuedInTransaction(productId)) {
+            return;
+        }
+        jdbcTemplate.update(UPSERT_PRODUCT, productId, Timestamp.from(Instant.now()));
+    }
+
+    /** Enqueues every product carrying the attribute, e.g. after the attribute was renamed. */
+    public void enqueueProductsWithAttribute(Long attributeId) {
+        if (!isEnabled() || attributeId == null) {
+            return;
+        }
+        jdbcTemplate.update(UPSERT_PRODUCTS_WITH_ATTRIBUTE, Timestamp.from(Instant.now()), attributeId);
+    }
+
+    /** Enqueues every product of the category, whose documents embed the category name. */
+    public void enqueueProductsInCategory(Long categoryId) {
+        if (!isEnabled() || categoryId == null) {
+            return;
+        }
+        jdbcTemplate.update(UPSERT_PRODUCTS_IN_CATEGORY, Timestamp.from(Instant.now()), categoryId);
+    }
+
+    /**
+     * @return {@code false} if the product was already enqueued by the current transaction
+     */
+    @SuppressWarnings("unchecked")
+    private boolean markEnqueuedInTransaction(Long productId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return true;
+        }
+        Set<Long> enqueued = (Set<Long>) TransactionSynchronizationManager.getResource(ENQUEUED_IN_TX);
+        if (enqueued == null) {
+            Set<Long> ids = new HashSet<>();
+            enqueued = ids;
+            TransactionSynchronizationManager.bindResource(ENQUEUED_IN_TX, ids);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(ENQUEUED_IN_TX);
+                }
+            });
+        }
+        return enqueued.add(productId);
+    }
+}
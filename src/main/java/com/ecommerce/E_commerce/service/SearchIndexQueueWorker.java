@@ -0,0 +1,231 @@
+package com.ecommerce.E_commerce.service;
+
+import com.ecommerce.E_commerce.model.Product;
+import com.ecommerce.E_commerce.model.SearchIndexQueueEntry;
+import com.ecommerce.E_commerce.repository.ProductRepository;
+import com.ecommerce.E_commerce.repository.SearchIndexQueueRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.hibernate.search.mapper.orm.Search;
+import org.hibernate.search.mapper.orm.work.SearchIndexingPlan;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Drains {@code search_index_queue}: loads each queued product once, indexes the batch in one
+ * bulk request and removes the entries that were not re-enqueued meanwhile. Products that no
+ * longer exist (or are soft-deleted) are purged from the index.
+ * <p>
+ * When a bulk request fails, the batch is indexed again one product at a time so a single bad
+ * document cannot hold back the others. Each product that still fails is retried after an
+ * exponential backoff ({@code app.search.indexing.retry-backoff}, doubling up to
+ * {@code app.search.indexing.max-retry-backoff}) and dead-lettered after
+ * {@code app.search.indexing.max-attempts}; writing the product again re-enqueues it.
+ * <p>
+ * Exposes {@code search.index.queue.size}, {@code search.index.queue.lag} (age of the oldest
+ * pending entry, in seconds) and {@code search.index.queue.dead-letters}.
+ */
+@Component
+@Profile("!test")
+public class SearchIndexQueueWorker {
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchIndexQueueWorker.class);
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    /** Sends index updates for the given products; ids missing from {@code products} are purged. */
+    @FunctionalInterface
+    interface ProductIndexer {
+        void index(Collection<Long> ids, Map<Long, Product> products);
+    }
+
+    private final EntityManager em;
+    private final ProductRepository productRepository;
+    private final SearchIndexQueueRepository queueRepository;
+    private final SearchIndexQueue searchIndexQueue;
+    private final TransactionTemplate transactionTemplate;
+    private final ProductIndexer indexer;
+    private final Clock clock;
+
+    @Value("${app.search.indexing.batch-size:200}")
+    private int batchSize;
+
+    @Value("${app.search.indexing.max-batches-per-poll:20}")
+    private int maxBatchesPerPoll;
+
+    @Value("${app.search.indexing.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${app.search.indexing.retry-backoff:5s}")
+    private Duration retryBackoff;
+
+    @Value("${app.search.indexing.max-retry-backoff:15m}")
+    private Duration maxRetryBackoff;
+
+    private volatile long queueSize;
+    private volatile double lagSeconds;
+    private volatile long deadLetters;
+
+    @Autowired
+    public SearchIndexQueueWorker(EntityManager em,
+                                  ProductRepository productRepository,
+                                  SearchIndexQueueRepository queueRepository,
+                                  SearchIndexQueue searchIndexQueue,
+                                  PlatformTransactionManager transactionManager,
+                                  MeterRegistry meterRegistry) {
+        this(em, productRepository, queueRepository, searchIndexQueue, transactionManager, meterRegistry,
+                (ids, products) -> indexWithHibernateSearch(em, ids, products), Clock.systemUTC());
+    }
+
+    SearchIndexQueueWorker(EntityManager em,
+                           ProductRepository productRepository,
+                           SearchIndexQueueRepository queueRepository,
+                           SearchIndexQueue searchIndexQueue,
+                           PlatformTransactionManager transactionManager,
+                           MeterRegistry meterRegistry,
+                           ProductIndexer indexer,
+                           Clock clock) {
+        this.em = em;
+        this.productRepository = productRepository;
+        this.queueRepository = queueRepository;
+        this.searchIndexQueue = searchIndexQueue;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.indexer = indexer;
+        this.clock = clock;
+
+        Gauge.builder("search.index.queue.size", this, worker -> worker.queueSize)
+                .description("Products waiting to be reindexed")
+                .register(meterRegistry);
+        Gauge.builder("search.index.queue.lag", this, worker -> worker.lagSeconds)
+                .description("Age of the oldest pending search index entry")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("search.index.queue.dead-letters", this, worker -> worker.deadLetters)
+                .description("Products that failed to index too many times and are no longer retried")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.search.indexing.poll-interval-ms:1000}")
+    public void poll() {
+        if (!searchIndexQueue.isEnabled()) {
+            return;
+        }
+        try {
+            for (int batch = 0; batch < maxBatchesPerPoll; batch++) {
+                Integer processed = transactionTemplate.execute(status -> indexNextBatch());
+                if (processed == null || processed < batchSize) {
+                    break;
+                }
+            }
+        } finally {
+            refreshMetrics();
+        }
+    }
+
+    private int indexNextBatch() {
+        Instant now = clock.instant();
+        List<SearchIndexQueueEntry> entries = queueRepository.findDue(now, PageRequest.of(0, batchSize));
+        if (entries.isEmpty()) {
+            return 0;
+        }
+        Set<Long> ids = entries.stream().map(SearchIndexQueueEntry::getProductId).collect(Collectors.toSet());
+        Map<Long, Product> products = productRepository.findWithDetailsByIdIn(ids).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+
+        Map<Long, String> failures = new HashMap<>();
+        try {
+            indexer.index(ids, products);
+        } catch (RuntimeException e) {
+            logger.warn("Search indexing of {} queued products failed, indexing them one by one: {}",
+                    ids.size(), e.getMessage());
+            for (Long id : ids) {
+                try {
+                    indexer.index(Set.of(id), products);
+                } catch (RuntimeException productFailure) {
+                    failures.put(id, truncate(productFailure.getMessage()));
+                }
+            }
+            em.clear();
+        }
+
+        int removed = 0;
+        for (SearchIndexQueueEntry entry : entries) {
+            if (failures.containsKey(entry.getProductId())) {
+                markFailed(entry, failures.get(entry.getProductId()), now);
+            } else {
+                removed += queueRepository.deleteIfUnchanged(entry.getProductId(), entry.getRevision());
+            }
+        }
+        logger.debug("Indexed {} queued products, {} failed, {} re-enqueued meanwhile",
+                ids.size() - failures.size(), failures.size(), ids.size() - failures.size() - removed);
+        return entries.size();
+    }
+
+    private void markFailed(SearchIndexQueueEntry entry, String error, Instant now) {
+        int attempts = entry.getAttempts() + 1;
+        if (attempts >= maxAttempts) {
+            logger.error("Giving up on search indexing of product {} after {} attempts: {}",
+                    entry.getProductId(), attempts, error);
+            queueRepository.markFailed(entry.getProductId(), entry.getRevision(), error, null, now);
+        } else {
+            Instant nextAttemptAt = now.plus(backoff(attempts));
+            logger.warn("Search indexing of product {} failed (attempt {}), retrying at {}: {}",
+                    entry.getProductId(), attempts, nextAttemptAt, error);
+            queueRepository.markFailed(entry.getProductId(), entry.getRevision(), error, nextAttemptAt, null);
+        }
+    }
+
+    private Duration backoff(int attempts) {
+        Duration delay = retryBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(maxRetryBackoff) > 0 ? maxRetryBackoff : delay;
+    }
+
+    private static String truncate(String message) {
+        return message != null && message.length() > MAX_ERROR_LENGTH
+                ? message.substring(0, MAX_ERROR_LENGTH)
+                : message;
+    }
+
+    private static void indexWithHibernateSearch(EntityManager em, Collection<Long> ids, Map<Long, Product> products) {
+        SearchIndexingPlan plan = Search.session(em).indexingPlan();
+        for (Long id : ids) {
+            Product product = products.get(id);
+            if (product != null) {
+                plan.addOrUpdate(product);
+            } else {
+                plan.purge(Product.class, id, null);
+            }
+        }
+        plan.execute();
+    }
+
+    private void refreshMetrics() {
+        try {
+            queueSize = queueRepository.countByDeadLetteredAtIsNull();
+            deadLetters = queueRepository.countByDeadLetteredAtIsNotNull();
+            Instant oldest = queueRepository.findOldestEnqueuedAt();
+            lagSeconds = oldest == null ? 0 : Duration.between(oldest, clock.instant()).toMillis() / 1000.0;
+        } catch (RuntimeException e) {
+            logger.debug("Could not refresh search index queue metrics: {}", e.getMessage());
+        }
+    }
+}
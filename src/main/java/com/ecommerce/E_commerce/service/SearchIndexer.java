@@ -1,50 +1,198 @@
 package com.ecommerce.E_commerce.service;
 
 import com.ecommerce.E_commerce.model.Product;
+import com.ecommerce.E_commerce.model.SearchIndexCheckpoint;
+import com.ecommerce.E_commerce.repository.ProductRepository;
+import com.ecommerce.E_commerce.repository.SearchIndexCheckpointRepository;
 import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import org.hibernate.search.mapper.orm.Search;
+import org.hibernate.search.mapper.orm.work.SearchIndexingPlan;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.hibernate.search.mapper.orm.massindexing.MassIndexer;
 import org.hibernate.search.mapper.orm.session.SearchSession;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.ApplicationListener;
 import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Brings the product index up to date on startup.
+ * <p>
+ * {@code full} mass-indexes every product; {@code incremental} (default) keeps the existing
+ * index and only reindexes products whose {@code updatedAt} is past the persisted checkpoint,
+ * committing the checkpoint after every batch so a crashed run resumes where it stopped.
+ * {@code none} skips indexing altogether.
+ * <p>
+ * Products not written since a mapping change keep documents without the new fields, so when the
+ * checkpoint was built for an older {@link #MAPPING_VERSION} the incremental run starts over and
+ * reindexes every product (still checkpointed, the old documents stay searchable meanwhile).
+ */
 @Component
 @RequiredArgsConstructor
 @Profile("!test")
 public class SearchIndexer implements ApplicationListener<ApplicationReadyEvent> {
-    
+
     private static final Logger logger = LoggerFactory.getLogger(SearchIndexer.class);
+    static final String PRODUCT_INDEX = "Product";
+
+    /** Bump whenever the Product search mapping gains or changes fields. */
+    static final int MAPPING_VERSION = 1;
+
     private final EntityManager em;
     private final PlatformTransactionManager transactionManager;
+    private final ProductRepository productRepository;
+    private final SearchIndexCheckpointRepository checkpointRepository;
+    private final SearchReindexProgress progress;
+
+    @Value("${app.search.reindex.mode:incremental}")
+    private String mode;
+
+    @Value("${app.search.reindex.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.search.reindex.full.threads:4}")
+    private int fullThreads;
+
+    @Value("${app.search.reindex.full.batch-size:25}")
+    private int fullBatchSize;
 
     @Override
     public void onApplicationEvent(ApplicationReadyEvent event) {
-        logger.info("Starting ElasticSearch indexing process");
+        switch (mode.toLowerCase()) {
+            case "none" -> logger.info("ElasticSearch indexing on startup disabled");
+            case "full" -> runFullReindex();
+            default -> runIncrementalReindex();
+        }
+    }
+
+    private void runFullReindex() {
+        logger.info("Starting ElasticSearch full indexing process");
         TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        Instant startedAt = Instant.now();
+        progress.start("full", transactionTemplate.execute(status -> productRepository.count()));
 
         transactionTemplate.execute(status -> {
             try {
                 SearchSession searchSession = Search.session(em);
 
                 MassIndexer indexer = searchSession.massIndexer(Product.class)
-                        .threadsToLoadObjects(4)
-                        .batchSizeToLoadObjects(25);
+                        .threadsToLoadObjects(fullThreads)
+                        .batchSizeToLoadObjects(fullBatchSize);
 
                 indexer.startAndWait();
 
+                SearchIndexCheckpoint checkpoint = loadCheckpoint();
+                checkpoint.reset();
+                checkpoint.setMappingVersion(MAPPING_VERSION);
+                checkpoint.advance(startedAt, 0L, 0);
+                checkpointRepository.save(checkpoint);
+
+                progress.advance(progress.snapshot().total(), startedAt);
+                progress.complete();
                 logger.info("ElasticSearch indexing completed successfully!");
             } catch (InterruptedException e) {
                 logger.error("ElasticSearch indexing failed: {}", e.getMessage(), e);
+                progress.fail(e.getMessage());
                 Thread.currentThread().interrupt();
             }
             return null;
         });
     }
+
+    private void runIncrementalReindex() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        try {
+            SearchIndexCheckpoint start = transactionTemplate.execute(status -> prepareCheckpoint());
+            long remaining = transactionTemplate.execute(status ->
+                    productRepository.countUpdatedAfter(start.getHighWaterMark(), start.getLastEntityId()));
+
+            logger.info("Starting ElasticSearch incremental indexing: since={}, lastId={}, pending={}",
+                    start.getHighWaterMark(), start.getLastEntityId(), remaining);
+            progress.start("incremental", remaining);
+
+            int indexed;
+            do {
+                indexed = transactionTemplate.execute(status -> indexNextBatch());
+            } while (indexed > 0);
+
+            progress.complete();
+            logger.info("ElasticSearch incremental indexing completed: {} products reindexed",
+                    progress.snapshot().processed());
+        } catch (RuntimeException e) {
+            logger.error("ElasticSearch incremental indexing failed, will resume from last checkpoint: {}",
+                    e.getMessage(), e);
+            progress.fail(e.getMessage());
+        }
+    }
+
+    /**
+     * Loads the checkpoint, restarting from scratch when the index is empty (fresh cluster or
+     * dropped schema) or was built for an older mapping, and purges products soft-deleted since
+     * the last run.
+     */
+    private SearchIndexCheckpoint prepareCheckpoint() {
+        SearchSession searchSession = Search.session(em);
+        SearchIndexCheckpoint checkpoint = loadCheckpoint();
+
+        long documentsInIndex = searchSession.search(Product.class)
+                .where(f -> f.matchAll())
+                .fetchTotalHitCount();
+        if (documentsInIndex == 0 && !Instant.EPOCH.equals(checkpoint.getHighWaterMark())) {
+            logger.warn("Product index is empty, discarding checkpoint {}", checkpoint.getHighWaterMark());
+            checkpoint.reset();
+        }
+        if (checkpoint.getMappingVersion() != MAPPING_VERSION) {
+            logger.warn("Product index was built with mapping version {}, reindexing all products for version {}",
+                    checkpoint.getMappingVersion(), MAPPING_VERSION);
+            checkpoint.reset();
+            checkpoint.setMappingVersion(MAPPING_VERSION);
+        }
+
+        List<Long> deletedIds = productRepository.findIdsDeletedAfter(checkpoint.getHighWaterMark());
+        if (!deletedIds.isEmpty()) {
+            SearchIndexingPlan plan = searchSession.indexingPlan();
+            deletedIds.forEach(id -> plan.purge(Product.class, id, null));
+            plan.execute();
+            logger.info("Purged {} deleted products from index", deletedIds.size());
+        }
+
+        return checkpointRepository.save(checkpoint);
+    }
+
+    private int indexNextBatch() {
+        SearchIndexCheckpoint checkpoint = loadCheckpoint();
+        List<Object[]> cursor = productRepository.findIndexCursorAfter(
+                checkpoint.getHighWaterMark(), checkpoint.getLastEntityId(), PageRequest.of(0, batchSize));
+        if (cursor.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> ids = cursor.stream().map(row -> (Long) row[0]).toList();
+        SearchIndexingPlan plan = Search.session(em).indexingPlan();
+        productRepository.findWithDetailsByIdIn(ids).forEach(plan::addOrUpdate);
+        plan.execute();
+
+        Object[] last = cursor.get(cursor.size() - 1);
+        checkpoint.advance((Instant) last[1], (Long) last[0], ids.size());
+        checkpointRepository.save(checkpoint);
+
+        progress.advance(ids.size(), checkpoint.getHighWaterMark());
+        logger.debug("Indexed batch of {} products up to updatedAt={}, id={}",
+                ids.size(), checkpoint.getHighWaterMark(), checkpoint.getLastEntityId());
+        return ids.size();
+    }
+
+    private SearchIndexCheckpoint loadCheckpoint() {
+        return checkpointRepository.findById(PRODUCT_INDEX)
+                .orElseGet(() -> new SearchIndexCheckpoint(PRODUCT_INDEX));
+    }
 }
@@ -0,0 +1,90 @@
+package com.ecommerce.E_commerce.service;
+
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Live progress of the running (or last) search reindex, read by the actuator endpoint.
+ */
+@Component
+public class SearchReindexProgress {
+
+    public enum Status { IDLE, RUNNING, COMPLETED, FAILED }
+
+    public record Snapshot(
+            String mode,
+            Status status,
+            long processed,
+            long total,
+            double percent,
+            double docsPerSecond,
+            Long etaSeconds,
+            Instant startedAt,
+            Instant finishedAt,
+            Instant highWaterMark,
+            String error
+    ) {
+    }
+
+    private final AtomicLong processed = new AtomicLong();
+    private volatile long total;
+    private volatile String mode;
+    private volatile Status status = Status.IDLE;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile Instant highWaterMark;
+    private volatile String error;
+
+    public void start(String mode, long total) {
+        this.mode = mode;
+        this.total = total;
+        this.processed.set(0);
+        this.status = Status.RUNNING;
+        this.startedAt = Instant.now();
+        this.finishedAt = null;
+        this.highWaterMark = null;
+        this.error = null;
+    }
+
+    public void advance(long documents, Instant highWaterMark) {
+        processed.addAndGet(documents);
+        if (highWaterMark != null) {
+            this.highWaterMark = highWaterMark;
+        }
+    }
+
+    public void complete() {
+        this.status = Status.COMPLETED;
+        this.finishedAt = Instant.now();
+    }
+
+    public void fail(String error) {
+        this.status = Status.FAILED;
+        this.error = error;
+        this.finishedAt = Instant.now();
+    }
+
+    public Snapshot snapshot() {
+        long done = processed.get();
+        long all = total;
+        Instant start = startedAt;
+        Instant end = finishedAt != null ? finishedAt : Instant.now();
+
+        double rate = 0.0;
+        if (start != null) {
+            long elapsedMillis = Math.max(1, Duration.between(start, end).toMillis());
+            rate = done * 1000.0 / elapsedMillis;
+        }
+
+        Long eta = null;
+        if (status == Status.RUNNING && rate > 0 && all >= done) {
+            eta = (long) Math.ceil((all - done) / rate);
+        }
+        double percent = all > 0 ? Math.min(100.0, done * 100.0 / all) : (status == Status.COMPLETED ? 100.0 : 0.0);
+
+        return new Snapshot(mode, status, done, all, percent, rate, eta, start, finishedAt, highWaterMark, error);
+    }
+}
@@ -1,32 +1,71 @@
 package com.ecommerce.E_commerce.service;
 
+import com.ecommerce.E_commerce.config.SearchBackendConfig;
 import com.ecommerce.E_commerce.dto.product.ProductSearchDTO;
+import com.ecommerce.E_commerce.dto.search.AttributeSuggestionDTO;
+import com.ecommerce.E_commerce.dto.search.CategorySuggestionDTO;
+import com.ecommerce.E_commerce.dto.search.PriceRangeFacetDTO;
+import com.ecommerce.E_commerce.dto.search.ProductCursorPageDTO;
+import com.ecommerce.E_commerce.dto.search.ProductFacetedSearchDTO;
+import com.ecommerce.E_commerce.dto.search.ProductSuggestionDTO;
+import com.ecommerce.E_commerce.dto.search.SearchBatchResultDTO;
+import com.ecommerce.E_commerce.dto.search.SearchCandidate;
+import com.ecommerce.E_commerce.dto.search.SearchFacetsDTO;
+import com.ecommerce.E_commerce.dto.search.SearchSuggestionsDTO;
+import com.ecommerce.E_commerce.exception.InvalidOperationException;
 import com.ecommerce.E_commerce.mapper.ProductMapper;
-import com.ecommerce.E_commerce.model.Category;
 import com.ecommerce.E_commerce.model.Product;
 import com.ecommerce.E_commerce.model.ProductAttributeValue;
-import com.ecommerce.E_commerce.repository.CategoryRepository;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import org.hibernate.graph.GraphSemantic;
+import org.hibernate.search.backend.elasticsearch.ElasticsearchExtension;
+import org.hibernate.search.engine.search.aggregation.AggregationKey;
 import org.hibernate.search.engine.search.predicate.dsl.SearchPredicateFactory;
 import org.hibernate.search.engine.search.predicate.dsl.PredicateFinalStep;
+import org.hibernate.search.engine.search.projection.dsl.ProjectionFinalStep;
+import org.hibernate.search.engine.search.projection.dsl.SearchProjectionFactory;
 import org.hibernate.search.engine.search.query.SearchResult;
+import org.hibernate.search.engine.search.query.SearchScroll;
+import org.hibernate.search.engine.search.query.SearchScrollResult;
 import org.hibernate.search.engine.search.sort.dsl.SearchSortFactory;
 import org.hibernate.search.engine.search.sort.dsl.SortFinalStep;
 import org.hibernate.search.mapper.orm.Search;
 import org.hibernate.search.mapper.orm.session.SearchSession;
+import org.hibernate.search.util.common.data.Range;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
@@ -34,10 +73,61 @@ import java.util.stream.Collectors;
 public class SearchService {
 
     private static final Logger logger = LoggerFactory.getLogger(SearchService.class);
+    private static final String RESULT_MODE_ENTITY = "entity";
+    private static final String ATTRIBUTE_MATCH_FUZZY = "fuzzy";
+    private static final AggregationKey<Map<String, Long>> ATTRIBUTE_FACETS = AggregationKey.of("attributeFacets");
+    private static final AggregationKey<Map<Long, Long>> CATEGORY_FACETS = AggregationKey.of("categoryFacets");
+    private static final AggregationKey<Map<Range<BigDecimal>, Long>> PRICE_FACETS = AggregationKey.of("priceFacets");
+    private static final AggregationKey<Map<Long, Long>> SUGGEST_CATEGORIES = AggregationKey.of("suggestCategories");
+    private static final AggregationKey<Map<String, Long>> SUGGEST_ATTRIBUTES = AggregationKey.of("suggestAttributes");
+    private static final int SUGGEST_CATEGORY_COUNT = 3;
     private final EntityManager em;
     private final ProductMapper productMapper;
-    private final CategoryRepository categoryRepository;
+    private final CategoryTreeCache categoryTreeCache;
+    private final PlatformTransactionManager transactionManager;
+    private ExecutorService batchExecutor;
 
+    @Value("${app.search.batch.threads:8}")
+    private int batchThreads;
+
+    @Value("${app.search.batch.timeout-ms:5000}")
+    private long batchTimeoutMs;
+
+    @Value("${app.search.backend:elasticsearch}")
+    private String searchBackend;
+
+    @Value("${app.search.result-mode:projection}")
+    private String resultMode;
+
+    @Value("${app.search.attributes.match-mode:exact}")
+    private String attributeMatchMode;
+
+    @Value("${app.search.cursor.total-hits-threshold:1000}")
+    private int cursorTotalHitsThreshold;
+
+    @Value("${app.search.export.chunk-size:500}")
+    private int exportChunkSize;
+
+    @Value("${app.search.export.timeout:30m}")
+    private Duration exportTimeout;
+
+    @Value("${app.search.suggest.min-prefix-length:2}")
+    private int suggestMinPrefixLength;
+
+    @Value("${app.search.suggest.max-limit:10}")
+    private int suggestMaxLimit;
+
+    @Value("${app.search.facets.max-terms:50}")
+    private int facetMaxTerms;
+
+    @Value("${app.search.facets.price-boundaries:0,50,100,200,500}")
+    private BigDecimal[] facetPriceBoundaries;
+
+    /**
+     * Searches products using the configured result mode ({@code app.search.result-mode}):
+     * {@code projection} (default) builds the DTOs from stored index fields, {@code entity}
+     * loads the matching {@link Product} entities first.
+     */
     @Transactional(readOnly = true)
     public Page<ProductSearchDTO> search(
             String query,
@@ -47,6 +137,22 @@ public class SearchService {
             Boolean isActive,
             Map<String, String> attributes,
             Pageable pageable
+    ) {
+        if (RESULT_MODE_ENTITY.equalsIgnoreCase(resultMode)) {
+            return searchWithEntities(query, categoryId, minPrice, maxPrice, isActive, attributes, pageable);
+        }
+        return searchWithProjections(query, categoryId, minPrice, maxPrice, isActive, attributes, pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<ProductSearchDTO> searchWithEntities(
+            String query,
+            Long categoryId,
+            BigDecimal minPrice,
+            BigDecimal maxPrice,
+            Boolean isActive,
+            Map<String, String> attributes,
+            Pageable pageable
     ) {
         logger.info("Search req: query='{}', catId={}, price={}-{}", query, categoryId, minPrice, maxPrice);
 
@@ -93,6 +199,449 @@ public class SearchService {
         return new PageImpl<>(dtos, pageable, result.total().hitCount());
     }
 
+    /**
+     * Same query as {@link #searchWithEntities}, but every field of {@link ProductSearchDTO}
+     * (including the attribute map) is projected from the index, so no entity is loaded.
+     */
+    @Transactional(readOnly = true)
+    public Page<ProductSearchDTO> searchWithProjections(
+            String query,
+            Long categoryId,
+            BigDecimal minPrice,
+            BigDecimal maxPrice,
+            Boolean isActive,
+            Map<String, String> attributes,
+            Pageable pageable
+    ) {
+        logger.info("Search req (projection): query='{}', catId={}, price={}-{}", query, categoryId, minPrice, maxPrice);
+
+        SearchSession searchSession = Search.session(em);
+
+        Set<Long> categoryIdsToFilter = resolveTargetCategoryIds(categoryId);
+
+        SearchResult<ProductSearchDTO> result = searchSession.search(Product.class)
+                .select(this::buildDtoProjection)
+                .where(f -> buildSearchPredicate(
+                        f, query, categoryIdsToFilter, minPrice, maxPrice, isActive, attributes))
+                .sort(f -> buildSort(f, pageable))
+                .fetch((int) pageable.getOffset(), pageable.getPageSize());
+
+        return new PageImpl<>(result.hits(), pageable, result.total().hitCount());
+    }
+
+    /**
+     * Projection search that also returns, from the same Elasticsearch request, per-attribute
+     * value counts, per-category counts and price-range buckets for the current query.
+     */
+    @Transactional(readOnly = true)
+    public ProductFacetedSearchDTO searchWithFacets(
+            String query,
+            Long categoryId,
+            BigDecimal minPrice,
+            BigDecimal maxPrice,
+            Boolean isActive,
+            Map<String, String> attributes,
+            Pageable pageable
+    ) {
+        logger.info("Faceted search req: query='{}', catId={}, price={}-{}", query, categoryId, minPrice, maxPrice);
+
+        SearchSession searchSession = Search.session(em);
+
+        Set<Long> categoryIdsToFilter = resolveTargetCategoryIds(categoryId);
+
+        SearchResult<ProductSearchDTO> result = searchSession.search(Product.class)
+                .select(this::buildDtoProjection)
+                .where(f -> buildSearchPredicate(
+                        f, query, categoryIdsToFilter, minPrice, maxPrice, isActive, attributes))
+                .aggregation(ATTRIBUTE_FACETS, f -> f.terms()
+                        .field("attributeValues.facet", String.class)
+                        .maxTermCount(facetMaxTerms))
+                .aggregation(CATEGORY_FACETS, f -> f.terms()
+                        .field("category.id", Long.class)
+                        .maxTermCount(facetMaxTerms))
+                .aggregation(PRICE_FACETS, f -> f.range()
+                        .field("price", BigDecimal.class)
+                        .ranges(buildPriceRanges()))
+                .sort(f -> buildSort(f, pageable))
+                .fetch((int) pageable.getOffset(), pageable.getPageSize());
+
+        SearchFacetsDTO facets = new SearchFacetsDTO(
+                groupAttributeFacets(result.aggregation(ATTRIBUTE_FACETS)),
+                result.aggregation(CATEGORY_FACETS),
+                result.aggregation(PRICE_FACETS).entrySet().stream()
+                        .map(e -> new PriceRangeFacetDTO(
+                                e.getKey().lowerBoundValue().orElse(null),
+                                e.getKey().upperBoundValue().orElse(null),
+                                e.getValue()))
+                        .toList()
+        );
+
+        long total = result.total().hitCount();
+        int totalPages = pageable.getPageSize() > 0 ? (int) Math.ceil((double) total / pageable.getPageSize()) : 1;
+        return new ProductFacetedSearchDTO(result.hits(), pageable.getPageNumber(), pageable.getPageSize(),
+                total, totalPages, facets);
+    }
+
+    /**
+     * Search-after pagination: instead of an offset, the page starts after the sort values
+     * encoded in {@code cursor}, so deep pages cost the same as the first one. Unless
+     * {@code exactTotal} is set, hits are only counted up to {@code app.search.cursor.total-hits-threshold}.
+     */
+    @Transactional(readOnly = true)
+    public ProductCursorPageDTO searchWithCursor(
+            String query,
+            Long categoryId,
+            BigDecimal minPrice,
+            BigDecimal maxPrice,
+            Boolean isActive,
+            Map<String, String> attributes,
+            Sort sort,
+            int size,
+            String cursor,
+            boolean exactTotal
+    ) {
+        logger.info("Search req (cursor): query='{}', catId={}, price={}-{}, hasCursor={}",
+                query, categoryId, minPrice, maxPrice, cursor != null);
+
+        JsonArray searchAfter = decodeCursor(cursor);
+        Set<Long> categoryIdsToFilter = resolveTargetCategoryIds(categoryId);
+
+        if (SearchBackendConfig.BACKEND_LUCENE.equalsIgnoreCase(searchBackend)) {
+            return searchWithOffsetCursor(query, categoryIdsToFilter, minPrice, maxPrice, isActive, attributes,
+                    sort, size, searchAfter, exactTotal);
+        }
+
+        var searchQuery = Search.session(em).search(Product.class)
+                .extension(ElasticsearchExtension.get())
+                .select(f -> f.composite()
+                        .from(f.jsonHit(), buildDtoProjection(f))
+                        .as(CursorHit::new))
+                .where(f -> buildSearchPredicate(
+                        f, query, categoryIdsToFilter, minPrice, maxPrice, isActive, attributes))
+                .sort(f -> buildCursorSort(f, sort))
+                .requestTransformer(context -> {
+                    if (searchAfter != null) {
+                        context.body().add("search_after", searchAfter);
+                    }
+                });
+        if (!exactTotal) {
+            searchQuery = searchQuery.totalHitCountThreshold(cursorTotalHitsThreshold);
+        }
+
+        // one extra hit tells whether there is a next page without a second round trip
+        SearchResult<CursorHit> result = searchQuery.fetch(size + 1);
+        List<CursorHit> hits = result.hits();
+        boolean hasNext = hits.size() > size;
+        List<CursorHit> page = hasNext ? hits.subList(0, size) : hits;
+
+        String nextCursor = hasNext ? encodeCursor(page.get(page.size() - 1).hit().getAsJsonArray("sort")) : null;
+        return new ProductCursorPageDTO(
+                page.stream().map(CursorHit::product).toList(),
+                size,
+                nextCursor,
+                result.total().hitCountLowerBound(),
+                result.total().isHitCountExact()
+        );
+    }
+
+    /**
+     * Cursor pagination for the embedded Lucene backend, which has no search_after: the cursor
+     * carries the offset of the next page instead of sort values.
+     */
+    private ProductCursorPageDTO searchWithOffsetCursor(
+            String query,
+            Set<Long> categoryIdsToFilter,
+            BigDecimal minPrice,
+            BigDecimal maxPrice,
+            Boolean isActive,
+            Map<String, String> attributes,
+            Sort sort,
+            int size,
+            JsonArray cursor,
+            boolean exactTotal
+    ) {
+        int offset;
+        try {
+            offset = cursor == null ? 0 : cursor.get(0).getAsInt();
+        } catch (RuntimeException e) {
+            throw new InvalidOperationException("Invalid search cursor");
+        }
+        if (offset < 0) {
+            throw new InvalidOperationException("Invalid search cursor");
+        }
+
+        var searchQuery = Search.session(em).search(Product.class)
+                .select(this::buildDtoProjection)
+                .where(f -> buildSearchPredicate(
+                        f, query, categoryIdsToFilter, minPrice, maxPrice, isActive, attributes))
+                .sort(f -> buildCursorSort(f, sort));
+        if (!exactTotal) {
+            searchQuery = searchQuery.totalHitCountThreshold(cursorTotalHitsThreshold);
+        }
+
+        SearchResult<ProductSearchDTO> result = searchQuery.fetch(offset, size + 1);
+        List<ProductSearchDTO> hits = result.hits();
+        boolean hasNext = hits.size() > size;
+
+        JsonArray nextOffset = new JsonArray();
+        nextOffset.add(offset + size);
+        return new ProductCursorPageDTO(
+                hasNext ? hits.subList(0, size) : hits,
+                size,
+                hasNext ? encodeCursor(nextOffset) : null,
+                result.total().hitCountLowerBound(),
+                result.total().isHitCountExact()
+        );
+    }
+
+    /**
+     * Scrolls through every match in index order and hands the DTOs to {@code chunkConsumer}
+     * one chunk at a time, so memory use does not depend on the size of the result set.
+     *
+     * @return number of exported products
+     */
+    @Transactional(readOnly = true)
+    public long exportSearch(
+            String query,
+            Long categoryId,
+            BigDecimal minPrice,
+            BigDecimal maxPrice,
+            Boolean isActive,
+            Map<String, String> attributes,
+            Consumer<List<ProductSearchDTO>> chunkConsumer
+    ) {
+        Set<Long> categoryIdsToFilter = resolveTargetCategoryIds(categoryId);
+
+        try (SearchScroll<ProductSearchDTO> scroll = Search.session(em).search(Product.class)
+                .select(this::buildDtoProjection)
+                .where(f -> buildSearchPredicate(
+                        f, query, categoryIdsToFilter, minPrice, maxPrice, isActive, attributes))
+                .sort(f -> f.indexOrder())
+                .scroll(exportChunkSize)) {
+            long exported = 0;
+            for (SearchScrollResult<ProductSearchDTO> chunk = scroll.next(); chunk.hasHits(); chunk = scroll.next()) {
+                chunkConsumer.accept(chunk.hits());
+                exported += chunk.hits().size();
+            }
+            logger.info("Search export finished: query='{}', catId={}, exported={}", query, categoryId, exported);
+            return exported;
+        }
+    }
+
+    /** Servlet async timeout for an export request, which may outlive the container default. */
+    public Duration exportTimeout() {
+        return exportTimeout;
+    }
+
+    private SortFinalStep buildCursorSort(SearchSortFactory f, Sort sort) {
+        // the id tiebreaker makes sort values unique, which search_after requires
+        return f.composite()
+                .add(buildSort(f, PageRequest.of(0, 1, sort)))
+                .add(f.field("id").asc());
+    }
+
+    private static String encodeCursor(JsonArray sortValues) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(sortValues.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static JsonArray decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String json = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            return JsonParser.parseString(json).getAsJsonArray();
+        } catch (IllegalArgumentException | IllegalStateException | JsonParseException e) {
+            throw new InvalidOperationException("Invalid search cursor");
+        }
+    }
+
+    private record CursorHit(JsonObject hit, ProductSearchDTO product) {
+    }
+
+    /**
+     * Type-ahead suggestions for a prefix: matching product names, the categories those products
+     * fall into and the most common attribute values starting with the prefix, all from one
+     * request against the edge-ngram {@code *_suggest} fields. Results are cached per prefix.
+     */
+    @Transactional(readOnly = true)
+    @Cacheable(value = "search_suggestions", key = "#prefix.trim().toLowerCase() + '_' + #limit")
+    public SearchSuggestionsDTO suggest(String prefix, int limit) {
+        String normalizedPrefix = prefix.trim();
+        if (normalizedPrefix.length() < suggestMinPrefixLength) {
+            return SearchSuggestionsDTO.empty();
+        }
+        int size = Math.min(Math.max(limit, 1), suggestMaxLimit);
+
+        SearchResult<ProductSuggestionDTO> result = Search.session(em).search(Product.class)
+                .select(f -> f.composite()
+                        .from(f.id(Long.class),
+                                f.field("name", String.class),
+                                f.field("seoSlug", String.class))
+                        .as(ProductSuggestionDTO::new))
+                .where(f -> f.bool()
+                        .filter(f.match().field("isActive").matching(true))
+                        .should(f.match().field("name_suggest").matching(normalizedPrefix).boost(3.0f))
+                        .should(f.match().field("category.name_suggest").matching(normalizedPrefix))
+                        .should(f.nested("attributeValues")
+                                .add(f.match().field("attributeValues.value_suggest").matching(normalizedPrefix)))
+                        .minimumShouldMatchNumber(1))
+                .aggregation(SUGGEST_CATEGORIES, f -> f.terms()
+                        .field("category.id", Long.class)
+                        .maxTermCount(SUGGEST_CATEGORY_COUNT))
+                .aggregation(SUGGEST_ATTRIBUTES, f -> f.terms()
+                        .field("attributeValues.facet", String.class)
+                        .filter(pf -> pf.match().field("attributeValues.value_suggest").matching(normalizedPrefix))
+                        .maxTermCount(size))
+                .totalHitCountThreshold(size)
+                .fetch(size);
+
+        List<CategorySuggestionDTO> categories = result.aggregation(SUGGEST_CATEGORIES).entrySet().stream()
+                .flatMap(e -> categoryTreeCache.label(e.getKey())
+                        .map(label -> new CategorySuggestionDTO(e.getKey(), label.name(), label.seoSlug(), e.getValue()))
+                        .stream())
+                .toList();
+
+        List<AttributeSuggestionDTO> attributes = new ArrayList<>();
+        groupAttributeFacets(result.aggregation(SUGGEST_ATTRIBUTES)).forEach((name, values) ->
+                values.forEach((value, count) -> attributes.add(new AttributeSuggestionDTO(name, value, count))));
+        attributes.sort(Comparator.comparingLong(AttributeSuggestionDTO::count).reversed());
+
+        return new SearchSuggestionsDTO(result.hits(), categories, attributes);
+    }
+
+    /**
+     * Runs all candidates concurrently (each in its own read-only transaction) and returns the
+     * hits of the first non-empty candidate in list order, so a strict search plus its relaxations
+     * cost about as much as the slowest single search instead of their sum.
+     */
+    public Optional<SearchBatchResultDTO> searchFirstMatch(List<SearchCandidate> candidates) {
+        TransactionTemplate readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+
+        List<Supplier<List<ProductSearchDTO>>> tasks = candidates.stream()
+                .<Supplier<List<ProductSearchDTO>>>map(candidate ->
+                        () -> readOnlyTransaction.execute(status -> fetchCandidate(candidate)))
+                .toList();
+        return firstNonEmpty(tasks).map(match -> new SearchBatchResultDTO(match.index(), match.hits()));
+    }
+
+    <T> Optional<FirstMatch<T>> firstNonEmpty(List<Supplier<List<T>>> tasks) {
+        List<CompletableFuture<List<T>>> futures = tasks.stream()
+                .map(task -> CompletableFuture.supplyAsync(task, batchExecutor))
+                .toList();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(batchTimeoutMs);
+        try {
+            for (int i = 0; i < futures.size(); i++) {
+                List<T> hits = futures.get(i).get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                if (hits != null && !hits.isEmpty()) {
+                    return Optional.of(new FirstMatch<>(i, hits));
+                }
+            }
+            return Optional.empty();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Search batch interrupted", e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException runtime
+                    ? runtime
+                    : new IllegalStateException("Search batch failed", e.getCause());
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("Search batch timed out after " + batchTimeoutMs + " ms", e);
+        } finally {
+            futures.forEach(future -> future.cancel(false));
+        }
+    }
+
+    record FirstMatch<T>(int index, List<T> hits) {
+    }
+
+    private List<ProductSearchDTO> fetchCandidate(SearchCandidate candidate) {
+        Set<Long> categoryIdsToFilter = resolveTargetCategoryIds(candidate.categoryId());
+        return Search.session(em).search(Product.class)
+                .select(this::buildDtoProjection)
+                .where(f -> buildSearchPredicate(f, candidate.query(), categoryIdsToFilter,
+                        candidate.minPrice(), candidate.maxPrice(), candidate.isActive(), candidate.attributes()))
+                .fetchHits(candidate.size());
+    }
+
+    @PostConstruct
+    void startBatchExecutor() {
+        batchExecutor = Executors.newFixedThreadPool(batchThreads, new CustomizableThreadFactory("search-batch-"));
+    }
+
+    @PreDestroy
+    void stopBatchExecutor() {
+        batchExecutor.shutdown();
+    }
+
+    private List<Range<BigDecimal>> buildPriceRanges() {
+        List<Range<BigDecimal>> ranges = new ArrayList<>();
+        for (int i = 0; i < facetPriceBoundaries.length; i++) {
+            BigDecimal upper = i + 1 < facetPriceBoundaries.length ? facetPriceBoundaries[i + 1] : null;
+            ranges.add(Range.canonical(facetPriceBoundaries[i], upper));
+        }
+        return ranges;
+    }
+
+    private Map<String, Map<String, Long>> groupAttributeFacets(Map<String, Long> facetCounts) {
+        Map<String, Map<String, Long>> grouped = new LinkedHashMap<>();
+        facetCounts.forEach((key, count) -> {
+            int separator = key.indexOf(ProductAttributeValue.FACET_SEPARATOR);
+            if (separator < 0) {
+                return;
+            }
+            grouped.computeIfAbsent(key.substring(0, separator), k -> new LinkedHashMap<>())
+                    .put(key.substring(separator + 1), count);
+        });
+        return grouped;
+    }
+
+    private ProjectionFinalStep<ProductSearchDTO> buildDtoProjection(SearchProjectionFactory<?, ?> f) {
+        return f.composite()
+                .from(
+                        f.id(Long.class),
+                        f.field("name", String.class),
+                        f.field("price", BigDecimal.class),
+                        f.field("shortDescription", String.class),
+                        f.field("thumbnailUrl", String.class),
+                        f.field("seoSlug", String.class),
+                        f.field("category.name", String.class),
+                        f.field("isActive", Boolean.class),
+                        f.object("attributeValues")
+                                .from(
+                                        f.field("attributeValues.attribute.name", String.class),
+                                        f.field("attributeValues.attributeValue", String.class))
+                                .as(AttributeEntry::new)
+                                .multi())
+                .asList(this::toSearchDTO);
+    }
+
+    @SuppressWarnings("unchecked")
+    private ProductSearchDTO toSearchDTO(List<?> row) {
+        Map<String, String> attributesMap = new LinkedHashMap<>();
+        for (AttributeEntry entry : (List<AttributeEntry>) row.get(8)) {
+            if (entry.name() != null) {
+                attributesMap.putIfAbsent(entry.name(), entry.value() != null ? entry.value() : "");
+            }
+        }
+        return new ProductSearchDTO(
+                (Long) row.get(0),
+                (String) row.get(1),
+                (BigDecimal) row.get(2),
+                (String) row.get(3),
+                productMapper.buildFullUrl((String) row.get(4)),
+                (String) row.get(5),
+                (String) row.get(6),
+                (Boolean) row.get(7),
+                attributesMap
+        );
+    }
+
+    private record AttributeEntry(String name, String value) {
+    }
+
     // metody pomocnicze
 
     private PredicateFinalStep buildSearchPredicate(
@@ -132,44 +681,55 @@ public class SearchService {
         }
 
         if (attributes != null && !attributes.isEmpty()) {
-            attributes.forEach((key, value) -> {
-                bool.filter(f.nested().objectField("attributeValues")
-                        .nest(f.bool()
-                                .must(f.bool()
-                                        .should(f.match().field("attributeValues.attribute.name")
-                                                .matching(key).fuzzy(1))
-                                        .should(f.wildcard().field("attributeValues.attribute.name")
-                                                .matching("*" + key + "*"))
-                                        .should(f.wildcard().field("attributeValues.attribute.name")
-                                                .matching("*" + key.toLowerCase() + "*"))
-                                )
-
-                                .must(f.bool()
-                                        .should(f.match().field("attributeValues.attributeValue")
-                                                .matching(value).fuzzy(2))
-
-                                        .should(f.match().field("attributeValues.attributeValue")
-                                                .matching(value.toLowerCase()).fuzzy(2))
-                                        .should(f.wildcard().field("attributeValues.attributeValue")
-                                                .matching("*" + value.toLowerCase() + "*"))
-                                )
-                        ));
-            });
+            boolean fuzzy = ATTRIBUTE_MATCH_FUZZY.equalsIgnoreCase(attributeMatchMode);
+            attributes.forEach((key, value) -> bool.filter(fuzzy
+                    ? buildFuzzyAttributePredicate(f, key, value)
+                    : buildExactAttributePredicate(f, key, value)));
             hasCondition = true;
         }
         return bool;
     }
 
 
+    /**
+     * Term match on the normalized {@code nameKey}/{@code valueKey} keyword fields; the field
+     * bridges normalize and resolve synonyms for the input just as they did at index time.
+     */
+    private PredicateFinalStep buildExactAttributePredicate(SearchPredicateFactory f, String key, String value) {
+        return f.nested("attributeValues")
+                .add(f.match().field("attributeValues.attribute.nameKey").matching(key))
+                .add(f.match().field("attributeValues.valueKey").matching(value));
+    }
+
+    /**
+     * Legacy tolerant matching (fuzzy plus leading wildcards); much slower since wildcards scan
+     * the term dictionary. Enabled with {@code app.search.attributes.match-mode=fuzzy}.
+     */
+    private PredicateFinalStep buildFuzzyAttributePredicate(SearchPredicateFactory f, String key, String value) {
+        return f.nested("attributeValues")
+                .add(f.bool()
+                        .should(f.match().field("attributeValues.attribute.name")
+                                .matching(key).fuzzy(1))
+                        .should(f.wildcard().field("attributeValues.attribute.name")
+                                .matching("*" + key + "*"))
+                        .should(f.wildcard().field("attributeValues.attribute.name")
+                                .matching("*" + key.toLowerCase() + "*")))
+                .add(f.bool()
+                        .should(f.match().field("attributeValues.attributeValue")
+                                .matching(value).fuzzy(2))
+
+                        .should(f.match().field("attributeValues.attributeValue")
+                                .matching(value.toLowerCase()).fuzzy(2))
+                        .should(f.wildcard().field("attributeValues.attributeValue")
+                                .matching("*" + value.toLowerCase() + "*")));
+    }
+
     private Set<Long> resolveTargetCategoryIds(Long categoryId) {
         if (categoryId == null) {
             return Collections.emptySet();
         }
 
-        Set<Long> ids = new HashSet<>();
-        categoryRepository.findById(categoryId).ifPresent(rootCategory ->
-                collectCategoryIdsRecursively(rootCategory, ids)
-        );
+        Set<Long> ids = new HashSet<>(categoryTreeCache.subtreeIds(categoryId));
         logger.info("Dla kategorii {} znaleziono IDs: {}", categoryId, ids);
 
         if (ids.isEmpty()) {
@@ -178,16 +738,6 @@ public class SearchService {
         return ids;
     }
 
-    private void collectCategoryIdsRecursively(Category category, Set<Long> ids) {
-        ids.add(category.getId());
-        if (category.getChildren() != null) {
-            for (Category child : category.getChildren()) {
-                collectCategoryIdsRecursively(child, ids);
-            }
-        }
-    }
-
-
     private SortFinalStep buildSort(
             SearchSortFactory f,
             Pageable pageable
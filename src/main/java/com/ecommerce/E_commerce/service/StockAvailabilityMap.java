@@ -0,0 +1,334 @@
+package com.ecommerce.E_commerce.service;
+
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * In-memory copy of every active inventory's available and reserved quantity, so availability
+ * checks and stock badges need no database round-trip.
+ * <p>
+ * Entries live in a primitive open-addressing table: product ids in one {@code long} array and
+ * both quantities packed into a single {@code long} in another, so a reader always sees a
+ * consistent pair without locks or boxing. Inventory mutations are applied as deltas once their
+ * transaction commits; a rolled-back reservation never shows up. The whole table is rebuilt from
+ * the database every {@code app.inventory.availability-cache.reconcile-interval-ms}, which also
+ * resizes it and repairs any drift (stock edited directly in SQL, other instances). Values are
+ * advisory: reservations are still checked against the database row.
+ * <p>
+ * Neither a miss load nor a rebuild may overwrite a delta it cannot see, or count one twice:
+ * <ul>
+ *   <li>A miss claims its slot with a {@code LOADING} marker before reading the database; any delta
+ *       or invalidation arriving meanwhile resets the marker, and the loaded value is then only
+ *       returned to its caller, not installed.</li>
+ *   <li>Each delta remembers the table that was current before its transaction committed. If a
+ *       rebuild swapped the table in between, the delta may or may not be in the new snapshot, so
+ *       the product is dropped from the new table instead. Products changed while a rebuild reads
+ *       its snapshot are dropped from the new table too. Dropped products reload on their next read.</li>
+ * </ul>
+ */
+@Component
+@RequiredArgsConstructor
+public class StockAvailabilityMap {
+
+    private static final Logger logger = LoggerFactory.getLogger(StockAvailabilityMap.class);
+
+    /** Not cached: callers must go to the database. */
+    public static final long UNKNOWN = -1L;
+    /** Cached as missing or inactive inventory. */
+    public static final long ABSENT = Long.MIN_VALUE;
+    /** Slot claimed by a miss that is reading the database; reads as {@link #UNKNOWN}. */
+    private static final long LOADING = Long.MIN_VALUE + 1;
+
+    private static final int MIN_CAPACITY = 1024;
+    private static final String ACTIVE_STOCK_LEVELS = """
+            SELECT product_id, available_quantity, reserved_quantity FROM inventory
+            WHERE is_active = true AND deleted_at IS NULL
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private volatile Table table = new Table(MIN_CAPACITY);
+    /** Products changed while a rebuild is running; {@code null} outside of a rebuild. */
+    private volatile Set<Long> changedDuringRebuild;
+
+    @Value("${app.inventory.availability-cache.enabled:true}")
+    private boolean enabled;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return the packed quantities ({@link #available}, {@link #reserved}), {@link #ABSENT}
+     *         or {@link #UNKNOWN}
+     */
+    public long lookup(long productId) {
+        Table current = table;
+        int slot = current.find(productId);
+        if (slot < 0) {
+            return UNKNOWN;
+        }
+        long packed = current.values.get(slot);
+        return packed == LOADING ? UNKNOWN : packed;
+    }
+
+    /**
+     * Like {@link #lookup}, but loads a miss with {@code loader} (packed quantities or
+     * {@link #ABSENT}). The loaded value is cached only if no delta or invalidation for the
+     * product arrived while it was read.
+     */
+    public long lookupOrLoad(long productId, LongSupplier loader) {
+        long cached = lookup(productId);
+        if (cached != UNKNOWN) {
+            return cached;
+        }
+        Table current = table;
+        int slot = current.claim(productId);
+        boolean loading = slot >= 0 && current.values.compareAndSet(slot, UNKNOWN, LOADING);
+        long loaded = loader.getAsLong();
+        if (loading) {
+            current.values.compareAndSet(slot, LOADING, loaded);
+        }
+        return loaded;
+    }
+
+    public static int available(long packed) {
+        return (int) (packed >> 32);
+    }
+
+    public static int reserved(long packed) {
+        return (int) packed;
+    }
+
+    public static long pack(int available, int reserved) {
+        return ((long) available << 32) | (reserved & 0xFFFFFFFFL);
+    }
+
+    public void put(long productId, int available, int reserved) {
+        table.set(productId, pack(available, reserved));
+    }
+
+    public void markAbsent(long productId) {
+        table.set(productId, ABSENT);
+    }
+
+    /** Records a reservation once the current transaction commits. */
+    public void recordReservedAfterCommit(Map<Long, Integer> productQuantities) {
+        afterCommit(observed -> productQuantities.forEach((productId, quantity) -> applyDelta(observed, productId, -quantity, quantity)));
+    }
+
+    /** Records reserved stock returned to availability once the current transaction commits. */
+    public void recordReleasedAfterCommit(Map<Long, Integer> productQuantities) {
+        afterCommit(observed -> productQuantities.forEach((productId, quantity) -> applyDelta(observed, productId, quantity, -quantity)));
+    }
+
+    /** Records reserved stock that was sold once the current transaction commits. */
+    public void recordFinalizedAfterCommit(Map<Long, Integer> productQuantities) {
+        afterCommit(observed -> productQuantities.forEach((productId, quantity) -> applyDelta(observed, productId, 0, -quantity)));
+    }
+
+    /** Forgets the product once the current transaction commits; the next read reloads it. */
+    public void invalidateAfterCommit(Long productId) {
+        afterCommit(observed -> {
+            markChanged(productId);
+            table.clear(productId);
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${app.inventory.availability-cache.reconcile-interval-ms:60000}")
+    public void reconcile() {
+        if (!enabled) {
+            return;
+        }
+        Set<Long> changed = ConcurrentHashMap.newKeySet();
+        changedDuringRebuild = changed;
+        try {
+            Integer rows = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM inventory WHERE is_active = true AND deleted_at IS NULL", Integer.class);
+            Table rebuilt = new Table(capacityFor(rows != null ? rows : 0));
+            jdbcTemplate.query(ACTIVE_STOCK_LEVELS, rs -> {
+                rebuilt.set(rs.getLong(1), pack(rs.getInt(2), rs.getInt(3)));
+            });
+            table = rebuilt;
+            // the snapshot may or may not include these changes: reload them on their next read
+            changed.forEach(rebuilt::clear);
+            logger.debug("Reconciled stock availability map: {} products, {} changed during rebuild",
+                    rebuilt.size.get(), changed.size());
+        } catch (RuntimeException e) {
+            logger.warn("Stock availability reconcile failed, keeping previous snapshot: {}", e.getMessage());
+        } finally {
+            changedDuringRebuild = null;
+        }
+    }
+
+    /**
+     * @param observed the table that was current before the delta's transaction committed
+     */
+    private void applyDelta(Table observed, long productId, int availableDelta, int reservedDelta) {
+        markChanged(productId);
+        Table current = table;
+        if (current != observed) {
+            current.clear(productId);
+            return;
+        }
+        int slot = current.find(productId);
+        if (slot < 0) {
+            return;
+        }
+        long packed;
+        long updated;
+        do {
+            packed = current.values.get(slot);
+            if (packed == LOADING) {
+                // a miss is reading the database and may have missed this delta: do not let it install
+                updated = UNKNOWN;
+                continue;
+            }
+            if (packed == UNKNOWN || packed == ABSENT) {
+                return;
+            }
+            long newAvailable = (long) available(packed) + availableDelta;
+            long newReserved = (long) reserved(packed) + reservedDelta;
+            // drifted from the database (e.g. reconcile raced the update): reload on next read
+            updated = newAvailable < 0 || newReserved < 0 || newAvailable > Integer.MAX_VALUE
+                    || newReserved > Integer.MAX_VALUE
+                    ? UNKNOWN
+                    : pack((int) newAvailable, (int) newReserved);
+        } while (!current.values.compareAndSet(slot, packed, updated));
+    }
+
+    private void markChanged(long productId) {
+        Set<Long> changed = changedDuringRebuild;
+        if (changed != null) {
+            changed.add(productId);
+        }
+    }
+
+    /** Runs {@code action} after commit with the table that was current just before the commit. */
+    private void afterCommit(Consumer<Table> action) {
+        if (!enabled) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.accept(table);
+            return;
+        }
+        Table registeredWith = table;
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private Table observed = registeredWith;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                observed = table;
+            }
+
+            @Override
+            public void afterCommit() {
+                action.accept(observed);
+            }
+        });
+    }
+
+    private static int capacityFor(int entries) {
+        int capacity = MIN_CAPACITY;
+        while (capacity < entries * 2 + MIN_CAPACITY / 2) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    /**
+     * Linear-probing table keyed by product id; slots are claimed with a CAS on the key and never
+     * freed, so a lookup can stop at the first empty slot. Capacity is fixed; when it fills up,
+     * new products simply stay uncached until the next reconcile allocates a bigger table.
+     */
+    static final class Table {
+
+        private static final long EMPTY_KEY = 0L;
+
+        final AtomicLongArray keys;
+        final AtomicLongArray values;
+        final AtomicInteger size = new AtomicInteger();
+        private final int mask;
+        private final int maxSize;
+
+        Table(int capacity) {
+            keys = new AtomicLongArray(capacity);
+            values = new AtomicLongArray(capacity);
+            for (int i = 0; i < capacity; i++) {
+                values.set(i, UNKNOWN);
+            }
+            mask = capacity - 1;
+            maxSize = capacity / 4 * 3;
+        }
+
+        int find(long productId) {
+            for (int slot = hash(productId) & mask, probes = 0; probes <= mask; slot = (slot + 1) & mask, probes++) {
+                long key = keys.get(slot);
+                if (key == productId) {
+                    return slot;
+                }
+                if (key == EMPTY_KEY) {
+                    return -1;
+                }
+            }
+            return -1;
+        }
+
+        void set(long productId, long packed) {
+            int slot = claim(productId);
+            if (slot >= 0) {
+                values.set(slot, packed);
+            }
+        }
+
+        void clear(long productId) {
+            int slot = find(productId);
+            if (slot >= 0) {
+                values.set(slot, UNKNOWN);
+            }
+        }
+
+        /** Finds or claims the product's slot; -1 when the table is full. */
+        int claim(long productId) {
+            for (int slot = hash(productId) & mask, probes = 0; probes <= mask; slot = (slot + 1) & mask, probes++) {
+                long key = keys.get(slot);
+                if (key == productId) {
+                    return slot;
+                }
+                if (key == EMPTY_KEY) {
+                    if (size.get() >= maxSize) {
+                        return -1;
+                    }
+                    if (keys.compareAndSet(slot, EMPTY_KEY, productId)) {
+                        size.incrementAndGet();
+                        return slot;
+                    }
+                    if (keys.get(slot) == productId) {
+                        return slot;
+                    }
+                }
+            }
+            return -1;
+        }
+
+        private static int hash(long productId) {
+            long h = productId * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32));
+        }
+    }
+}
@@ -0,0 +1,293 @@
+package com.ecommerce.E_commerce.service;
+
+import com.ecommerce.E_commerce.config.CacheInvalidation;
+import com.ecommerce.E_commerce.config.CacheInvalidationBus;
+import com.ecommerce.E_commerce.config.CacheSpecs;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Read-through access to the caches of {@link com.ecommerce.E_commerce.config.CacheConfig} where
+ * every entry carries dependency tags ({@link CacheTags}), so a write drops only the entries that
+ * depend on what it changed instead of whole caches.
+ * <p>
+ * Invalidation is lazy: a monotonic clock is bumped and recorded against each invalidated tag, and
+ * an entry is served only while none of its tags was invalidated after the entry's load started.
+ * A load racing with a write therefore never leaves pre-write data behind. Inside a transaction,
+ * invalidation waits for the commit, so readers cannot re-cache rows the write has not yet made
+ * visible. Tag invalidations are also sent over the {@link CacheInvalidationBus}, so other nodes
+ * drop their copies too.
+ * <p>
+ * Only one load runs per key at a time: concurrent misses wait for it and share its result instead
+ * of each querying the database. Entries of caches with a {@code refreshAfterWrite} in
+ * {@link CacheSpecs} are reloaded in the background once that old, while readers keep getting the
+ * previous value.
+ * <p>
+ * Lookups are counted in {@code cache.tagged.gets} per cache, tag family and result
+ * ({@code hit}, {@code miss}, or {@code coalesced} for a miss served by another request's load),
+ * and load times in {@code cache.tagged.loads}; entries are stored with plain puts, so Caffeine's
+ * own load statistics do not see them.
+ */
+@Component
+public class TaggedCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaggedCache.class);
+
+    private final CacheManager cacheManager;
+    private final CacheSpecs cacheSpecs;
+    private final CacheInvalidationBus invalidationBus;
+    private final MeterRegistry meterRegistry;
+    private final TransactionOperations refreshTransaction;
+    private final Executor refreshExecutor;
+    private final LongSupplier nanoTime;
+
+    private final AtomicLong clock = new AtomicLong();
+    private final Map<String, Long> invalidatedAt = new ConcurrentHashMap<>();
+    private final Map<LoadKey, CompletableFuture<Entry>> loadsInFlight = new ConcurrentHashMap<>();
+
+    record Entry(Object value, Set<String> tags, long loadedAt, long loadedNanos) {
+    }
+
+    private record LoadKey(String cacheName, Object key) {
+    }
+
+    @Autowired
+    public TaggedCache(CacheManager cacheManager,
+                       CacheSpecs cacheSpecs,
+                       CacheInvalidationBus invalidationBus,
+                       MeterRegistry meterRegistry,
+                       PlatformTransactionManager transactionManager,
+                       @Value("${app.cache.refresh.threads:2}") int refreshThreads) {
+        this(cacheManager, cacheSpecs, invalidationBus, meterRegistry, readOnly(transactionManager),
+                refreshPool(refreshThreads), System::nanoTime);
+    }
+
+    TaggedCache(CacheManager cacheManager,
+                CacheSpecs cacheSpecs,
+                CacheInvalidationBus invalidationBus,
+                MeterRegistry meterRegistry,
+                TransactionOperations refreshTransaction,
+                Executor refreshExecutor,
+                LongSupplier nanoTime) {
+        this.cacheManager = cacheManager;
+        this.cacheSpecs = cacheSpecs;
+        this.invalidationBus = invalidationBus;
+        this.meterRegistry = meterRegistry;
+        this.refreshTransaction = refreshTransaction;
+        this.refreshExecutor = refreshExecutor;
+        this.nanoTime = nanoTime;
+        invalidationBus.subscribe(invalidation -> {
+            if (invalidation.kind() == CacheInvalidation.Kind.TAGS) {
+                invalidateLocally(invalidation.tags());
+            }
+        });
+    }
+
+    /**
+     * Returns the cached value for {@code key}, or loads, tags and caches it.
+     *
+     * @param tagger derives the entry's tags from the loaded value, e.g. a product's id when it
+     *               was looked up by slug
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(String cacheName, Object key, Supplier<T> loader, Function<? super T, ? extends Collection<String>> tagger) {
+        Cache cache = cache(cacheName);
+        Entry cached = cache.get(key, Entry.class);
+        if (cached != null && isFresh(cached)) {
+            record(cacheName, cached.tags(), "hit");
+            if (isRefreshDue(cacheName, cached)) {
+                refreshInBackground(cacheName, cache, key, loader, tagger);
+            }
+            return (T) cached.value();
+        }
+        return (T) loadOnce(cacheName, cache, key, loader, tagger).value();
+    }
+
+    public <T> T get(String cacheName, Object key, Collection<String> tags, Supplier<T> loader) {
+        return get(cacheName, key, loader, value -> tags);
+    }
+
+    /**
+     * Makes every entry carrying one of {@code tags} stale on this and all other nodes, after the
+     * surrounding transaction commits or right away when there is none.
+     */
+    public void invalidate(Collection<String> tags) {
+        Set<String> invalidated = Set.copyOf(tags);
+        CacheInvalidationBus.afterCommit(() -> invalidateLocally(invalidated));
+        invalidationBus.publish(CacheInvalidation.tags(invalidated));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (refreshExecutor instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+    }
+
+    /** Loads the key, or waits for the load another request already started for it. */
+    private <T> Entry loadOnce(String cacheName, Cache cache, Object key, Supplier<T> loader,
+                               Function<? super T, ? extends Collection<String>> tagger) {
+        LoadKey loadKey = new LoadKey(cacheName, key);
+        while (true) {
+            CompletableFuture<Entry> load = new CompletableFuture<>();
+            CompletableFuture<Entry> running = loadsInFlight.putIfAbsent(loadKey, load);
+            if (running == null) {
+                try {
+                    Entry loaded = load(cache, key, loader, tagger);
+                    load.complete(loaded);
+                    record(cacheName, loaded.tags(), "miss");
+                    return loaded;
+                } catch (RuntimeException | Error e) {
+                    load.completeExceptionally(e);
+                    throw e;
+                } finally {
+                    loadsInFlight.remove(loadKey, load);
+                }
+            }
+
+            Entry shared = await(running);
+            if (shared != null && isFresh(shared)) {
+                record(cacheName, shared.tags(), "coalesced");
+                return shared;
+            }
+            // the shared load failed in the background or was overtaken by a write: load again
+        }
+    }
+
+    private <T> void refreshInBackground(String cacheName, Cache cache, Object key, Supplier<T> loader,
+                                         Function<? super T, ? extends Collection<String>> tagger) {
+        LoadKey loadKey = new LoadKey(cacheName, key);
+        CompletableFuture<Entry> refresh = new CompletableFuture<>();
+        if (loadsInFlight.putIfAbsent(loadKey, refresh) != null) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    refresh.complete(refreshTransaction.execute(status -> load(cache, key, loader, tagger)));
+                    meterRegistry.counter("cache.tagged.refreshes", "cache", cacheName, "result", "success").increment();
+                } catch (RuntimeException e) {
+                    logger.warn("Background refresh of {}[{}] failed, keeping the previous value: {}",
+                            cacheName, key, e.getMessage());
+                    meterRegistry.counter("cache.tagged.refreshes", "cache", cacheName, "result", "failure").increment();
+                    refresh.complete(null);
+                } finally {
+                    loadsInFlight.remove(loadKey, refresh);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            loadsInFlight.remove(loadKey, refresh);
+            refresh.complete(null);
+        }
+    }
+
+    private <T> Entry load(Cache cache, Object key, Supplier<T> loader,
+                           Function<? super T, ? extends Collection<String>> tagger) {
+        long loadedAt = clock.get();
+        long loadedNanos = nanoTime.getAsLong();
+        T value = loader.get();
+        meterRegistry.timer("cache.tagged.loads", "cache", cache.getName())
+                .record(nanoTime.getAsLong() - loadedNanos, TimeUnit.NANOSECONDS);
+        Entry loaded = new Entry(value, Set.copyOf(tagger.apply(value)), loadedAt, loadedNanos);
+        if (isFresh(loaded)) {
+            cache.put(key, loaded);
+        }
+        return loaded;
+    }
+
+    private static Entry await(CompletableFuture<Entry> load) {
+        try {
+            return load.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private void invalidateLocally(Collection<String> tags) {
+        long at = clock.incrementAndGet();
+        for (String tag : tags) {
+            invalidatedAt.merge(tag, at, Math::max);
+        }
+        tags.stream().map(CacheTags::family).distinct().forEach(family ->
+                meterRegistry.counter("cache.tagged.invalidations", "tag", family).increment());
+    }
+
+    private boolean isFresh(Entry entry) {
+        for (String tag : entry.tags()) {
+            if (invalidatedAt.getOrDefault(tag, 0L) > entry.loadedAt()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isRefreshDue(String cacheName, Entry entry) {
+        return cacheSpecs.refreshAfterWrite(cacheName)
+                .filter(refreshAfter -> nanoTime.getAsLong() - entry.loadedNanos() >= refreshAfter.toNanos())
+                .isPresent();
+    }
+
+    private void record(String cacheName, Set<String> tags, String result) {
+        Set<String> families = tags.stream().map(CacheTags::family).collect(Collectors.toSet());
+        for (String family : families) {
+            meterRegistry.counter("cache.tagged.gets", "cache", cacheName, "tag", family, "result", result).increment();
+        }
+    }
+
+    private Cache cache(String cacheName) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null) {
+            throw new IllegalStateException("No cache configured with name: " + cacheName);
+        }
+        return cache;
+    }
+
+    private static TransactionOperations readOnly(PlatformTransactionManager transactionManager) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        return template;
+    }
+
+    private static ExecutorService refreshPool(int threads) {
+        AtomicInteger counter = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "cache-refresh-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
@@ -0,0 +1,11 @@
+-- Persisted high-water mark for incremental (resumable) search reindexing
+CREATE TABLE IF NOT EXISTS public.search_index_checkpoints (
+    index_name VARCHAR(100) PRIMARY KEY,
+    high_water_mark TIMESTAMP WITH TIME ZONE NOT NULL,
+    last_entity_id BIGINT NOT NULL DEFAULT 0,
+    indexed_count BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now()
+);
+
+CREATE INDEX IF NOT EXISTS idx_products_updated_at_id ON public.products (updated_at, id);
+CREATE INDEX IF NOT EXISTS idx_products_deleted_at ON public.products (deleted_at) WHERE deleted_at IS NOT NULL;
@@ -0,0 +1,10 @@
+-- Outbox of products whose search document must be rebuilt; one row per product coalesces repeated writes
+CREATE TABLE IF NOT EXISTS public.search_index_queue (
+    product_id BIGINT PRIMARY KEY,
+    enqueued_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now(),
+    revision BIGINT NOT NULL DEFAULT 0,
+    attempts INT NOT NULL DEFAULT 0,
+    last_error VARCHAR(500)
+);
+
+CREATE INDEX IF NOT EXISTS idx_search_index_queue_enqueued_at ON public.search_index_queue (enqueued_at);
@@ -0,0 +1,6 @@
+-- Stock held by a NEW order line is released once this passes; cleared when the reservation ends
+ALTER TABLE public.order_items ADD COLUMN IF NOT EXISTS reservation_expires_at TIMESTAMP WITH TIME ZONE;
+
+CREATE INDEX IF NOT EXISTS idx_order_items_reservation_expires_at
+    ON public.order_items (reservation_expires_at)
+    WHERE reservation_expires_at IS NOT NULL;
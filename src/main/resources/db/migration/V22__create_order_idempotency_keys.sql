@@ -0,0 +1,13 @@
+-- Idempotency-Key of each order submission with a fingerprint of its body and the response sent back
+CREATE TABLE IF NOT EXISTS public.order_idempotency_keys (
+    scope VARCHAR(300) NOT NULL,
+    idempotency_key VARCHAR(255) NOT NULL,
+    fingerprint VARCHAR(32) NOT NULL,
+    order_id BIGINT,
+    response TEXT,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now(),
+    expires_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    PRIMARY KEY (scope, idempotency_key)
+);
+
+CREATE INDEX IF NOT EXISTS idx_order_idempotency_keys_expires_at ON public.order_idempotency_keys (expires_at);
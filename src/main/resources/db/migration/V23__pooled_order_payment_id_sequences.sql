@@ -0,0 +1,10 @@
+-- Order, order item and payment ids are allocated by Hibernate in blocks of 50 (pooled optimizer):
+-- each nextval() hands out the block (value - 49 .. value), so the sequences must step by the same amount.
+-- Resync first so the first block starts above every existing id.
+SELECT pg_catalog.setval('public.orders_id_seq', COALESCE((SELECT MAX(id) FROM orders), 1), true);
+SELECT pg_catalog.setval('public.order_items_id_seq', COALESCE((SELECT MAX(id) FROM order_items), 1), true);
+SELECT pg_catalog.setval('public.payments_id_seq', COALESCE((SELECT MAX(id) FROM payments), 1), true);
+
+ALTER SEQUENCE public.orders_id_seq INCREMENT BY 50;
+ALTER SEQUENCE public.order_items_id_seq INCREMENT BY 50;
+ALTER SEQUENCE public.payments_id_seq INCREMENT BY 50;
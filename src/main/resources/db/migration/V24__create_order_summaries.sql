@@ -0,0 +1,48 @@
+-- Denormalized order list rows (read model), refreshed from order/payment events
+CREATE TABLE IF NOT EXISTS public.order_summaries (
+    order_id           BIGINT PRIMARY KEY REFERENCES public.orders (id) ON DELETE CASCADE,
+    user_id            BIGINT,
+    customer_email     VARCHAR(255),
+    status             VARCHAR(20)    NOT NULL,
+    total_amount       NUMERIC(10, 2) NOT NULL,
+    item_count         INTEGER        NOT NULL,
+    first_product_name VARCHAR(255),
+    thumbnail_url      TEXT,
+    payment_status     VARCHAR(20),
+    is_active          BOOLEAN        NOT NULL,
+    created_at         TIMESTAMP      NOT NULL,
+    refreshed_at       TIMESTAMP      NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_order_summaries_user_created
+    ON public.order_summaries (user_id, created_at DESC, order_id DESC);
+CREATE INDEX IF NOT EXISTS idx_order_summaries_status_created
+    ON public.order_summaries (status, created_at DESC, order_id DESC);
+CREATE INDEX IF NOT EXISTS idx_order_summaries_created
+    ON public.order_summaries (created_at DESC, order_id DESC);
+
+INSERT INTO public.order_summaries (order_id, user_id, customer_email, status, total_amount, item_count,
+                                    first_product_name, thumbnail_url, payment_status, is_active,
+                                    created_at, refreshed_at)
+SELECT o.id,
+       o.user_id,
+       COALESCE(u.email, o.guest_email),
+       o.status,
+       o.total_amount,
+       COALESCE((SELECT SUM(oi.quantity) FROM public.order_items oi
+                 WHERE oi.order_id = o.id AND oi.deleted_at IS NULL), 0),
+       p.name,
+       p.thumbnail_url,
+       (SELECT pay.status FROM public.payments pay
+        WHERE pay.order_id = o.id AND pay.deleted_at IS NULL
+        ORDER BY pay.created_at DESC, pay.id DESC LIMIT 1),
+       o.is_active,
+       o.created_at,
+       now()
+FROM public.orders o
+LEFT JOIN public.users u ON u.id = o.user_id
+LEFT JOIN public.products p ON p.id = (SELECT oi.product_id FROM public.order_items oi
+                                       WHERE oi.order_id = o.id AND oi.deleted_at IS NULL
+                                       ORDER BY oi.id LIMIT 1)
+WHERE o.deleted_at IS NULL
+ON CONFLICT (order_id) DO NOTHING;
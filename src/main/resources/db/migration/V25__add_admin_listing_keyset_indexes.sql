@@ -0,0 +1,11 @@
+-- Admin payment and inventory listings page newest first on (created_at, id) with a cursor
+-- instead of OFFSET; these indexes let each page start with an index seek on live rows.
+CREATE INDEX IF NOT EXISTS idx_payments_created
+    ON public.payments (created_at DESC, id DESC) WHERE deleted_at IS NULL;
+CREATE INDEX IF NOT EXISTS idx_payments_status_created
+    ON public.payments (status, created_at DESC, id DESC) WHERE deleted_at IS NULL;
+CREATE INDEX IF NOT EXISTS idx_payments_order_created
+    ON public.payments (order_id, created_at DESC, id DESC) WHERE deleted_at IS NULL;
+
+CREATE INDEX IF NOT EXISTS idx_inventory_created
+    ON public.inventory (created_at DESC, id DESC) WHERE deleted_at IS NULL;
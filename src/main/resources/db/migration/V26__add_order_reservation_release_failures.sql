@@ -0,0 +1,4 @@
+-- Failed attempts to cancel an order whose reservation expired (e.g. its inventory row was
+-- deactivated). The sweeper retries such orders on their own and stops after a few attempts,
+-- so one bad order cannot hold back the rest of its batch.
+ALTER TABLE public.orders ADD COLUMN IF NOT EXISTS reservation_release_failures INTEGER NOT NULL DEFAULT 0;
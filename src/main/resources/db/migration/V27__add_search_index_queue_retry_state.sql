@@ -0,0 +1,8 @@
+-- Failed entries wait until next_attempt_at (NULL = due now) with exponential backoff instead of
+-- being retried first on every poll; entries that keep failing are parked in dead_lettered_at
+-- until the product is written again.
+ALTER TABLE public.search_index_queue ADD COLUMN IF NOT EXISTS next_attempt_at TIMESTAMP WITH TIME ZONE;
+ALTER TABLE public.search_index_queue ADD COLUMN IF NOT EXISTS dead_lettered_at TIMESTAMP WITH TIME ZONE;
+
+CREATE INDEX IF NOT EXISTS idx_search_index_queue_dead_lettered_at
+    ON public.search_index_queue (dead_lettered_at) WHERE dead_lettered_at IS NOT NULL;
@@ -0,0 +1,4 @@
+-- Mapping version the index was built with; an incremental reindex restarts from the beginning
+-- when it differs from SearchIndexer.MAPPING_VERSION, so fields added to the mapping get filled
+-- for products that were not written since.
+ALTER TABLE public.search_index_checkpoints ADD COLUMN IF NOT EXISTS mapping_version INTEGER NOT NULL DEFAULT 0;
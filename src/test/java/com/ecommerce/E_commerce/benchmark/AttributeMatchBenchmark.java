@@ -0,0 +1,84 @@
+package com.ecommerce.E_commerce.benchmark;
+
+import com.ecommerce.E_commerce.model.Product;
+import com.ecommerce.E_commerce.service.SearchService;
+import jakarta.persistence.EntityManager;
+import org.hibernate.search.mapper.orm.Search;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compares p50/p99 latency of exact (normalized keyword) and fuzzy/wildcard attribute filtering
+ * as the number of attribute filters grows from one to three. Runs against the real PostgreSQL +
+ * Elasticsearch configuration and requires a full reindex after the {@code nameKey}/{@code valueKey}
+ * fields were added:
+ * <pre>
+ * mvn test -Dtest=AttributeMatchBenchmark -Dbenchmark=attribute-match
+ * </pre>
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "attribute-match")
+class AttributeMatchBenchmark {
+
+    private static final int CATALOG_SIZE = 100_000;
+    private static final int WARMUP_ROUNDS = 50;
+    private static final int MEASURED_ROUNDS = 500;
+
+    @Autowired
+    private SearchService searchService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager em;
+
+    @Test
+    void compareExactAndFuzzyAttributeMatching() throws InterruptedException {
+        BenchmarkCatalog.seedProducts(jdbcTemplate, CATALOG_SIZE);
+        Search.session(em).massIndexer(Product.class)
+                .threadsToLoadObjects(4)
+                .batchSizeToLoadObjects(100)
+                .startAndWait();
+
+        Pageable page = PageRequest.of(0, 20);
+        for (int filterCount = 1; filterCount <= BenchmarkCatalog.ATTRIBUTE_NAMES.size(); filterCount++) {
+            Map<String, String> attributes = new LinkedHashMap<>();
+            for (int a = 0; a < filterCount; a++) {
+                attributes.put(BenchmarkCatalog.ATTRIBUTE_NAMES.get(a).toUpperCase(),
+                        BenchmarkCatalog.ATTRIBUTE_VALUES.get(a));
+            }
+
+            LatencyRecorder exact = measure("exact, " + filterCount + " filter(s)", "exact", attributes, page);
+            LatencyRecorder fuzzy = measure("fuzzy, " + filterCount + " filter(s)", "fuzzy", attributes, page);
+
+            System.out.println(exact.summary());
+            System.out.println(fuzzy.summary());
+        }
+    }
+
+    private LatencyRecorder measure(String label, String mode, Map<String, String> attributes, Pageable page) {
+        ReflectionTestUtils.setField(searchService, "attributeMatchMode", mode);
+        LatencyRecorder recorder = new LatencyRecorder(label);
+        long hits = 0;
+        for (int round = 0; round < WARMUP_ROUNDS + MEASURED_ROUNDS; round++) {
+            long start = System.nanoTime();
+            hits = searchService.searchWithProjections(null, null, null, null, true, attributes, page)
+                    .getTotalElements();
+            if (round >= WARMUP_ROUNDS) {
+                recorder.record(System.nanoTime() - start);
+            }
+        }
+        System.out.println(label + ": " + hits + " hits");
+        return recorder;
+    }
+}
@@ -0,0 +1,68 @@
+package com.ecommerce.E_commerce.benchmark;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Inserts synthetic products (and three attribute values each) directly over JDBC.
+ * Rows are tagged with the {@code BENCH-} SKU prefix so reruns only top the catalog up.
+ */
+final class BenchmarkCatalog {
+
+    static final List<String> QUERY_TERMS = List.of("wood", "ceramic mug", "linen", "handmade");
+    static final List<String> ATTRIBUTE_NAMES = List.of("Kolor", "Materiał", "Rozmiar");
+    static final List<String> ATTRIBUTE_VALUES = List.of("czerwony", "niebieski", "zielony", "czarny", "biały");
+    private static final List<String> NOUNS = List.of("wood bowl", "ceramic mug", "linen scarf", "wool hat", "glass vase");
+    private static final int CHUNK = 1000;
+
+    private BenchmarkCatalog() {
+    }
+
+    static void seedProducts(JdbcTemplate jdbc, int target) {
+        Integer existing = jdbc.queryForObject(
+                "SELECT COUNT(*) FROM products WHERE sku LIKE 'BENCH-%'", Integer.class);
+        int start = existing != null ? existing : 0;
+        if (start >= target) {
+            return;
+        }
+        Long categoryId = jdbc.queryForObject(
+                "SELECT MIN(id) FROM categories WHERE deleted_at IS NULL", Long.class);
+        List<Long> attributeIds = new ArrayList<>();
+        for (String name : ATTRIBUTE_NAMES) {
+            attributeIds.add(jdbc.queryForObject(
+                    "INSERT INTO attributes (name, type) VALUES (?, 'TEXT') " +
+                    "ON CONFLICT (name, type) DO UPDATE SET name = EXCLUDED.name RETURNING id",
+                    Long.class, name));
+        }
+
+        Timestamp now = Timestamp.from(Instant.now());
+        for (int from = start; from < target; from += CHUNK) {
+            int to = Math.min(target, from + CHUNK);
+            List<Object[]> products = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                String name = "Handmade " + NOUNS.get(i % NOUNS.size()) + " #" + i;
+                products.add(new Object[]{categoryId, name, name + " crafted for the search benchmark",
+                        "Benchmark product " + i, BigDecimal.valueOf(10 + (i % 490)), "BENCH-" + i,
+                        new BigDecimal("23.00"), "bench-product-" + i, now, now});
+            }
+            jdbc.batchUpdate("INSERT INTO products (category_id, name, description, short_description, price, " +
+                    "sku, vat_rate, seo_slug, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", products);
+
+            List<Object[]> values = new ArrayList<>();
+            for (int i = from; i < to; i++) {
+                for (int a = 0; a < attributeIds.size(); a++) {
+                    values.add(new Object[]{ATTRIBUTE_VALUES.get((i + a) % ATTRIBUTE_VALUES.size()),
+                            attributeIds.get(a), "BENCH-" + i});
+                }
+            }
+            jdbc.batchUpdate("INSERT INTO product_attribute_values (attribute_value, attribute_id, product_id, " +
+                    "created_at, updated_at, is_active) SELECT ?, ?, id, now(), now(), true FROM products WHERE sku = ?",
+                    values);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.ecommerce.E_commerce.benchmark;
+
+import com.ecommerce.E_commerce.dto.order.GuestOrderCreateDTO;
+import com.ecommerce.E_commerce.dto.orderitem.OrderItemCreateDTO;
+import com.ecommerce.E_commerce.exception.InsufficientStockException;
+import com.ecommerce.E_commerce.service.HotStockCounters;
+import com.ecommerce.E_commerce.service.InventoryService;
+import com.ecommerce.E_commerce.service.OrderNotificationService;
+import com.ecommerce.E_commerce.service.OrderService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Guest checkouts of a single product from many concurrent threads, once per reservation mode:
+ * {@code locking} (rows read {@code FOR UPDATE}), {@code atomic} (conditional update) and
+ * {@code atomic} fronted by the striped in-memory counters. Demand is twice the stock, so the
+ * sold-out tail is part of every run. Needs the real PostgreSQL configuration:
+ * <pre>
+ * mvn test -Dtest=HotSkuCheckoutBenchmark -Dbenchmark=hot-sku
+ * </pre>
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "hot-sku")
+class HotSkuCheckoutBenchmark {
+
+    private static final int THREADS = 32;
+    private static final int STOCK = 2_000;
+    private static final int CHECKOUTS = 2 * STOCK;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private HotStockCounters hotStockCounters;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockBean
+    private OrderNotificationService notificationService;
+
+    @Test
+    void measureHotSkuThroughput() throws Exception {
+        BenchmarkCatalog.seedProducts(jdbcTemplate, 1);
+        Long productId = jdbcTemplate.queryForObject("SELECT id FROM products WHERE sku = 'BENCH-0'", Long.class);
+
+        System.out.println(run("locking", false, productId));
+        System.out.println(run("atomic", false, productId));
+        System.out.println(run("atomic", true, productId));
+    }
+
+    private String run(String mode, boolean stripedCounter, Long productId) throws Exception {
+        ReflectionTestUtils.setField(inventoryService, "reservationMode", mode);
+        ReflectionTestUtils.setField(hotStockCounters, "enabled", stripedCounter);
+        resetStock(productId);
+        hotStockCounters.invalidate(productId);
+
+        GuestOrderCreateDTO order = new GuestOrderCreateDTO(List.of(new OrderItemCreateDTO(productId, 1)),
+                "bench@example.com", "Bench", "Mark", null, "Main St 1", null, "Warsaw", null, "00-001", "PL");
+        LatencyRecorder latency = new LatencyRecorder(mode + (stripedCounter ? " + striped counter" : ""));
+        AtomicInteger accepted = new AtomicInteger();
+        AtomicInteger soldOut = new AtomicInteger();
+        AtomicInteger remaining = new AtomicInteger(CHECKOUTS);
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> workers = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            workers.add(pool.submit(() -> {
+                start.await();
+                while (remaining.getAndDecrement() > 0) {
+                    long begin = System.nanoTime();
+                    try {
+                        orderService.createGuestOrder(order);
+                        accepted.incrementAndGet();
+                    } catch (InsufficientStockException e) {
+                        soldOut.incrementAndGet();
+                    }
+                    long elapsed = System.nanoTime() - begin;
+                    synchronized (latency) {
+                        latency.record(elapsed);
+                    }
+                }
+                return null;
+            }));
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Future<?> worker : workers) {
+            worker.get();
+        }
+        double seconds = (System.nanoTime() - begin) / 1_000_000_000.0;
+        pool.shutdown();
+
+        Integer left = jdbcTemplate.queryForObject(
+                "SELECT available_quantity FROM inventory WHERE product_id = ?", Integer.class, productId);
+        return String.format(Locale.ROOT, "%s  %8.1f checkouts/s  accepted=%d soldOut=%d stockLeft=%d",
+                latency.summary(), CHECKOUTS / seconds, accepted.get(), soldOut.get(), left);
+    }
+
+    private void resetStock(Long productId) {
+        jdbcTemplate.update("""
+                INSERT INTO inventory (product_id, available_quantity, reserved_quantity, minimum_stock_level,
+                                       created_at, updated_at, is_active)
+                VALUES (?, ?, 0, 0, now(), now(), true)
+                ON CONFLICT (product_id) DO UPDATE
+                SET available_quantity = EXCLUDED.available_quantity, reserved_quantity = 0,
+                    is_active = true, deleted_at = NULL
+                """, productId, STOCK);
+    }
+}
@@ -0,0 +1,52 @@
+package com.ecommerce.E_commerce.benchmark;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.function.Supplier;
+
+/**
+ * Collects per-call latencies of a benchmark run and reports percentiles in milliseconds.
+ */
+final class LatencyRecorder {
+
+    private final String label;
+    private long[] samples = new long[1024];
+    private int count;
+
+    LatencyRecorder(String label) {
+        this.label = label;
+    }
+
+    void record(long nanos) {
+        if (count == samples.length) {
+            samples = Arrays.copyOf(samples, count * 2);
+        }
+        samples[count++] = nanos;
+    }
+
+    <T> T time(Supplier<T> call) {
+        long start = System.nanoTime();
+        T result = call.get();
+        record(System.nanoTime() - start);
+        return result;
+    }
+
+    int count() {
+        return count;
+    }
+
+    double percentileMillis(double percentile) {
+        if (count == 0) {
+            return 0.0;
+        }
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile / 100.0 * count) - 1;
+        return sorted[Math.max(0, Math.min(index, count - 1))] / 1_000_000.0;
+    }
+
+    String summary() {
+        return String.format(Locale.ROOT, "%-28s n=%-6d p50=%8.2f ms  p99=%8.2f ms",
+                label, count, percentileMillis(50), percentileMillis(99));
+    }
+}
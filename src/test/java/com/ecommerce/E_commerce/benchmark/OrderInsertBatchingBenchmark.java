@@ -0,0 +1,96 @@
+package com.ecommerce.E_commerce.benchmark;
+
+import com.ecommerce.E_commerce.dto.order.GuestOrderCreateDTO;
+import com.ecommerce.E_commerce.dto.orderitem.OrderItemCreateDTO;
+import com.ecommerce.E_commerce.service.OrderNotificationService;
+import com.ecommerce.E_commerce.service.OrderService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Creates guest orders of growing size and reports JDBC statements prepared per order (Hibernate
+ * statistics; a batch counts once) next to checkout latency. With pooled sequence ids the item
+ * inserts of an order go out as one batch instead of one round-trip per item. Needs the real
+ * PostgreSQL configuration:
+ * <pre>
+ * mvn test -Dtest=OrderInsertBatchingBenchmark -Dbenchmark=order-insert
+ * </pre>
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "order-insert")
+class OrderInsertBatchingBenchmark {
+
+    private static final int[] ITEMS_PER_ORDER = {1, 10, 50, 200};
+    private static final int WARMUP = 20;
+    private static final int ORDERS = 200;
+    private static final int STOCK_PER_PRODUCT = 1_000_000;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockBean
+    private OrderNotificationService notificationService;
+
+    @Test
+    void measureOrderInsertStatements() {
+        int maxItems = ITEMS_PER_ORDER[ITEMS_PER_ORDER.length - 1];
+        BenchmarkCatalog.seedProducts(jdbcTemplate, maxItems);
+        List<Long> productIds = jdbcTemplate.queryForList(
+                "SELECT id FROM products WHERE sku LIKE 'BENCH-%' ORDER BY id LIMIT ?", Long.class, maxItems);
+        stockUp(productIds);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        for (int items : ITEMS_PER_ORDER) {
+            System.out.println(run(items, productIds, statistics));
+        }
+    }
+
+    private String run(int items, List<Long> productIds, Statistics statistics) {
+        GuestOrderCreateDTO order = new GuestOrderCreateDTO(
+                productIds.subList(0, items).stream().map(id -> new OrderItemCreateDTO(id, 1)).toList(),
+                "bench@example.com", "Bench", "Mark", null, "Main St 1", null, "Warsaw", null, "00-001", "PL");
+        for (int i = 0; i < WARMUP; i++) {
+            orderService.createGuestOrder(order);
+        }
+
+        statistics.clear();
+        LatencyRecorder latency = new LatencyRecorder(items + " items/order");
+        for (int i = 0; i < ORDERS; i++) {
+            long begin = System.nanoTime();
+            orderService.createGuestOrder(order);
+            latency.record(System.nanoTime() - begin);
+        }
+        return String.format(Locale.ROOT, "%s  %6.1f statements/order  %6.1f entity inserts/order",
+                latency.summary(),
+                (double) statistics.getPrepareStatementCount() / ORDERS,
+                (double) statistics.getEntityInsertCount() / ORDERS);
+    }
+
+    private void stockUp(List<Long> productIds) {
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO inventory (product_id, available_quantity, reserved_quantity, minimum_stock_level,
+                                       created_at, updated_at, is_active)
+                VALUES (?, ?, 0, 0, now(), now(), true)
+                ON CONFLICT (product_id) DO UPDATE
+                SET available_quantity = EXCLUDED.available_quantity, reserved_quantity = 0,
+                    is_active = true, deleted_at = NULL
+                """, productIds.stream().map(id -> new Object[]{id, STOCK_PER_PRODUCT}).toList());
+    }
+}
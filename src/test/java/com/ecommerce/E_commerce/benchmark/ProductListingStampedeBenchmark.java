@@ -0,0 +1,132 @@
+package com.ecommerce.E_commerce.benchmark;
+
+import com.ecommerce.E_commerce.repository.ProductRepository;
+import com.ecommerce.E_commerce.service.CacheTags;
+import com.ecommerce.E_commerce.service.OrderNotificationService;
+import com.ecommerce.E_commerce.service.ProductService;
+import com.ecommerce.E_commerce.service.TaggedCache;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Simulates an eviction storm on the hot product listings: the catalog, featured and category tags
+ * are invalidated, then {@value #READERS} concurrent requests hit the first listing pages at once.
+ * Reports JDBC statements prepared (Hibernate statistics) per storm through {@link ProductService},
+ * where concurrent misses on a key share one load, next to the same requests each querying the
+ * repository themselves, as an uncoalesced cache would. Needs the real PostgreSQL configuration:
+ * <pre>
+ * mvn test -Dtest=ProductListingStampedeBenchmark -Dbenchmark=cache-stampede
+ * </pre>
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "cache-stampede")
+class ProductListingStampedeBenchmark {
+
+    private static final int PRODUCTS = 2_000;
+    private static final int READERS = 200;
+    private static final int STORMS = 10;
+    private static final Pageable FIRST_PAGE = PageRequest.of(0, 24);
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private TaggedCache taggedCache;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockBean
+    private OrderNotificationService notificationService;
+
+    @Test
+    void measureQueriesDuringEvictionStorm() throws Exception {
+        BenchmarkCatalog.seedProducts(jdbcTemplate, PRODUCTS);
+        Long categoryId = jdbcTemplate.queryForObject(
+                "SELECT category_id FROM products WHERE sku LIKE 'BENCH-%' LIMIT 1", Long.class);
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        List<Runnable> cached = List.of(
+                () -> productService.findAll(FIRST_PAGE),
+                () -> productService.findByFeatured(true, FIRST_PAGE),
+                () -> productService.findByCategory(categoryId, FIRST_PAGE));
+        List<Runnable> uncached = List.of(
+                () -> readOnly.execute(status -> productRepository.findAll(FIRST_PAGE)),
+                () -> readOnly.execute(status -> productRepository.findByIsFeatured(true, FIRST_PAGE)),
+                () -> readOnly.execute(status -> productRepository.findByCategoryIdIn(List.of(categoryId), FIRST_PAGE)));
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        ExecutorService readers = Executors.newFixedThreadPool(READERS);
+        try {
+            cached.forEach(Runnable::run);
+            System.out.println(run("coalesced", cached, readers, statistics, () -> taggedCache.invalidate(List.of(
+                    CacheTags.CATALOG, CacheTags.featured(true), CacheTags.category(categoryId)))));
+            System.out.println(run("uncoalesced", uncached, readers, statistics, () -> { }));
+        } finally {
+            readers.shutdownNow();
+        }
+    }
+
+    private String run(String label, List<Runnable> listings, ExecutorService readers, Statistics statistics,
+                       Runnable evict) throws Exception {
+        statistics.clear();
+        LatencyRecorder latency = new LatencyRecorder(label);
+        for (int storm = 0; storm < STORMS; storm++) {
+            evict.run();
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> requests = new ArrayList<>(READERS);
+            for (int i = 0; i < READERS; i++) {
+                Runnable listing = listings.get(i % listings.size());
+                requests.add(readers.submit(() -> {
+                    start.await();
+                    long begin = System.nanoTime();
+                    listing.run();
+                    long elapsed = System.nanoTime() - begin;
+                    synchronized (latency) {
+                        latency.record(elapsed);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> request : requests) {
+                request.get(1, TimeUnit.MINUTES);
+            }
+        }
+        return String.format(Locale.ROOT, "%s  %7.1f statements/storm  %7.1f HQL queries/storm",
+                latency.summary(),
+                (double) statistics.getPrepareStatementCount() / STORMS,
+                (double) statistics.getQueryExecutionCount() / STORMS);
+    }
+}
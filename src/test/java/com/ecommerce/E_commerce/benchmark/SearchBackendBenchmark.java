@@ -0,0 +1,84 @@
+package com.ecommerce.E_commerce.benchmark;
+
+import com.ecommerce.E_commerce.model.Product;
+import com.ecommerce.E_commerce.service.SearchService;
+import jakarta.persistence.EntityManager;
+import org.hibernate.search.mapper.orm.Search;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-query latency of the configured search backend on a seeded 100k-product catalog. Run it
+ * once per backend and compare the summaries:
+ * <pre>
+ * mvn test -Dtest=SearchBackendBenchmark -Dbenchmark=search-backend -Dapp.search.backend=elasticsearch
+ * mvn test -Dtest=SearchBackendBenchmark -Dbenchmark=search-backend -Dapp.search.backend=lucene
+ * </pre>
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "search-backend")
+class SearchBackendBenchmark {
+
+    private static final int CATALOG_SIZE = 100_000;
+    private static final int WARMUP_ROUNDS = 50;
+    private static final int MEASURED_ROUNDS = 500;
+
+    @Autowired
+    private SearchService searchService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager em;
+
+    @Value("${app.search.backend:elasticsearch}")
+    private String backend;
+
+    @Test
+    void measureBackendLatency() throws InterruptedException {
+        BenchmarkCatalog.seedProducts(jdbcTemplate, CATALOG_SIZE);
+        Search.session(em).massIndexer(Product.class)
+                .threadsToLoadObjects(4)
+                .batchSizeToLoadObjects(100)
+                .startAndWait();
+
+        Pageable page = PageRequest.of(0, 20);
+        List<Map<String, String>> attributeFilters = List.of(
+                Map.of(),
+                Map.of(BenchmarkCatalog.ATTRIBUTE_NAMES.get(0), BenchmarkCatalog.ATTRIBUTE_VALUES.get(0)));
+
+        LatencyRecorder fullText = new LatencyRecorder(backend + ": full-text query");
+        LatencyRecorder suggest = new LatencyRecorder(backend + ": suggest (uncached)");
+        for (int round = 0; round < WARMUP_ROUNDS + MEASURED_ROUNDS; round++) {
+            String query = BenchmarkCatalog.QUERY_TERMS.get(round % BenchmarkCatalog.QUERY_TERMS.size());
+            Map<String, String> attributes = attributeFilters.get(round % attributeFilters.size());
+
+            long start = System.nanoTime();
+            searchService.searchWithProjections(query, null, null, null, true, attributes, page);
+            long fullTextNanos = System.nanoTime() - start;
+
+            // bypasses the prefix cache: a distinct limit per round is a distinct cache key
+            start = System.nanoTime();
+            searchService.suggest(query.substring(0, 3), 1 + round % 1000);
+            long suggestNanos = System.nanoTime() - start;
+
+            if (round >= WARMUP_ROUNDS) {
+                fullText.record(fullTextNanos);
+                suggest.record(suggestNanos);
+            }
+        }
+
+        System.out.println(fullText.summary());
+        System.out.println(suggest.summary());
+    }
+}
@@ -0,0 +1,99 @@
+package com.ecommerce.E_commerce.benchmark;
+
+import com.ecommerce.E_commerce.model.Product;
+import com.ecommerce.E_commerce.service.SearchService;
+import jakarta.persistence.EntityManager;
+import org.hibernate.search.mapper.orm.Search;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares p50/p99 latency of the entity-loading and projection search paths on a seeded
+ * 100k-product catalog. Needs the real PostgreSQL + Elasticsearch configuration, so it only
+ * runs on demand:
+ * <pre>
+ * mvn test -Dtest=SearchProjectionBenchmark -Dbenchmark=search-projection
+ * </pre>
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "search-projection")
+class SearchProjectionBenchmark {
+
+    private static final int CATALOG_SIZE = 100_000;
+    private static final int WARMUP_ROUNDS = 50;
+    private static final int MEASURED_ROUNDS = 500;
+
+    @Autowired
+    private SearchService searchService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void compareEntityAndProjectionPaths() throws InterruptedException {
+        BenchmarkCatalog.seedProducts(jdbcTemplate, CATALOG_SIZE);
+        reindex();
+
+        Pageable page = PageRequest.of(0, 20);
+        List<Map<String, String>> attributeFilters = List.of(
+                Map.of(),
+                Map.of(BenchmarkCatalog.ATTRIBUTE_NAMES.get(0), BenchmarkCatalog.ATTRIBUTE_VALUES.get(0)));
+
+        LatencyRecorder entity = new LatencyRecorder("entity path");
+        LatencyRecorder projection = new LatencyRecorder("projection path");
+
+        for (int round = 0; round < WARMUP_ROUNDS + MEASURED_ROUNDS; round++) {
+            boolean measured = round >= WARMUP_ROUNDS;
+            Map<String, String> attributes = attributeFilters.get(round % attributeFilters.size());
+            String query = BenchmarkCatalog.QUERY_TERMS.get(round % BenchmarkCatalog.QUERY_TERMS.size());
+
+            long start = System.nanoTime();
+            var entityPage = searchService.searchWithEntities(query, null, null, null, true, attributes, page);
+            long entityNanos = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            var projectionPage = searchService.searchWithProjections(query, null, null, null, true, attributes, page);
+            long projectionNanos = System.nanoTime() - start;
+
+            if (measured) {
+                entity.record(entityNanos);
+                projection.record(projectionNanos);
+                assertEquals(entityPage.getTotalElements(), projectionPage.getTotalElements());
+            }
+        }
+
+        System.out.println(entity.summary());
+        System.out.println(projection.summary());
+    }
+
+    private void reindex() throws InterruptedException {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        Long indexed = tx.execute(status -> Search.session(em).search(Product.class)
+                .where(f -> f.matchAll()).fetchTotalHitCount());
+        if (indexed != null && indexed >= CATALOG_SIZE) {
+            return;
+        }
+        Search.session(em).massIndexer(Product.class)
+                .threadsToLoadObjects(4)
+                .batchSizeToLoadObjects(100)
+                .startAndWait();
+    }
+}
@@ -0,0 +1,85 @@
+package com.ecommerce.E_commerce.benchmark;
+
+import com.ecommerce.E_commerce.model.Product;
+import com.ecommerce.E_commerce.service.SearchService;
+import jakarta.persistence.EntityManager;
+import org.hibernate.search.mapper.orm.Search;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Measures /api/search/suggest latency on a seeded 100k-product catalog, once with the prefix
+ * cache cleared before every call (Elasticsearch round trip) and once with hot prefixes. Needs
+ * the real PostgreSQL + Elasticsearch configuration:
+ * <pre>
+ * mvn test -Dtest=SuggestBenchmark -Dbenchmark=suggest
+ * </pre>
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "suggest")
+class SuggestBenchmark {
+
+    private static final int CATALOG_SIZE = 100_000;
+    private static final int WARMUP_ROUNDS = 50;
+    private static final int MEASURED_ROUNDS = 1000;
+    private static final int LIMIT = 5;
+
+    @Autowired
+    private SearchService searchService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager em;
+
+    @Test
+    void measureSuggestLatency() throws InterruptedException {
+        BenchmarkCatalog.seedProducts(jdbcTemplate, CATALOG_SIZE);
+        Search.session(em).massIndexer(Product.class)
+                .threadsToLoadObjects(4)
+                .batchSizeToLoadObjects(100)
+                .startAndWait();
+
+        List<String> prefixes = new ArrayList<>();
+        for (String term : BenchmarkCatalog.QUERY_TERMS) {
+            for (int length = 2; length <= term.length(); length++) {
+                prefixes.add(term.substring(0, length));
+            }
+        }
+
+        LatencyRecorder cold = new LatencyRecorder("suggest, prefix cache cleared");
+        LatencyRecorder hot = new LatencyRecorder("suggest, prefix cache hit");
+        for (int round = 0; round < WARMUP_ROUNDS + MEASURED_ROUNDS; round++) {
+            String prefix = prefixes.get(round % prefixes.size());
+
+            Objects.requireNonNull(cacheManager.getCache("search_suggestions")).clear();
+            long start = System.nanoTime();
+            searchService.suggest(prefix, LIMIT);
+            long coldNanos = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            searchService.suggest(prefix, LIMIT);
+            long hotNanos = System.nanoTime() - start;
+
+            if (round >= WARMUP_ROUNDS) {
+                cold.record(coldNanos);
+                hot.record(hotNanos);
+            }
+        }
+
+        System.out.println(cold.summary());
+        System.out.println(hot.summary());
+    }
+}
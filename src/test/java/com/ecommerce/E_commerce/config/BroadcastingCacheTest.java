@@ -0,0 +1,96 @@
+package com.ecommerce.E_commerce.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BroadcastingCacheTest {
+
+    private BroadcastingCache nodeA;
+    private BroadcastingCache nodeB;
+
+    @BeforeEach
+    void setUp() {
+        InMemoryCacheInvalidationBus busA = new InMemoryCacheInvalidationBus();
+        InMemoryCacheInvalidationBus busB = busA.joinNode();
+        nodeA = new BroadcastingCache(new ConcurrentMapCache("products"), busA);
+        nodeB = new BroadcastingCache(new ConcurrentMapCache("products"), busB);
+        busB.subscribe(nodeB::applyRemote);
+        busA.subscribe(nodeA::applyRemote);
+    }
+
+    @Test
+    void evict_dropsKeyOnOtherNodesOnly() {
+        nodeA.put(5L, "a");
+        nodeB.put(5L, "b");
+        nodeB.put("5", "slug");
+
+        nodeA.evict(5L);
+
+        assertThat(nodeA.get(5L)).isNull();
+        assertThat(nodeB.get(5L)).isNull();
+        assertThat(nodeB.get("5")).isNotNull();
+    }
+
+    @Test
+    void evict_withKeyThatCannotTravelClearsOtherNodes() {
+        nodeB.put(SimpleKey.EMPTY, "all");
+        nodeB.put(1L, "one");
+
+        nodeA.evict(SimpleKey.EMPTY);
+
+        assertThat(nodeB.get(1L)).isNull();
+    }
+
+    @Test
+    void clear_insideTransactionReachesOtherNodesAfterCommit() {
+        nodeB.put(1L, "one");
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            nodeA.clear();
+            assertThat(nodeB.get(1L)).isNotNull();
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(nodeB.get(1L)).isNull();
+    }
+
+    @Test
+    void keys_roundTripThroughTheirTextForm() {
+        assertThat(BroadcastingCache.decodeKey(BroadcastingCache.encodeKey(42L))).isEqualTo(42L);
+        assertThat(BroadcastingCache.decodeKey(BroadcastingCache.encodeKey(7))).isEqualTo(7);
+        assertThat(BroadcastingCache.decodeKey(BroadcastingCache.encodeKey("cat_1_0_UNSORTED"))).isEqualTo("cat_1_0_UNSORTED");
+        assertThat(BroadcastingCache.encodeKey(SimpleKey.EMPTY)).isNull();
+    }
+
+    @Test
+    void meterBinder_exposesStatsOfTheWrappedCaffeineCache() {
+        BroadcastingCache cache = new BroadcastingCache(
+                new CaffeineCache("product_lists", Caffeine.newBuilder().recordStats().build()),
+                new InMemoryCacheInvalidationBus());
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        new BroadcastingCacheMeterBinderProvider().getMeterBinder(cache, Tags.empty()).bindTo(registry);
+
+        cache.put("all", "page");
+        cache.get("all");
+        cache.get("featured");
+
+        assertThat(registry.get("cache.gets").tags("cache", "product_lists", "result", "hit").functionCounter().count())
+                .isEqualTo(1.0);
+        assertThat(registry.get("cache.gets").tags("cache", "product_lists", "result", "miss").functionCounter().count())
+                .isEqualTo(1.0);
+        assertThat(cache.get("all")).isNotNull();
+    }
+}
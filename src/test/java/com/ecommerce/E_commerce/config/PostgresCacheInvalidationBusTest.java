@@ -0,0 +1,66 @@
+package com.ecommerce.E_commerce.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class PostgresCacheInvalidationBusTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private PostgresCacheInvalidationBus bus;
+    private List<CacheInvalidation> received;
+
+    @BeforeEach
+    void setUp() {
+        bus = new PostgresCacheInvalidationBus(mock(JdbcTemplate.class), mock(PlatformTransactionManager.class),
+                objectMapper, mock(DataSourceProperties.class), "cache_invalidation",
+                Duration.ofMillis(500), Duration.ofSeconds(5));
+        received = new ArrayList<>();
+        bus.subscribe(received::add);
+    }
+
+    @Test
+    void receive_ignoresOwnMessagesAndDeliversOthers() throws Exception {
+        CacheInvalidation evict = CacheInvalidation.evict("products", "L5");
+
+        bus.payloads(evict).forEach(bus::receive);
+        bus.receive(objectMapper.writeValueAsString(new PostgresCacheInvalidationBus.Envelope("other-node", evict)));
+
+        assertThat(received).containsExactly(evict);
+    }
+
+    @Test
+    void payloads_splitsTagsThatExceedNotifyLimit() throws Exception {
+        Set<String> tags = new LinkedHashSet<>();
+        IntStream.range(0, 2_000).forEach(i -> tags.add("product:" + (1_000_000 + i)));
+
+        List<String> payloads = bus.payloads(CacheInvalidation.tags(tags));
+
+        assertThat(payloads).hasSizeGreaterThan(1).allMatch(payload -> payload.length() < 8000);
+        Set<String> delivered = new LinkedHashSet<>();
+        for (String payload : payloads) {
+            delivered.addAll(objectMapper.readValue(payload, PostgresCacheInvalidationBus.Envelope.class).invalidation().tags());
+        }
+        assertThat(delivered).isEqualTo(tags);
+    }
+
+    @Test
+    void receive_ignoresMalformedPayload() {
+        bus.receive("{not json");
+
+        assertThat(received).isEmpty();
+    }
+}
@@ -8,6 +8,8 @@ import com.ecommerce.E_commerce.dto.payment.PaymentDTO;
 import com.ecommerce.E_commerce.model.ERole;
 import com.ecommerce.E_commerce.model.Role;
 import com.ecommerce.E_commerce.model.User;
+import com.ecommerce.E_commerce.service.BulkOrderIngestionService;
+import com.ecommerce.E_commerce.service.OrderIdempotencyStore;
 import com.ecommerce.E_commerce.service.OrderService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
@@ -22,12 +24,15 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.Authentication;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
@@ -45,6 +50,12 @@ class OrderControllerTest {
     @MockBean
     private OrderService orderService;
 
+    @MockBean
+    private OrderIdempotencyStore idempotencyStore;
+
+    @MockBean
+    private BulkOrderIngestionService bulkOrderIngestionService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -82,4 +93,22 @@ class OrderControllerTest {
                 .andExpect(jsonPath("$.id").value(1))
                 .andExpect(jsonPath("$.status").value(OrderStatus.NEW));
     }
-}
\ No newline at end of file
+
+    @Test
+    void importOrders_ShouldUseBulkImportAsyncTimeout() throws Exception {
+        // Given
+        Mockito.when(bulkOrderIngestionService.requestTimeout()).thenReturn(Duration.ofMinutes(17));
+
+        // When
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.post("/api/orders/bulk")
+                        .with(csrf())
+                        .contentType("application/x-ndjson")
+                        .accept("application/x-ndjson")
+                        .content("{}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        assertEquals(Duration.ofMinutes(17).toMillis(), result.getRequest().getAsyncContext().getTimeout());
+    }
+}
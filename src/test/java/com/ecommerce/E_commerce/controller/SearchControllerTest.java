@@ -16,12 +16,15 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -107,5 +110,19 @@ class SearchControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.content").isArray());
     }
-}
 
+    @Test
+    void exportSearch_ShouldUseExportAsyncTimeout() throws Exception {
+        // Given
+        Mockito.when(searchService.exportTimeout()).thenReturn(Duration.ofMinutes(45));
+
+        // When
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.post("/api/search/export")
+                        .accept("application/x-ndjson"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        assertEquals(Duration.ofMinutes(45).toMillis(), result.getRequest().getAsyncContext().getTimeout());
+    }
+}
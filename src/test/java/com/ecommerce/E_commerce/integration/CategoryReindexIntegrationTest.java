@@ -0,0 +1,96 @@
+package com.ecommerce.E_commerce.integration;
+
+import com.ecommerce.E_commerce.config.JwtAuthFilter;
+import com.ecommerce.E_commerce.model.Category;
+import com.ecommerce.E_commerce.repository.CategoryRepository;
+import com.ecommerce.E_commerce.service.SearchIndexQueue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.ai.chat.memory.ChatMemory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Flushes real category updates through Hibernate and checks that only changes to fields the
+ * product search documents embed fan out to the category's products.
+ */
+@SpringBootTest(properties = {
+        "spring.mail.host=localhost",
+        "spring.mail.username=test@example.com",
+        "app.contact.admin.email=admin@example.com",
+        "security.jwt.secret-key=dGVzdFNlY3JldEtleTEyMzQ1Njc4OTAxMjM0NTY3ODkwMTIzNDU2Nzg5MDEy",
+        "security.jwt.expiration-time=3600000",
+        "spring.ai.vertex.ai.gemini.chat.options.model=test",
+        "spring.ai.vertex.ai.gemini.chat.options.temperature=0",
+        "spring.ai.vertex.ai.gemini.project-id=dummy-project",
+        "spring.ai.vertex.ai.gemini.location=us-central1"
+})
+@ActiveProfiles("test")
+class CategoryReindexIntegrationTest {
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @MockBean
+    private SearchIndexQueue searchIndexQueue;
+
+    @MockBean
+    private JwtAuthFilter jwtAuthFilter;
+
+    @MockBean
+    private ChatMemory chatMemory;
+
+    private Long categoryId;
+
+    @BeforeEach
+    void seedCategory() {
+        String slug = "reindex-" + System.nanoTime();
+        categoryId = transactionTemplate.execute(status -> {
+            Category category = new Category();
+            category.setName("Garden");
+            category.setSeoSlug(slug);
+            category.setCreatedAt(Instant.now());
+            category.setUpdatedAt(Instant.now());
+            return categoryRepository.save(category).getId();
+        });
+        Mockito.clearInvocations(searchIndexQueue);
+    }
+
+    @Test
+    void updateWithoutRename_doesNotReindexProducts() {
+        // When
+        transactionTemplate.executeWithoutResult(status -> {
+            Category category = categoryRepository.findById(categoryId).orElseThrow();
+            category.setDescription("Plants and tools");
+            category.setUpdatedAt(Instant.now());
+        });
+
+        // Then
+        verify(searchIndexQueue, never()).enqueueProductsInCategory(anyLong());
+    }
+
+    @Test
+    void rename_reindexesProductsOfCategory() {
+        // When
+        transactionTemplate.executeWithoutResult(status -> {
+            Category category = categoryRepository.findById(categoryId).orElseThrow();
+            category.setName("Garden & Patio");
+        });
+
+        // Then
+        verify(searchIndexQueue).enqueueProductsInCategory(categoryId);
+    }
+}
@@ -0,0 +1,177 @@
+package com.ecommerce.E_commerce.integration;
+
+import com.ecommerce.E_commerce.config.JwtAuthFilter;
+import com.ecommerce.E_commerce.dto.common.KeysetPageDTO;
+import com.ecommerce.E_commerce.dto.inventory.InventoryDTO;
+import com.ecommerce.E_commerce.exception.InvalidOperationException;
+import com.ecommerce.E_commerce.model.Category;
+import com.ecommerce.E_commerce.model.Inventory;
+import com.ecommerce.E_commerce.model.Product;
+import com.ecommerce.E_commerce.repository.CategoryRepository;
+import com.ecommerce.E_commerce.repository.InventoryRepository;
+import com.ecommerce.E_commerce.repository.ProductRepository;
+import com.ecommerce.E_commerce.service.InventoryService;
+import com.ecommerce.E_commerce.service.OrderNotificationService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.ai.chat.memory.ChatMemory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Walks the admin inventory listing page by page against H2 and checks that the keyset cursor
+ * visits every matching row exactly once, newest first, with filters applied.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.mail.host=localhost",
+        "spring.mail.username=test@example.com",
+        "app.contact.admin.email=admin@example.com",
+        "security.jwt.secret-key=dGVzdFNlY3JldEtleTEyMzQ1Njc4OTAxMjM0NTY3ODkwMTIzNDU2Nzg5MDEy",
+        "security.jwt.expiration-time=3600000",
+        "spring.ai.vertex.ai.gemini.chat.options.model=test",
+        "spring.ai.vertex.ai.gemini.chat.options.temperature=0",
+        "spring.ai.vertex.ai.gemini.project-id=dummy-project",
+        "spring.ai.vertex.ai.gemini.location=us-central1"
+})
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class InventoryKeysetIntegrationTest {
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockBean
+    private JwtAuthFilter jwtAuthFilter;
+
+    @MockBean
+    private ChatMemory chatMemory;
+
+    @MockBean
+    private OrderNotificationService notificationService;
+
+    @BeforeAll
+    void seedInventory() {
+        transactionTemplate.executeWithoutResult(status -> {
+            Category garden = new Category();
+            garden.setName("Garden");
+            garden.setSeoSlug("keyset-garden");
+            garden.setCreatedAt(Instant.now());
+            garden.setUpdatedAt(Instant.now());
+            categoryRepository.save(garden);
+
+            for (int i = 1; i <= 5; i++) {
+                Inventory inventory = new Inventory();
+                inventory.setProduct(product("Keyset rake " + i, "keyset-rake-" + i, garden));
+                inventory.setAvailableQuantity(i);
+                inventory.setMinimumStockLevel(3);
+                inventoryRepository.save(inventory);
+            }
+        });
+    }
+
+    @Test
+    void scroll_visitsEveryMatchingRowOnceNewestFirst() {
+        List<InventoryDTO> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            KeysetPageDTO<InventoryDTO> page = inventoryService.scrollByMultipleCriteria(
+                    null, "keyset rake", null, null, null, null, null, null, cursor, 2, false);
+            assertThat(page.totalElements()).isNull();
+            seen.addAll(page.content());
+            cursor = page.nextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertThat(pages).isEqualTo(3);
+        assertThat(seen).extracting(InventoryDTO::id).doesNotHaveDuplicates().hasSize(5);
+        assertThat(seen).isSortedAccordingTo(Comparator.comparing(InventoryDTO::createdAt)
+                .thenComparing(InventoryDTO::id).reversed());
+        assertThat(seen).extracting(InventoryDTO::productName).allMatch(name -> name.startsWith("Keyset rake"));
+    }
+
+    @Test
+    void scroll_breaksCreatedAtTiesById() {
+        Instant sameInstant = Instant.parse("2026-02-01T08:00:00Z");
+        jdbcTemplate.update("UPDATE inventory SET created_at = ? WHERE product_id IN "
+                + "(SELECT id FROM products WHERE seo_slug LIKE 'keyset-rake-%')", Timestamp.from(sameInstant));
+
+        List<InventoryDTO> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            KeysetPageDTO<InventoryDTO> page = inventoryService.scrollByMultipleCriteria(
+                    null, "keyset rake", null, null, null, null, null, null, cursor, 2, false);
+            seen.addAll(page.content());
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        assertThat(seen).extracting(InventoryDTO::id).doesNotHaveDuplicates().hasSize(5)
+                .isSortedAccordingTo(Comparator.reverseOrder());
+    }
+
+    @Test
+    void scroll_appliesOnlyGivenFiltersAndCountsOnRequest() {
+        KeysetPageDTO<InventoryDTO> page = inventoryService.scrollByMultipleCriteria(
+                null, "keyset rake", null, null, null, null, true, null, null, 20, true);
+
+        assertThat(page.totalElements()).isEqualTo(2L);
+        assertThat(page.nextCursor()).isNull();
+        assertThat(page.content()).extracting(InventoryDTO::availableQuantity).containsExactlyInAnyOrder(1, 2);
+    }
+
+    @Test
+    void scroll_rejectsTamperedCursor() {
+        assertThatThrownBy(() -> inventoryService.scrollByMultipleCriteria(
+                null, null, null, null, null, null, null, null, "%%%", 20, false))
+                .isInstanceOf(InvalidOperationException.class);
+    }
+
+    private Product product(String name, String slug, Category category) {
+        Product product = new Product();
+        product.setName(name);
+        product.setDescription(name + " description");
+        product.setShortDescription(name);
+        product.setPrice(new BigDecimal("49.00"));
+        product.setVatRate(new BigDecimal("23.00"));
+        product.setIsFeatured(false);
+        product.setShippingCost(BigDecimal.ZERO);
+        product.setSeoSlug(slug);
+        product.setSku("SKU-" + slug);
+        product.setCategory(category);
+        product.setCreatedAt(Instant.now());
+        product.setUpdatedAt(Instant.now());
+        product.setIsActive(true);
+        return productRepository.save(product);
+    }
+}
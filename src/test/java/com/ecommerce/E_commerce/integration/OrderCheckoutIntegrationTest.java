@@ -0,0 +1,232 @@
+package com.ecommerce.E_commerce.integration;
+
+import com.ecommerce.E_commerce.config.JwtAuthFilter;
+import com.ecommerce.E_commerce.dto.order.GuestOrderCreateDTO;
+import com.ecommerce.E_commerce.dto.order.OrderDTO;
+import com.ecommerce.E_commerce.dto.order.OrderSummaryDTO;
+import com.ecommerce.E_commerce.dto.orderitem.OrderItemCreateDTO;
+import com.ecommerce.E_commerce.dto.orderitem.OrderItemDTO;
+import com.ecommerce.E_commerce.dto.payment.GuestPaymentCreateDTO;
+import com.ecommerce.E_commerce.dto.payment.PaymentDTO;
+import com.ecommerce.E_commerce.dto.payment.PaymentUpdateDTO;
+import com.ecommerce.E_commerce.model.Attribute;
+import com.ecommerce.E_commerce.model.Category;
+import com.ecommerce.E_commerce.model.CategoryAttributeType;
+import com.ecommerce.E_commerce.model.Inventory;
+import com.ecommerce.E_commerce.model.OrderStatus;
+import com.ecommerce.E_commerce.model.PaymentMethod;
+import com.ecommerce.E_commerce.model.PaymentStatus;
+import com.ecommerce.E_commerce.model.Product;
+import com.ecommerce.E_commerce.model.ProductAttributeValue;
+import com.ecommerce.E_commerce.repository.AttributeRepository;
+import com.ecommerce.E_commerce.repository.CategoryRepository;
+import com.ecommerce.E_commerce.repository.InventoryRepository;
+import com.ecommerce.E_commerce.repository.OrderRepository;
+import com.ecommerce.E_commerce.repository.ProductRepository;
+import com.ecommerce.E_commerce.service.OrderNotificationService;
+import com.ecommerce.E_commerce.service.OrderService;
+import com.ecommerce.E_commerce.service.PaymentService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.ai.chat.memory.ChatMemory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Places a guest order against H2 and checks that checkout prices items from the product
+ * projection: the response is complete, but no product attribute values are ever loaded.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.mail.host=localhost",
+        "spring.mail.username=test@example.com",
+        "app.contact.admin.email=admin@example.com",
+        "security.jwt.secret-key=dGVzdFNlY3JldEtleTEyMzQ1Njc4OTAxMjM0NTY3ODkwMTIzNDU2Nzg5MDEy",
+        "security.jwt.expiration-time=3600000",
+        "spring.ai.vertex.ai.gemini.chat.options.model=test",
+        "spring.ai.vertex.ai.gemini.chat.options.temperature=0",
+        "spring.ai.vertex.ai.gemini.project-id=dummy-project",
+        "spring.ai.vertex.ai.gemini.location=us-central1"
+})
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class OrderCheckoutIntegrationTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private AttributeRepository attributeRepository;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockBean
+    private JwtAuthFilter jwtAuthFilter;
+
+    @MockBean
+    private ChatMemory chatMemory;
+
+    @MockBean
+    private OrderNotificationService notificationService;
+
+    private Long mugId;
+    private Long bowlId;
+
+    @BeforeAll
+    void seedCatalog() {
+        transactionTemplate.executeWithoutResult(status -> {
+            Category kitchen = new Category();
+            kitchen.setName("Kitchen");
+            kitchen.setSeoSlug("checkout-kitchen");
+            kitchen.setCreatedAt(Instant.now());
+            kitchen.setUpdatedAt(Instant.now());
+            categoryRepository.save(kitchen);
+
+            Attribute color = new Attribute();
+            color.setName("Kolor");
+            color.setType(CategoryAttributeType.TEXT);
+            attributeRepository.save(color);
+
+            mugId = stocked(product("Checkout mug", "checkout-mug", "19.99", kitchen, color)).getId();
+            bowlId = stocked(product("Checkout bowl", "checkout-bowl", "29.99", kitchen, color)).getId();
+        });
+    }
+
+    @Test
+    void createGuestOrder_pricesItemsWithoutLoadingProductAttributes() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        OrderDTO order = orderService.createGuestOrder(new GuestOrderCreateDTO(
+                List.of(new OrderItemCreateDTO(mugId, 2), new OrderItemCreateDTO(bowlId, 1)),
+                "buyer@example.com", "Jan", "Kowalski", null, "Main St 1", null, "Warsaw", null, "00-001", "PL"));
+
+        assertThat(order.totalAmount()).isEqualByComparingTo("89.97");
+        assertThat(order.items()).extracting(OrderItemDTO::price)
+                .containsExactlyInAnyOrder(new BigDecimal("19.99"), new BigDecimal("29.99"));
+        assertThat(order.items()).extracting(item -> item.product().name())
+                .containsExactlyInAnyOrder("Checkout mug", "Checkout bowl");
+        assertThat(order.items()).extracting(item -> item.product().categoryName())
+                .containsOnly("Kitchen");
+        assertThat(statistics.getEntityStatistics(ProductAttributeValue.class.getName()).getLoadCount()).isZero();
+    }
+
+    @Test
+    void createGuestOrder_refreshesOrderListRow() {
+        OrderDTO order = orderService.createGuestOrder(new GuestOrderCreateDTO(
+                List.of(new OrderItemCreateDTO(mugId, 3)),
+                "lister@example.com", "Anna", "Nowak", null, "Main St 2", null, "Warsaw", null, "00-001", "PL"));
+
+        Page<OrderSummaryDTO> orders = orderService.findAll(PageRequest.of(0, 50, Sort.by("id").descending()));
+
+        assertThat(orders.getContent()).filteredOn(summary -> summary.id().equals(order.id()))
+                .singleElement()
+                .satisfies(summary -> {
+                    assertThat(summary.customerEmail()).isEqualTo("lister@example.com");
+                    assertThat(summary.itemCount()).isEqualTo(3);
+                    assertThat(summary.firstProductName()).isEqualTo("Checkout mug");
+                });
+    }
+
+    @Test
+    @WithMockUser(roles = "OWNER")
+    void expiredReservationWithPendingPayment_isNotSweptAndConfirmsWhenPaid() {
+        OrderDTO abandoned = orderService.createGuestOrder(guestOrder("abandoned@example.com"));
+        OrderDTO transfer = orderService.createGuestOrder(guestOrder("transfer@example.com"));
+        PaymentDTO payment = paymentService.createGuestPayment(new GuestPaymentCreateDTO(
+                transfer.id(), "transfer@example.com", transfer.totalAmount(), PaymentMethod.BANK_TRANSFER, null, null));
+        jdbcTemplate.update("UPDATE order_items SET reservation_expires_at = ? WHERE order_id IN (?, ?)",
+                Timestamp.from(Instant.now().minusSeconds(3600)), abandoned.id(), transfer.id());
+
+        List<Long> swept = transactionTemplate.execute(status -> {
+            List<Long> locked = orderRepository.lockExpiredReservationOrderIds(Instant.now(), 5, 100);
+            orderService.cancelExpiredReservations(locked);
+            return locked;
+        });
+        paymentService.update(payment.id(), new PaymentUpdateDTO(PaymentStatus.COMPLETED, null, null));
+
+        assertThat(swept).contains(abandoned.id()).doesNotContain(transfer.id());
+        assertThat(orderService.getById(abandoned.id()).status()).isEqualTo(OrderStatus.CANCELLED);
+        assertThat(orderService.getById(transfer.id()).status()).isEqualTo(OrderStatus.CONFIRMED);
+    }
+
+    private GuestOrderCreateDTO guestOrder(String email) {
+        return new GuestOrderCreateDTO(List.of(new OrderItemCreateDTO(bowlId, 1)),
+                email, "Ewa", "Lis", null, "Main St 3", null, "Warsaw", null, "00-001", "PL");
+    }
+
+    private Product product(String name, String slug, String price, Category category, Attribute attribute) {
+        Product product = new Product();
+        product.setName(name);
+        product.setDescription(name + " description");
+        product.setShortDescription(name);
+        product.setPrice(new BigDecimal(price));
+        product.setVatRate(new BigDecimal("23.00"));
+        product.setIsFeatured(false);
+        product.setShippingCost(BigDecimal.ZERO);
+        product.setSeoSlug(slug);
+        product.setSku("SKU-" + slug);
+        product.setCategory(category);
+        product.setCreatedAt(Instant.now());
+        product.setUpdatedAt(Instant.now());
+        product.setIsActive(true);
+
+        ProductAttributeValue value = new ProductAttributeValue();
+        value.setProduct(product);
+        value.setAttribute(attribute);
+        value.setAttributeValue("Czerwony");
+        product.getAttributeValues().add(value);
+        return productRepository.save(product);
+    }
+
+    private Product stocked(Product product) {
+        Inventory inventory = new Inventory();
+        inventory.setProduct(product);
+        inventory.setAvailableQuantity(10);
+        inventory.setCreatedAt(Instant.now());
+        inventory.setUpdatedAt(Instant.now());
+        inventoryRepository.save(inventory);
+        return product;
+    }
+}
@@ -0,0 +1,172 @@
+package com.ecommerce.E_commerce.integration;
+
+import com.ecommerce.E_commerce.config.JwtAuthFilter;
+import com.ecommerce.E_commerce.dto.product.ProductSearchDTO;
+import com.ecommerce.E_commerce.dto.search.ProductCursorPageDTO;
+import com.ecommerce.E_commerce.exception.InvalidOperationException;
+import com.ecommerce.E_commerce.model.Attribute;
+import com.ecommerce.E_commerce.model.Category;
+import com.ecommerce.E_commerce.model.CategoryAttributeType;
+import com.ecommerce.E_commerce.model.Product;
+import com.ecommerce.E_commerce.model.ProductAttributeValue;
+import com.ecommerce.E_commerce.repository.AttributeRepository;
+import com.ecommerce.E_commerce.repository.CategoryRepository;
+import com.ecommerce.E_commerce.repository.ProductRepository;
+import com.ecommerce.E_commerce.service.SearchService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.ai.chat.memory.ChatMemory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs the real search queries against the embedded Lucene backend (in-memory directory), so
+ * full-text and attribute filtering are covered without an Elasticsearch cluster.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.search.enabled=true",
+        "app.search.backend=lucene",
+        "app.search.lucene.directory-type=local-heap",
+        "app.search.indexing.mode=direct",
+        "spring.mail.host=localhost",
+        "spring.mail.username=test@example.com",
+        "app.contact.admin.email=admin@example.com",
+        "security.jwt.secret-key=dGVzdFNlY3JldEtleTEyMzQ1Njc4OTAxMjM0NTY3ODkwMTIzNDU2Nzg5MDEy",
+        "security.jwt.expiration-time=3600000",
+        "spring.ai.vertex.ai.gemini.chat.options.model=test",
+        "spring.ai.vertex.ai.gemini.chat.options.temperature=0",
+        "spring.ai.vertex.ai.gemini.project-id=dummy-project",
+        "spring.ai.vertex.ai.gemini.location=us-central1"
+})
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class SearchLuceneBackendIntegrationTest {
+
+    @Autowired
+    private SearchService searchService;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private AttributeRepository attributeRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @MockBean
+    private JwtAuthFilter jwtAuthFilter;
+
+    @MockBean
+    private ChatMemory chatMemory;
+
+    @BeforeAll
+    void seedCatalog() {
+        transactionTemplate.executeWithoutResult(status -> {
+            Category kitchen = category("Kitchen", "kitchen");
+            Attribute color = new Attribute();
+            color.setName("Kolor");
+            color.setType(CategoryAttributeType.TEXT);
+            attributeRepository.save(color);
+
+            productRepository.save(product("Ceramic mug", "ceramic-mug", "19.99", kitchen, color, "Czerwony"));
+            productRepository.save(product("Ceramic bowl", "ceramic-bowl", "29.99", kitchen, color, "Niebieski"));
+            productRepository.save(product("Glass vase", "glass-vase", "49.99", kitchen, color, "Czerwony"));
+        });
+    }
+
+    @Test
+    void search_matchesFullTextQuery() {
+        Page<ProductSearchDTO> results = searchService.searchWithProjections(
+                "ceramic", null, null, null, true, null, PageRequest.of(0, 10));
+
+        assertThat(results.getContent()).extracting(ProductSearchDTO::name)
+                .containsExactlyInAnyOrder("Ceramic mug", "Ceramic bowl");
+    }
+
+    @Test
+    void search_filtersByNormalizedAttribute() {
+        Page<ProductSearchDTO> results = searchService.searchWithProjections(
+                null, null, null, null, true, Map.of("KOLOR", " czerwony "), PageRequest.of(0, 10));
+
+        assertThat(results.getContent()).extracting(ProductSearchDTO::name)
+                .containsExactlyInAnyOrder("Ceramic mug", "Glass vase");
+    }
+
+    @Test
+    void searchWithCursor_walksAllPages() {
+        ProductCursorPageDTO first = searchService.searchWithCursor(
+                null, null, null, null, true, null, Sort.by("price"), 2, null, true);
+        ProductCursorPageDTO second = searchService.searchWithCursor(
+                null, null, null, null, true, null, Sort.by("price"), 2, first.nextCursor(), true);
+
+        assertThat(first.content()).extracting(ProductSearchDTO::name).containsExactly("Ceramic mug", "Ceramic bowl");
+        assertThat(second.content()).extracting(ProductSearchDTO::name).containsExactly("Glass vase");
+        assertThat(second.nextCursor()).isNull();
+        assertThat(first.totalElements()).isEqualTo(3);
+    }
+
+    @Test
+    void searchWithCursor_rejectsNegativeOffset() {
+        String cursor = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("[-2]".getBytes(StandardCharsets.UTF_8));
+
+        assertThatThrownBy(() -> searchService.searchWithCursor(
+                null, null, null, null, true, null, Sort.by("price"), 2, cursor, true))
+                .isInstanceOf(InvalidOperationException.class)
+                .hasMessage("Invalid search cursor");
+    }
+
+    private Category category(String name, String slug) {
+        Category category = new Category();
+        category.setName(name);
+        category.setSeoSlug(slug);
+        category.setCreatedAt(Instant.now());
+        category.setUpdatedAt(Instant.now());
+        return categoryRepository.save(category);
+    }
+
+    private Product product(String name, String slug, String price, Category category,
+                            Attribute attribute, String attributeValue) {
+        Product product = new Product();
+        product.setName(name);
+        product.setDescription(name + " description");
+        product.setShortDescription(name);
+        product.setPrice(new BigDecimal(price));
+        product.setVatRate(new BigDecimal("23.00"));
+        product.setIsFeatured(false);
+        product.setShippingCost(BigDecimal.ZERO);
+        product.setSeoSlug(slug);
+        product.setSku("SKU-" + slug);
+        product.setCategory(category);
+        product.setCreatedAt(Instant.now());
+        product.setUpdatedAt(Instant.now());
+        product.setIsActive(true);
+
+        ProductAttributeValue value = new ProductAttributeValue();
+        value.setProduct(product);
+        value.setAttribute(attribute);
+        value.setAttributeValue(attributeValue);
+        product.getAttributeValues().add(value);
+        return product;
+    }
+}
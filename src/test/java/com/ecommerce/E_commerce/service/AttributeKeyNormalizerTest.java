@@ -0,0 +1,43 @@
+package com.ecommerce.E_commerce.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AttributeKeyNormalizerTest {
+
+    @Test
+    void normalize_ShouldLowercaseTrimAndCollapseWhitespace() {
+        AttributeKeyNormalizer normalizer = new AttributeKeyNormalizer("", "");
+
+        assertEquals("extra large", normalizer.normalizeValue("  Extra   LARGE "));
+        assertEquals("kolor", normalizer.normalizeName("Kolor"));
+    }
+
+    @Test
+    void normalize_ShouldFoldDiacritics() {
+        AttributeKeyNormalizer normalizer = new AttributeKeyNormalizer("", "");
+
+        assertEquals("material", normalizer.normalizeName("Materiał"));
+        assertEquals("zolty", normalizer.normalizeValue("Żółty"));
+    }
+
+    @Test
+    void normalize_ShouldResolveConfiguredSynonyms() {
+        AttributeKeyNormalizer normalizer = new AttributeKeyNormalizer(
+                "Color=Kolor, colour = kolor", "XL=extra large,invalid");
+
+        assertEquals("kolor", normalizer.normalizeName("COLOUR"));
+        assertEquals("kolor", normalizer.normalizeName("color"));
+        assertEquals("extra large", normalizer.normalizeValue("xl"));
+        assertEquals("invalid", normalizer.normalizeValue("invalid"));
+    }
+
+    @Test
+    void normalize_ShouldReturnNullForBlankInput() {
+        AttributeKeyNormalizer normalizer = new AttributeKeyNormalizer("", "");
+
+        assertNull(normalizer.normalizeName(null));
+        assertNull(normalizer.normalizeValue("   "));
+    }
+}
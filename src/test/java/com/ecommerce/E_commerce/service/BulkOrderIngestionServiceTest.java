@@ -0,0 +1,185 @@
+package com.ecommerce.E_commerce.service;
+
+import com.ecommerce.E_commerce.dto.order.BulkOrderResultDTO;
+import com.ecommerce.E_commerce.dto.product.ProductPriceDTO;
+import com.ecommerce.E_commerce.model.Product;
+import com.ecommerce.E_commerce.repository.ProductRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BulkOrderIngestionServiceTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private InventoryService inventoryService;
+
+    @Mock
+    private OrderSummaryProjector orderSummaryProjector;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+    private BulkOrderIngestionService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new BulkOrderIngestionService(objectMapper, validator, productRepository, inventoryService,
+                orderSummaryProjector, jdbcTemplate, transactionManager);
+        ReflectionTestUtils.setField(service, "chunkSize", 500);
+        ReflectionTestUtils.setField(service, "reservationTtl", Duration.ofMinutes(30));
+        ReflectionTestUtils.setField(service, "timeout", Duration.ofMinutes(15));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void ingest_ShouldCreateReservedOrders_AndRejectBadLinesIndividually() throws Exception {
+        // Given
+        when(productRepository.findPricesByIdIn(any())).thenReturn(List.of(price(1L, "50.00")));
+        when(productRepository.getReferenceById(1L)).thenReturn(product(1L));
+        when(inventoryService.reserveStockForOrders(anyList()))
+                .thenReturn(Arrays.asList(null, "Insufficient stock for product 1"));
+        when(jdbcTemplate.queryForList(contains("addresses_id_seq"), eq(Long.class), eq(1))).thenReturn(List.of(100L));
+        when(jdbcTemplate.queryForList(contains("orders_id_seq"), eq(Long.class), eq(1))).thenReturn(List.of(250L));
+        when(jdbcTemplate.queryForList(contains("order_items_id_seq"), eq(Long.class), eq(1))).thenReturn(List.of(350L));
+        String input = String.join("\n",
+                line("A-1", 1L, 2),
+                "{not json",
+                line("A-3", 1L, 500),
+                line("A-4", null, 1));
+
+        // When
+        List<BulkOrderResultDTO> results = ingest(input);
+
+        // Then
+        assertEquals(4, results.size());
+        assertEquals(BulkOrderResultDTO.CREATED, results.get(0).status());
+        assertEquals(201L, results.get(0).orderId());
+        assertEquals(new BigDecimal("120.00"), results.get(0).totalAmount());
+        assertEquals(BulkOrderResultDTO.REJECTED, results.get(1).status());
+        assertEquals(2L, results.get(1).line());
+        assertEquals("Insufficient stock for product 1", results.get(2).error());
+        assertEquals("Product ID is required", results.get(3).error());
+
+        ArgumentCaptor<List<Map<Long, Integer>>> reserved = ArgumentCaptor.forClass(List.class);
+        verify(inventoryService).reserveStockForOrders(reserved.capture());
+        assertEquals(List.of(Map.of(1L, 2), Map.of(1L, 500)), reserved.getValue());
+        ArgumentCaptor<List<Object[]>> items = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(contains("INSERT INTO order_items"), items.capture());
+        assertEquals(301L, items.getValue().get(0)[0]);
+        verify(orderSummaryProjector).refresh(List.of(201L));
+        verify(jdbcTemplate, times(3)).batchUpdate(anyString(), argThat((List<Object[]> rows) -> rows.size() == 1));
+    }
+
+    @Test
+    void ingest_ShouldRejectUnknownProducts_WithoutReservingStock() throws Exception {
+        // Given
+        when(productRepository.findPricesByIdIn(any())).thenReturn(List.of());
+
+        // When
+        List<BulkOrderResultDTO> results = ingest(line("B-1", 9L, 1));
+
+        // Then
+        assertEquals("Product not found with id: 9", results.get(0).error());
+        verifyNoInteractions(inventoryService, jdbcTemplate);
+    }
+
+    @Test
+    void ingest_ShouldEmitResultsPerChunk_AndRejectWholeChunkOnFailure() throws Exception {
+        // Given
+        ReflectionTestUtils.setField(service, "chunkSize", 2);
+        when(productRepository.findPricesByIdIn(any())).thenReturn(List.of(price(1L, "10.00")));
+        when(productRepository.getReferenceById(1L)).thenReturn(product(1L));
+        when(inventoryService.reserveStockForOrders(anyList()))
+                .thenThrow(new IllegalStateException("deadlock detected"))
+                .thenReturn(Arrays.asList((String) null));
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), eq(1))).thenReturn(List.of(50L));
+        List<List<BulkOrderResultDTO>> chunks = new ArrayList<>();
+
+        // When
+        service.ingest(new BufferedReader(new StringReader(String.join("\n",
+                line("C-1", 1L, 1), line("C-2", 1L, 1), line("C-3", 1L, 1)))), chunks::add);
+
+        // Then
+        assertEquals(2, chunks.size());
+        assertTrue(chunks.get(0).stream().allMatch(r -> r.error().contains("deadlock detected")));
+        assertEquals(BulkOrderResultDTO.CREATED, chunks.get(1).get(0).status());
+        assertEquals("C-3", chunks.get(1).get(0).externalId());
+    }
+
+    @Test
+    void ingest_ShouldStopStartingChunksAfterTimeout_AndReportFirstLineNotImported() throws Exception {
+        // Given
+        ReflectionTestUtils.setField(service, "chunkSize", 2);
+        ReflectionTestUtils.setField(service, "timeout", Duration.ZERO);
+        when(productRepository.findPricesByIdIn(any())).thenReturn(List.of());
+        List<List<BulkOrderResultDTO>> chunks = new ArrayList<>();
+
+        // When
+        service.ingest(new BufferedReader(new StringReader(String.join("\n",
+                line("D-1", 1L, 1), line("D-2", 1L, 1), line("D-3", 1L, 1)))), chunks::add);
+
+        // Then
+        assertEquals(2, chunks.size());
+        assertEquals(List.of(1L, 2L), chunks.get(0).stream().map(BulkOrderResultDTO::line).toList());
+        BulkOrderResultDTO aborted = chunks.get(1).get(0);
+        assertEquals(BulkOrderResultDTO.ABORTED, aborted.status());
+        assertEquals(3L, aborted.line());
+        verify(productRepository, times(1)).findPricesByIdIn(any());
+        assertEquals(Duration.ofMinutes(2), service.requestTimeout());
+    }
+
+    private List<BulkOrderResultDTO> ingest(String input) throws Exception {
+        List<BulkOrderResultDTO> results = new ArrayList<>();
+        service.ingest(new BufferedReader(new StringReader(input)), results::addAll);
+        return results;
+    }
+
+    private String line(String externalId, Long productId, int quantity) {
+        return """
+                {"externalId":"%s","order":{"items":[{"productId":%s,"quantity":%d}],"email":"buyer@example.com",\
+                "firstName":"Jan","addressLine1":"Main 1","city":"Warsaw","postalCode":"00-001","country":"PL"}}\
+                """.formatted(externalId, productId, quantity).strip();
+    }
+
+    private ProductPriceDTO price(Long id, String price) {
+        return new ProductPriceDTO(id, new BigDecimal(price), true, BigDecimal.ZERO);
+    }
+
+    private Product product(Long id) {
+        Product product = new Product();
+        product.setId(id);
+        return product;
+    }
+}
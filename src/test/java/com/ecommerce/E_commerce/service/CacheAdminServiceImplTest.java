@@ -0,0 +1,111 @@
+package com.ecommerce.E_commerce.service;
+
+import com.ecommerce.E_commerce.config.BroadcastingCache;
+import com.ecommerce.E_commerce.config.CacheSpecs;
+import com.ecommerce.E_commerce.config.InMemoryCacheInvalidationBus;
+import com.ecommerce.E_commerce.dto.cache.CacheStatsDTO;
+import com.ecommerce.E_commerce.dto.cache.CacheWarmResultDTO;
+import com.ecommerce.E_commerce.exception.InvalidOperationException;
+import com.ecommerce.E_commerce.exception.ResourceNotFoundException;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.SimpleCacheManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CacheAdminServiceImplTest {
+
+    private Cache categories;
+    private Cache otherNodeCategories;
+    private CacheAdminServiceImpl cacheAdminService;
+
+    @BeforeEach
+    void setUp() {
+        InMemoryCacheInvalidationBus bus = new InMemoryCacheInvalidationBus();
+        InMemoryCacheInvalidationBus otherNode = bus.joinNode();
+        categories = new BroadcastingCache(caffeineCache("categories", 100), bus);
+        BroadcastingCache otherNodeCache = new BroadcastingCache(caffeineCache("categories", 100), otherNode);
+        otherNode.subscribe(otherNodeCache::applyRemote);
+        otherNodeCategories = otherNodeCache;
+
+        SimpleCacheManager cacheManager = new SimpleCacheManager();
+        cacheManager.setCaches(List.of(categories, new BroadcastingCache(caffeineCache("pages", 50), bus)));
+        cacheManager.afterPropertiesSet();
+
+        CacheSpecs specs = new CacheSpecs(List.of(
+                new CacheSpecs.Spec("categories", Duration.ofHours(24), 100, null),
+                new CacheSpecs.Spec("pages", Duration.ofHours(1), 50, Duration.ofMinutes(5))));
+        CacheWarmer treeWarmer = CacheWarmer.of("category-tree", Set.of("categories"),
+                () -> categories.put("active_tree", List.of("root")));
+        cacheAdminService = new CacheAdminServiceImpl(cacheManager, specs, List.of(treeWarmer));
+    }
+
+    @Test
+    void getStats_reportsSpecAndCaffeineCounters() {
+        categories.put(1L, "shoes");
+        categories.get(1L);
+        categories.get(2L);
+
+        CacheStatsDTO stats = cacheAdminService.getStats("categories");
+
+        assertThat(stats.estimatedSize()).isEqualTo(1);
+        assertThat(stats.maximumSize()).isEqualTo(100);
+        assertThat(stats.ttl()).isEqualTo(Duration.ofHours(24));
+        assertThat(stats.refreshAfterWrite()).isNull();
+        assertThat(stats.hitCount()).isEqualTo(1);
+        assertThat(stats.missCount()).isEqualTo(1);
+        assertThat(cacheAdminService.getAllStats()).extracting(CacheStatsDTO::name).containsExactly("categories", "pages");
+    }
+
+    @Test
+    void getTopKeys_listsMostReadKeysFirst() {
+        for (long id = 1; id <= 60; id++) {
+            categories.put(id, "category " + id);
+        }
+        for (int i = 0; i < 5; i++) {
+            categories.get(7L);
+            categories.get(3L);
+        }
+        categories.get(7L);
+
+        assertThat(cacheAdminService.getTopKeys("categories", 2)).containsExactly("7", "3");
+    }
+
+    @Test
+    void warm_runsWarmersRegisteredForTheCache() {
+        CacheWarmResultDTO result = cacheAdminService.warm("categories");
+
+        assertThat(result.warmers()).containsExactly("category-tree");
+        assertThat(result.sizeBefore()).isZero();
+        assertThat(result.sizeAfter()).isEqualTo(1);
+        assertThatThrownBy(() -> cacheAdminService.warm("pages")).isInstanceOf(InvalidOperationException.class);
+    }
+
+    @Test
+    void clear_reachesOtherNodes() {
+        categories.put(1L, "shoes");
+        otherNodeCategories.put(1L, "shoes");
+
+        cacheAdminService.clear("categories");
+
+        assertThat(categories.get(1L)).isNull();
+        assertThat(otherNodeCategories.get(1L)).isNull();
+    }
+
+    @Test
+    void unknownCache_isNotFound() {
+        assertThatThrownBy(() -> cacheAdminService.getStats("missing")).isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    private static CaffeineCache caffeineCache(String name, long maxSize) {
+        return new CaffeineCache(name, Caffeine.newBuilder().maximumSize(maxSize).executor(Runnable::run).recordStats().build());
+    }
+}
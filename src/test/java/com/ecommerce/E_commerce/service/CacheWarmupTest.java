@@ -0,0 +1,97 @@
+package com.ecommerce.E_commerce.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CacheWarmupTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void warmUp_runsWarmersInParallel() {
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        CacheWarmup warmup = warmup(List.of(
+                CacheWarmer.of("categories", Set.of("categories"), () -> awaitOther(bothStarted)),
+                CacheWarmer.of("settings", Set.of("shop_settings"), () -> awaitOther(bothStarted))), Set.of());
+
+        CacheWarmup.Report report = warmup.warmUp();
+
+        assertThat(report.completed()).containsExactlyInAnyOrder("categories", "settings");
+        assertThat(report.pending()).isEmpty();
+        assertThat(meterRegistry.timer("cache.warmup", "warmer", "categories", "result", "success").count()).isEqualTo(1);
+        assertThat(meterRegistry.timer("cache.warmup.total", "result", "completed").count()).isEqualTo(1);
+    }
+
+    @Test
+    void warmUp_reportsFailedWarmerWithoutStoppingOthers() {
+        CacheWarmup warmup = warmup(List.of(
+                CacheWarmer.of("broken", Set.of("pages"), () -> {
+                    throw new IllegalStateException("database down");
+                }),
+                CacheWarmer.of("settings", Set.of("shop_settings"), () -> { })), Set.of());
+
+        CacheWarmup.Report report = warmup.warmUp();
+
+        assertThat(report.completed()).containsExactly("settings");
+        assertThat(report.failed()).containsExactly("broken");
+    }
+
+    @Test
+    void warmUp_stopsWaitingAtTimeout() {
+        CountDownLatch release = new CountDownLatch(1);
+        CacheWarmup warmup = new CacheWarmup(List.of(
+                CacheWarmer.of("slow", Set.of("product_lists"), () -> await(release)),
+                CacheWarmer.of("settings", Set.of("shop_settings"), () -> { })),
+                meterRegistry, true, Duration.ofMillis(200), 2, Set.of());
+
+        CacheWarmup.Report report = warmup.warmUp();
+        release.countDown();
+
+        assertThat(report.pending()).containsExactly("slow");
+        assertThat(report.completed()).containsExactly("settings");
+        assertThat(meterRegistry.timer("cache.warmup.total", "result", "timed-out").count()).isEqualTo(1);
+    }
+
+    @Test
+    void warmUp_leavesOutSkippedWarmers() {
+        CacheWarmup warmup = warmup(List.of(
+                CacheWarmer.of("categories", Set.of("categories"), () -> { }),
+                CacheWarmer.of("top-category-listings", Set.of("product_lists"), () -> { })),
+                Set.of("top-category-listings"));
+
+        assertThat(warmup.warmUp().completed()).containsExactly("categories");
+    }
+
+    private CacheWarmup warmup(List<CacheWarmer> warmers, Set<String> skipped) {
+        return new CacheWarmup(warmers, meterRegistry, true, Duration.ofSeconds(5), 4, skipped);
+    }
+
+    private static void awaitOther(CountDownLatch latch) {
+        latch.countDown();
+        await(latch);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            if (!latch.await(5, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("latch not released in time");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -13,6 +13,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mapstruct.factory.Mappers;
 import org.mockito.Mockito;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.Optional;
 
@@ -29,7 +30,7 @@ public class CategoryServiceImplTest {
     void setup() {
         repository = Mockito.mock(CategoryRepository.class);
         mapper = Mappers.getMapper(CategoryMapper.class);
-        service = new CategoryServiceImpl(repository, mapper);
+        service = new CategoryServiceImpl(repository, mapper, Mockito.mock(ApplicationEventPublisher.class));
     }
 
     @Test
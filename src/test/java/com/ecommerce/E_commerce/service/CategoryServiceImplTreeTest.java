@@ -8,6 +8,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mapstruct.factory.Mappers;
 import org.mockito.Mockito;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.Instant;
 import java.util.List;
@@ -25,7 +26,7 @@ public class CategoryServiceImplTreeTest {
     void setup() {
         repository = Mockito.mock(CategoryRepository.class);
         mapper = Mappers.getMapper(CategoryMapper.class);
-        service = new CategoryServiceImpl(repository, mapper);
+        service = new CategoryServiceImpl(repository, mapper, Mockito.mock(ApplicationEventPublisher.class));
     }
 
     private Category createCategory(Long id, String name, String slug, Category parent, boolean active) {
@@ -0,0 +1,80 @@
+package com.ecommerce.E_commerce.service;
+
+import com.ecommerce.E_commerce.repository.CategoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CategoryTreeCacheTest {
+
+    private CategoryRepository repository;
+    private CategoryTreeCache cache;
+
+    @BeforeEach
+    void setup() {
+        repository = Mockito.mock(CategoryRepository.class);
+        cache = new CategoryTreeCache(repository);
+    }
+
+    private static List<Object[]> rows(Object[]... rows) {
+        return new ArrayList<>(List.of(rows));
+    }
+
+    @Test
+    void subtreeIds_includesCategoryAndAllDescendants() {
+        when(repository.findTreeRows()).thenReturn(rows(
+                new Object[]{1L, null, "electronics", "Electronics"},
+                new Object[]{2L, 1L, "phones", "Phones"},
+                new Object[]{3L, 2L, "smartphones", "Smartphones"},
+                new Object[]{4L, null, "garden", "Garden"}));
+
+        assertEquals(List.of(1L, 2L, 3L), cache.subtreeIds(1L));
+        assertEquals(List.of(2L, 3L), cache.subtreeIds(2L));
+        assertEquals(List.of(4L), cache.subtreeIds(4L));
+        assertEquals(Optional.of(3L), cache.idForSlug("smartphones"));
+        assertEquals("Phones", cache.label(2L).map(CategoryTreeCache.CategoryLabel::name).orElse(null));
+    }
+
+    @Test
+    void subtreeIds_returnsEmptyForUnknownCategory() {
+        when(repository.findTreeRows()).thenReturn(rows(new Object[]{1L, null, "electronics", "Electronics"}));
+
+        assertTrue(cache.subtreeIds(99L).isEmpty());
+        assertTrue(cache.subtreeIds(null).isEmpty());
+    }
+
+    @Test
+    void current_buildsSnapshotOnceUntilRebuilt() {
+        when(repository.findTreeRows()).thenReturn(rows(new Object[]{1L, null, "electronics", "Electronics"}));
+
+        cache.subtreeIds(1L);
+        cache.subtreeIds(1L);
+        long version = cache.current().version();
+        verify(repository, times(1)).findTreeRows();
+
+        when(repository.findTreeRows()).thenReturn(rows(
+                new Object[]{1L, null, "electronics", "Electronics"},
+                new Object[]{2L, 1L, "phones", "Phones"}));
+        cache.rebuild();
+
+        assertEquals(List.of(1L, 2L), cache.subtreeIds(1L));
+        assertTrue(cache.current().version() > version);
+    }
+
+    @Test
+    void build_survivesCycles() {
+        CategoryTreeCache.Snapshot snapshot = CategoryTreeCache.build(1, rows(
+                new Object[]{1L, 2L, "a", "A"},
+                new Object[]{2L, 1L, "b", "B"}));
+
+        assertTrue(snapshot.subtreeIds().get(1L).contains(1L));
+        assertTrue(snapshot.subtreeIds().get(2L).contains(2L));
+    }
+}
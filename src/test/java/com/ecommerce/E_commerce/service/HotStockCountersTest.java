@@ -0,0 +1,124 @@
+package com.ecommerce.E_commerce.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class HotStockCountersTest {
+
+    @Mock
+    private InventoryStockUpdater stockUpdater;
+
+    private HotStockCounters counters;
+
+    @BeforeEach
+    void setUp() {
+        counters = new HotStockCounters(stockUpdater);
+        ReflectionTestUtils.setField(counters, "enabled", true);
+        ReflectionTestUtils.setField(counters, "stripes", 4);
+        ReflectionTestUtils.setField(counters, "recheckInterval", Duration.ofHours(1));
+    }
+
+    @Test
+    void tryAcquire_ShouldBeAllOrNothingAcrossProducts() {
+        // Given
+        when(stockUpdater.availableQuantities(anyCollection())).thenReturn(Map.of(1L, 10, 2L, 1));
+
+        // When
+        boolean rejected = counters.tryAcquire(Map.of(1L, 4, 2L, 2));
+        boolean accepted = counters.tryAcquire(Map.of(1L, 10, 2L, 1));
+
+        // Then
+        assertFalse(rejected);
+        assertTrue(accepted);
+        assertFalse(counters.tryAcquire(Map.of(1L, 1)));
+    }
+
+    @Test
+    void tryAcquire_ShouldNeverOversellUnderContention() throws Exception {
+        // Given
+        when(stockUpdater.availableQuantities(List.of(1L))).thenReturn(Map.of(1L, 1000));
+        AtomicInteger granted = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+
+        // When
+        List<Future<?>> workers = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            workers.add(pool.submit(() -> {
+                for (int i = 0; i < 500; i++) {
+                    if (counters.tryAcquire(Map.of(1L, 1))) {
+                        granted.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        for (Future<?> worker : workers) {
+            worker.get();
+        }
+        pool.shutdown();
+        pool.awaitTermination(5, TimeUnit.SECONDS);
+
+        // Then
+        assertEquals(1000, granted.get());
+    }
+
+    @Test
+    void tryAcquire_ShouldReloadFromDatabase_AfterInvalidate() {
+        // Given
+        when(stockUpdater.availableQuantities(List.of(1L))).thenReturn(Map.of(1L, 1), Map.of(1L, 3));
+        assertTrue(counters.tryAcquire(Map.of(1L, 1)));
+        assertFalse(counters.tryAcquire(Map.of(1L, 1)));
+
+        // When
+        counters.invalidate(1L);
+
+        // Then
+        assertTrue(counters.tryAcquire(Map.of(1L, 3)));
+    }
+
+    @Test
+    void tryAcquire_ShouldRecheckDatabase_WhenCounterRunsShort() {
+        // Given: stock returned by another node after the counter was loaded
+        ReflectionTestUtils.setField(counters, "recheckInterval", Duration.ZERO);
+        when(stockUpdater.availableQuantities(List.of(1L))).thenReturn(Map.of(1L, 1), Map.of(1L, 3), Map.of(1L, 0));
+        assertTrue(counters.tryAcquire(Map.of(1L, 1)));
+
+        // When & Then
+        assertTrue(counters.tryAcquire(Map.of(1L, 3)));
+        assertFalse(counters.tryAcquire(Map.of(1L, 1)));
+        verify(stockUpdater, times(3)).availableQuantities(anyCollection());
+    }
+
+    @Test
+    void tryAcquire_ShouldNotRecheckDatabase_WithinRecheckInterval() {
+        // Given
+        when(stockUpdater.availableQuantities(List.of(1L))).thenReturn(Map.of(1L, 1));
+        assertTrue(counters.tryAcquire(Map.of(1L, 1)));
+
+        // When
+        for (int i = 0; i < 5; i++) {
+            assertFalse(counters.tryAcquire(Map.of(1L, 1)));
+        }
+
+        // Then
+        verify(stockUpdater, times(1)).availableQuantities(anyCollection());
+    }
+}
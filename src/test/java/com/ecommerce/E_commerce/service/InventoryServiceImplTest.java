@@ -12,8 +12,12 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -31,6 +35,15 @@ class InventoryServiceImplTest {
     @Mock
     private InventoryMapper inventoryMapper;
 
+    @Mock
+    private InventoryStockUpdater stockUpdater;
+
+    @Mock
+    private HotStockCounters hotStockCounters;
+
+    @Mock
+    private StockAvailabilityMap availabilityMap;
+
     private InventoryServiceImpl inventoryService;
 
     private Inventory testInventory;
@@ -38,7 +51,8 @@ class InventoryServiceImplTest {
 
     @BeforeEach
     void setUp() {
-        inventoryService = new InventoryServiceImpl(inventoryRepository, productRepository, inventoryMapper);
+        inventoryService = new InventoryServiceImpl(inventoryRepository, productRepository, inventoryMapper,
+                stockUpdater, hotStockCounters, availabilityMap);
 
         testProduct = new Product();
         testProduct.setId(1L);
@@ -160,6 +174,66 @@ class InventoryServiceImplTest {
         assertTrue(exception.getMessage().contains("Insufficient reserved stock"));
     }
 
+    @Test
+    void releaseStockBatch_ShouldReleaseAllItemsInOneSave() {
+        // Given
+        testInventory.setReservedQuantity(10);
+        Product otherProduct = new Product();
+        otherProduct.setId(2L);
+        Inventory otherInventory = new Inventory();
+        otherInventory.setProduct(otherProduct);
+        otherInventory.setAvailableQuantity(0);
+        otherInventory.setReservedQuantity(3);
+        when(inventoryRepository.findByProductIdInWithLockOrdered(Set.of(1L, 2L)))
+                .thenReturn(List.of(testInventory, otherInventory));
+
+        // When
+        inventoryService.releaseStockBatch(Map.of(1L, 5, 2L, 3));
+
+        // Then
+        assertEquals(105, testInventory.getAvailableQuantity());
+        assertEquals(5, testInventory.getReservedQuantity());
+        assertEquals(3, otherInventory.getAvailableQuantity());
+        assertEquals(0, otherInventory.getReservedQuantity());
+        verify(inventoryRepository).saveAll(List.of(testInventory, otherInventory));
+        verify(inventoryRepository, never()).findByProductIdWithLock(any());
+    }
+
+    @Test
+    void finalizeReservationBatch_ShouldThrowException_WhenAnyItemLacksReservedStock() {
+        // Given
+        testInventory.setReservedQuantity(10);
+        when(inventoryRepository.findByProductIdInWithLockOrdered(Set.of(1L)))
+                .thenReturn(List.of(testInventory));
+
+        // When & Then
+        InsufficientStockException exception = assertThrows(InsufficientStockException.class,
+                () -> inventoryService.finalizeReservationBatch(Map.of(1L, 11)));
+        assertTrue(exception.getMessage().contains("Reserved: 10"));
+        verify(inventoryRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void reserveStockForOrders_ShouldAllocateInOrder_AndRejectOnlyShortOrders() {
+        // Given
+        when(inventoryRepository.findByProductIdInWithLockOrdered(Set.of(1L, 2L)))
+                .thenReturn(List.of(testInventory));
+
+        // When
+        List<String> outcomes = inventoryService.reserveStockForOrders(
+                List.of(Map.of(1L, 60), Map.of(1L, 50), Map.of(2L, 1), Map.of(1L, 40)));
+
+        // Then
+        assertNull(outcomes.get(0));
+        assertTrue(outcomes.get(1).contains("Available: 40"));
+        assertEquals("Inventory not found for product id: 2", outcomes.get(2));
+        assertNull(outcomes.get(3));
+        assertEquals(0, testInventory.getAvailableQuantity());
+        assertEquals(100, testInventory.getReservedQuantity());
+        verify(inventoryRepository).saveAll(List.of(testInventory));
+        verify(availabilityMap).recordReservedAfterCommit(Map.of(1L, 100));
+    }
+
     @Test
     void isStockAvailable_ShouldReturnTrue_WhenStockIsAvailable() {
         // Given
@@ -210,5 +284,103 @@ class InventoryServiceImplTest {
         // Then
         assertFalse(result);
     }
-}
 
+    @Test
+    void reserveStockBatch_AtomicMode_ShouldReserveWithoutLockingRead() {
+        // Given
+        ReflectionTestUtils.setField(inventoryService, "reservationMode", "atomic");
+        when(stockUpdater.reserve(Map.of(1L, 5))).thenReturn(List.of());
+
+        // When
+        inventoryService.reserveStockBatch(Map.of(1L, 5));
+
+        // Then
+        verify(stockUpdater).reserve(Map.of(1L, 5));
+        verify(inventoryRepository, never()).findByProductIdInWithLockOrdered(any());
+    }
+
+    @Test
+    void reserveStockBatch_AtomicMode_ShouldExplainRejectedRow() {
+        // Given
+        ReflectionTestUtils.setField(inventoryService, "reservationMode", "atomic");
+        testInventory.setAvailableQuantity(2);
+        when(stockUpdater.reserve(Map.of(1L, 5))).thenReturn(List.of(1L));
+        when(inventoryRepository.findByProductId(1L)).thenReturn(Optional.of(testInventory));
+
+        // When & Then
+        InsufficientStockException exception = assertThrows(InsufficientStockException.class,
+                () -> inventoryService.reserveStockBatch(Map.of(1L, 5)));
+        assertTrue(exception.getMessage().contains("Available: 2, Requested: 5"));
+        verify(hotStockCounters).invalidate(1L);
+    }
+
+    @Test
+    void reserveStockBatch_AtomicMode_ShouldRejectWithoutDatabase_WhenCounterDrained() {
+        // Given
+        ReflectionTestUtils.setField(inventoryService, "reservationMode", "atomic");
+        when(hotStockCounters.isEnabled()).thenReturn(true);
+        when(hotStockCounters.tryAcquire(Map.of(1L, 5))).thenReturn(false);
+
+        // When & Then
+        assertThrows(InsufficientStockException.class, () -> inventoryService.reserveStockBatch(Map.of(1L, 5)));
+        verifyNoInteractions(stockUpdater);
+    }
+
+    @Test
+    void reserveStock_AtomicMode_ShouldGoThroughCounters() {
+        // Given
+        ReflectionTestUtils.setField(inventoryService, "reservationMode", "atomic");
+        when(hotStockCounters.isEnabled()).thenReturn(true);
+        when(hotStockCounters.tryAcquire(Map.of(1L, 5))).thenReturn(true);
+        when(stockUpdater.reserve(Map.of(1L, 5))).thenReturn(List.of());
+
+        // When
+        inventoryService.reserveStock(1L, 5);
+
+        // Then
+        verify(hotStockCounters).tryAcquire(Map.of(1L, 5));
+        verify(stockUpdater).reserve(Map.of(1L, 5));
+        verify(inventoryRepository, never()).findByProductIdWithLock(any());
+    }
+
+    @Test
+    void isStockAvailable_ShouldServeFromAvailabilityMap_WithoutDatabase() {
+        // Given
+        StockAvailabilityMap map = new StockAvailabilityMap(null);
+        ReflectionTestUtils.setField(map, "enabled", true);
+        map.put(1L, 7, 3);
+        inventoryService = new InventoryServiceImpl(inventoryRepository, productRepository, inventoryMapper,
+                stockUpdater, hotStockCounters, map);
+
+        // When & Then
+        assertTrue(inventoryService.isStockAvailable(1L, 7));
+        assertFalse(inventoryService.isStockAvailable(1L, 8));
+        assertEquals(3, inventoryService.getStockLevel(1L).reservedQuantity());
+        verifyNoInteractions(inventoryRepository);
+    }
+
+    @Test
+    void isStockAvailable_ShouldLoadMissIntoAvailabilityMap() {
+        // Given
+        StockAvailabilityMap map = new StockAvailabilityMap(null);
+        ReflectionTestUtils.setField(map, "enabled", true);
+        inventoryService = new InventoryServiceImpl(inventoryRepository, productRepository, inventoryMapper,
+                stockUpdater, hotStockCounters, map);
+        when(inventoryRepository.findByProductId(1L)).thenReturn(Optional.of(testInventory));
+        when(inventoryRepository.findByProductId(2L)).thenReturn(Optional.empty());
+
+        // When
+        boolean first = inventoryService.isStockAvailable(1L, 10);
+        boolean second = inventoryService.isStockAvailable(1L, 100);
+        boolean missing = inventoryService.isStockAvailable(2L, 1);
+        boolean missingAgain = inventoryService.isStockAvailable(2L, 1);
+
+        // Then
+        assertTrue(first);
+        assertTrue(second);
+        assertFalse(missing);
+        assertFalse(missingAgain);
+        verify(inventoryRepository, times(1)).findByProductId(1L);
+        verify(inventoryRepository, times(1)).findByProductId(2L);
+    }
+}
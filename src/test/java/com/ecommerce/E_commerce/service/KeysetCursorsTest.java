@@ -0,0 +1,47 @@
+package com.ecommerce.E_commerce.service;
+
+import com.ecommerce.E_commerce.exception.InvalidOperationException;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.KeysetScrollPosition;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KeysetCursorsTest {
+
+    @Test
+    void position_withoutCursor_startsAtFirstPage() {
+        assertThat(KeysetCursors.position(null, "id").isInitial()).isTrue();
+        assertThat(KeysetCursors.position(" ", "id").isInitial()).isTrue();
+    }
+
+    @Test
+    void position_decodesEncodedKeysUnderGivenIdAttribute() {
+        Instant createdAt = Instant.parse("2026-03-01T10:15:30.123456Z");
+
+        KeysetScrollPosition position = KeysetCursors.position(KeysetCursors.encode(createdAt, 42L), "orderId");
+
+        assertThat(position.isInitial()).isFalse();
+        assertThat(position.getKeys())
+                .containsEntry("createdAt", createdAt)
+                .containsEntry("orderId", 42L);
+    }
+
+    @Test
+    void position_withGarbageCursor_throwsInvalidOperation() {
+        assertThatThrownBy(() -> KeysetCursors.position("not a cursor!", "id"))
+                .isInstanceOf(InvalidOperationException.class)
+                .hasMessage("Invalid page cursor");
+        assertThatThrownBy(() -> KeysetCursors.position("bm8tc2VwYXJhdG9y", "id"))
+                .isInstanceOf(InvalidOperationException.class);
+    }
+
+    @Test
+    void pageSize_isClampedToAllowedRange() {
+        assertThat(KeysetCursors.pageSize(0)).isEqualTo(1);
+        assertThat(KeysetCursors.pageSize(20)).isEqualTo(20);
+        assertThat(KeysetCursors.pageSize(10_000)).isEqualTo(KeysetCursors.MAX_PAGE_SIZE);
+    }
+}
@@ -0,0 +1,102 @@
+package com.ecommerce.E_commerce.service;
+
+import com.ecommerce.E_commerce.dto.order.OrderDTO;
+import com.ecommerce.E_commerce.exception.InvalidOperationException;
+import com.ecommerce.E_commerce.model.OrderStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderIdempotencyStoreTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+    private OrderIdempotencyStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new OrderIdempotencyStore(jdbcTemplate, objectMapper);
+        ReflectionTestUtils.setField(store, "ttl", Duration.ofHours(24));
+    }
+
+    @Test
+    void execute_ShouldCreateOrderAndStoreResponse_WhenKeyIsNew() {
+        // Given
+        when(jdbcTemplate.update(contains("INSERT INTO order_idempotency_keys"), any(Object[].class))).thenReturn(1);
+        OrderDTO order = order(7L);
+
+        // When
+        OrderIdempotencyStore.Result<OrderDTO> result = store.execute("user:1", "key-1", Map.of("items", 2), () -> order);
+
+        // Then
+        assertSame(order, result.value());
+        assertFalse(result.replayed());
+        ArgumentCaptor<Object[]> args = ArgumentCaptor.forClass(Object[].class);
+        verify(jdbcTemplate).update(startsWith("UPDATE order_idempotency_keys"), args.capture());
+        assertEquals(7L, args.getValue()[0]);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void execute_ShouldReplayStoredResponse_WithoutCreatingAgain() throws Exception {
+        // Given
+        ArgumentCaptor<Object[]> claimArgs = ArgumentCaptor.forClass(Object[].class);
+        when(jdbcTemplate.update(contains("INSERT INTO order_idempotency_keys"), claimArgs.capture())).thenReturn(1, 0);
+        store.execute("user:1", "key-1", Map.of("items", 2), () -> order(7L));
+        String fingerprint = (String) claimArgs.getAllValues().get(0)[2];
+        String response = objectMapper.writeValueAsString(order(7L));
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), eq("user:1"), eq("key-1")))
+                .thenReturn(List.of(new OrderIdempotencyStore.StoredRequest(fingerprint, response)));
+        AtomicInteger created = new AtomicInteger();
+
+        // When
+        OrderIdempotencyStore.Result<OrderDTO> result = store.execute("user:1", "key-1", Map.of("items", 2), () -> {
+            created.incrementAndGet();
+            return order(8L);
+        });
+
+        // Then
+        assertTrue(result.replayed());
+        assertEquals(7L, result.value().id());
+        assertEquals(0, created.get());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void execute_ShouldReject_WhenKeyReusedForDifferentRequest() {
+        // Given
+        when(jdbcTemplate.update(contains("INSERT INTO order_idempotency_keys"), any(Object[].class))).thenReturn(0);
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), eq("user:1"), eq("key-1")))
+                .thenReturn(List.of(new OrderIdempotencyStore.StoredRequest("other-fingerprint", "{}")));
+
+        // When & Then
+        assertThrows(InvalidOperationException.class,
+                () -> store.execute("user:1", "key-1", Map.of("items", 3), () -> order(9L)));
+    }
+
+    private OrderDTO order(Long id) {
+        return new OrderDTO(id, 1L, null, null, null, OrderStatus.NEW, new BigDecimal("10.00"),
+                List.of(), List.of(), null, null, true);
+    }
+}
@@ -2,16 +2,21 @@ package com.ecommerce.E_commerce.service;
 
 import com.ecommerce.E_commerce.dto.order.OrderCreateDTO;
 import com.ecommerce.E_commerce.dto.order.OrderDTO;
+import com.ecommerce.E_commerce.dto.order.OrderSummaryDTO;
 import com.ecommerce.E_commerce.dto.order.OrderUpdateDTO;
 import com.ecommerce.E_commerce.dto.orderitem.OrderItemCreateDTO;
 import com.ecommerce.E_commerce.model.OrderStatus;
 import com.ecommerce.E_commerce.dto.payment.PaymentDTO;
+import com.ecommerce.E_commerce.dto.product.ProductPriceDTO;
+import com.ecommerce.E_commerce.event.OrderConfirmedEvent;
+import com.ecommerce.E_commerce.event.OrderCreatedEvent;
 import com.ecommerce.E_commerce.exception.InvalidOperationException;
 import com.ecommerce.E_commerce.exception.ResourceNotFoundException;
 import com.ecommerce.E_commerce.mapper.OrderMapper;
 import com.ecommerce.E_commerce.model.*;
 import com.ecommerce.E_commerce.repository.AddressRepository;
 import com.ecommerce.E_commerce.repository.OrderRepository;
+import com.ecommerce.E_commerce.repository.OrderSummaryRepository;
 import com.ecommerce.E_commerce.repository.ProductRepository;
 import com.ecommerce.E_commerce.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -19,10 +24,12 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContext;
@@ -32,7 +39,9 @@ import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -42,9 +51,15 @@ import static org.mockito.Mockito.lenient;
 @ExtendWith(MockitoExtension.class)
 class OrderServiceImplTest {
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @Mock
     private OrderRepository orderRepository;
 
+    @Mock
+    private OrderSummaryRepository orderSummaryRepository;
+
     @Mock
     private UserRepository userRepository;
 
@@ -57,9 +72,6 @@ class OrderServiceImplTest {
     @Mock
     private InventoryService inventoryService;
 
-    @Mock
-    private OrderNotificationService orderNotificationService;
-
     @Mock
     private OrderMapper orderMapper;
 
@@ -73,13 +85,14 @@ class OrderServiceImplTest {
     @BeforeEach
     void setUp() {
         orderService = new OrderServiceImpl(
+                eventPublisher,
                 orderRepository,
+                orderSummaryRepository,
                 userRepository,
                 addressRepository,
                 productRepository,
                 inventoryService,
-                orderMapper,
-                orderNotificationService
+                orderMapper
         );
 
         testUser = new User();
@@ -114,7 +127,9 @@ class OrderServiceImplTest {
 
         when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
         when(addressRepository.findById(1L)).thenReturn(Optional.of(testAddress));
-        when(productRepository.findById(1L)).thenReturn(Optional.of(testProduct));
+        when(productRepository.findPricesByIdIn(Set.of(1L))).thenReturn(List.of(
+                new ProductPriceDTO(1L, new BigDecimal("99.99"), true, BigDecimal.ZERO)));
+        when(productRepository.getReferenceById(1L)).thenReturn(testProduct);
         when(orderMapper.toOrder(createDTO)).thenReturn(testOrder);
         when(orderRepository.save(any(Order.class))).thenReturn(testOrder);
         when(orderMapper.toOrderDTO(testOrder)).thenReturn(new OrderDTO(
@@ -128,10 +143,10 @@ class OrderServiceImplTest {
         assertNotNull(result);
         verify(userRepository).findById(1L);
         verify(addressRepository).findById(1L);
-        verify(productRepository).findById(1L);
-        verify(inventoryService).reserveStock(1L, 2);
+        verify(productRepository).findPricesByIdIn(Set.of(1L));
+        verify(inventoryService).reserveStockBatch(Map.of(1L, 2));
         verify(orderRepository).save(any(Order.class));
-        verify(orderNotificationService).sendOrderConfirmation(testOrder.getId());
+        verify(eventPublisher).publishEvent(any(OrderCreatedEvent.class));
     }
 
     @Test
@@ -153,7 +168,8 @@ class OrderServiceImplTest {
     void update_ShouldUpdateOrderSuccessfully() {
         // Given
         OrderUpdateDTO updateDTO = new OrderUpdateDTO(OrderStatus.CONFIRMED, null);
-        when(orderRepository.findById(1L)).thenReturn(Optional.of(testOrder));
+        when(orderRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(testOrder));
+        when(orderRepository.saveAndFlush(testOrder)).thenReturn(testOrder);
         when(orderRepository.save(any(Order.class))).thenReturn(testOrder);
         when(orderMapper.toOrderDTO(testOrder)).thenReturn(new OrderDTO(
                 1L, 1L, null, null, null, OrderStatus.CONFIRMED, new BigDecimal("199.98"), new ArrayList<>(), new ArrayList<PaymentDTO>(), Instant.now(), Instant.now(), true
@@ -164,9 +180,9 @@ class OrderServiceImplTest {
 
         // Then
         assertNotNull(result);
-        verify(orderRepository).findById(1L);
+        verify(orderRepository).findByIdForUpdate(1L);
         verify(orderRepository).save(testOrder);
-        verify(orderNotificationService).sendOrderConfirmedToOwner(testOrder.getId());
+        verify(eventPublisher).publishEvent(any(OrderConfirmedEvent.class));
     }
 
     @Test
@@ -180,8 +196,8 @@ class OrderServiceImplTest {
         lenient().doReturn(java.util.Set.of(new SimpleGrantedAuthority("ROLE_OWNER"))).when(authentication).getAuthorities();
         SecurityContextHolder.setContext(securityContext);
         
-        when(orderRepository.findById(1L)).thenReturn(Optional.of(testOrder));
-        when(orderRepository.save(any(Order.class))).thenReturn(testOrder);
+        when(orderRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(testOrder));
+        when(orderRepository.saveAndFlush(testOrder)).thenReturn(testOrder);
         when(orderMapper.toOrderDTO(testOrder)).thenReturn(new OrderDTO(
                 1L, 1L, null, null, null, OrderStatus.CANCELLED, new BigDecimal("199.98"), new ArrayList<>(), new ArrayList<PaymentDTO>(), Instant.now(), Instant.now(), true
         ));
@@ -192,14 +208,15 @@ class OrderServiceImplTest {
         // Then
         assertNotNull(result);
         assertEquals(OrderStatus.CANCELLED, testOrder.getStatus());
-        verify(orderRepository).save(testOrder);
+        verify(orderRepository).saveAndFlush(testOrder);
+        verify(inventoryService).releaseStockBatch(Map.of());
     }
 
     @Test
     void cancelOrder_ShouldThrowException_WhenOrderAlreadyCancelled() {
         // Given
         testOrder.setStatus(OrderStatus.CANCELLED);
-        when(orderRepository.findById(1L)).thenReturn(Optional.of(testOrder));
+        when(orderRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(testOrder));
 
         // When & Then
         InvalidOperationException exception = assertThrows(InvalidOperationException.class,
@@ -213,7 +230,7 @@ class OrderServiceImplTest {
         OrderDTO orderDTO = new OrderDTO(
                 1L, 1L, null, null, null, OrderStatus.NEW, new BigDecimal("199.98"), new ArrayList<>(), new ArrayList<PaymentDTO>(), Instant.now(), Instant.now(), true
         );
-        when(orderRepository.findById(1L)).thenReturn(Optional.of(testOrder));
+        when(orderRepository.findByIdWithUser(1L)).thenReturn(Optional.of(testOrder));
         when(orderMapper.toOrderDTO(testOrder)).thenReturn(orderDTO);
 
         // When
@@ -222,13 +239,13 @@ class OrderServiceImplTest {
         // Then
         assertNotNull(result);
         assertEquals(1L, result.id());
-        verify(orderRepository).findById(1L);
+        verify(orderRepository).findByIdWithUser(1L);
     }
 
     @Test
     void getById_ShouldThrowException_WhenOrderNotFound() {
         // Given
-        when(orderRepository.findById(1L)).thenReturn(Optional.empty());
+        when(orderRepository.findByIdWithUser(1L)).thenReturn(Optional.empty());
 
         // When & Then
         ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class,
@@ -240,31 +257,45 @@ class OrderServiceImplTest {
     void findByUserId_ShouldReturnPageOfOrders() {
         // Given
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Order> orderPage = new PageImpl<>(List.of(testOrder));
-        when(orderRepository.findByUserId(1L, pageable)).thenReturn(orderPage);
-        when(orderMapper.toOrderDTO(testOrder)).thenReturn(new OrderDTO(
-                1L, 1L, null, null, null, OrderStatus.NEW, new BigDecimal("199.98"), new ArrayList<>(), new ArrayList<PaymentDTO>(), Instant.now(), Instant.now(), true
+        OrderSummary summary = new OrderSummary();
+        when(orderSummaryRepository.findByUserId(1L, pageable)).thenReturn(new PageImpl<>(List.of(summary)));
+        when(orderMapper.toOrderSummaryDTO(summary)).thenReturn(new OrderSummaryDTO(
+                1L, 1L, "test@example.com", OrderStatus.NEW, new BigDecimal("199.98"), 2, "Test Product", null, null, true, Instant.now()
         ));
 
         // When
-        Page<OrderDTO> result = orderService.findByUserId(1L, pageable);
+        Page<OrderSummaryDTO> result = orderService.findByUserId(1L, pageable);
 
         // Then
         assertNotNull(result);
         assertEquals(1, result.getContent().size());
-        verify(orderRepository).findByUserId(1L, pageable);
+        verify(orderSummaryRepository).findByUserId(1L, pageable);
+    }
+
+    @Test
+    void findAll_ShouldSortSummariesByOrderId_WhenSortedById() {
+        // Given
+        when(orderSummaryRepository.findAll(any(Pageable.class))).thenReturn(Page.empty());
+
+        // When
+        orderService.findAll(PageRequest.of(2, 20, Sort.by("id").descending().and(Sort.by("createdAt"))));
+
+        // Then
+        verify(orderSummaryRepository).findAll(
+                PageRequest.of(2, 20, Sort.by("orderId").descending().and(Sort.by("createdAt"))));
     }
 
     @Test
     void delete_ShouldDeleteOrder() {
         // Given
-        when(orderRepository.findById(1L)).thenReturn(Optional.of(testOrder));
+        when(orderRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(testOrder));
 
         // When
         orderService.delete(1L);
 
         // Then
-        verify(orderRepository).findById(1L);
+        verify(orderRepository).findByIdForUpdate(1L);
+        verify(inventoryService).releaseStockBatch(Map.of());
         verify(orderRepository).delete(testOrder);
     }
 }
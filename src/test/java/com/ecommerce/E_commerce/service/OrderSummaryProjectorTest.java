@@ -0,0 +1,111 @@
+package com.ecommerce.E_commerce.service;
+
+import com.ecommerce.E_commerce.event.OrderCreatedEvent;
+import com.ecommerce.E_commerce.event.OrderSummaryEventListener;
+import com.ecommerce.E_commerce.event.OrderUpdatedEvent;
+import com.ecommerce.E_commerce.event.PaymentStatusChangedEvent;
+import com.ecommerce.E_commerce.model.PaymentStatus;
+import com.ecommerce.E_commerce.repository.OrderSummaryRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderSummaryProjectorTest {
+
+    @Mock
+    private OrderSummaryRepository summaryRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private OrderSummaryProjector projector;
+    private OrderSummaryEventListener listener;
+
+    @BeforeEach
+    void setUp() {
+        projector = new OrderSummaryProjector(summaryRepository);
+        listener = new OrderSummaryEventListener(projector, transactionManager);
+    }
+
+    @Test
+    void refresh_ShouldDropRemovedRowsBeforeUpserting() {
+        // When
+        projector.refresh(List.of(1L, 2L));
+
+        // Then
+        InOrder inOrder = inOrder(summaryRepository);
+        inOrder.verify(summaryRepository).deleteRemoved(List.of(1L, 2L));
+        inOrder.verify(summaryRepository).refresh(eq(List.of(1L, 2L)), any(Instant.class));
+    }
+
+    @Test
+    void refresh_ShouldSkipDatabase_WhenNoOrders() {
+        // When
+        projector.refresh(List.of());
+
+        // Then
+        verifyNoInteractions(summaryRepository);
+    }
+
+    @Test
+    void listener_ShouldRefreshOrderRow_ForOrderAndPaymentEvents() {
+        // When
+        listener.handleOrderCreated(new OrderCreatedEvent(1L));
+        listener.handleOrderUpdated(new OrderUpdatedEvent(2L));
+        listener.handlePaymentStatusChanged(new PaymentStatusChangedEvent(9L, 3L, PaymentStatus.PENDING, PaymentStatus.COMPLETED));
+
+        // Then
+        verify(summaryRepository).refresh(eq(List.of(1L)), any(Instant.class));
+        verify(summaryRepository).refresh(eq(List.of(2L)), any(Instant.class));
+        verify(summaryRepository).refresh(eq(List.of(3L)), any(Instant.class));
+        verify(transactionManager, times(3)).commit(any());
+    }
+
+    @Test
+    void listener_ShouldRollBackAndSwallowFailure() {
+        // Given
+        when(summaryRepository.refresh(eq(List.of(1L)), any(Instant.class))).thenThrow(new DataAccessResourceFailureException("down"));
+
+        // When & Then
+        assertDoesNotThrow(() -> listener.handleOrderCreated(new OrderCreatedEvent(1L)));
+        verify(transactionManager).rollback(any());
+    }
+
+    @Test
+    void reconciler_ShouldRefreshStaleAndRemovedRows() {
+        // Given
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        OrderSummaryReconciler reconciler = new OrderSummaryReconciler(summaryRepository, projector, meterRegistry);
+        ReflectionTestUtils.setField(reconciler, "lookback", Duration.ofHours(2));
+        ReflectionTestUtils.setField(reconciler, "batchSize", 100);
+        when(summaryRepository.findStaleOrderIds(any(Instant.class), eq(100))).thenReturn(List.of(4L, 7L));
+        when(summaryRepository.findRemovedOrderIds(100)).thenReturn(List.of(7L, 9L));
+
+        // When
+        reconciler.reconcile();
+
+        // Then
+        verify(summaryRepository).deleteRemoved(Set.of(4L, 7L, 9L));
+        verify(summaryRepository).refresh(eq(Set.of(4L, 7L, 9L)), any(Instant.class));
+        assertEquals(3.0, meterRegistry.get("orders.summary.reconciled").counter().count());
+    }
+}
@@ -103,7 +103,7 @@ class PaymentServiceImplTest {
         lenient().doReturn(java.util.Set.of(new SimpleGrantedAuthority("ROLE_OWNER"))).when(authentication).getAuthorities();
         SecurityContextHolder.setContext(securityContext);
 
-        when(orderRepository.findById(1L)).thenReturn(Optional.of(testOrder));
+        when(orderRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(testOrder));
         when(paymentMapper.toPayment(createDTO)).thenReturn(testPayment);
         when(paymentRepository.save(any(Payment.class))).thenReturn(testPayment);
         when(paymentMapper.toPaymentDTO(testPayment)).thenReturn(paymentDTO);
@@ -114,7 +114,7 @@ class PaymentServiceImplTest {
         // Then
         assertNotNull(result);
         assertEquals(1L, result.id());
-        verify(orderRepository).findById(1L);
+        verify(orderRepository).findByIdForUpdate(1L);
         verify(paymentRepository).save(any(Payment.class));
     }
 
@@ -124,7 +124,7 @@ class PaymentServiceImplTest {
         PaymentCreateDTO createDTO = new PaymentCreateDTO(
                 1L, new BigDecimal("199.98"), PaymentMethod.CREDIT_CARD, "TXN-123", null
         );
-        when(orderRepository.findById(1L)).thenReturn(Optional.empty());
+        when(orderRepository.findByIdForUpdate(1L)).thenReturn(Optional.empty());
 
         // When & Then
         ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class,
@@ -149,7 +149,7 @@ class PaymentServiceImplTest {
         lenient().doReturn(java.util.Set.of(new SimpleGrantedAuthority("ROLE_OWNER"))).when(authentication).getAuthorities();
         SecurityContextHolder.setContext(securityContext);
         
-        when(orderRepository.findById(1L)).thenReturn(Optional.of(testOrder));
+        when(orderRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(testOrder));
 
         // When & Then
         InvalidOperationException exception = assertThrows(InvalidOperationException.class,
@@ -172,7 +172,7 @@ class PaymentServiceImplTest {
         lenient().doReturn(java.util.Set.of(new SimpleGrantedAuthority("ROLE_OWNER"))).when(authentication).getAuthorities();
         SecurityContextHolder.setContext(securityContext);
         
-        when(orderRepository.findById(1L)).thenReturn(Optional.of(testOrder));
+        when(orderRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(testOrder));
 
         // When & Then
         InvalidOperationException exception = assertThrows(InvalidOperationException.class,
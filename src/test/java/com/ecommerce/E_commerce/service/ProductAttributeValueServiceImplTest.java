@@ -1,5 +1,7 @@
 package com.ecommerce.E_commerce.service;
 
+import com.ecommerce.E_commerce.config.CacheSpecs;
+import com.ecommerce.E_commerce.config.InMemoryCacheInvalidationBus;
 import com.ecommerce.E_commerce.dto.productattributevalue.ProductAttributeValueCreateDTO;
 import com.ecommerce.E_commerce.dto.productattributevalue.ProductAttributeValueDTO;
 import com.ecommerce.E_commerce.dto.productattributevalue.ProductAttributeValueUpdateDTO;
@@ -13,15 +15,18 @@ import com.ecommerce.E_commerce.model.ProductAttributeValue;
 import com.ecommerce.E_commerce.repository.AttributeRepository;
 import com.ecommerce.E_commerce.repository.ProductAttributeValueRepository;
 import com.ecommerce.E_commerce.repository.ProductRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionOperations;
 
 import java.time.Instant;
 import java.util.Arrays;
@@ -63,7 +68,9 @@ class ProductAttributeValueServiceImplTest {
                 productRepository,
                 productAttributeValueRepository,
                 attributeRepository,
-                productAttributeValueMapper
+                productAttributeValueMapper,
+                new TaggedCache(new ConcurrentMapCacheManager(), new CacheSpecs(List.of()), new InMemoryCacheInvalidationBus(),
+                        new SimpleMeterRegistry(), TransactionOperations.withoutTransaction(), Runnable::run, System::nanoTime)
         );
 
         // Setup test data
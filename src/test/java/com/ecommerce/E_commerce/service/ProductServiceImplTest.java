@@ -1,5 +1,7 @@
 package com.ecommerce.E_commerce.service;
 
+import com.ecommerce.E_commerce.config.CacheSpecs;
+import com.ecommerce.E_commerce.config.InMemoryCacheInvalidationBus;
 import com.ecommerce.E_commerce.dto.category.CategoryDTO;
 import com.ecommerce.E_commerce.dto.product.ProductCreateDTO;
 import com.ecommerce.E_commerce.dto.product.ProductDTO;
@@ -12,20 +14,24 @@ import com.ecommerce.E_commerce.model.Product;
 import com.ecommerce.E_commerce.repository.AttributeRepository;
 import com.ecommerce.E_commerce.repository.CategoryRepository;
 import com.ecommerce.E_commerce.repository.ProductRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionOperations;
 
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -56,6 +62,9 @@ class ProductServiceImplTest {
     @Mock
     private InventoryService inventoryService;
 
+    @Mock
+    private CategoryTreeCache categoryTreeCache;
+
     private ProductServiceImpl productService;
 
     private Product testProduct;
@@ -72,7 +81,10 @@ class ProductServiceImplTest {
                 categoryRepository,
                 productMapper,
                 productAttributeValueService,
-                inventoryService
+                inventoryService,
+                categoryTreeCache,
+                new TaggedCache(new ConcurrentMapCacheManager(), new CacheSpecs(List.of()), new InMemoryCacheInvalidationBus(),
+                        new SimpleMeterRegistry(), TransactionOperations.withoutTransaction(), Runnable::run, System::nanoTime)
         );
 
         // Setup test data
@@ -0,0 +1,115 @@
+package com.ecommerce.E_commerce.service;
+
+import com.ecommerce.E_commerce.exception.InvalidOperationException;
+import com.ecommerce.E_commerce.repository.OrderRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReservationExpirySweeperTest {
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private OrderService orderService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ReservationExpirySweeper sweeper;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        sweeper = new ReservationExpirySweeper(orderRepository, orderService, transactionManager, meterRegistry);
+        ReflectionTestUtils.setField(sweeper, "batchSize", 2);
+        ReflectionTestUtils.setField(sweeper, "threads", 1);
+        ReflectionTestUtils.setField(sweeper, "maxBatchesPerSweep", 10);
+        ReflectionTestUtils.setField(sweeper, "maxReleaseAttempts", 5);
+        sweeper.startSweepExecutor();
+    }
+
+    @AfterEach
+    void tearDown() {
+        sweeper.stopSweepExecutor();
+    }
+
+    @Test
+    void sweep_ShouldDrainBatchesUntilShortBatchAndRecordMetrics() {
+        // Given
+        when(orderRepository.lockExpiredReservationOrderIds(any(Instant.class), eq(5), eq(2)))
+                .thenReturn(List.of(1L, 2L), List.of(3L));
+        when(orderService.cancelExpiredReservations(List.of(1L, 2L))).thenReturn(5);
+        when(orderService.cancelExpiredReservations(List.of(3L))).thenReturn(1);
+        when(orderRepository.countExpiredReservationOrders(any(Instant.class))).thenReturn(0L);
+
+        // When
+        sweeper.sweep();
+
+        // Then
+        verify(orderRepository, times(2)).lockExpiredReservationOrderIds(any(Instant.class), anyInt(), anyInt());
+        assertEquals(3.0, meterRegistry.get("inventory.reservation.expired.orders").counter().count());
+        assertEquals(6.0, meterRegistry.get("inventory.reservation.recovered.units").counter().count());
+        assertEquals(0.0, meterRegistry.get("inventory.reservation.expired.backlog").gauge().value());
+    }
+
+    @Test
+    void sweep_ShouldStopAtBatchLimit() {
+        // Given
+        ReflectionTestUtils.setField(sweeper, "maxBatchesPerSweep", 3);
+        when(orderRepository.lockExpiredReservationOrderIds(any(Instant.class), eq(5), eq(2))).thenReturn(List.of(1L, 2L));
+        when(orderService.cancelExpiredReservations(any())).thenReturn(2);
+        when(orderRepository.countExpiredReservationOrders(any(Instant.class))).thenReturn(42L);
+
+        // When
+        sweeper.sweep();
+
+        // Then
+        verify(orderService, times(3)).cancelExpiredReservations(any());
+        assertEquals(42.0, meterRegistry.get("inventory.reservation.expired.backlog").gauge().value());
+    }
+
+    @Test
+    void sweep_ShouldCancelRestOfBatchAndRecordFailureWhenOneOrderCannotBeReleased() {
+        // Given
+        when(orderRepository.lockExpiredReservationOrderIds(any(Instant.class), eq(5), eq(2)))
+                .thenReturn(List.of(1L, 2L), List.of());
+        when(orderService.cancelExpiredReservations(List.of(1L, 2L)))
+                .thenThrow(new InvalidOperationException("Inventory is not active"));
+        when(orderRepository.lockNewOrderId(1L)).thenReturn(List.of(1L));
+        when(orderRepository.lockNewOrderId(2L)).thenReturn(List.of(2L));
+        when(orderService.cancelExpiredReservations(List.of(1L)))
+                .thenThrow(new InvalidOperationException("Inventory is not active"));
+        when(orderService.cancelExpiredReservations(List.of(2L))).thenReturn(3);
+        when(orderRepository.countExpiredReservationOrders(any(Instant.class))).thenReturn(1L);
+
+        // When
+        sweeper.sweep();
+
+        // Then
+        verify(orderRepository).recordReservationReleaseFailure(1L);
+        verify(orderRepository, never()).recordReservationReleaseFailure(2L);
+        verify(orderRepository, times(2)).lockExpiredReservationOrderIds(any(Instant.class), anyInt(), anyInt());
+        assertEquals(1.0, meterRegistry.get("inventory.reservation.expired.orders").counter().count());
+        assertEquals(3.0, meterRegistry.get("inventory.reservation.recovered.units").counter().count());
+        assertEquals(1.0, meterRegistry.get("inventory.reservation.release.failures").counter().count());
+    }
+}
@@ -0,0 +1,77 @@
+package com.ecommerce.E_commerce.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class SearchIndexQueueTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private SearchIndexQueue queue;
+
+    @BeforeEach
+    void setup() {
+        jdbcTemplate = Mockito.mock(JdbcTemplate.class);
+        queue = new SearchIndexQueue(jdbcTemplate);
+        ReflectionTestUtils.setField(queue, "mode", "outbox");
+    }
+
+    @AfterEach
+    void cleanup() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void enqueueProduct_writesOncePerProductWithinTransaction() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        queue.enqueueProduct(1L);
+        queue.enqueueProduct(1L);
+        queue.enqueueProduct(2L);
+
+        verify(jdbcTemplate, times(1)).update(anyString(), eq(1L), any());
+        verify(jdbcTemplate, times(1)).update(anyString(), eq(2L), any());
+    }
+
+    @Test
+    void enqueueProduct_writesAgainInNextTransaction() {
+        TransactionSynchronizationManager.initSynchronization();
+        queue.enqueueProduct(1L);
+        cleanup();
+
+        TransactionSynchronizationManager.initSynchronization();
+        queue.enqueueProduct(1L);
+
+        verify(jdbcTemplate, times(2)).update(anyString(), eq(1L), any());
+    }
+
+    @Test
+    void enqueueProductsInCategory_upsertsProductsOfCategory() {
+        queue.enqueueProductsInCategory(3L);
+
+        verify(jdbcTemplate).update(contains("p.category_id = ?"), any(), eq(3L));
+    }
+
+    @Test
+    void enqueueProduct_isNoOpInDirectMode() {
+        ReflectionTestUtils.setField(queue, "mode", "direct");
+
+        queue.enqueueProduct(1L);
+        queue.enqueueProductsWithAttribute(5L);
+        queue.enqueueProductsInCategory(3L);
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+}
@@ -0,0 +1,168 @@
+package com.ecommerce.E_commerce.service;
+
+import com.ecommerce.E_commerce.model.Product;
+import com.ecommerce.E_commerce.model.SearchIndexQueueEntry;
+import com.ecommerce.E_commerce.repository.ProductRepository;
+import com.ecommerce.E_commerce.repository.SearchIndexQueueRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SearchIndexQueueWorkerTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T12:00:00Z");
+
+    @Mock
+    private EntityManager em;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private SearchIndexQueueRepository queueRepository;
+
+    @Mock
+    private SearchIndexQueue searchIndexQueue;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final List<Set<Long>> indexedBatches = new ArrayList<>();
+    private final Set<Long> poisonIds = new HashSet<>();
+    private SimpleMeterRegistry meterRegistry;
+    private SearchIndexQueueWorker worker;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        worker = new SearchIndexQueueWorker(em, productRepository, queueRepository, searchIndexQueue,
+                transactionManager, meterRegistry, this::index, Clock.fixed(NOW, ZoneOffset.UTC));
+        ReflectionTestUtils.setField(worker, "batchSize", 2);
+        ReflectionTestUtils.setField(worker, "maxBatchesPerPoll", 10);
+        ReflectionTestUtils.setField(worker, "maxAttempts", 5);
+        ReflectionTestUtils.setField(worker, "retryBackoff", Duration.ofSeconds(5));
+        ReflectionTestUtils.setField(worker, "maxRetryBackoff", Duration.ofSeconds(30));
+        when(searchIndexQueue.isEnabled()).thenReturn(true);
+        lenient().when(productRepository.findWithDetailsByIdIn(any())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            return ids.stream().map(SearchIndexQueueWorkerTest::product).toList();
+        });
+    }
+
+    private void index(Collection<Long> ids, Map<Long, Product> products) {
+        if (ids.stream().anyMatch(poisonIds::contains)) {
+            throw new IllegalStateException("mapper_parsing_exception");
+        }
+        indexedBatches.add(Set.copyOf(ids));
+    }
+
+    @Test
+    void poll_drainsBatchesUntilShortBatch() {
+        when(queueRepository.findDue(eq(NOW), any(Pageable.class)))
+                .thenReturn(List.of(entry(1L, 0), entry(2L, 0)), List.of(entry(3L, 0)));
+        when(queueRepository.deleteIfUnchanged(anyLong(), anyLong())).thenReturn(1);
+        when(queueRepository.countByDeadLetteredAtIsNull()).thenReturn(0L);
+
+        worker.poll();
+
+        assertEquals(List.of(Set.of(1L, 2L), Set.of(3L)), indexedBatches);
+        verify(queueRepository, times(3)).deleteIfUnchanged(anyLong(), eq(7L));
+        verify(queueRepository, never()).markFailed(anyLong(), anyLong(), any(), any(), any());
+        assertEquals(0.0, meterRegistry.get("search.index.queue.size").gauge().value());
+    }
+
+    @Test
+    void poll_indexesRestOfBatchAndBacksOffFailingProduct() {
+        poisonIds.add(1L);
+        when(queueRepository.findDue(eq(NOW), any(Pageable.class)))
+                .thenReturn(List.of(entry(1L, 0), entry(2L, 0)), List.of());
+
+        worker.poll();
+
+        assertEquals(List.of(Set.of(2L)), indexedBatches);
+        verify(queueRepository).deleteIfUnchanged(2L, 7L);
+        verify(queueRepository, never()).deleteIfUnchanged(eq(1L), anyLong());
+        verify(queueRepository).markFailed(1L, 7L, "mapper_parsing_exception", NOW.plusSeconds(5), null);
+        verify(em).clear();
+    }
+
+    @Test
+    void poll_removesRetriedEntryOnceItIndexes() {
+        poisonIds.add(1L);
+        when(queueRepository.findDue(eq(NOW), any(Pageable.class)))
+                .thenReturn(List.of(entry(1L, 0)), List.of(entry(1L, 1)));
+        worker.poll();
+        verify(queueRepository).markFailed(1L, 7L, "mapper_parsing_exception", NOW.plusSeconds(5), null);
+
+        poisonIds.clear();
+        worker.poll();
+
+        assertEquals(List.of(Set.of(1L)), indexedBatches);
+        verify(queueRepository).deleteIfUnchanged(1L, 7L);
+        verify(queueRepository, times(1)).markFailed(anyLong(), anyLong(), any(), any(), any());
+    }
+
+    @Test
+    void poll_doublesBackoffUpToMaximumAndDeadLettersAfterMaxAttempts() {
+        poisonIds.addAll(Set.of(1L, 2L, 3L));
+        when(queueRepository.findDue(eq(NOW), any(Pageable.class)))
+                .thenReturn(List.of(entry(1L, 2), entry(2L, 3)), List.of(entry(3L, 4)));
+        when(queueRepository.countByDeadLetteredAtIsNotNull()).thenReturn(1L);
+
+        worker.poll();
+
+        assertTrue(indexedBatches.isEmpty());
+        verify(queueRepository).markFailed(1L, 7L, "mapper_parsing_exception", NOW.plusSeconds(20), null);
+        verify(queueRepository).markFailed(2L, 7L, "mapper_parsing_exception", NOW.plusSeconds(30), null);
+        verify(queueRepository).markFailed(3L, 7L, "mapper_parsing_exception", null, NOW);
+        verify(queueRepository, never()).deleteIfUnchanged(anyLong(), anyLong());
+        assertEquals(1.0, meterRegistry.get("search.index.queue.dead-letters").gauge().value());
+    }
+
+    @Test
+    void poll_doesNothingWhenOutboxDisabled() {
+        when(searchIndexQueue.isEnabled()).thenReturn(false);
+
+        worker.poll();
+
+        verifyNoInteractions(queueRepository, productRepository);
+    }
+
+    private static SearchIndexQueueEntry entry(Long productId, int attempts) {
+        SearchIndexQueueEntry entry = new SearchIndexQueueEntry();
+        entry.setProductId(productId);
+        entry.setRevision(7L);
+        entry.setAttempts(attempts);
+        entry.setEnqueuedAt(NOW.minusSeconds(30));
+        return entry;
+    }
+
+    private static Product product(Long id) {
+        Product product = new Product();
+        product.setId(id);
+        return product;
+    }
+}
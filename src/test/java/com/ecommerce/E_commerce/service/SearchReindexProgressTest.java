@@ -0,0 +1,53 @@
+package com.ecommerce.E_commerce.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SearchReindexProgressTest {
+
+    @Test
+    void snapshot_ShouldBeIdleBeforeStart() {
+        SearchReindexProgress progress = new SearchReindexProgress();
+
+        SearchReindexProgress.Snapshot snapshot = progress.snapshot();
+
+        assertEquals(SearchReindexProgress.Status.IDLE, snapshot.status());
+        assertEquals(0, snapshot.processed());
+        assertNull(snapshot.etaSeconds());
+    }
+
+    @Test
+    void snapshot_ShouldReportProgressAndEtaWhileRunning() throws InterruptedException {
+        SearchReindexProgress progress = new SearchReindexProgress();
+        Instant hwm = Instant.parse("2025-01-01T00:00:00Z");
+
+        progress.start("incremental", 1000);
+        Thread.sleep(5);
+        progress.advance(250, hwm);
+
+        SearchReindexProgress.Snapshot snapshot = progress.snapshot();
+        assertEquals(SearchReindexProgress.Status.RUNNING, snapshot.status());
+        assertEquals(250, snapshot.processed());
+        assertEquals(25.0, snapshot.percent(), 0.001);
+        assertTrue(snapshot.docsPerSecond() > 0);
+        assertNotNull(snapshot.etaSeconds());
+        assertEquals(hwm, snapshot.highWaterMark());
+    }
+
+    @Test
+    void complete_ShouldClearEta() {
+        SearchReindexProgress progress = new SearchReindexProgress();
+        progress.start("incremental", 10);
+        progress.advance(10, null);
+
+        progress.complete();
+
+        SearchReindexProgress.Snapshot snapshot = progress.snapshot();
+        assertEquals(SearchReindexProgress.Status.COMPLETED, snapshot.status());
+        assertNull(snapshot.etaSeconds());
+        assertNotNull(snapshot.finishedAt());
+    }
+}
@@ -1,13 +1,21 @@
 package com.ecommerce.E_commerce.service;
 
 import com.ecommerce.E_commerce.mapper.ProductMapper;
-import com.ecommerce.E_commerce.repository.CategoryRepository;
 import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -22,18 +30,83 @@ class SearchServiceTest {
     private ProductMapper productMapper;
 
     @Mock
-    private CategoryRepository categoryRepository;
+    private CategoryTreeCache categoryTreeCache;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
 
     private SearchService searchService;
 
     @BeforeEach
     void setUp() {
-        searchService = new SearchService(entityManager, productMapper, categoryRepository);
+        searchService = new SearchService(entityManager, productMapper, categoryTreeCache, transactionManager);
+        ReflectionTestUtils.setField(searchService, "batchThreads", 4);
+        ReflectionTestUtils.setField(searchService, "batchTimeoutMs", 2000L);
+        searchService.startBatchExecutor();
+    }
+
+    @AfterEach
+    void tearDown() {
+        searchService.stopBatchExecutor();
     }
 
     @Test
     void searchService_ShouldBeInstantiated() {
         assertNotNull(searchService);
     }
+
+    @Test
+    void firstNonEmpty_ShouldReturnFirstNonEmptyCandidateInOrder() {
+        CountDownLatch laterCandidatesDone = new CountDownLatch(1);
+        List<Supplier<List<String>>> tasks = List.of(
+                () -> {
+                    awaitQuietly(laterCandidatesDone);
+                    return List.of();
+                },
+                () -> List.of("price-relaxed"),
+                () -> {
+                    laterCandidatesDone.countDown();
+                    return List.of("attributes-removed");
+                }
+        );
+
+        Optional<SearchService.FirstMatch<String>> match = searchService.firstNonEmpty(tasks);
+
+        assertTrue(match.isPresent());
+        assertEquals(1, match.get().index());
+        assertEquals(List.of("price-relaxed"), match.get().hits());
+    }
+
+    @Test
+    void firstNonEmpty_ShouldRunCandidatesConcurrently() {
+        CountDownLatch allStarted = new CountDownLatch(3);
+        Supplier<List<String>> task = () -> {
+            allStarted.countDown();
+            awaitQuietly(allStarted);
+            return List.of();
+        };
+
+        Optional<SearchService.FirstMatch<String>> match = searchService.firstNonEmpty(List.of(task, task, task));
+
+        assertTrue(match.isEmpty());
+        assertEquals(0, allStarted.getCount());
+    }
+
+    @Test
+    void firstNonEmpty_ShouldPropagateCandidateFailure() {
+        List<Supplier<List<String>>> tasks = List.of(() -> {
+            throw new IllegalArgumentException("boom");
+        });
+
+        assertThrows(IllegalArgumentException.class, () -> searchService.firstNonEmpty(tasks));
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
 }
 
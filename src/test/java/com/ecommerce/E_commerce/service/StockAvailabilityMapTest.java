@@ -0,0 +1,162 @@
+package com.ecommerce.E_commerce.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.ResultSet;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class StockAvailabilityMapTest {
+
+    private StockAvailabilityMap map;
+
+    @BeforeEach
+    void setUp() {
+        map = new StockAvailabilityMap(null);
+        ReflectionTestUtils.setField(map, "enabled", true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void lookup_ShouldReturnPackedQuantities_OrUnknownForUncachedProducts() {
+        // Given
+        map.put(42L, 1_000_000, 17);
+        map.markAbsent(43L);
+
+        // When
+        long cached = map.lookup(42L);
+
+        // Then
+        assertEquals(1_000_000, StockAvailabilityMap.available(cached));
+        assertEquals(17, StockAvailabilityMap.reserved(cached));
+        assertEquals(StockAvailabilityMap.ABSENT, map.lookup(43L));
+        assertEquals(StockAvailabilityMap.UNKNOWN, map.lookup(44L));
+    }
+
+    @Test
+    void recordReserved_ShouldApplyOnlyAfterCommit() {
+        // Given
+        map.put(1L, 10, 0);
+        TransactionSynchronizationManager.initSynchronization();
+
+        // When
+        map.recordReservedAfterCommit(Map.of(1L, 4));
+        long beforeCommit = map.lookup(1L);
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        // Then
+        assertEquals(10, StockAvailabilityMap.available(beforeCommit));
+        assertEquals(6, StockAvailabilityMap.available(map.lookup(1L)));
+        assertEquals(4, StockAvailabilityMap.reserved(map.lookup(1L)));
+    }
+
+    @Test
+    void releaseAndFinalize_ShouldMoveReservedStock_AndDropDriftedEntries() {
+        // Given
+        map.put(1L, 6, 4);
+
+        // When
+        map.recordReleasedAfterCommit(Map.of(1L, 1));
+        map.recordFinalizedAfterCommit(Map.of(1L, 3));
+        long settled = map.lookup(1L);
+        map.recordFinalizedAfterCommit(Map.of(1L, 5));
+
+        // Then
+        assertEquals(7, StockAvailabilityMap.available(settled));
+        assertEquals(0, StockAvailabilityMap.reserved(settled));
+        assertEquals(StockAvailabilityMap.UNKNOWN, map.lookup(1L));
+    }
+
+    @Test
+    void put_ShouldKeepEveryEntryReachable_UnderCollisions() {
+        // When
+        for (long productId = 1; productId <= 700; productId++) {
+            map.put(productId, (int) productId, 0);
+        }
+
+        // Then
+        for (long productId = 1; productId <= 700; productId++) {
+            assertEquals(productId, StockAvailabilityMap.available(map.lookup(productId)));
+        }
+    }
+
+    @Test
+    void lookupOrLoad_ShouldCacheLoadedValue_UnlessDeltaArrivedDuringLoad() {
+        // When
+        long loaded = map.lookupOrLoad(1L, () -> StockAvailabilityMap.pack(10, 0));
+        long raced = map.lookupOrLoad(2L, () -> {
+            map.recordReservedAfterCommit(Map.of(2L, 3));
+            return StockAvailabilityMap.pack(10, 0);
+        });
+
+        // Then
+        assertEquals(loaded, map.lookup(1L));
+        assertEquals(10, StockAvailabilityMap.available(raced));
+        assertEquals(StockAvailabilityMap.UNKNOWN, map.lookup(2L));
+    }
+
+    @Test
+    void reconcile_ShouldDropProductsChangedDuringRebuild() throws Exception {
+        // Given
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        map = new StockAvailabilityMap(jdbcTemplate);
+        ReflectionTestUtils.setField(map, "enabled", true);
+        map.put(1L, 10, 0);
+        when(jdbcTemplate.queryForObject(anyString(), eq(Integer.class))).thenReturn(2);
+        doAnswer(invocation -> {
+            map.recordReservedAfterCommit(Map.of(1L, 4));
+            ResultSet rs = mock(ResultSet.class);
+            when(rs.getLong(1)).thenReturn(1L, 2L);
+            when(rs.getInt(2)).thenReturn(10, 5);
+            when(rs.getInt(3)).thenReturn(0, 0);
+            RowCallbackHandler handler = invocation.getArgument(1);
+            handler.processRow(rs);
+            handler.processRow(rs);
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class));
+
+        // When
+        map.reconcile();
+
+        // Then
+        assertEquals(StockAvailabilityMap.UNKNOWN, map.lookup(1L));
+        assertEquals(5, StockAvailabilityMap.available(map.lookup(2L)));
+    }
+
+    @Test
+    void delta_ShouldDropProductInsteadOfApplying_WhenTableWasRebuiltSinceItsCommit() {
+        // Given
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        map = new StockAvailabilityMap(jdbcTemplate);
+        ReflectionTestUtils.setField(map, "enabled", true);
+        when(jdbcTemplate.queryForObject(anyString(), eq(Integer.class))).thenReturn(0);
+        TransactionSynchronizationManager.initSynchronization();
+        map.recordReservedAfterCommit(Map.of(1L, 4));
+        TransactionSynchronizationManager.getSynchronizations().forEach(sync -> sync.beforeCommit(false));
+
+        // When
+        map.reconcile();
+        map.put(1L, 6, 4);
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        // Then
+        assertEquals(StockAvailabilityMap.UNKNOWN, map.lookup(1L));
+    }
+}
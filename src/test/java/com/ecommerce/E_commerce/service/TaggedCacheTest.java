@@ -0,0 +1,215 @@
+package com.ecommerce.E_commerce.service;
+
+import com.ecommerce.E_commerce.config.CacheInvalidationBus;
+import com.ecommerce.E_commerce.config.CacheSpecs;
+import com.ecommerce.E_commerce.config.InMemoryCacheInvalidationBus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TaggedCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private TaggedCache taggedCache;
+    private AtomicInteger loads;
+    private AtomicLong nanoTime;
+    private List<Runnable> pendingRefreshes;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        nanoTime = new AtomicLong();
+        pendingRefreshes = new ArrayList<>();
+        CacheSpecs specs = new CacheSpecs(List.of(
+                new CacheSpecs.Spec("product_lists", Duration.ofMinutes(30), 100, Duration.ofMinutes(2))));
+        taggedCache = newCache(specs, new InMemoryCacheInvalidationBus());
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void get_servesCachedValueUntilOneOfItsTagsIsInvalidated() {
+        load("cat_1", CacheTags.category(1L));
+        load("cat_2", CacheTags.category(2L));
+        load("cat_1", CacheTags.category(1L));
+        assertThat(loads).hasValue(2);
+
+        taggedCache.invalidate(List.of(CacheTags.category(2L)));
+
+        load("cat_1", CacheTags.category(1L));
+        load("cat_2", CacheTags.category(2L));
+        assertThat(loads).hasValue(3);
+    }
+
+    @Test
+    void get_tagsEntryFromLoadedValue() {
+        taggedCache.get("products", "mug-slug", () -> 7L, id -> List.of(CacheTags.product(id)));
+
+        taggedCache.invalidate(List.of(CacheTags.product(7L)));
+
+        Long reloaded = taggedCache.get("products", "mug-slug", () -> 8L, id -> List.of(CacheTags.product(id)));
+        assertThat(reloaded).isEqualTo(8L);
+    }
+
+    @Test
+    void get_doesNotKeepValueWhoseTagWasInvalidatedWhileLoading() {
+        taggedCache.get("products", 1L, List.of(CacheTags.product(1L)), () -> {
+            taggedCache.invalidate(List.of(CacheTags.product(1L)));
+            return "before write";
+        });
+
+        String value = taggedCache.get("products", 1L, List.of(CacheTags.product(1L)), () -> "after write");
+        assertThat(value).isEqualTo("after write");
+    }
+
+    @Test
+    void invalidate_insideTransactionWaitsForCommit() {
+        load("featured_true", CacheTags.featured(true));
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            taggedCache.invalidate(List.of(CacheTags.featured(true)));
+            load("featured_true", CacheTags.featured(true));
+            assertThat(loads).hasValue(1);
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        load("featured_true", CacheTags.featured(true));
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void invalidate_reachesOtherNodesOnTheBus() {
+        InMemoryCacheInvalidationBus nodeA = new InMemoryCacheInvalidationBus();
+        TaggedCache cacheA = newCache(new CacheSpecs(List.of()), nodeA);
+        TaggedCache cacheB = newCache(new CacheSpecs(List.of()), nodeA.joinNode());
+        cacheB.get("products", 1L, List.of(CacheTags.product(1L)), () -> "old");
+        cacheB.get("products", 2L, List.of(CacheTags.product(2L)), () -> "other");
+
+        cacheA.invalidate(List.of(CacheTags.product(1L)));
+
+        assertThat(cacheB.get("products", 1L, List.of(CacheTags.product(1L)), () -> "new")).isEqualTo("new");
+        assertThat(cacheB.get("products", 2L, List.of(CacheTags.product(2L)), () -> "reloaded")).isEqualTo("other");
+    }
+
+    @Test
+    void get_countsHitsAndMissesPerTagFamily() {
+        load("cat_1", CacheTags.category(1L));
+        load("cat_1", CacheTags.category(1L));
+        load("cat_1", CacheTags.category(1L));
+
+        assertThat(meterRegistry.counter("cache.tagged.gets", "cache", "product_lists", "tag", "category", "result", "hit").count())
+                .isEqualTo(2.0);
+        assertThat(meterRegistry.counter("cache.tagged.gets", "cache", "product_lists", "tag", "category", "result", "miss").count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void get_concurrentMissesShareOneLoad() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService readers = Executors.newFixedThreadPool(4);
+        try {
+            Future<Integer> first = readers.submit(() -> taggedCache.get("product_lists", "all", List.of(CacheTags.CATALOG), () -> {
+                loading.countDown();
+                await(release);
+                return loads.incrementAndGet();
+            }));
+            assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+            List<Future<Integer>> waiters = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                waiters.add(readers.submit(() ->
+                        taggedCache.get("product_lists", "all", List.of(CacheTags.CATALOG), loads::incrementAndGet)));
+            }
+            release.countDown();
+
+            assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo(1);
+            for (Future<Integer> waiter : waiters) {
+                assertThat(waiter.get(5, TimeUnit.SECONDS)).isEqualTo(1);
+            }
+            assertThat(loads).hasValue(1);
+        } finally {
+            readers.shutdownNow();
+        }
+    }
+
+    @Test
+    void get_failedLoadIsNotCached() {
+        assertThatThrownBy(() -> taggedCache.get("product_lists", "all", List.of(CacheTags.CATALOG), () -> {
+            throw new IllegalStateException("database down");
+        })).isInstanceOf(IllegalStateException.class);
+
+        load("all", CacheTags.CATALOG);
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void get_afterRefreshIntervalServesStaleValueAndReloadsOnceInBackground() {
+        load("all", CacheTags.CATALOG);
+        nanoTime.addAndGet(Duration.ofMinutes(3).toNanos());
+
+        assertThat(load("all", CacheTags.CATALOG)).isEqualTo(1);
+        assertThat(load("all", CacheTags.CATALOG)).isEqualTo(1);
+        assertThat(pendingRefreshes).hasSize(1);
+
+        pendingRefreshes.remove(0).run();
+
+        assertThat(load("all", CacheTags.CATALOG)).isEqualTo(2);
+        assertThat(pendingRefreshes).isEmpty();
+        assertThat(meterRegistry.counter("cache.tagged.refreshes", "cache", "product_lists", "result", "success").count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void get_failedRefreshKeepsServingPreviousValue() {
+        taggedCache.get("product_lists", "all", List.of(CacheTags.CATALOG), () -> "cached");
+        nanoTime.addAndGet(Duration.ofMinutes(3).toNanos());
+
+        taggedCache.get("product_lists", "all", List.of(CacheTags.CATALOG), () -> {
+            throw new IllegalStateException("database down");
+        });
+        pendingRefreshes.remove(0).run();
+
+        String value = taggedCache.get("product_lists", "all", List.of(CacheTags.CATALOG), () -> "reloaded");
+        assertThat(value).isEqualTo("cached");
+        assertThat(meterRegistry.counter("cache.tagged.refreshes", "cache", "product_lists", "result", "failure").count())
+                .isEqualTo(1.0);
+    }
+
+    private TaggedCache newCache(CacheSpecs specs, CacheInvalidationBus bus) {
+        return new TaggedCache(new ConcurrentMapCacheManager(), specs, bus, meterRegistry,
+                TransactionOperations.withoutTransaction(), pendingRefreshes::add, nanoTime::get);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private int load(String key, String tag) {
+        return taggedCache.get("product_lists", key, List.of(tag), loads::incrementAndGet);
+    }
+}